@@ -0,0 +1,45 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       Assignment
+ * Created:     2026-10-19
+ */
+
+package Generation.Ast;
+
+import Graph.SigVar;
+import Graph.Variable;
+
+/**
+ * Abstract syntax of a single variable-assignment of a state.
+ *
+ * kinds (see enumeration ASSIGNMENT_TYPE):
+ *  SHIFT_LEFT, SHIFT_RIGHT: "shl" "(" <VARIABLE> ")" | "shr" "(" <VARIABLE> ")"
+ *  COPY:          <VARIABLE> "=" <INPUT-SIGNAL>
+ *  ADD, SUBTRACT: <VARIABLE> "=" <VARIABLE> ("+"|"-") (<NUMBER>|<VARIABLE>|<SIGNAL>)
+ *  CONSTANT:      <VARIABLE> "=" <NUMBER>
+ *  INCREMENT, DECREMENT: <VARIABLE> "++" | <VARIABLE> "--"
+ *
+ * @author Andreas Schwenk
+ */
+public class Assignment
+{
+    // *** ENUMERATIONS ***
+    public enum ASSIGNMENT_TYPE
+    {
+        SHIFT_LEFT, SHIFT_RIGHT, COPY, ADD, SUBTRACT, CONSTANT, INCREMENT, DECREMENT
+    }
+
+    // *** ATTRIBUTES ***
+    public ASSIGNMENT_TYPE type = null;
+    public String targetName = null;     // assigned variable, as written
+    public Variable target = null;
+    public String operandName = null;    // first operand of the right-hand side
+    public SigVar operand = null;
+    public String operand2Name = null;   // second operand (ADD, SUBTRACT; null: number)
+    public SigVar operand2 = null;
+    public int number = 0;               // constant of the right-hand side
+}
@@ -0,0 +1,53 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       BinaryExpression
+ * Created:     2026-10-19
+ */
+
+package Generation.Ast;
+
+/**
+ * "left operator right", e. g. "a && b" or "x <= 3"
+ *
+ * Chains like "a == b == c" are nested to the left: ((a == b) == c).
+ *
+ * @author Andreas Schwenk
+ */
+public class BinaryExpression extends Expression
+{
+    // *** ENUMERATIONS ***
+    public enum OPERATOR
+    {
+        OR, AND, EQUAL, NOT_EQUAL, LESS, LESS_EQUAL, GREATER, GREATER_EQUAL
+    }
+
+    // *** ATTRIBUTES ***
+    public final OPERATOR operator;
+    public final Expression left, right;
+
+    // *** METHODS ***
+
+    /**
+     * @param operator operator
+     * @param left left operand
+     * @param right right operand
+     *
+     * @author Andreas Schwenk
+     */
+    public BinaryExpression(OPERATOR operator, Expression left, Expression right)
+    {
+        this.operator = operator;
+        this.left = left;
+        this.right = right;
+    }
+
+    @Override
+    public void accept(I_EXPRESSION_VISITOR visitor)
+    {
+        visitor.visit(this);
+    }
+}
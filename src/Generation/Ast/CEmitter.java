@@ -0,0 +1,96 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       CEmitter
+ * Created:     2026-10-19
+ */
+
+package Generation.Ast;
+
+/**
+ * C (input-signals are members of the input-vector "inV")
+ *
+ * @author Andreas Schwenk
+ */
+public class CEmitter extends Emitter
+{
+    @Override
+    public void visit(BinaryExpression e)
+    {
+        e.left.accept(this);
+        switch(e.operator)
+        {
+            case OR:            out.append(" || "); break;
+            case AND:           out.append(" && "); break;
+            case EQUAL:         out.append("=="); break;
+            case NOT_EQUAL:     out.append("!="); break;
+            case LESS:          out.append("<"); break;
+            case LESS_EQUAL:    out.append("<="); break;
+            case GREATER:       out.append(">"); break;
+            case GREATER_EQUAL: out.append(">="); break;
+        }
+        e.right.accept(this);
+    }
+
+    @Override
+    public void visit(ParenthesizedExpression e)
+    {
+        if(e.negated)
+            out.append('!');
+        out.append(" (");
+        e.inner.accept(this);
+        out.append(") ");
+    }
+
+    @Override
+    public void visit(SymbolExpression e)
+    {
+        if(e.negated)
+            out.append('!');
+        if(e.signal != null)
+            out.append("(inV->").append(e.name).append(')');
+        else
+            out.append(e.name);
+    }
+
+    @Override
+    public void visit(NumberExpression e)
+    {
+        out.append(e.value);
+    }
+
+    @Override
+    public void visit(ConstantExpression e)
+    {
+        out.append(e.value ? '1' : '0');
+    }
+
+    @Override
+    public String emitRightHandSide(Assignment a)
+    {
+        switch(a.type)
+        {
+            case SHIFT_LEFT:
+                return a.target.getName() + " << 1";
+            case SHIFT_RIGHT:
+                return a.target.getName() + " >> 1";
+            case COPY:
+                return "inV->" + a.operandName;
+            case ADD:
+            case SUBTRACT:
+                // note: a signal as second operand is written without "inV->"
+                return a.operandName + (a.type == Assignment.ASSIGNMENT_TYPE.ADD ? " + " : " - ")
+                        + (a.operand2Name != null ? a.operand2Name : "" + a.number);
+            case CONSTANT:
+                return "" + a.number;
+            case INCREMENT:
+                return a.targetName + " + 1";
+            case DECREMENT:
+                return a.targetName + " - 1";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       ConstantExpression
+ * Created:     2026-10-19
+ */
+
+package Generation.Ast;
+
+/**
+ * constant condition ("always" / "never"); not written by the user, but the
+ * result of folding constants (see ConditionMinimizer)
+ *
+ * @author Andreas Schwenk
+ */
+public class ConstantExpression extends Expression
+{
+    // *** ATTRIBUTES ***
+    public final boolean value;
+
+    // *** METHODS ***
+
+    /**
+     * @param value value of the condition
+     *
+     * @author Andreas Schwenk
+     */
+    public ConstantExpression(boolean value)
+    {
+        this.value = value;
+    }
+
+    @Override
+    public void accept(I_EXPRESSION_VISITOR visitor)
+    {
+        visitor.visit(this);
+    }
+}
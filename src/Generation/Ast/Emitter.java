@@ -0,0 +1,63 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       Emitter
+ * Created:     2026-10-19
+ */
+
+package Generation.Ast;
+
+/**
+ * Translates conditions and variable-assignments into a target language.
+ * A new target language only needs a new subclass; the parsers are not
+ * touched.
+ *
+ * @author Andreas Schwenk
+ */
+public abstract class Emitter implements I_EXPRESSION_VISITOR
+{
+    // *** ATTRIBUTES ***
+    protected StringBuilder out;
+
+    // *** METHODS ***
+
+    /**
+     * translates a (complete) condition
+     *
+     * @param e root of the condition
+     * @return condition in the target language
+     *
+     * @author Andreas Schwenk
+     */
+    public String emit(Expression e)
+    {
+        out = new StringBuilder();
+        e.accept(this);
+        return out.toString();
+    }
+
+    /**
+     * translates the right-hand side of a (complete) variable-assignment
+     *
+     * @param a variable-assignment
+     * @return right-hand side in the target language (null: not supported)
+     *
+     * @author Andreas Schwenk
+     */
+    public abstract String emitRightHandSide(Assignment a);
+
+    /**
+     * binary representation with the given number of digits, e. g. "0101"
+     *
+     * @param value value
+     * @param digits number of digits (filled with leading zeros)
+     * @return binary string
+     */
+    protected static String toBinary(int value, int digits)
+    {
+        return String.format("%" + digits + "s", Integer.toBinaryString(value)).replace(" ", "0");
+    }
+}
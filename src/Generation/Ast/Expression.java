@@ -0,0 +1,30 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       Expression
+ * Created:     2026-10-19
+ */
+
+package Generation.Ast;
+
+/**
+ * Node of the abstract syntax tree of a transition-condition.
+ * Trees are built by the condition-parser (only for valid conditions they are
+ * complete) and translated into the target languages by emitters.
+ *
+ * @author Andreas Schwenk
+ */
+public abstract class Expression
+{
+    /**
+     * calls the method of the visitor, that belongs to the type of this node
+     *
+     * @param visitor visitor
+     *
+     * @author Andreas Schwenk
+     */
+    public abstract void accept(I_EXPRESSION_VISITOR visitor);
+}
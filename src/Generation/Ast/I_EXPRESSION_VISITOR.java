@@ -0,0 +1,25 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Interface:   I_EXPRESSION_VISITOR
+ * Created:     2026-10-19
+ */
+
+package Generation.Ast;
+
+/**
+ * Visitor for the nodes of a transition-condition (see class Expression)
+ *
+ * @author Andreas Schwenk
+ */
+public interface I_EXPRESSION_VISITOR
+{
+    public void visit(BinaryExpression e);
+    public void visit(ParenthesizedExpression e);
+    public void visit(SymbolExpression e);
+    public void visit(NumberExpression e);
+    public void visit(ConstantExpression e);
+}
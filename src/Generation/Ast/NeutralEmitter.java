@@ -0,0 +1,93 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       NeutralEmitter
+ * Created:     2026-10-19
+ */
+
+package Generation.Ast;
+
+/**
+ * "neutral" representation (tokens in words, e. g. "a and not b "); used
+ * for SCXML
+ *
+ * @author Andreas Schwenk
+ */
+public class NeutralEmitter extends Emitter
+{
+    @Override
+    public void visit(BinaryExpression e)
+    {
+        e.left.accept(this);
+        switch(e.operator)
+        {
+            case OR:            out.append("or "); break;
+            case AND:           out.append("and "); break;
+            case EQUAL:         out.append("equal "); break;
+            case NOT_EQUAL:     out.append("not_equal "); break;
+            case LESS:          out.append("less_than "); break;
+            case LESS_EQUAL:    out.append("less_equal "); break;
+            case GREATER:       out.append("greater_than "); break;
+            case GREATER_EQUAL: out.append("greater_equal "); break;
+        }
+        e.right.accept(this);
+    }
+
+    @Override
+    public void visit(ParenthesizedExpression e)
+    {
+        if(e.negated)
+            out.append("not ");
+        out.append("( ");
+        e.inner.accept(this);
+        out.append(") ");
+    }
+
+    @Override
+    public void visit(SymbolExpression e)
+    {
+        if(e.negated)
+            out.append("not ");
+        out.append(e.name).append(' ');
+    }
+
+    @Override
+    public void visit(NumberExpression e)
+    {
+        out.append(e.value).append(' ');
+    }
+
+    @Override
+    public void visit(ConstantExpression e)
+    {
+        out.append(e.value ? "1 " : "0 ");
+    }
+
+    @Override
+    public String emitRightHandSide(Assignment a)
+    {
+        switch(a.type)
+        {
+            case SHIFT_LEFT:
+                return "shl(" + a.target.getName() + ")";
+            case SHIFT_RIGHT:
+                return "shr(" + a.target.getName() + ")";
+            case COPY:
+                return a.operandName;
+            case ADD:
+            case SUBTRACT:
+                return a.operandName + (a.type == Assignment.ASSIGNMENT_TYPE.ADD ? " + " : " - ")
+                        + (a.operand2Name != null ? a.operand2Name : "" + a.number);
+            case CONSTANT:
+                return "" + a.number;
+            case INCREMENT:
+                return a.targetName + " + 1";
+            case DECREMENT:
+                return a.targetName + " - 1";
+        }
+        return null;
+    }
+}
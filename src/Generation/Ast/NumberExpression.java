@@ -0,0 +1,46 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       NumberExpression
+ * Created:     2026-10-19
+ */
+
+package Generation.Ast;
+
+import Graph.SigVar;
+
+/**
+ * constant; the symbol on the left side of a comparison determines its
+ * representation in VHDL (e. g. "'1'" for bits)
+ *
+ * @author Andreas Schwenk
+ */
+public class NumberExpression extends Expression
+{
+    // *** ATTRIBUTES ***
+    public final int value;
+    public final SigVar context; // left-hand side of the comparison (or null)
+
+    // *** METHODS ***
+
+    /**
+     * @param value value
+     * @param context symbol, the number is compared with (or null)
+     *
+     * @author Andreas Schwenk
+     */
+    public NumberExpression(int value, SigVar context)
+    {
+        this.value = value;
+        this.context = context;
+    }
+
+    @Override
+    public void accept(I_EXPRESSION_VISITOR visitor)
+    {
+        visitor.visit(this);
+    }
+}
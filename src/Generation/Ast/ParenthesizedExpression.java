@@ -0,0 +1,46 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       ParenthesizedExpression
+ * Created:     2026-10-19
+ */
+
+package Generation.Ast;
+
+/**
+ * "(expression)" or "!(expression)"
+ *
+ * Parentheses are kept in the tree, since they are also written into the
+ * generated code.
+ *
+ * @author Andreas Schwenk
+ */
+public class ParenthesizedExpression extends Expression
+{
+    // *** ATTRIBUTES ***
+    public final boolean negated;
+    public final Expression inner;
+
+    // *** METHODS ***
+
+    /**
+     * @param negated true: "!(...)"
+     * @param inner expression inside the parentheses
+     *
+     * @author Andreas Schwenk
+     */
+    public ParenthesizedExpression(boolean negated, Expression inner)
+    {
+        this.negated = negated;
+        this.inner = inner;
+    }
+
+    @Override
+    public void accept(I_EXPRESSION_VISITOR visitor)
+    {
+        visitor.visit(this);
+    }
+}
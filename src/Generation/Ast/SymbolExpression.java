@@ -0,0 +1,61 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       SymbolExpression
+ * Created:     2026-10-19
+ */
+
+package Generation.Ast;
+
+import Graph.SigVar;
+import Graph.Signal;
+import Graph.Variable;
+
+/**
+ * input-signal or variable, optionally negated ("!name")
+ *
+ * @author Andreas Schwenk
+ */
+public class SymbolExpression extends Expression
+{
+    // *** ATTRIBUTES ***
+    public final String name;       // as written in the condition
+    public final boolean negated;
+    public final Signal signal;     // input-signal with this name (or null)
+    public final Variable variable; // variable with this name (or null)
+
+    // *** METHODS ***
+
+    /**
+     * @param name name as written in the condition
+     * @param negated true: "!name"
+     * @param signal input-signal with this name (or null)
+     * @param variable variable with this name (or null)
+     *
+     * @author Andreas Schwenk
+     */
+    public SymbolExpression(String name, boolean negated, Signal signal, Variable variable)
+    {
+        this.name = name;
+        this.negated = negated;
+        this.signal = signal;
+        this.variable = variable;
+    }
+
+    /**
+     * @return the referenced symbol (variables have precedence)
+     */
+    public SigVar getSymbol()
+    {
+        return (variable != null) ? variable : signal;
+    }
+
+    @Override
+    public void accept(I_EXPRESSION_VISITOR visitor)
+    {
+        visitor.visit(this);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       VhdlEmitter
+ * Created:     2026-10-19
+ */
+
+package Generation.Ast;
+
+import Graph.SigVar;
+import Graph.SigVar.SIGVAR_TYPE;
+
+/**
+ * VHDL (identifiers in upper case; bits are compared with '0' / '1')
+ *
+ * @author Andreas Schwenk, Georg Hartung
+ */
+public class VhdlEmitter extends Emitter
+{
+    @Override
+    public void visit(BinaryExpression e)
+    {
+        e.left.accept(this);
+        switch(e.operator)
+        {
+            case OR:            out.append(" or "); break;
+            case AND:           out.append(" and "); break;
+            case EQUAL:         out.append("="); break;
+            case NOT_EQUAL:     out.append("/="); break;
+            case LESS:          out.append("<"); break;
+            case LESS_EQUAL:    out.append("<="); break;
+            case GREATER:       out.append(">"); break;
+            case GREATER_EQUAL: out.append(">="); break;
+        }
+        e.right.accept(this);
+    }
+
+    @Override
+    public void visit(ParenthesizedExpression e)
+    {
+        if(e.negated)
+            out.append("not ");
+        out.append(" (");
+        e.inner.accept(this);
+        out.append(") ");
+    }
+
+    @Override
+    public void visit(SymbolExpression e)
+    {
+        // "Signal" or "!Signal" is translated to "(SIGNAL='1')" or "(SIGNAL='0')"
+        //  note: this is only done in case of bit; otherwise: behavior not yet defined
+        String bit = e.negated ? "'0'" : "'1'";
+        if(e.signal != null && e.signal.getType() == SIGVAR_TYPE.BIT)
+            out.append('(').append(e.signal.getName().toUpperCase()).append('=').append(bit).append(')');
+        else if(e.variable != null && e.variable.getType() == SIGVAR_TYPE.BIT)
+            out.append('(').append(e.variable.getName().toUpperCase()).append('=').append(bit).append(')');
+        else
+            out.append(e.negated ? "not " : "").append(e.name.toUpperCase());
+    }
+
+    @Override
+    public void visit(NumberExpression e)
+    {
+        // number has to be converted according to type
+        if(e.context == null)
+        {
+            out.append(e.value);
+            return;
+        }
+        switch(e.context.getType())
+        {
+            case BIT:
+                out.append('\'').append(e.value).append('\'');
+                break;
+            case BIT_N:
+                out.append('"').append(toBinary(e.value, e.context.getBitLength())).append('"');
+                break;
+            case SIGNED:
+            case UNSIGNED:
+                out.append(e.value);
+                break;
+        }
+    }
+
+    @Override
+    public void visit(ConstantExpression e)
+    {
+        out.append(e.value ? "true" : "false");
+    }
+
+    @Override
+    public String emitRightHandSide(Assignment a)
+    {
+        SigVar v = a.target;
+        switch(a.type)
+        {
+            case SHIFT_LEFT:
+                if(v.getType() == SIGVAR_TYPE.UNSIGNED)
+                    return "to_integer(to_unsigned(" + v.getName().toUpperCase() + "," + v.getBitLength() + ") sll 1)";
+                if(v.getType() == SIGVAR_TYPE.SIGNED)
+                    return "to_integer(to_signed(" + v.getName().toUpperCase() + "," + v.getBitLength() + ") sll 1)";
+                if(v.getType() == SIGVAR_TYPE.BIT_N)
+                    return v.getName().toUpperCase() + "(" + (v.getBitLength()-2) + " downto 0) & '0'";
+                return null;
+            case SHIFT_RIGHT:
+                if(v.getType() == SIGVAR_TYPE.UNSIGNED)
+                    return "to_integer(to_unsigned(" + v.getName().toUpperCase() + "," + v.getBitLength() + ") srl 1)";
+                if(v.getType() == SIGVAR_TYPE.SIGNED)
+                    return "to_integer(to_signed(" + v.getName().toUpperCase() + "," + v.getBitLength() + ") sra 1)";
+                if(v.getType() == SIGVAR_TYPE.BIT_N)
+                    return "'0' & " + v.getName().toUpperCase() + "(" + (v.getBitLength()-1) + " downto 1)";
+                return null;
+            case COPY:
+                return a.operandName.toUpperCase();
+            case ADD:
+            case SUBTRACT:
+                String rhs = a.operandName.toUpperCase()
+                        + (a.type == Assignment.ASSIGNMENT_TYPE.ADD ? " + " : " - ");
+                if(a.operand2Name != null)
+                    return rhs + a.operand2Name;
+                if(a.operand.getType() == SIGVAR_TYPE.BIT_N)
+                    return rhs + "\"" + toBinary(a.number, v.getBitLength()) + "\"";
+                return rhs + a.number;
+            case CONSTANT:
+                if(v.getType() == SIGVAR_TYPE.BIT_N)
+                    return "\"" + toBinary(a.number, v.getBitLength()) + "\"";
+                if(v.getType() == SIGVAR_TYPE.SIGNED)
+                    return "to_signed(" + a.number + ", " + v.getBitLength() + ")";
+                if(v.getType() == SIGVAR_TYPE.UNSIGNED)
+                    return "to_unsigned(" + a.number + ", " + v.getBitLength() + ")";
+                return null;
+            case INCREMENT:
+                return a.targetName + (v.getType() == SIGVAR_TYPE.BIT_N ? " + \"1\"" : " + 1");
+            case DECREMENT:
+                return a.targetName + (v.getType() == SIGVAR_TYPE.BIT_N ? " - \"1\"" : " - 1");
+        }
+        return null;
+    }
+}
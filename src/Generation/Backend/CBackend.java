@@ -0,0 +1,1215 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       CBackend
+ * Created:     2026-10-19
+ */
+package Generation.Backend;
+
+import Generation.DecisionTree;
+import Generation.Ast.CEmitter;
+import Generation.Ast.Emitter;
+import Generation.Ast.Expression;
+import Generation.Backend.MachineModel.Signal;
+import Generation.Backend.MachineModel.State;
+import Generation.Backend.MachineModel.Transition;
+import Generation.Backend.MachineModel.Variable;
+import Generation.OutputVectorParser.GeneratedOutputVector;
+import Generation.RangeAnalysis;
+import Generation.VariableAssignmentParser.GeneratedVarAssignment;
+import Graph.Graph.GRAPH_TYPE;
+import Graph.Graph.STATE_ENCODING;
+import Graph.SigVar.SIGVAR_TYPE;
+import Graph.Signal.SIGNAL_DIRECTION;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Generates C-code: header, step-function and an example for executing the
+ * machine.
+ *
+ * @author Andreas Schwenk, Georg Hartung (from V1.2)
+ */
+public class CBackend implements I_BACKEND {
+
+    // *** ATTRIBUTES ***
+    private final File file_h, file_c, file_e;
+    private final boolean decisionTrees; // see DecisionTree
+    private final boolean reentrant;     // context per instance + batch
+    private final boolean benchmark;     // exec file: benchmark-driver
+
+    // steps of the stimulus of the benchmark (power of two)
+    private static final int BENCHMARK_STIMULUS_LENGTH = 4096;
+    // words per line of the stimulus
+    private static final int BENCHMARK_WORDS_PER_LINE = 8;
+
+    // tests of the decision-trees
+    private final Emitter cEmitter = new CEmitter();
+
+    // *** METHODS ***
+
+    /**
+     * @param file_h h output-file
+     * @param file_c c output-file
+     * @param file_e c exec output file
+     * @param decisionTrees true: the outgoing transitions of each state are
+     *                      tested in one decision-tree
+     * @param reentrant true: state and variables in a context per instance;
+     *                  additional reentrant step-function and batch-function
+     *                  (struct of arrays)
+     *
+     * @author Andreas Schwenk
+     */
+    public CBackend(File file_h, File file_c, File file_e, boolean decisionTrees, boolean reentrant) {
+        this(file_h, file_c, file_e, decisionTrees, reentrant, false);
+    }
+
+    /**
+     * @param file_h h output-file
+     * @param file_c c output-file
+     * @param file_e c exec output file
+     * @param decisionTrees true: the outgoing transitions of each state are
+     *                      tested in one decision-tree
+     * @param reentrant true: context per instance (see above)
+     * @param benchmark true: the exec file is a benchmark-driver instead of
+     *                  the example code (see writeBenchmark)
+     *
+     * @author Andreas Schwenk
+     */
+    public CBackend(File file_h, File file_c, File file_e, boolean decisionTrees, boolean reentrant,
+            boolean benchmark) {
+        this.file_h = file_h;
+        this.file_c = file_c;
+        this.file_e = file_e;
+        this.decisionTrees = decisionTrees;
+        this.reentrant = reentrant;
+        this.benchmark = benchmark;
+    }
+
+    @Override
+    public File[] getFiles() {
+        return new File[]{file_h, file_c, file_e};
+    }
+
+    @Override
+    public String[] getOptions() {
+        // the name of the header-file is part of the code
+        return new String[]{"C", file_h.getName(), decisionTrees ? "tree" : "", reentrant ? "reentrant" : "",
+            benchmark ? "benchmark " + file_c.getName() + " " + file_e.getName() : ""};
+    }
+
+    @Override
+    public boolean includesLayout() {
+        return false;
+    }
+
+    @Override
+    public String getSummary() {
+        return ">> GENERIERUNG C-CODE: ERFOLGREICH! <<\n";
+    }
+
+    /**
+     * generate C-Code
+     *
+     * @param model model of the verified graph
+     * @param sink receives the files
+     * @throws IOException java-input-output-exception
+     *
+     * Method of Operation From version 1.3, 3 files are generated: -
+     * fsm_<modelname>.h contains the declarations including InVector,
+     * OutVector, step function - fsm_<modelname>_FSM.c contains the definitions
+     * of the step function - fsm_exec_<modelname>.c contains an example for
+     * calling the FSM The header file contains - typedefs of struct for input
+     * and output vector - typedef enum for the states - declaraions of -
+     * reset-function (omputes start state) - step function (computes transition
+     * as well as output (Moore-type FSA) - transition function (computes next
+     * state) - ourput function (computes outputs from state and inputs
+     * (Mealy-type FSA) - to realize Mealy semantics we need the separation
+     * between the functions. The source code file contains these functions.
+     *
+     * @author Andreas Schwenk, Georg Hartung (from V1.2)
+     *
+     * This function was totally reworked in V1.3
+     *
+     */
+    @Override
+    public void generate(MachineModel model, OutputSink sink) throws IOException {
+        // create a new file
+        /* 
+         */
+        PrintWriter pwc = sink.open(file_c);
+        PrintWriter pwh = sink.open(file_h);
+        PrintWriter pwe = sink.open(file_e);
+
+        // (I.) writer header changed 
+        pwh.println("/* ");
+        pwh.println("*   " + model.getName());
+        pwh.println("*");
+        pwh.println("*   Header for FSM implementation in C");
+        pwh.println("*     h file");
+        pwh.println("*/");
+        pwh.println();
+
+        pwc.println("/* ");
+        pwc.println("*   " + model.getName());
+        pwc.println("*");
+        pwc.println("*   Definition of FSM function in C");
+        pwc.println("*     c file");
+        pwc.println("*/");
+        pwc.println();
+        pwc.println("#include \"" + file_h.getName() + "\"");
+        pwc.println();
+
+        // Definition of standard types bool, uint8_t etc.
+        pwh.println("#ifndef __cplusplus");
+        pwh.println("#ifndef false");
+        pwh.println("#define false 0");
+        pwh.println("#define true 1");
+        pwh.println("#endif");
+        pwh.println("typedef int bool;");
+        pwh.println("#endif");
+        pwh.println();
+        pwh.println("#ifndef byte");
+        pwh.println("typedef unsigned char byte;");
+        pwh.println("#endif");
+        pwh.println();
+        pwh.println("#ifndef __gtiTypes");
+        pwh.println("#define __gtiTypes");
+        pwh.println("typedef unsigned long long uint64_t;");
+        pwh.println("typedef unsigned long int uint32_t;");
+        pwh.println("typedef unsigned short int uint16_t;");
+        pwh.println("typedef unsigned char uint8_t;");
+        pwh.println("typedef long long int64_t;");
+        pwh.println("typedef long int int32_t;");
+        pwh.println("typedef short int int16_t;");
+        pwh.println("typedef char int8_t;");
+        pwh.println("#endif");
+
+        // (II.) write signal type  
+        // Extension/Change in Version 1.3
+        pwh.println();
+        pwh.println("/* SIGNAL TYPE */");
+        Signal signal;
+        String direction = "", type = "";
+        int bitLen;
+        // rev. 1.3
+        String typename = "";
+        boolean hasInOuts = false;
+        // for all signals
+        Iterator<Signal> itSig;
+        for (int i = 0; i < 3; i++) // input + output signals
+        {
+            if (i == 0) {
+                pwh.println("/*   (a) input signal type */");
+                typename = "InVector_" + model.getName() + " ";
+                itSig = model.getSignals(SIGNAL_DIRECTION.IN).iterator();
+                pwh.println("typedef struct {");
+            } else if (i == 1) {
+                pwh.println("/*   (b) output signal type */");
+                itSig = model.getSignals(SIGNAL_DIRECTION.OUT).iterator();
+                typename = "OutVector_" + model.getName();
+                pwh.println("typedef struct {");
+            } else {
+                pwc.println("/*   (c) input/output signals */");
+                itSig = model.getSignals(SIGNAL_DIRECTION.INOUT).iterator();
+                if ((hasInOuts = itSig.hasNext())) {
+                    typename = "InOutVector_" + model.getName();
+                    pwh.println("typedef struct {");
+                }
+            }
+
+            while (itSig.hasNext()) {
+                signal = itSig.next();
+                bitLen = signal.getBitLength();
+                // detect signal-type
+                type = getCType(signal.getType(), bitLen);
+                pwh.println("  " + type + " " + signal.getName() + "; // " + signal.getDescription());
+            }   // end iteration over signals
+            // generate end of typedef struct and generate pointer type 
+            if ((i < 2) || hasInOuts) {
+                pwh.println("  } " + typename + ";");
+                pwh.println("typedef " + typename + " *Ptr" + typename + ";");
+            }
+        }
+        pwh.println();
+        // Transition/Output function
+        LinkedList<String> parameters = new LinkedList<String>();
+        parameters.add("  bool reset,              // reset of fsm");
+        parameters.add("  PtrInVector_" + model.getName() + " inV,         // input signals");
+        parameters.add("  PtrOutVector_" + model.getName() + " outV        // output signals");
+        if (hasInOuts) {
+            parameters.add(",  PtrInOutVector inoutV   // in/out signals");
+        }
+        pwh.println("bool fsm_" + model.getName() + "(");
+        for (int k = 0; k < parameters.size(); k++) {
+            String parameter = parameters.get(k);
+            pwh.println(parameter);
+        }
+        pwh.println(");");
+        if (reentrant) {
+            writeContextDeclarations(model, pwh);
+        }
+        pwh.println("void exec_fsm_" + model.getName() + "();");
+        pwh.println();
+        pwh.close(); // header finished
+
+        if (reentrant) {
+            writeReentrantFunctions(model, parameters, pwc);
+        } else {
+            pwc.println("bool fsm_" + model.getName() + "(");
+            for (int k = 0; k < parameters.size(); k++) {
+                String parameter = parameters.get(k);
+                pwc.println(parameter);
+            }
+            pwc.println(")");
+            pwc.println("{");
+
+            // generate state Variable which is intern to fsm
+            pwc.println("    /* state variable (static, inside step function   */");
+            pwc.println("    static enum ");
+            pwc.println("    {");
+            writeStateNames(model, pwc);
+            pwc.println("    } state;");
+
+            pwc.println("    static initialized = false;   // enforce resetting!");
+
+            // (II.) write variables
+            // here no initialisation is made!
+            List<Variable> variables = model.getVariables();
+            if (variables.size() > 0) {
+                pwc.println();
+                pwc.println("    /* VARIABLES */");
+                Iterator<Variable> itVar = variables.iterator();
+                while (itVar.hasNext()) {
+                    Variable variable = itVar.next();
+                    pwc.println("    static " + getCType(variable) + " " + variable.getName() + "; // "
+                            + variable.getDescription() + getRangeComment(variable));
+                }
+            }
+
+            writeStepDeclarations(model, pwc);
+            writeStepBody(model, pwc);
+            pwc.println("    return(initialized);");
+            pwc.println("}  // end of fsm function ");
+            pwc.println();
+        }
+        pwc.close();  // close C File
+
+        if (benchmark) {
+            writeBenchmark(model, pwe);
+            pwe.close();
+            return;
+        }
+
+// Start pwe generation from here
+        pwe.println("/* ");
+        pwe.println("*   " + model.getName());
+        pwe.println("*");
+        pwe.println("*   example code for executing the FSM in C ");
+        pwe.println("*     exec c file");
+        pwe.println("*/");
+        pwe.println();
+        pwe.println();
+        pwe.println("/* For Simulation here a flag is used ");
+        pwe.println("   Outcomment next line with define of SIMULATION_" + model.getName() + " if real operation */");
+        pwe.println("#define SIMULATION_" + model.getName());
+        pwe.println();
+        pwe.println("#ifdef SIMULATION_" + model.getName());
+        pwe.println("#include <ctype.h>");
+        pwe.println("#include <stdio.h>");
+        pwe.println("#endif");
+        pwe.println();
+        pwe.println("#include \"" + file_h.getName() + "\"");
+        pwe.println();
+        pwe.println("/* ");
+        pwe.println("  input function ");
+        pwe.println("   @param bool *reset     out   reset wanted");
+        pwe.println("   @param InVector_" + model.getName() + " *inV   out   input values");
+        pwe.println("   @returns true, if not shutdown of fsm ");
+        pwe.println("*/");
+        pwe.println("bool readInput_" + model.getName() + "(bool *reset, InVector_" + model.getName() + " *inV)");
+        pwe.println("{");
+        pwe.println("   bool end;");
+        pwe.println("   uint64_t inputBuf;");
+        pwe.println();
+        pwe.println("   /* get information whether the FSM should be  ");
+        pwe.println("      shut down (Variable end)                                 ");
+        pwe.println("      resetted  (Parameter *reset)                           */");
+        pwe.println("   // ### INSERT MANUALLY IF NOT SIMULATION FROM CONSOLE ###");
+        pwe.println("#ifdef SIMULATION_" + model.getName());
+        pwe.println("   char str[2];");
+        pwe.println("   printf(\"\\nFSM Stop (S,s), Reset (R,r) or Normal Step (N) (default N): \");");
+        pwe.println("   scanf(\"%s\", str);");
+        pwe.println("   end = (toupper(str[0])==\'S\');");
+        pwe.println("   if (end) return false;");
+        pwe.println("   *reset = (toupper(str[0])==\'R\');");
+        pwe.println("   // ### END PART FOR SIMULATION READING FSM Stop or Reset ###");
+        pwe.println("#else");
+        pwe.println("   if (end) return false;");
+        pwe.println("#endif");
+        pwe.println("   if (*reset) return true;");
+        pwe.println("   /* read input-signals from device */");
+        pwe.println("   // ### INSERT MANUALLY OTHER CODE IF NOT SIMULATION ###");
+        Signal sig;
+        LinkedList<Signal> inSigs = model.getSignals(SIGNAL_DIRECTION.IN);
+        inSigs.addAll(model.getSignals(SIGNAL_DIRECTION.INOUT));
+        Iterator<Signal> inSigIt = inSigs.iterator();
+        while (inSigIt.hasNext()) {
+            sig = inSigIt.next();
+            pwe.println("   // inV->" + sig.getName() + " = XXX;");
+        }
+        pwe.println("#ifdef SIMULATION_" + model.getName());
+        Iterator<Signal> inSigIt2 = inSigs.iterator();
+        while (inSigIt2.hasNext()) {
+            sig = inSigIt2.next();
+            pwe.println("   printf(\"Enter hexadecimal value for " + sig.getName() + ": \");");
+            pwe.println("   scanf(\"%lx\", &inputBuf);");
+            pwe.println("   inV->" + sig.getName() + " = (/*### ADD CAST WITH APPROPRIATE TYPE ###*/)inputBuf;");
+        }
+        pwe.println("#endif");
+        pwe.println("   return true;");
+        pwe.println("}; /* end input function */");
+        pwe.println();
+        pwe.println("/* ");
+        pwe.println("  output function  ");
+        pwe.println("   @param OutVector *outV_" + model.getName() + "   in   output values");
+        pwe.println("*/");
+        pwe.println("void writeOutput_" + model.getName() + "(OutVector_" + model.getName() + " *outV)");
+        pwe.println("{");
+        pwe.println("    int64_t outputBuf;");
+        pwe.println("    /* write output-signals to device */");
+        pwe.println("    // ### INSERT MANUALLY ###");
+
+        // output signals (including inout-signals)
+        LinkedList<Signal> outSigs = model.getSignals(SIGNAL_DIRECTION.OUT);
+        outSigs.addAll(model.getSignals(SIGNAL_DIRECTION.INOUT));
+        Iterator<Signal> outSigIt = outSigs.iterator();
+        while (outSigIt.hasNext()) {
+            sig = outSigIt.next();
+            pwe.println("    // XXX = outV." + sig.getName() + ";");
+        }
+        pwe.println();
+        pwe.println("#ifdef SIMULATION_" + model.getName());
+        pwe.println("    printf(\"\\nActual output signal values of FSM\");");
+        Iterator<Signal> outSigIt2 = outSigs.iterator();
+        while (outSigIt2.hasNext()) {
+            sig = outSigIt2.next();
+            pwe.println("    outputBuf = (int64_t) (outV->" + sig.getName() + ");");
+            pwe.println("    printf(\"\\n  " + sig.getName() + " = %d \", outputBuf);");
+        }
+        pwe.println("#endif");
+        pwe.println("}    /* end of output function*/");
+        pwe.println();
+        pwe.println("/* ");
+        pwe.println("  exec function  ");
+        pwe.println("*/");
+
+        pwe.println("void exec_fsm_" + model.getName() + "()");
+        pwe.println("{");
+        pwe.println("    /* Generation of input/ output vector */");
+        pwe.println("    InVector_" + model.getName() + " inV = {0};");
+        pwe.println("    OutVector_" + model.getName() + " outV = {0};");
+        pwe.println("    bool exec = false;");
+        pwe.println("    bool reset = true;");
+        pwe.println("    /* Initialisation  */");
+        pwe.println("    exec = fsm_" + model.getName() + "( true, &inV, &outV);");
+        pwe.println("    writeOutput_" + model.getName() + "(&outV);");
+        pwe.println("    /* Example of execution LOOP */");
+        pwe.println("    while(exec)");
+        pwe.println("    {");
+        pwe.println("        exec = readInput_" + model.getName() + "( &reset, &inV);");
+        pwe.println("        if (!exec) break;");
+        pwe.println("        exec = fsm_" + model.getName() + "( reset, &inV, &outV);");
+        pwe.println("        writeOutput_" + model.getName() + "(&outV);");
+        pwe.println("        // ### INSERT OTHER STUFF HERE");
+        pwe.println("        // ### NO WHILE LOOP OR UNCONTROLLED GETS, SCANF ETC.!!!");
+        pwe.println("    } // end while loop of fsm ");
+        pwe.println("#ifdef SIMULATION_" + model.getName());
+        pwe.println("    printf(\"\\nEND OF SIMULATION OF FSM!!!\");");
+        pwe.println("#endif");
+        pwe.println("}  /* end of exec function */");
+
+        // close file
+        pwe.close(); // close exec file
+    }
+
+    /**
+     * @return name of the style of the step-function (benchmark)
+     */
+    protected String getStyle() {
+        return (decisionTrees ? "decision-tree" : "switch") + (reentrant ? ", reentrant" : "");
+    }
+
+    /**
+     * writes a benchmark-driver instead of the example code: a stimulus of
+     * random inputs (recorded by the Simulator, packed into 64-bit words) is
+     * replayed through the step-function in a tight loop; the time per step is
+     * measured with clock_gettime (cycles: time-stamp-counter on x86 or
+     * STDE_BENCH_GHZ). A checksum of the outputs allows to compare styles.
+     *
+     * @param model model
+     * @param pwe exec file
+     *
+     * @author Andreas Schwenk
+     */
+    private void writeBenchmark(MachineModel model, PrintWriter pwe) {
+        String name = model.getName();
+        Simulator simulator = new Simulator(model);
+        simulator.recordTrace();
+        simulator.run(BENCHMARK_STIMULUS_LENGTH);
+        List<long[]> trace = simulator.getTrace();
+        List<Signal> inputs = simulator.getInputSignals();
+        LinkedList<Signal> outputs = model.getSignals(SIGNAL_DIRECTION.OUT);
+        boolean hasInOuts = !model.getSignals(SIGNAL_DIRECTION.INOUT).isEmpty();
+
+        // (a) packing: signals are not split between words
+        int[] word = new int[inputs.size()];
+        int[] lower = new int[inputs.size()];
+        int words = 0, used = 64;
+        for (int i = 0; i < inputs.size(); i++) {
+            int bits = RomTable.getBitLength(inputs.get(i));
+            if (used + bits > 64) {
+                words++;
+                used = 0;
+            }
+            word[i] = words - 1;
+            lower[i] = used;
+            used += bits;
+        }
+
+        pwe.println("/* ");
+        pwe.println("*   " + name);
+        pwe.println("*");
+        pwe.println("*   benchmark of the step-function fsm_" + name + " (" + getStyle() + ")");
+        pwe.println("*     exec c file");
+        pwe.println("*");
+        pwe.println("*   replays " + trace.size() + " steps of random inputs (recorded by the simulator of STDE)");
+        pwe.println("*   in a tight loop and reports ns/step and cycles/step; compile e.g. with");
+        pwe.println("*     cc -O2 " + file_c.getName() + " " + file_e.getName() + " -o bench_" + name);
+        pwe.println("*   STDE_BENCH_STEPS: number of measured steps; STDE_BENCH_GHZ: clock-rate");
+        pwe.println("*   for cycles/step, if there is no time-stamp-counter (x86)");
+        pwe.println("*/");
+        pwe.println();
+        pwe.println("#define _POSIX_C_SOURCE 199309L");
+        pwe.println("#include <stdio.h>");
+        pwe.println("#include <time.h>");
+        pwe.println();
+        pwe.println("#include \"" + file_h.getName() + "\"");
+        pwe.println();
+        pwe.println("#ifndef STDE_BENCH_STEPS");
+        pwe.println("#define STDE_BENCH_STEPS 10000000ULL");
+        pwe.println("#endif");
+        pwe.println("#define STDE_STIMULUS_LENGTH " + trace.size() + " /* power of two */");
+        pwe.println("#define STDE_STIMULUS_WORDS " + words + " /* per step */");
+        pwe.println();
+
+        // (b) stimulus
+        if (words > 0) {
+            pwe.println("/* packed inputs of each step */");
+            pwe.println("static const uint64_t stde_stimulus[STDE_STIMULUS_LENGTH * STDE_STIMULUS_WORDS] = {");
+            StringBuilder line = new StringBuilder(" ");
+            int count = trace.size() * words;
+            for (int k = 0; k < trace.size(); k++) {
+                long[] packed = new long[words];
+                for (int i = 0; i < inputs.size(); i++) {
+                    int bits = RomTable.getBitLength(inputs.get(i));
+                    long mask = (bits < 64) ? (1L << bits) - 1 : -1L;
+                    packed[word[i]] |= (trace.get(k)[i] & mask) << lower[i];
+                }
+                for (int w = 0; w < words; w++) {
+                    int n = k * words + w;
+                    line.append(String.format(" 0x%xULL", packed[w])).append((n < count - 1) ? "," : "");
+                    if (n % BENCHMARK_WORDS_PER_LINE == BENCHMARK_WORDS_PER_LINE - 1 || n == count - 1) {
+                        pwe.println(line.toString());
+                        line = new StringBuilder(" ");
+                    }
+                }
+            }
+            pwe.println("};");
+            pwe.println();
+        }
+
+        // (c) unpacking of one step
+        pwe.println("/* inputs of step i */");
+        pwe.println("#define STDE_UNPACK(i) do { \\");
+        if (words > 0) {
+            pwe.println("    const uint64_t *w = &stde_stimulus[((i) & (STDE_STIMULUS_LENGTH - 1)) * STDE_STIMULUS_WORDS]; \\");
+        }
+        for (int i = 0; i < inputs.size(); i++) {
+            Signal signal = inputs.get(i);
+            int bits = RomTable.getBitLength(signal);
+            String cType = getCType(signal.getType(), signal.getBitLength());
+            String value;
+            if (signal.getType() == SIGVAR_TYPE.SIGNED && bits > 1) {
+                value = "(" + cType + ") ((int64_t) (w[" + word[i] + "] << " + (64 - lower[i] - bits) + ") >> "
+                        + (64 - bits) + ")";
+            } else {
+                value = "(" + cType + ") ((w[" + word[i] + "] >> " + lower[i] + ") & 0x"
+                        + Long.toHexString((1L << bits) - 1) + "ULL)";
+            }
+            String vector = (signal.getDirection() == SIGNAL_DIRECTION.INOUT) ? "ioV." : "inV.";
+            pwe.println("    " + vector + signal.getName() + " = " + value + "; \\");
+        }
+        pwe.println("  } while (0)");
+        pwe.println();
+
+        // (d) time and cycles
+        pwe.println("static double stde_now(void)");
+        pwe.println("{");
+        pwe.println("    struct timespec ts;");
+        pwe.println("    clock_gettime(CLOCK_MONOTONIC, &ts);");
+        pwe.println("    return ts.tv_sec * 1e9 + ts.tv_nsec;");
+        pwe.println("}");
+        pwe.println();
+        pwe.println("/* keeps the loop over the stimulus alone (overhead) */");
+        pwe.println("volatile unsigned long long stde_sink;");
+        pwe.println();
+        pwe.println("#if (defined(__GNUC__) || defined(__clang__)) && (defined(__x86_64__) || defined(__i386__))");
+        pwe.println("#define STDE_HAS_TSC");
+        pwe.println("static unsigned long long stde_cycles(void)");
+        pwe.println("{");
+        pwe.println("    unsigned int lo, hi;");
+        pwe.println("    __asm__ __volatile__(\"rdtsc\" : \"=a\"(lo), \"=d\"(hi));");
+        pwe.println("    return ((unsigned long long) hi << 32) | lo;");
+        pwe.println("}");
+        pwe.println("#endif");
+        pwe.println();
+
+        // (e) benchmark
+        String inOutArgument = hasInOuts ? ", &ioV" : "";
+        pwe.println("/* ");
+        pwe.println("  exec function: runs the benchmark");
+        pwe.println("*/");
+        pwe.println("void exec_fsm_" + name + "()");
+        pwe.println("{");
+        pwe.println("    InVector_" + name + " inV = {0};");
+        pwe.println("    OutVector_" + name + " outV = {0};");
+        if (hasInOuts) {
+            pwe.println("    InOutVector_" + name + " ioV = {0};");
+        }
+        pwe.println("    unsigned long long i, checksum = 0, unpacked = 0;");
+        pwe.println("    double t0, t1, t2;");
+        pwe.println("#ifdef STDE_HAS_TSC");
+        pwe.println("    unsigned long long c0, c1;");
+        pwe.println("#endif");
+        pwe.println();
+        pwe.println("    /* reset and warm-up (caches, branch-predictors) */");
+        pwe.println("    fsm_" + name + "(true, &inV, &outV" + inOutArgument + ");");
+        pwe.println("    for (i = 0; i < STDE_STIMULUS_LENGTH; i++) {");
+        pwe.println("        STDE_UNPACK(i);");
+        pwe.println("        fsm_" + name + "(false, &inV, &outV" + inOutArgument + ");");
+        pwe.println("    }");
+        pwe.println();
+        pwe.println("    /* overhead of the stimulus */");
+        pwe.println("    t0 = stde_now();");
+        pwe.println("    for (i = 0; i < STDE_BENCH_STEPS; i++) {");
+        pwe.println("        STDE_UNPACK(i);");
+        StringBuilder sum = new StringBuilder();
+        for (int i = 0; i < inputs.size(); i++) {
+            Signal signal = inputs.get(i);
+            String vector = (signal.getDirection() == SIGNAL_DIRECTION.INOUT) ? "ioV." : "inV.";
+            sum.append(" + (unsigned long long) ").append(vector).append(signal.getName());
+        }
+        pwe.println("        unpacked += 1" + sum + ";");
+        pwe.println("    }");
+        pwe.println();
+        pwe.println("    /* step-function */");
+        pwe.println("    t1 = stde_now();");
+        pwe.println("#ifdef STDE_HAS_TSC");
+        pwe.println("    c0 = stde_cycles();");
+        pwe.println("#endif");
+        pwe.println("    for (i = 0; i < STDE_BENCH_STEPS; i++) {");
+        pwe.println("        STDE_UNPACK(i);");
+        pwe.println("        fsm_" + name + "(false, &inV, &outV" + inOutArgument + ");");
+        sum = new StringBuilder();
+        for (int i = 0; i < outputs.size(); i++) {
+            sum.append((i > 0) ? " + " : "").append("(unsigned long long) outV.").append(outputs.get(i).getName());
+        }
+        pwe.println("        checksum = checksum * 31 + " + ((outputs.size() > 0) ? sum.toString() : "1") + ";");
+        pwe.println("    }");
+        pwe.println("#ifdef STDE_HAS_TSC");
+        pwe.println("    c1 = stde_cycles();");
+        pwe.println("#endif");
+        pwe.println("    t2 = stde_now();");
+        pwe.println();
+        pwe.println("    printf(\"fsm_" + name + " (" + getStyle() + "): %llu steps\\n\", (unsigned long long) STDE_BENCH_STEPS);");
+        pwe.println("    printf(\"  %.2f ns/step (incl. %.2f ns/step for the stimulus)\\n\",");
+        pwe.println("           (t2 - t1) / STDE_BENCH_STEPS, (t1 - t0) / STDE_BENCH_STEPS);");
+        pwe.println("#if defined(STDE_HAS_TSC)");
+        pwe.println("    printf(\"  %.2f cycles/step (time-stamp-counter)\\n\", (double) (c1 - c0) / STDE_BENCH_STEPS);");
+        pwe.println("#elif defined(STDE_BENCH_GHZ)");
+        pwe.println("    printf(\"  %.2f cycles/step (%.2f GHz)\\n\", (t2 - t1) * STDE_BENCH_GHZ / STDE_BENCH_STEPS, (double) STDE_BENCH_GHZ);");
+        pwe.println("#endif");
+        pwe.println("    printf(\"  checksum of the outputs: %016llx\\n\", checksum);");
+        pwe.println("    stde_sink = unpacked;");
+        pwe.println("}  /* end of exec function */");
+        pwe.println();
+        pwe.println("#ifndef STDE_BENCH_NO_MAIN");
+        pwe.println("int main(void)");
+        pwe.println("{");
+        pwe.println("    exec_fsm_" + name + "();");
+        pwe.println("    return 0;");
+        pwe.println("}");
+        pwe.println("#endif");
+    }
+
+    /**
+     * writes additional declarations at the beginning of the step-function
+     * (after the variables); none in switch-style
+     *
+     * @param model model
+     * @param pwc c file
+     */
+    protected void writeStepDeclarations(MachineModel model, PrintWriter pwc) {
+        /* empty */
+    }
+
+    /**
+     * writes the transition-function and the output-function (the part of the
+     * step-function after the reset)
+     *
+     * @param model model
+     * @param pwc c file
+     */
+    protected void writeStepFunction(MachineModel model, PrintWriter pwc) {
+        State state;
+        Iterator<State> itStates;
+    pwc.println("    else if (initialized) {");
+    // state transition (Moore, Mealy) + output function (Mealy)
+    if (model.getGraphType() == GRAPH_TYPE.MEALY) {
+        pwc.println("        /* state transition function + output function */");
+    } else {
+        pwc.println("        /* state transition function */");
+    }
+    pwc.println("        switch(state)");
+    pwc.println("        {");
+    // for all states
+    itStates = model.getStates().iterator();
+    while (itStates.hasNext()) {
+        state = itStates.next();
+        pwc.println("            case " + state.getName() + ":");
+        // variable assignments
+        if (state.isVariableAssignmentsEnabled()) {
+            Iterator<GeneratedVarAssignment> itGVA = state.getGeneratedVariableAssignments().iterator();
+            GeneratedVarAssignment gva;
+            while (itGVA.hasNext()) {
+                gva = itGVA.next();
+                pwc.println("                " + gva.lhs + " = " + gva.rhsC + "; // variable assignment");
+            }
+        }
+        // all outgoing transitions of current state as one decision-tree
+        DecisionTree.Node tree = getDecisionTree(state);
+        if (tree != null) {
+            writeCDecisionTree(tree, state.getTransitions(), model, pwc, 16);
+        }
+        // for all outgoing transitions of current state
+        Transition transition;
+        Iterator<Transition> itTrans = state.getTransitions().iterator();
+        String IF = "";
+        String conditionStr; // condition string
+        while (tree == null && itTrans.hasNext()) {
+            transition = itTrans.next();
+            if (IF.equals("")) {
+                IF = "if";
+            } else {
+                IF = "else if";
+            }
+
+            conditionStr = transition.getGeneratedCondition().C;
+
+            // write condition
+            pwc.println("                " + IF + "(" + conditionStr + ")");
+            if (model.getGraphType() == GRAPH_TYPE.MEALY) {
+                pwc.println("                {");
+                // mealy-output if applicable
+                writeCOutput(transition.getGeneratedOutputVector(), model.getSignals(SIGNAL_DIRECTION.OUT), pwc, 20);
+            }
+
+            pwc.println("                    state = " + transition.getToState().getName() + ";");
+            if (model.getGraphType() == GRAPH_TYPE.MEALY) {
+                pwc.println("                }");
+            }
+        }
+// TODO: "INOUT" MISSING
+        pwc.println("                break;");
+    }
+    pwc.println("            default: ;  // never reached");
+
+    pwc.println("        }      // end of switch ");
+    pwc.println("    }         // end if (initialized) ");
+    pwc.println("    else ;    // nothing to do here");
+    // generate MOORE outputs in 2nd loop
+    if (model.getGraphType() == GRAPH_TYPE.MOORE) {
+        pwc.println();
+        pwc.println("    /*   Output function    */");
+        pwc.println("    switch (state) { ");
+        // for all states
+        itStates = model.getStates().iterator();
+        while (itStates.hasNext()) {
+            state = itStates.next();
+            pwc.println("        case " + state.getName() + ":");
+            writeCOutput(state.getGeneratedOutputVector(), model.getSignals(SIGNAL_DIRECTION.OUT), pwc, 12);
+            pwc.println("            break;");
+        }
+        pwc.println("        default: ;  // never reached");
+        pwc.println("    }      // end of output switch ");
+        pwc.println();
+    }
+    }
+
+    /**
+     * writes the names of the states (enumeration); with a low-power
+     * encoding the codes of StateEncoding are the values
+     *
+     * @param model model
+     * @param pwc c file
+     */
+    private void writeStateNames(MachineModel model, PrintWriter pwc) {
+        StateEncoding encoding = null;
+        if (model.getStateEncoding() == STATE_ENCODING.LOW_POWER) {
+            encoding = new StateEncoding(model, STATE_ENCODING.LOW_POWER);
+        }
+        Iterator<State> itStates = model.getStates().iterator();
+        State s;
+        while (itStates.hasNext()) {
+            s = itStates.next();
+            String value = (encoding != null) ? " = " + Long.parseLong(encoding.getBits(s), 2) : "";
+            pwc.println("      " + s.getName() + value + (itStates.hasNext() ? "," : "")
+                    + " // " + s.getDescription());
+        }
+    }
+
+    /**
+     * writes the step-function after the declarations: reset, transition-
+     * and output-function
+     *
+     * @param model model
+     * @param pwc c file
+     */
+    private void writeStepBody(MachineModel model, PrintWriter pwc) {
+        pwc.println();
+        pwc.println("    /* SET INITIAL STATE if requested */");
+        pwc.println("    if (reset) {");
+        pwc.println("        state = " + model.getStartNode().getToState().getName() + ";");
+        pwc.println("        initialized = true; ");
+        pwc.println("        /* output of start-node */");
+        /*
+         With Mealy type FSM this is the output denotated on the start arrow.
+         With Moore type FSM this is the output denotated on the start arrow's toState 
+         */
+        if (model.getGraphType() == GRAPH_TYPE.MEALY) {  // in this case output is denoted at the start transition
+            writeCOutput(model.getStartNode().getGeneratedOutputVector(), model.getSignals(SIGNAL_DIRECTION.OUT), pwc, 8);
+        } else {
+            State startState = model.getStartNode().getToState();  // from start transition to start node
+            writeCOutput(startState.getGeneratedOutputVector(), model.getSignals(SIGNAL_DIRECTION.OUT), pwc, 8);
+        }
+        pwc.println("    }");
+        writeStepFunction(model, pwc);
+    }
+
+    /**
+     * writes the types and functions for several instances into the header:
+     * context of one instance, batch of instances (struct of arrays)
+     *
+     * @param model model
+     * @param pwh h file
+     */
+    private void writeContextDeclarations(MachineModel model, PrintWriter pwh) {
+        String name = model.getName();
+        List<Variable> variables = model.getVariables();
+
+        pwh.println();
+        pwh.println("/* CONTEXT of one instance (state and variables) */");
+        pwh.println("typedef struct {");
+        pwh.println("  " + getStateCType(model) + " state; // current state");
+        pwh.println("  bool initialized; // reset done");
+        for (int k = 0; k < variables.size(); k++) {
+            Variable variable = variables.get(k);
+            pwh.println("  " + getCType(variable) + " " + variable.getName() + "; // " + variable.getDescription());
+        }
+        pwh.println("  } Context_" + name + ";");
+        pwh.println("typedef Context_" + name + " *PtrContext_" + name + ";");
+        pwh.println();
+        pwh.println("/* reentrant step-function (one call per instance) */");
+        pwh.println("bool fsm_" + name + "_r(");
+        pwh.println("  PtrContext_" + name + " ctx,       // context of the instance");
+        pwh.println("  bool reset,              // reset of fsm");
+        pwh.println("  PtrInVector_" + name + " inV,         // input signals");
+        pwh.println("  PtrOutVector_" + name + " outV        // output signals");
+        pwh.println(");");
+
+        pwh.println();
+        pwh.println("/* BATCH of instances (struct of arrays: one array per field, indexed by instance) */");
+        pwh.println("typedef struct {");
+        pwh.println("  " + getStateCType(model) + " *state;");
+        pwh.println("  bool *initialized;");
+        for (int k = 0; k < variables.size(); k++) {
+            Variable variable = variables.get(k);
+            pwh.println("  " + getCType(variable) + " *" + variable.getName() + ";");
+        }
+        pwh.println("  } ContextBatch_" + name + ";");
+        pwh.println("typedef ContextBatch_" + name + " *PtrContextBatch_" + name + ";");
+        String[] typenames = {"InBatch_" + name, "OutBatch_" + name};
+        SIGNAL_DIRECTION[] directions = {SIGNAL_DIRECTION.IN, SIGNAL_DIRECTION.OUT};
+// TODO: "INOUT" MISSING
+        for (int i = 0; i < 2; i++) {
+            pwh.println("typedef struct {");
+            LinkedList<Signal> signals = model.getSignals(directions[i]);
+            for (int k = 0; k < signals.size(); k++) {
+                Signal signal = signals.get(k);
+                pwh.println("  " + getCType(signal.getType(), signal.getBitLength()) + " *" + signal.getName() + ";");
+            }
+            pwh.println("  } " + typenames[i] + ";");
+            pwh.println("typedef " + typenames[i] + " *Ptr" + typenames[i] + ";");
+        }
+        pwh.println();
+        pwh.println("/* steps the instances first .. first+count-1 */");
+        pwh.println("void fsm_" + name + "_batch(");
+        pwh.println("  PtrContextBatch_" + name + " ctx,  // contexts of all instances");
+        pwh.println("  const bool *reset,       // reset of each instance (NULL: no reset)");
+        pwh.println("  PtrInBatch_" + name + " inB,       // input signals of all instances");
+        pwh.println("  PtrOutBatch_" + name + " outB,     // output signals of all instances");
+        pwh.println("  unsigned int first,      // first instance");
+        pwh.println("  unsigned int count       // number of instances");
+        pwh.println(");");
+        pwh.println();
+    }
+
+    /**
+     * writes the step-functions for several instances: reentrant
+     * step-function, single instance (non-reentrant interface) and batch
+     *
+     * @param model model
+     * @param parameters parameters of the non-reentrant step-function
+     * @param pwc c file
+     */
+    private void writeReentrantFunctions(MachineModel model, List<String> parameters, PrintWriter pwc) {
+        String name = model.getName();
+        List<Variable> variables = model.getVariables();
+        boolean hasInOuts = parameters.size() > 3;
+
+        pwc.println("/* states */");
+        pwc.println("typedef enum ");
+        pwc.println("{");
+        writeStateNames(model, pwc);
+        pwc.println("} State_" + name + ";");
+        pwc.println();
+
+        // reentrant step-function: works on local copies of the context
+        pwc.println("bool fsm_" + name + "_r(");
+        pwc.println("  PtrContext_" + name + " ctx,       // context of the instance");
+        for (int k = 0; k < parameters.size(); k++) {
+            String parameter = parameters.get(k);
+            pwc.println(parameter);
+        }
+        pwc.println(")");
+        pwc.println("{");
+        pwc.println("    /* state and variables of the instance */");
+        pwc.println("    State_" + name + " state = (State_" + name + ") ctx->state;");
+        pwc.println("    bool initialized = ctx->initialized;");
+        for (int k = 0; k < variables.size(); k++) {
+            Variable variable = variables.get(k);
+            pwc.println("    " + getCType(variable) + " " + variable.getName() + " = ctx->" + variable.getName()
+                    + "; // " + variable.getDescription() + getRangeComment(variable));
+        }
+        writeStepDeclarations(model, pwc);
+        writeStepBody(model, pwc);
+        pwc.println("    /* store the instance */");
+        pwc.println("    ctx->state = (" + getStateCType(model) + ") state;");
+        pwc.println("    ctx->initialized = initialized;");
+        for (int k = 0; k < variables.size(); k++) {
+            Variable variable = variables.get(k);
+            pwc.println("    ctx->" + variable.getName() + " = " + variable.getName() + ";");
+        }
+        pwc.println("    return(initialized);");
+        pwc.println("}  // end of fsm function ");
+        pwc.println();
+
+        // single instance
+        pwc.println("bool fsm_" + name + "(");
+        for (int k = 0; k < parameters.size(); k++) {
+            String parameter = parameters.get(k);
+            pwc.println(parameter);
+        }
+        pwc.println(")");
+        pwc.println("{");
+        pwc.println("    static Context_" + name + " ctx;   // not initialized: enforce resetting!");
+        pwc.println("    return fsm_" + name + "_r(&ctx, reset, inV, outV" + (hasInOuts ? ", inoutV" : "") + ");");
+        pwc.println("}");
+        pwc.println();
+
+        // batch: gathers one instance into local copies, steps it and
+        // scatters it back (the compiler inlines fsm_<name>_r)
+        LinkedList<Signal> inSignals = model.getSignals(SIGNAL_DIRECTION.IN);
+        LinkedList<Signal> outSignals = model.getSignals(SIGNAL_DIRECTION.OUT);
+        pwc.println("void fsm_" + name + "_batch(");
+        pwc.println("  PtrContextBatch_" + name + " ctx,  // contexts of all instances");
+        pwc.println("  const bool *reset,       // reset of each instance (NULL: no reset)");
+        pwc.println("  PtrInBatch_" + name + " inB,       // input signals of all instances");
+        pwc.println("  PtrOutBatch_" + name + " outB,     // output signals of all instances");
+        pwc.println("  unsigned int first,      // first instance");
+        pwc.println("  unsigned int count       // number of instances");
+        pwc.println(")");
+        pwc.println("{");
+        pwc.println("    unsigned int i;");
+        pwc.println("    for (i = first; i < first + count; i++) {");
+        pwc.println("        Context_" + name + " c;");
+        pwc.println("        InVector_" + name + " in;");
+        pwc.println("        OutVector_" + name + " out;");
+        pwc.println("        c.state = ctx->state[i];");
+        pwc.println("        c.initialized = ctx->initialized[i];");
+        for (int k = 0; k < variables.size(); k++) {
+            Variable variable = variables.get(k);
+            pwc.println("        c." + variable.getName() + " = ctx->" + variable.getName() + "[i];");
+        }
+        for (int k = 0; k < inSignals.size(); k++) {
+            Signal signal = inSignals.get(k);
+            pwc.println("        in." + signal.getName() + " = inB->" + signal.getName() + "[i];");
+        }
+        // outputs, that are not written in this step, keep their values
+        for (int k = 0; k < outSignals.size(); k++) {
+            Signal signal = outSignals.get(k);
+            pwc.println("        out." + signal.getName() + " = outB->" + signal.getName() + "[i];");
+        }
+// TODO: "INOUT" MISSING
+        pwc.println("        fsm_" + name + "_r(&c, reset != 0 && reset[i], &in, &out" + (hasInOuts ? ", 0" : "") + ");");
+        pwc.println("        ctx->state[i] = c.state;");
+        pwc.println("        ctx->initialized[i] = c.initialized;");
+        for (int k = 0; k < variables.size(); k++) {
+            Variable variable = variables.get(k);
+            pwc.println("        ctx->" + variable.getName() + "[i] = c." + variable.getName() + ";");
+        }
+        for (int k = 0; k < outSignals.size(); k++) {
+            Signal signal = outSignals.get(k);
+            pwc.println("        outB->" + signal.getName() + "[i] = out." + signal.getName() + ";");
+        }
+        pwc.println("    }");
+        pwc.println("}  // end of batch function ");
+        pwc.println();
+    }
+
+    /**
+     * @param model model
+     * @return C-type of the state in a context
+     */
+    private static String getStateCType(MachineModel model) {
+        return model.getStates().size() <= 256 ? "uint8_t" : "uint16_t";
+    }
+
+    /**
+     * @param variable variable
+     * @return C-type of a variable (narrowed by the range-analysis)
+     */
+    private String getCType(Variable variable) {
+        // a smaller type is sufficient, if the range of values is known
+        String narrowType = getNarrowCType(variable);
+        if (narrowType != null) {
+            return narrowType;
+        }
+        return getCType(variable.getType(), variable.getBitLength());
+    }
+
+    /**
+     * @param variable variable
+     * @return comment with the range of values, if the type is narrowed
+     */
+    private String getRangeComment(Variable variable) {
+        if (getNarrowCType(variable) != null) {
+            return " (range: " + variable.getRange() + ")";
+        }
+        return "";
+    }
+
+    /**
+     * @param type type of a signal / variable
+     * @param bitLen bit-length
+     * @return C-type
+     */
+    protected static String getCType(SIGVAR_TYPE type, int bitLen) {
+        String cType = "";
+        switch (type) {
+            case BIT:
+                cType = "bool";
+                break;
+            case BIT_N:
+            case UNSIGNED:
+                if (bitLen == 1) {
+                    cType = "bool";
+                } else if (bitLen <= 8) {
+                    cType = "uint8_t";
+                } else if (bitLen <= 16) {
+                    cType = "uint16_t";
+                } else if (bitLen <= 32) {
+                    cType = "uint32_t";
+                } else if (bitLen <= 64) {
+                    cType = "uint64_t";
+                }
+                break;
+            case SIGNED:
+                if (bitLen == 1) {
+                    cType = "bool";
+                } else if (bitLen <= 8) {
+                    cType = "int8_t";
+                } else if (bitLen <= 16) {
+                    cType = "int16_t";
+                } else if (bitLen <= 32) {
+                    cType = "int32_t";
+                } else if (bitLen <= 64) {
+                    cType = "int64_t";
+                }
+                break;
+        }
+        return cType;
+    }
+
+    /**
+     * determines a C-type for a variable, that is smaller than the type given
+     * by the declared bit-length, but holds all values computed by the
+     * range-analysis
+     *
+     * @param variable variable
+     * @return narrower C-type or null, if the declared type must be used
+     */
+    private String getNarrowCType(Variable variable) {
+        if (variable.getRange() == null || variable.getBitLength() <= 8 || variable.getType() == SIGVAR_TYPE.BIT) {
+            return null;
+        }
+        RangeAnalysis.Interval range = variable.getRange();
+        if (range.isTop()) {
+            return null;
+        }
+        int bits = 8;
+        if (variable.getType() == SIGVAR_TYPE.SIGNED) {
+            while (bits < variable.getBitLength() && (range.min < -(1L << (bits - 1)) || range.max > (1L << (bits - 1)) - 1)) {
+                bits *= 2;
+            }
+        } else {
+            while (bits < variable.getBitLength() && range.max > (1L << bits) - 1) {
+                bits *= 2;
+            }
+        }
+        // declared bit-length is within the same C-type?
+        if (bits >= variable.getBitLength()) {
+            return null;
+        }
+        return (variable.getType() == SIGVAR_TYPE.SIGNED ? "int" : "uint") + bits + "_t";
+    }
+
+    protected void writeCOutput(List<GeneratedOutputVector> llGov,
+            LinkedList<Signal> outsig, PrintWriter pw, int spaces) {
+// TODO: "INOUT" MISSING
+        Iterator<Signal> outSigIt = outsig.iterator();
+        Signal outSignal;
+        int i = 0;
+        while (outSigIt.hasNext()) {
+            outSignal = outSigIt.next();
+            String value = getCOutputValue(llGov.get(i));
+            String spacesStr = String.format("%" + spaces + "s", " ");  // print spaces
+            pw.println(spacesStr + "(outV->" + outSignal.getName() + ") = " + value + ";");
+            i++;
+        }
+    }
+
+    /**
+     * @param gov output of one signal
+     * @return C-expression of the value
+     */
+    protected String getCOutputValue(GeneratedOutputVector gov) {
+        String value = "";
+        if ((gov.variable != null)) {
+            if (gov.isVectorComponent) {
+                value = String.format("(" + gov.variable.getName() + " >> " + gov.upperBound + ") & 0x1");
+            } else if (gov.isVectorSlice) {
+                int mask = ((1 << (gov.upperBound - gov.lowerBound + 1)) - 1);
+                value = String.format("(" + gov.variable.getName() + " >> " + gov.lowerBound + ") & 0x%X", mask);
+            } else {
+                value = "" + gov.variable.getName();
+            }
+        } else if (gov.signal != null) {
+            if (gov.isVectorComponent) {
+                value = String.format("((inV->" + gov.signal.getName() + ") >> " + gov.upperBound + ") & 0x1");
+            } else if (gov.isVectorSlice) {
+                int mask = ((1 << (gov.upperBound - gov.lowerBound + 1)) - 1);
+                value = String.format("((inV->" + gov.signal.getName() + ") >> " + gov.lowerBound + ") & 0x%X", mask);
+            } else {
+                value = "(inV->" + gov.signal.getName() + ")";
+            }
+        } else { // constant
+            value = "" + gov.value;
+        }
+        return value;
+    }
+
+    /**
+     * writes the decision-tree of a state (C)
+     *
+     * @param node node of the tree
+     * @param transitions outgoing transitions of the state
+     * @param model model
+     * @param pw generated text
+     * @param spaces indentation
+     *
+     * @author Andreas Schwenk
+     */
+    private void writeCDecisionTree(DecisionTree.Node node, List<Transition> transitions,
+            MachineModel model, PrintWriter pw, int spaces) {
+        String spacesStr = String.format("%" + spaces + "s", " ");
+        if (node.isLeaf()) {
+            if (node.transition < 0) {
+                return; // no transition
+            }
+            Transition transition = transitions.get(node.transition);
+            if (model.getGraphType() == GRAPH_TYPE.MEALY) {
+                writeCOutput(transition.getGeneratedOutputVector(), model.getSignals(SIGNAL_DIRECTION.OUT), pw, spaces);
+            }
+            pw.println(spacesStr + "state = " + transition.getToState().getName() + ";");
+            return;
+        }
+        // tests of the else-branches are chained ("else if")
+        String IF = "if";
+        while (true) {
+            // "if" without "else", if possible
+            DecisionTree.Node whenTrue = node.whenTrue, whenFalse = node.whenFalse;
+            Expression test = node.test;
+            if (whenTrue.isLeaf() && whenTrue.transition < 0) {
+                whenTrue = node.whenFalse;
+                whenFalse = node.whenTrue;
+                test = node.testNegated;
+            }
+            pw.println(spacesStr + IF + "(" + cEmitter.emit(test) + ") {");
+            writeCDecisionTree(whenTrue, transitions, model, pw, spaces + 4);
+            if (!whenFalse.isLeaf()) {
+                node = whenFalse;
+                IF = "} else if";
+                continue;
+            }
+            if (whenFalse.transition >= 0) {
+                pw.println(spacesStr + "} else {");
+                writeCDecisionTree(whenFalse, transitions, model, pw, spaces + 4);
+            }
+            break;
+        }
+        pw.println(spacesStr + "}");
+    }
+
+    /**
+     * builds the decision-tree of the outgoing transitions of a state
+     *
+     * @param state state
+     * @return root of the tree or null, if decision-trees are disabled or the
+     *         tree would be too large
+     */
+    private DecisionTree.Node getDecisionTree(State state) {
+        if (!decisionTrees || state.getTransitions().isEmpty()) {
+            return null;
+        }
+        return DecisionTree.build(state.getConditions());
+    }
+}
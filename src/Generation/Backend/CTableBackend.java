@@ -0,0 +1,396 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       CTableBackend
+ * Created:     2026-10-19
+ */
+package Generation.Backend;
+
+import Generation.Backend.MachineModel.Signal;
+import Generation.Backend.MachineModel.State;
+import Generation.Backend.MachineModel.Transition;
+import Generation.OutputVectorParser.GeneratedOutputVector;
+import Generation.VariableAssignmentParser.GeneratedVarAssignment;
+import Graph.Graph.GRAPH_TYPE;
+import Graph.Signal.SIGNAL_DIRECTION;
+import java.io.File;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Generates table-driven C-code for large machines. Header and example are
+ * the same as with CBackend; the step-function consists of constant tables
+ * (placed in ROM / flash by the compiler) and a small interpreter:
+ *
+ * - the outgoing transitions of all states in one table (index of the first
+ *   transition of each state, guard and target-state of each transition)
+ * - each distinct condition is evaluated by one case of a switch (guard)
+ * - distinct variable-assignments are selected by a table per state
+ * - constant outputs are read from a table per output-signal (Moore: per
+ *   state; Mealy: per transition); other outputs are selected by a table
+ *
+ * The code grows with the number of distinct conditions, assignments and
+ * output-expressions only; the size of the tables grows with the number of
+ * states and transitions.
+ *
+ * @author Andreas Schwenk
+ */
+public class CTableBackend extends CBackend {
+
+    // *** SUBCLASSES ***
+
+    /**
+     * tables of a machine
+     */
+    private static class Tables {
+
+        final HashMap<State, Integer> stateIndex = new HashMap<State, Integer>();
+        final ArrayList<Transition> transitions = new ArrayList<Transition>();
+        final ArrayList<String> first = new ArrayList<String>();   // per state (+1)
+        final ArrayList<String> guard = new ArrayList<String>();   // per transition
+        final ArrayList<String> target = new ArrayList<String>();  // per transition
+        final ArrayList<String> guards = new ArrayList<String>();  // distinct conditions
+        final ArrayList<String> action = new ArrayList<String>();  // per state
+        final ArrayList<String> actions = new ArrayList<String>(); // distinct assignments (0: none)
+
+        Tables(MachineModel model) {
+            actions.add("");
+            Iterator<State> itStates = model.getStates().iterator();
+            while (itStates.hasNext()) {
+                State state = itStates.next();
+                stateIndex.put(state, stateIndex.size());
+                first.add("" + transitions.size());
+                Iterator<Transition> itTrans = state.getTransitions().iterator();
+                while (itTrans.hasNext()) {
+                    Transition transition = itTrans.next();
+                    transitions.add(transition);
+                    guard.add("" + indexOf(guards, transition.getGeneratedCondition().C));
+                    target.add(transition.getToState().getName());
+                }
+                String code = "";
+                if (state.isVariableAssignmentsEnabled()) {
+                    Iterator<GeneratedVarAssignment> itGVA = state.getGeneratedVariableAssignments().iterator();
+                    while (itGVA.hasNext()) {
+                        GeneratedVarAssignment gva = itGVA.next();
+                        code += gva.lhs + " = " + gva.rhsC + "; // variable assignment\n";
+                    }
+                }
+                action.add("" + indexOf(actions, code));
+            }
+            first.add("" + transitions.size());
+        }
+    }
+
+    // *** METHODS ***
+
+    /**
+     * @param file_h h output-file
+     * @param file_c c output-file
+     * @param file_e c exec output file
+     * @param reentrant true: context per instance (see CBackend)
+     *
+     * @author Andreas Schwenk
+     */
+    public CTableBackend(File file_h, File file_c, File file_e, boolean reentrant) {
+        this(file_h, file_c, file_e, reentrant, false);
+    }
+
+    /**
+     * @param file_h h output-file
+     * @param file_c c output-file
+     * @param file_e c exec output file
+     * @param reentrant true: context per instance (see CBackend)
+     * @param benchmark true: the exec file is a benchmark-driver (see
+     *                  CBackend)
+     *
+     * @author Andreas Schwenk
+     */
+    public CTableBackend(File file_h, File file_c, File file_e, boolean reentrant, boolean benchmark) {
+        super(file_h, file_c, file_e, false, reentrant, benchmark);
+    }
+
+    @Override
+    public String[] getOptions() {
+        String[] options = super.getOptions();
+        options[0] = "C-table";
+        return options;
+    }
+
+    @Override
+    protected String getStyle() {
+        return "table" + (super.getStyle().endsWith("reentrant") ? ", reentrant" : "");
+    }
+
+    @Override
+    protected void writeStepDeclarations(MachineModel model, PrintWriter pwc) {
+        Tables tables = new Tables(model);
+        int nStates = model.getStates().size();
+        int nTrans = tables.transitions.size();
+
+        pwc.println();
+        pwc.println("    /* TABLES (constant: ROM / flash) */");
+        writeTable(pwc, "stde_trFirst", tables.first, nTrans,
+                "first transition of each state (last: end of table)");
+        if (nTrans > 0) {
+            writeTable(pwc, "stde_trGuard", tables.guard, tables.guards.size() - 1,
+                    "condition of each transition (see guards)");
+            writeTable(pwc, "stde_trTarget", tables.target, nStates - 1,
+                    "target-state of each transition");
+        }
+        if (tables.actions.size() > 1) {
+            writeTable(pwc, "stde_stAction", tables.action, tables.actions.size() - 1,
+                    "variable-assignments of each state (0: none)");
+        }
+        // outputs
+        if (model.getGraphType() == GRAPH_TYPE.MEALY) {
+            if (nTrans > 0) {
+                List<List<GeneratedOutputVector>> outputs = new ArrayList<List<GeneratedOutputVector>>();
+                for (int i = 0; i < nTrans; i++) {
+                    outputs.add(tables.transitions.get(i).getGeneratedOutputVector());
+                }
+                writeOutputTables(model, outputs, pwc, "stde_trOut_", "transition");
+            }
+        } else {
+            List<List<GeneratedOutputVector>> outputs = new ArrayList<List<GeneratedOutputVector>>();
+            Iterator<State> itStates = model.getStates().iterator();
+            while (itStates.hasNext()) {
+                outputs.add(itStates.next().getGeneratedOutputVector());
+            }
+            writeOutputTables(model, outputs, pwc, "stde_out_", "state");
+        }
+        pwc.println("    unsigned int stde_t;");
+    }
+
+    @Override
+    protected void writeStepFunction(MachineModel model, PrintWriter pwc) {
+        Tables tables = new Tables(model);
+        pwc.println("    else if (initialized) {");
+        if (tables.actions.size() > 1) {
+            pwc.println("        /* variable assignments */");
+            writeSelection(pwc, "stde_stAction[state]", tables.actions, 1, 8);
+        }
+        // state transition (Moore, Mealy) + output function (Mealy)
+        if (model.getGraphType() == GRAPH_TYPE.MEALY) {
+            pwc.println("        /* state transition function + output function (table-driven) */");
+        } else {
+            pwc.println("        /* state transition function (table-driven) */");
+        }
+        if (!tables.transitions.isEmpty()) {
+            pwc.println("        for (stde_t = stde_trFirst[state]; stde_t < stde_trFirst[state + 1]; stde_t++) {");
+            pwc.println("            bool taken;");
+            pwc.println("            switch (stde_trGuard[stde_t]) {");
+            for (int i = 0; i < tables.guards.size(); i++) {
+                pwc.println("                case " + i + ": taken = (" + tables.guards.get(i) + "); break;");
+            }
+            pwc.println("                default: taken = false;  // never reached");
+            pwc.println("            }");
+            pwc.println("            if (taken) {");
+            if (model.getGraphType() == GRAPH_TYPE.MEALY) {
+                List<List<GeneratedOutputVector>> outputs = new ArrayList<List<GeneratedOutputVector>>();
+                for (int i = 0; i < tables.transitions.size(); i++) {
+                    outputs.add(tables.transitions.get(i).getGeneratedOutputVector());
+                }
+                writeTableOutput(model, outputs, pwc, "stde_trOut_", "stde_t", 16);
+            }
+            pwc.println("                state = stde_trTarget[stde_t];");
+            pwc.println("                break;");
+            pwc.println("            }");
+            pwc.println("        }");
+        }
+// TODO: "INOUT" MISSING
+        pwc.println("    }         // end if (initialized) ");
+        pwc.println("    else ;    // nothing to do here");
+        // generate MOORE outputs
+        if (model.getGraphType() == GRAPH_TYPE.MOORE) {
+            List<List<GeneratedOutputVector>> outputs = new ArrayList<List<GeneratedOutputVector>>();
+            Iterator<State> itStates = model.getStates().iterator();
+            while (itStates.hasNext()) {
+                outputs.add(itStates.next().getGeneratedOutputVector());
+            }
+            pwc.println();
+            pwc.println("    /*   Output function (table-driven)   */");
+            writeTableOutput(model, outputs, pwc, "stde_out_", "state", 4);
+            pwc.println();
+        }
+    }
+
+    /**
+     * writes the output-tables: values of constant outputs, otherwise the
+     * index of the output-expression (see writeTableOutput)
+     *
+     * @param model model
+     * @param outputs outputs of each state / transition
+     * @param pw c file
+     * @param prefix prefix of the table-names
+     * @param what "state" or "transition" (comment)
+     */
+    private void writeOutputTables(MachineModel model, List<List<GeneratedOutputVector>> outputs,
+            PrintWriter pw, String prefix, String what) {
+        LinkedList<Signal> outSignals = model.getSignals(SIGNAL_DIRECTION.OUT);
+        for (int j = 0; j < outSignals.size(); j++) {
+            ArrayList<String> values = new ArrayList<String>();
+            if (isConstant(outputs, j)) {
+                int min = 0, max = 0;
+                for (int i = 0; i < outputs.size(); i++) {
+                    int value = outputs.get(i).get(j).value;
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                    values.add("" + value);
+                }
+                writeTable(pw, getValueType(min, max), prefix + outSignals.get(j).getName(), values,
+                        "value of '" + outSignals.get(j).getName() + "' in each " + what);
+            } else {
+                ArrayList<String> expressions = new ArrayList<String>();
+                for (int i = 0; i < outputs.size(); i++) {
+                    values.add("" + indexOf(expressions, getCOutputValue(outputs.get(i).get(j))));
+                }
+                writeTable(pw, prefix + outSignals.get(j).getName(), values, expressions.size() - 1,
+                        "output-expression of '" + outSignals.get(j).getName() + "' in each " + what);
+            }
+        }
+    }
+
+    /**
+     * writes the assignment of the outputs of the current state / transition
+     *
+     * @param model model
+     * @param outputs outputs of each state / transition
+     * @param pw c file
+     * @param prefix prefix of the table-names
+     * @param index C-expression of the index of the current state / transition
+     * @param spaces indentation
+     */
+    private void writeTableOutput(MachineModel model, List<List<GeneratedOutputVector>> outputs,
+            PrintWriter pw, String prefix, String index, int spaces) {
+// TODO: "INOUT" MISSING
+        String spacesStr = String.format("%" + spaces + "s", " ");
+        LinkedList<Signal> outSignals = model.getSignals(SIGNAL_DIRECTION.OUT);
+        for (int j = 0; j < outSignals.size(); j++) {
+            String name = outSignals.get(j).getName();
+            if (isConstant(outputs, j)) {
+                pw.println(spacesStr + "(outV->" + name + ") = " + prefix + name + "[" + index + "];");
+            } else {
+                // same order of the expressions as in writeOutputTables
+                ArrayList<String> expressions = new ArrayList<String>();
+                for (int i = 0; i < outputs.size(); i++) {
+                    indexOf(expressions, "(outV->" + name + ") = " + getCOutputValue(outputs.get(i).get(j)) + ";\n");
+                }
+                writeSelection(pw, prefix + name + "[" + index + "]", expressions, 0, spaces);
+            }
+        }
+    }
+
+    /**
+     * writes a switch, that executes one of the given pieces of code
+     *
+     * @param pw c file
+     * @param selector C-expression of the index
+     * @param code pieces of code (lines ending with newline)
+     * @param firstCase index of the first piece to execute
+     * @param spaces indentation
+     */
+    private static void writeSelection(PrintWriter pw, String selector, List<String> code, int firstCase,
+            int spaces) {
+        String spacesStr = String.format("%" + spaces + "s", " ");
+        pw.println(spacesStr + "switch (" + selector + ") {");
+        for (int i = firstCase; i < code.size(); i++) {
+            pw.println(spacesStr + "    case " + i + ":");
+            String[] lines = code.get(i).split("\n");
+            for (int k = 0; k < lines.length; k++) {
+                pw.println(spacesStr + "        " + lines[k]);
+            }
+            pw.println(spacesStr + "        break;");
+        }
+        pw.println(spacesStr + "    default: ;");
+        pw.println(spacesStr + "}");
+    }
+
+    /**
+     * writes a constant table of indices
+     *
+     * @param pw c file
+     * @param name name of the table
+     * @param values values
+     * @param max maximum value
+     * @param comment comment
+     */
+    private static void writeTable(PrintWriter pw, String name, List<String> values, int max, String comment) {
+        writeTable(pw, getValueType(0, max), name, values, comment);
+    }
+
+    /**
+     * writes a constant table
+     *
+     * @param pw c file
+     * @param type C-type of the values
+     * @param name name of the table
+     * @param values values
+     * @param comment comment
+     */
+    private static void writeTable(PrintWriter pw, String type, String name, List<String> values, String comment) {
+        pw.println("    /*   " + comment + " */");
+        pw.println("    static const " + type + " " + name + "[" + values.size() + "] = {");
+        String line = "       ";
+        for (int i = 0; i < values.size(); i++) {
+            String value = " " + values.get(i) + (i + 1 < values.size() ? "," : "");
+            if (line.length() + value.length() > 100) {
+                pw.println(line);
+                line = "       ";
+            }
+            line += value;
+        }
+        pw.println(line);
+        pw.println("    };");
+    }
+
+    /**
+     * @param min smallest value
+     * @param max largest value
+     * @return smallest C-type for the given values
+     */
+    private static String getValueType(int min, int max) {
+        if (min >= 0) {
+            return max <= 0xFF ? "uint8_t" : (max <= 0xFFFF ? "uint16_t" : "uint32_t");
+        }
+        if (min >= -128 && max <= 127) {
+            return "int8_t";
+        }
+        return (min >= -32768 && max <= 32767) ? "int16_t" : "int32_t";
+    }
+
+    /**
+     * @param outputs outputs of each state / transition
+     * @param signal index of the output-signal
+     * @return true, if the signal is constant in each state / transition
+     */
+    private static boolean isConstant(List<List<GeneratedOutputVector>> outputs, int signal) {
+        for (int i = 0; i < outputs.size(); i++) {
+            GeneratedOutputVector gov = outputs.get(i).get(signal);
+            if (gov.variable != null || gov.signal != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param list distinct elements
+     * @param element element
+     * @return index of the element (appended, if missing)
+     */
+    private static int indexOf(List<String> list, String element) {
+        int index = list.indexOf(element);
+        if (index < 0) {
+            index = list.size();
+            list.add(element);
+        }
+        return index;
+    }
+}
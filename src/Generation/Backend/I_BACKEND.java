@@ -0,0 +1,56 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       I_BACKEND
+ * Created:     2026-10-19
+ */
+
+package Generation.Backend;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Target of the code-generation (C, VHDL, SCXML, ...). A backend translates
+ * the model of a verified graph into one or more files; it does not change
+ * the model, thus several backends may run in parallel.
+ *
+ * see class: Generation (method generate)
+ *
+ * @author Andreas Schwenk
+ */
+public interface I_BACKEND
+{
+    /**
+     * @return destinations of the generated files (always the same order)
+     */
+    public File[] getFiles();
+
+    /**
+     * @return all options, that change the generated files (incl. file-names
+     *         written into the files); part of the key of the result-cache
+     */
+    public String[] getOptions();
+
+    /**
+     * @return true: the generated files contain the layout (positions)
+     */
+    public boolean includesLayout();
+
+    /**
+     * @return message on success
+     */
+    public String getSummary();
+
+    /**
+     * generates the files
+     *
+     * @param model model of the verified graph
+     * @param sink receives the files (see getFiles())
+     * @throws IOException generation failed
+     */
+    public void generate(MachineModel model, OutputSink sink) throws IOException;
+}
@@ -0,0 +1,406 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       MachineModel
+ * Created:     2026-10-19
+ */
+
+package Generation.Backend;
+
+import Generation.Ast.Expression;
+import Generation.ConditionParser.GeneratedCondition;
+import Generation.OutputVectorParser.GeneratedOutputVector;
+import Generation.RangeAnalysis;
+import Generation.VariableAssignmentParser.GeneratedVarAssignment;
+import Graph.Graph.GRAPH_TYPE;
+import Graph.Graph.STATE_ENCODING;
+import Graph.Graph.VHDL_ARCHITECTURE;
+import Graph.SigVar.SIGVAR_TYPE;
+import Graph.Signal.SIGNAL_DIRECTION;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable copy of a verified graph incl. the partial code of the
+ * verification (intermediate representation of the backends).
+ *
+ * The model is created once after the verification; all backends read the
+ * same model (also in parallel), while the user may continue editing the
+ * graph. The generated partial code (conditions, output-vectors,
+ * variable-assignments) is shared with the graph; it is never changed after
+ * parsing.
+ *
+ * @author Andreas Schwenk
+ */
+public final class MachineModel
+{
+    // *** SUBCLASSES ***
+
+    /**
+     * signal of the machine
+     *
+     * @author Andreas Schwenk
+     */
+    public static final class Signal
+    {
+        private final String name, description;
+        private final SIGVAR_TYPE type;
+        private final int bitLength;
+        private final SIGNAL_DIRECTION direction;
+
+        private Signal(Graph.Signal s)
+        {
+            name = s.getName();
+            description = s.getDescription();
+            type = s.getType();
+            bitLength = s.getBitLength();
+            direction = s.getDirection();
+        }
+
+        public String getName()                 { return name; }
+        public String getDescription()          { return description; }
+        public SIGVAR_TYPE getType()            { return type; }
+        public int getBitLength()               { return bitLength; }
+        public SIGNAL_DIRECTION getDirection()  { return direction; }
+    }
+
+    /**
+     * variable of the machine
+     *
+     * @author Andreas Schwenk
+     */
+    public static final class Variable
+    {
+        private final String name, description;
+        private final SIGVAR_TYPE type;
+        private final int bitLength;
+        private final RangeAnalysis.Interval range;
+
+        private Variable(Graph.Variable v, RangeAnalysis rangeAnalysis)
+        {
+            name = v.getName();
+            description = v.getDescription();
+            type = v.getType();
+            bitLength = v.getBitLength();
+            range = (rangeAnalysis != null) ? rangeAnalysis.getRange(v) : null;
+        }
+
+        public String getName()                 { return name; }
+        public String getDescription()          { return description; }
+        public SIGVAR_TYPE getType()            { return type; }
+        public int getBitLength()               { return bitLength; }
+
+        /**
+         * @return values of the variable (range-analysis) or null, if unknown
+         */
+        public RangeAnalysis.Interval getRange() { return range; }
+    }
+
+    /**
+     * state of the machine
+     *
+     * @author Andreas Schwenk
+     */
+    public static final class State
+    {
+        private final String name, description;
+        private final Point position, size;
+        private final boolean variableAssignmentsEnabled;
+        private final List<GeneratedVarAssignment> variableAssignments;
+        private final List<GeneratedOutputVector> outputVector;
+        private final ArrayList<Transition> transitions = new ArrayList<Transition>(); // set by the model
+
+        private State(Graph.State s)
+        {
+            name = s.getName();
+            description = s.getDescription();
+            position = new Point(s.getPosition());
+            size = new Point(s.getSize());
+            variableAssignmentsEnabled = s.isVariableAssignmentsEnabled();
+            variableAssignments = unmodifiable(s.getGeneratedVariableAssignments());
+            outputVector = unmodifiable(s.getGeneratedOutputVector());
+        }
+
+        // copy without transitions (see merging constructor of the model)
+        private State(State s)
+        {
+            name = s.name;
+            description = s.description;
+            position = s.position;
+            size = s.size;
+            variableAssignmentsEnabled = s.variableAssignmentsEnabled;
+            variableAssignments = s.variableAssignments;
+            outputVector = s.outputVector;
+        }
+
+        public String getName()                 { return name; }
+        public String getDescription()          { return description; }
+        public Point getPosition()              { return new Point(position); }
+        public Point getSize()                  { return new Point(size); }
+        public boolean isVariableAssignmentsEnabled() { return variableAssignmentsEnabled; }
+        public List<GeneratedVarAssignment> getGeneratedVariableAssignments() { return variableAssignments; }
+        public List<GeneratedOutputVector> getGeneratedOutputVector() { return outputVector; }
+
+        /**
+         * @return outgoing transitions (in the order of testing)
+         */
+        public List<Transition> getTransitions()
+        {
+            return Collections.unmodifiableList(transitions);
+        }
+
+        /**
+         * @return syntax-trees of the conditions of the outgoing transitions
+         */
+        public List<Expression> getConditions()
+        {
+            ArrayList<Expression> conditions = new ArrayList<Expression>();
+            for(int i=0; i<transitions.size(); i++)
+                conditions.add(transitions.get(i).getGeneratedCondition().ast);
+            return conditions;
+        }
+    }
+
+    /**
+     * transition of the machine (or the start-node)
+     *
+     * @author Andreas Schwenk
+     */
+    public static final class Transition
+    {
+        private final String condition;
+        private final GeneratedCondition generatedCondition;
+        private final List<GeneratedOutputVector> outputVector;
+        private final State fromState, toState;
+
+        private Transition(Graph.Transition t, State fromState, State toState)
+        {
+            condition = t.getCondition();
+            generatedCondition = t.getGeneratedCondition();
+            outputVector = unmodifiable(t.getGeneratedOutputVector());
+            this.fromState = fromState;
+            this.toState = toState;
+        }
+
+        private Transition(Transition t, State fromState, State toState)
+        {
+            condition = t.condition;
+            generatedCondition = t.generatedCondition;
+            outputVector = t.outputVector;
+            this.fromState = fromState;
+            this.toState = toState;
+        }
+
+        public String getCondition()            { return condition; }
+        public GeneratedCondition getGeneratedCondition() { return generatedCondition; }
+        public List<GeneratedOutputVector> getGeneratedOutputVector() { return outputVector; }
+
+        /**
+         * @return source-state (null: start-node)
+         */
+        public State getFromState()             { return fromState; }
+        public State getToState()               { return toState; }
+    }
+
+    // *** ATTRIBUTES ***
+    private final String name;
+    private final GRAPH_TYPE graphType;
+    private final STATE_ENCODING stateEncoding;
+    private final VHDL_ARCHITECTURE vhdlArchitecture;
+    private final boolean registeredMealyOutputs;
+    private final List<Signal> signals;
+    private final List<Variable> variables;
+    private final List<State> states;
+    private final List<Transition> transitions;
+    private final Transition startNode;
+
+    // *** METHODS ***
+
+    /**
+     * copies a verified graph
+     *
+     * @param graph graph (verification passed)
+     * @param rangeAnalysis value-ranges of the variables (null: unknown)
+     *
+     * @author Andreas Schwenk
+     */
+    public MachineModel(Graph.Graph graph, RangeAnalysis rangeAnalysis)
+    {
+        name = graph.getName();
+        graphType = graph.getGraphType();
+        stateEncoding = graph.getStateEncoding();
+        vhdlArchitecture = graph.getVhdlArchitecture();
+        registeredMealyOutputs = graph.getRegisteredMealyOutputs();
+
+        ArrayList<Signal> sigs = new ArrayList<Signal>();
+        Iterator<Graph.Signal> itSig = graph.getSignals().iterator();
+        while(itSig.hasNext())
+            sigs.add(new Signal(itSig.next()));
+        signals = Collections.unmodifiableList(sigs);
+
+        ArrayList<Variable> vars = new ArrayList<Variable>();
+        Iterator<Graph.Variable> itVar = graph.getVariables().iterator();
+        while(itVar.hasNext())
+            vars.add(new Variable(itVar.next(), rangeAnalysis));
+        variables = Collections.unmodifiableList(vars);
+
+        HashMap<Graph.State, State> stateMap = new HashMap<Graph.State, State>();
+        ArrayList<State> sts = new ArrayList<State>();
+        Iterator<Graph.State> itStates = graph.getStates().iterator();
+        while(itStates.hasNext())
+        {
+            Graph.State s = itStates.next();
+            State state = new State(s);
+            stateMap.put(s, state);
+            sts.add(state);
+        }
+        states = Collections.unmodifiableList(sts);
+
+        HashMap<Graph.Transition, Transition> transitionMap = new HashMap<Graph.Transition, Transition>();
+        ArrayList<Transition> trs = new ArrayList<Transition>();
+        Iterator<Graph.Transition> itTrans = graph.getTransitions().iterator();
+        while(itTrans.hasNext())
+        {
+            Graph.Transition t = itTrans.next();
+            Transition transition = new Transition(t, stateMap.get(t.getFromState()), stateMap.get(t.getToState()));
+            transitionMap.put(t, transition);
+            trs.add(transition);
+        }
+        transitions = Collections.unmodifiableList(trs);
+
+        // outgoing transitions of the states
+        itStates = graph.getStates().iterator();
+        while(itStates.hasNext())
+        {
+            Graph.State s = itStates.next();
+            State state = stateMap.get(s);
+            itTrans = s.getTransitions().iterator();
+            while(itTrans.hasNext())
+            {
+                Graph.Transition t = itTrans.next();
+                Transition transition = transitionMap.get(t);
+                if(transition == null)
+                    transition = new Transition(t, state, stateMap.get(t.getToState()));
+                state.transitions.add(transition);
+            }
+        }
+
+        Graph.Transition sn = graph.getStartNode();
+        startNode = new Transition(sn, null, stateMap.get(sn.getToState()));
+    }
+
+    /**
+     * copies a model and merges states (see StateMinimizer): only the
+     * representatives are kept, transitions into merged states lead to their
+     * representatives
+     *
+     * @param model model
+     * @param representatives representative of each state (the state itself,
+     *                        if it is kept)
+     *
+     * @author Andreas Schwenk
+     */
+    MachineModel(MachineModel model, Map<State, State> representatives)
+    {
+        name = model.name;
+        graphType = model.graphType;
+        stateEncoding = model.stateEncoding;
+        vhdlArchitecture = model.vhdlArchitecture;
+        registeredMealyOutputs = model.registeredMealyOutputs;
+        signals = model.signals;
+        variables = model.variables;
+
+        HashMap<State, State> copies = new HashMap<State, State>();
+        ArrayList<State> sts = new ArrayList<State>();
+        for(int i=0; i<model.states.size(); i++)
+        {
+            State s = model.states.get(i);
+            if(representatives.get(s) == s)
+            {
+                State state = new State(s);
+                copies.put(s, state);
+                sts.add(state);
+            }
+        }
+        states = Collections.unmodifiableList(sts);
+
+        HashMap<Transition, Transition> transitionMap = new HashMap<Transition, Transition>();
+        ArrayList<Transition> trs = new ArrayList<Transition>();
+        for(int i=0; i<model.transitions.size(); i++)
+        {
+            Transition t = model.transitions.get(i);
+            State fromState = copies.get(t.fromState);
+            if(fromState == null)
+                continue; // merged state
+            Transition transition = new Transition(t, fromState, copies.get(representatives.get(t.toState)));
+            transitionMap.put(t, transition);
+            trs.add(transition);
+        }
+        transitions = Collections.unmodifiableList(trs);
+
+        // outgoing transitions of the states
+        for(int i=0; i<model.states.size(); i++)
+        {
+            State s = model.states.get(i);
+            State state = copies.get(s);
+            if(state == null)
+                continue;
+            for(int j=0; j<s.transitions.size(); j++)
+            {
+                Transition t = s.transitions.get(j);
+                Transition transition = transitionMap.get(t);
+                if(transition == null)
+                    transition = new Transition(t, state, copies.get(representatives.get(t.toState)));
+                state.transitions.add(transition);
+            }
+        }
+
+        startNode = new Transition(model.startNode, null, copies.get(representatives.get(model.startNode.toState)));
+    }
+
+    public String getName()                     { return name; }
+    public GRAPH_TYPE getGraphType()            { return graphType; }
+    public STATE_ENCODING getStateEncoding()    { return stateEncoding; }
+    public VHDL_ARCHITECTURE getVhdlArchitecture() { return vhdlArchitecture; }
+    public boolean getRegisteredMealyOutputs()  { return registeredMealyOutputs; }
+    public List<Signal> getSignals()            { return signals; }
+    public List<Variable> getVariables()        { return variables; }
+    public List<State> getStates()              { return states; }
+
+    /**
+     * @return all transitions (without the start-node)
+     */
+    public List<Transition> getTransitions()    { return transitions; }
+    public Transition getStartNode()            { return startNode; }
+
+    /**
+     * @param direction direction
+     * @return new list of all signals with the given direction
+     */
+    public LinkedList<Signal> getSignals(SIGNAL_DIRECTION direction)
+    {
+        LinkedList<Signal> list = new LinkedList<Signal>();
+        for(int i=0; i<signals.size(); i++)
+        {
+            if(signals.get(i).getDirection() == direction)
+                list.add(signals.get(i));
+        }
+        return list;
+    }
+
+    private static <T> List<T> unmodifiable(List<T> list)
+    {
+        if(list == null)
+            return null;
+        return Collections.unmodifiableList(new ArrayList<T>(list));
+    }
+}
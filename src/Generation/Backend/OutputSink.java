@@ -0,0 +1,153 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       OutputSink
+ * Created:     2026-10-19
+ */
+
+package Generation.Backend;
+
+import Generation.Diagnostic;
+import Generation.Log;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+
+/**
+ * Buffers the files written by a backend. The files are written to disk on
+ * commit, each one atomically (temporary file, then renamed): an existing
+ * file is either replaced completely or not at all, even if the generation
+ * fails or is cancelled.
+ *
+ * Diagnostics of the backend (e. g. warnings about options, that could not be
+ * applied) are collected with the files and appended to the log of the
+ * generation.
+ *
+ * @author Andreas Schwenk
+ */
+public class OutputSink
+{
+    // *** SUBCLASSES ***
+
+    private static class Buffer
+    {
+        final File file;
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(16384);
+        final PrintWriter writer;
+
+        Buffer(File file)
+        {
+            this.file = file;
+            // same encoding as FileWriter (platform default)
+            writer = new PrintWriter(new OutputStreamWriter(bytes));
+        }
+    }
+
+    // *** ATTRIBUTES ***
+    private final ArrayList<Buffer> buffers = new ArrayList<Buffer>();
+    private final Log log = new Log();
+
+    // *** METHODS ***
+
+    /**
+     * opens a buffered file
+     *
+     * @param file destination
+     * @return writer (closing it is optional)
+     *
+     * @author Andreas Schwenk
+     */
+    public PrintWriter open(File file)
+    {
+        Buffer b = new Buffer(file);
+        buffers.add(b);
+        return b.writer;
+    }
+
+    /**
+     * reports a diagnostic of the generation
+     *
+     * @param d diagnostic (usually a warning)
+     *
+     * @author Andreas Schwenk
+     */
+    public void report(Diagnostic d)
+    {
+        log.append(d);
+    }
+
+    /**
+     * @return diagnostics reported by the backend
+     */
+    public Log getLog()
+    {
+        return log;
+    }
+
+    /**
+     * writes all opened files
+     *
+     * @throws IOException a file could not be written
+     *
+     * @author Andreas Schwenk
+     */
+    public void commit() throws IOException
+    {
+        for(int i=0; i<buffers.size(); i++)
+        {
+            Buffer b = buffers.get(i);
+            b.writer.flush();
+            writeAtomically(b.file, b.bytes.toByteArray());
+        }
+    }
+
+    /**
+     * writes a file atomically (temporary file in the same directory, then
+     * renamed)
+     *
+     * @param file destination
+     * @param content content
+     * @throws IOException file could not be written
+     *
+     * @author Andreas Schwenk
+     */
+    public static void writeAtomically(File file, byte[] content) throws IOException
+    {
+        File tmp = new File(file.getAbsoluteFile().getParentFile(), file.getName() + ".tmp");
+        try
+        {
+            FileOutputStream fos = new FileOutputStream(tmp);
+            try
+            {
+                fos.write(content);
+            }
+            finally
+            {
+                fos.close();
+            }
+            try
+            {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch(AtomicMoveNotSupportedException e)
+            {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        finally
+        {
+            tmp.delete(); // only left, if moving failed
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       RomTable
+ * Created:     2026-10-19
+ */
+
+package Generation.Backend;
+
+import Generation.Backend.MachineModel.Signal;
+import Generation.Backend.MachineModel.State;
+import Generation.Backend.MachineModel.Transition;
+import Graph.Graph.GRAPH_TYPE;
+import Graph.Graph.STATE_ENCODING;
+import java.util.List;
+
+/**
+ * Complete table of the next state and the outputs of a machine for each
+ * combination of state and input-signals (ROM of the VHDL-architecture ROM,
+ * see VhdlBackend).
+ *
+ * The address is the binary code of the current state (see StateEncoding)
+ * followed by the bits of all input-signals (IN and INOUT, first signal most
+ * significant). A word holds (most significant first): the hold-flag (Mealy
+ * only: no transition taken, the outputs keep their values), the output-
+ * vector (first signal most significant) and the code of the next state.
+ * Addresses of unused codes lead to the start-state.
+ *
+ * The table is computed by evaluating the conditions and outputs (see
+ * Simulator), thus it does not depend on their complexity. Machines with
+ * variables have no such table (the variables would be part of the address).
+ *
+ * @author Andreas Schwenk
+ */
+public final class RomTable
+{
+    // *** CONSTANTS ***
+    // 2^20 words: larger tables do not fit into the block RAM of an FPGA
+    public static final int MAX_ADDRESS_BITS = 20;
+
+    // *** ATTRIBUTES ***
+    private final MachineModel model;
+    private final Simulator simulator;
+    private final StateEncoding encoding;
+    private final List<Signal> inputSignals, outputSignals;
+    private final int stateBits;
+    private int inputBits = 0, outputBits = 0;
+    private final boolean hold;
+    private final State[] states; // by code
+    private String unsupportedReason = null;
+
+    // *** METHODS ***
+
+    /**
+     * @param model model of the verified graph
+     *
+     * @author Andreas Schwenk
+     */
+    public RomTable(MachineModel model)
+    {
+        this.model = model;
+        simulator = new Simulator(model);
+        encoding = new StateEncoding(model, STATE_ENCODING.BINARY);
+        stateBits = encoding.getBitLength();
+        inputSignals = simulator.getInputSignals();
+        outputSignals = simulator.getOutputSignals();
+        for(int i=0; i<inputSignals.size(); i++)
+            inputBits += getBitLength(inputSignals.get(i));
+        for(int i=0; i<outputSignals.size(); i++)
+            outputBits += getBitLength(outputSignals.get(i));
+        hold = model.getGraphType() == GRAPH_TYPE.MEALY && outputBits > 0;
+        List<State> list = model.getStates();
+        states = new State[list.size()];
+        for(int i=0; i<list.size(); i++)
+            states[(int) Long.parseLong(encoding.getBits(list.get(i)), 2)] = list.get(i);
+
+        if(model.getStartNode().getToState() == null)
+            unsupportedReason = "kein Startzustand";
+        else if(!model.getVariables().isEmpty())
+            unsupportedReason = "Variablen sind in der ROM-Tabelle nicht darstellbar";
+        else if(getAddressBits() > MAX_ADDRESS_BITS)
+            unsupportedReason = "Adresse zu breit (" + getAddressBits() + " Bits, max. "
+                    + MAX_ADDRESS_BITS + ")";
+    }
+
+    /**
+     * @return null, if the machine can be mapped into a ROM; otherwise the
+     *         reason
+     */
+    public String getUnsupportedReason()
+    {
+        return unsupportedReason;
+    }
+
+    /**
+     * @return codes of the states (binary)
+     */
+    public StateEncoding getEncoding()
+    {
+        return encoding;
+    }
+
+    /**
+     * @param signal input- or output-signal
+     * @return number of bits in the address / word
+     */
+    public static int getBitLength(Signal signal)
+    {
+        return Simulator.getBits(signal.getType(), signal.getBitLength());
+    }
+
+    /**
+     * @return number of address-bits (state and input-signals)
+     */
+    public int getAddressBits()
+    {
+        return stateBits + inputBits;
+    }
+
+    /**
+     * @return number of bits of a word (hold-flag, outputs and next state)
+     */
+    public int getWordBits()
+    {
+        return (hold ? 1 : 0) + outputBits + stateBits;
+    }
+
+    /**
+     * @return number of bits of the table (words * bits per word)
+     */
+    public long getSize()
+    {
+        return (1L << getAddressBits()) * getWordBits();
+    }
+
+    /**
+     * @return number of bits of the state-code
+     */
+    public int getStateBits()
+    {
+        return stateBits;
+    }
+
+    /**
+     * @return number of bits of all output-signals
+     */
+    public int getOutputBits()
+    {
+        return outputBits;
+    }
+
+    /**
+     * @return index of the hold-flag in a word or -1 (Moore, no outputs)
+     */
+    public int getHoldBit()
+    {
+        return hold ? getWordBits() - 1 : -1;
+    }
+
+    /**
+     * @param signal index of the output-signal
+     * @return lowest bit of the output-signal in a word
+     */
+    public int getOutputLowerBit(int signal)
+    {
+        int bit = stateBits + outputBits;
+        for(int i=0; i<=signal; i++)
+            bit -= getBitLength(outputSignals.get(i));
+        return bit;
+    }
+
+    /**
+     * @param signal index of the output-signal
+     * @return highest bit of the output-signal in a word
+     */
+    public int getOutputUpperBit(int signal)
+    {
+        return getOutputLowerBit(signal) + getBitLength(outputSignals.get(signal)) - 1;
+    }
+
+    /**
+     * @return word after reset: start-state, its outputs (Moore) or the
+     *         outputs of the start-node (Mealy; inputs 0)
+     */
+    public String getResetWord()
+    {
+        State start = model.getStartNode().getToState();
+        long[] outputs = new long[outputSignals.size()];
+        simulator.evaluateOutputs(model.getGraphType() == GRAPH_TYPE.MEALY
+                ? model.getStartNode().getGeneratedOutputVector() : start.getGeneratedOutputVector(),
+                new long[inputSignals.size()], outputs);
+        return toWord(false, outputs, start);
+    }
+
+    /**
+     * @param state state
+     * @param inputs bits of all input-signals (address without state)
+     * @return word at the address of the state and the inputs
+     */
+    public String getWord(State state, long inputs)
+    {
+        long[] values = new long[inputSignals.size()];
+        int bit = inputBits;
+        for(int i=0; i<values.length; i++)
+        {
+            int bits = getBitLength(inputSignals.get(i));
+            bit -= bits;
+            values[i] = (inputs >> bit) & ((1L << bits) - 1);
+        }
+        long[] outputs = new long[outputSignals.size()];
+        Transition t = simulator.evaluateCycle(state, values, outputs);
+        return toWord(hold && t == null, outputs, (t == null) ? state : t.getToState());
+    }
+
+    /**
+     * @return word of the unused state-codes (see getResetWord())
+     */
+    public String getUnusedWord()
+    {
+        if(!hold)
+            return getResetWord();
+        return toWord(true, new long[outputSignals.size()], model.getStartNode().getToState());
+    }
+
+    /**
+     * @param code code of a state (binary)
+     * @return state or null, if the code is unused
+     */
+    public State getState(long code)
+    {
+        return (code < states.length) ? states[(int) code] : null;
+    }
+
+    // bit-string of a word (most significant bit first)
+    private String toWord(boolean holdOutputs, long[] outputs, State next)
+    {
+        StringBuilder sb = new StringBuilder(getWordBits());
+        if(hold)
+            sb.append(holdOutputs ? '1' : '0');
+        for(int i=0; i<outputs.length; i++)
+        {
+            int bits = getBitLength(outputSignals.get(i));
+            sb.append(StateEncoding.toBits(holdOutputs ? 0 : outputs[i], bits));
+        }
+        sb.append(encoding.getBits(next));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       SaifBackend
+ * Created:     2026-10-19
+ */
+package Generation.Backend;
+
+import Graph.Graph.STATE_ENCODING;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Exports the switching activity of a simulation with random inputs (see
+ * Simulator) as SAIF-file (Switching Activity Interchange Format, backward
+ * SAIF 2.0) for power-estimation tools.
+ *
+ * One net per bit of each signal, variable and of the state-register (named
+ * as in the generated VHDL-code; vectors as NAME\[i\]). The state-register is
+ * named STATE and holds the codes of the state-encoding of the graph
+ * (enumeration: binary in the order of the states). CLK toggles twice per
+ * cycle, RESET is inactive. T0 / T1 are the times at 0 / 1, TC the number of
+ * toggles.
+ *
+ * @author Andreas Schwenk
+ */
+public class SaifBackend implements I_BACKEND {
+
+    // *** ATTRIBUTES ***
+    private final File file;
+    private final int cycles;
+    private final int clockPeriod;
+
+    // *** METHODS ***
+
+    /**
+     * @param file output-file
+     * @param cycles number of simulated clock-cycles
+     * @param clockPeriod clock-period in ns
+     *
+     * @author Andreas Schwenk
+     */
+    public SaifBackend(File file, int cycles, int clockPeriod) {
+        this.file = file;
+        this.cycles = cycles;
+        this.clockPeriod = clockPeriod;
+    }
+
+    @Override
+    public File[] getFiles() {
+        return new File[]{file};
+    }
+
+    @Override
+    public String[] getOptions() {
+        return new String[]{"SAIF", "" + cycles, "" + clockPeriod};
+    }
+
+    @Override
+    public boolean includesLayout() {
+        return false;
+    }
+
+    @Override
+    public String getSummary() {
+        return ">> EXPORT ALS SAIF ERFOLGREICH! <<\n";
+    }
+
+    /**
+     * simulates the machine and writes the switching activity
+     *
+     * @param model model of the verified graph
+     * @param sink receives the file
+     * @throws IOException java-input-output-exception
+     *
+     * @author Andreas Schwenk
+     */
+    @Override
+    public void generate(MachineModel model, OutputSink sink) throws IOException {
+        Simulator simulator = new Simulator(model);
+        if (model.getStateEncoding() != STATE_ENCODING.ENUMERATION) {
+            simulator.setStateCodes(new StateEncoding(model, model.getStateEncoding()));
+        }
+        simulator.run(cycles);
+        long simulated = simulator.getCycles();
+        long duration = simulated * clockPeriod;
+
+        PrintWriter pw = sink.open(file);
+        pw.println("(SAIFILE");
+        pw.println("(SAIFVERSION \"2.0\")");
+        pw.println("(DIRECTION \"backward\")");
+        pw.println("(DESIGN )");
+        pw.println("(VENDOR \"STDE\")");
+        pw.println("(PROGRAM_NAME \"STDE - State Transition Diagram Editor\")");
+        pw.println("(VERSION \"1.0\")");
+        pw.println("(DIVIDER / )");
+        pw.println("(TIMESCALE 1 ns)");
+        pw.println("(DURATION " + duration + ")");
+        pw.println("(INSTANCE " + model.getName().toUpperCase());
+        pw.println("  (NET");
+        writeNet(pw, "CLK", duration / 2, duration - duration / 2, 2 * simulated);
+        writeNet(pw, "RESET", duration, 0, 0);
+        for (int net = 0; net < simulator.getNetCount(); net++) {
+            int bits = simulator.getBitLength(net);
+            for (int bit = 0; bit < bits; bit++) {
+                String name = simulator.getName(net);
+                if (bits > 1) {
+                    name += "\\[" + bit + "\\]";
+                }
+                long t1 = simulator.getOnes(net, bit) * clockPeriod;
+                writeNet(pw, name, duration - t1, t1, simulator.getToggles(net, bit));
+            }
+        }
+        pw.println("  )");
+        pw.println(")");
+        pw.println(")");
+    }
+
+    /**
+     * writes the activity of one net (bit)
+     *
+     * @param pw SAIF-file
+     * @param name name of the net
+     * @param t0 time at 0
+     * @param t1 time at 1
+     * @param tc number of toggles
+     */
+    private void writeNet(PrintWriter pw, String name, long t0, long t1, long tc) {
+        pw.println("    (" + name);
+        pw.println("      (T0 " + t0 + ") (T1 " + t1 + ") (TX 0)");
+        pw.println("      (TC " + tc + ") (IG 0)");
+        pw.println("    )");
+    }
+}
@@ -0,0 +1,323 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       ScxmlBackend
+ * Created:     2026-10-19
+ */
+package Generation.Backend;
+
+import Generation.Backend.MachineModel.Signal;
+import Generation.Backend.MachineModel.State;
+import Generation.Backend.MachineModel.Transition;
+import Generation.Backend.MachineModel.Variable;
+import Generation.OutputVectorParser.GeneratedOutputVector;
+import Generation.VariableAssignmentParser.GeneratedVarAssignment;
+import Graph.Graph.GRAPH_TYPE;
+import Graph.Signal.SIGNAL_DIRECTION;
+import java.awt.Point;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Exports the machine as SCXML-file. Formal specification can be found
+ * here: http://www.w3.org/2005/07/scxml The standard was changed in sone
+ * points in the year before (see "Software-Praktikum 2 - 2010 CUAS")
+ *
+ * @author Andreas Schwenk
+ */
+public class ScxmlBackend implements I_BACKEND {
+
+    // *** ATTRIBUTES ***
+    private final File file;
+
+    // *** METHODS ***
+
+    /**
+     * @param file output-file
+     *
+     * @author Andreas Schwenk
+     */
+    public ScxmlBackend(File file) {
+        this.file = file;
+    }
+
+    @Override
+    public File[] getFiles() {
+        return new File[]{file};
+    }
+
+    @Override
+    public String[] getOptions() {
+        return new String[]{"SCXML"};
+    }
+
+    @Override
+    public boolean includesLayout() {
+        return true;
+    }
+
+    @Override
+    public String getSummary() {
+        return ">> EXPORT ALS SCXML ERFOLGREICH! <<\n";
+    }
+
+    /**
+     * exports the machine
+     *
+     * @param model model of the verified graph
+     * @param sink receives the file
+     * @throws IOException java-input-output-exception
+     *
+     * @author Andreas Schwenk
+     */
+    @Override
+    public void generate(MachineModel model, OutputSink sink) throws IOException {
+        // create a new file
+        PrintWriter pw = sink.open(file);
+
+        // (I.) writer header
+        pw.println("<?xml version=\"1.0\"?>");
+        pw.println("<scxml xmlns=\"http://www.w3.org/2005/07/scxml\" version=\"1.0\" profile=\"diagram\" name=\""
+                + model.getName() + "\" initial=\"" + model.getStartNode().getToState().getName() 
+                + "\" graph_type=\""+model.getGraphType().name().toLowerCase()+"\">");
+
+        // (II.) write signals
+        pw.println(); // empty line
+        pw.println("  <signals>");
+        Signal signal;
+        String direction = "", type = "";
+        // for all signals
+        Iterator<Signal> itSig;
+        itSig = model.getSignals().iterator();
+        while (itSig.hasNext()) {
+            signal = itSig.next();
+            // detect signal-direction
+            switch (signal.getDirection()) {
+                case IN:
+                    direction = "in";
+                    break;
+                case OUT:
+                    direction = "out";
+                    break;
+                case INOUT:
+                    direction = "inout";
+                    break;
+            }
+            // detect signal-type
+            switch (signal.getType()) {
+                case BIT:
+                    type = "bit";
+                    break;
+                case BIT_N:
+                    type = "vector";
+                    break;
+                case SIGNED:
+                    type = "integer";
+                    break;
+                case UNSIGNED:
+                    type = "vector";
+                    break;
+            }
+
+            // type := nibble | byte  if applicable (bitLenght in {4,8})
+            if (type.equals("vector")) {
+                switch (signal.getBitLength()) {
+                    case 4:
+                        type = "nibble";
+                        break;
+                    case 8:
+                        type = "byte";
+                        break;
+                }
+            }
+
+            // write to file
+            // (a) no need of attribute 'size'
+            if (type.equals("bit") || type.equals("nibble") || type.equals("byte")) {
+                pw.println("    <signal name = \"" + signal.getName() + "\" dir=\""
+                        + direction + "\" type = \"" + type + "\"/>");
+            } // (b) attribute 'size' needed
+            else {
+                long size = signal.getBitLength();
+                // output
+                pw.println("    <signal name = \"" + signal.getName() + "\" dir=\""
+                        + direction + "\" type = \"" + type + "\" size = \"" + size + "\" />");
+            }
+        }
+        pw.println("  </signals>");
+
+        // (III.) write variables
+        pw.println(); // empty line
+        pw.println("  <variables>");
+        Variable variable;
+        type = "";
+        // for all variables
+        Iterator<Variable> itVar;
+        itVar = model.getVariables().iterator();
+        while (itVar.hasNext()) {
+            variable = itVar.next();
+            // detect signal-type
+            switch (variable.getType()) {
+                case BIT:
+                    type = "bit";
+                    break;
+                case BIT_N:
+                    type = "vector";
+                    break;
+                case SIGNED:
+                    type = "integer";
+                    break;
+                case UNSIGNED:
+                    type = "vector";
+                    break;
+            }
+            // type := nibble | byte  if applicable (bitLenght in {4,8})
+            if (type.equals("vector")) {
+                switch (variable.getBitLength()) {
+                    case 4:
+                        type = "nibble";
+                        break;
+                    case 8:
+                        type = "byte";
+                        break;
+                }
+            }
+
+            // write to file
+            // (a) no need of attribute 'size'
+            if (type.equals("bit") || type.equals("nibble") || type.equals("byte")) {
+                pw.println("    <var name = \"" + variable.getName() + "\" type = \"" + type + "\"/>");
+            } // (b) attribute 'size' needed
+            else {
+                long size = variable.getBitLength();
+                // output
+                pw.println("    <var name = \"" + variable.getName() + "\" type = \"" + type
+                        + "\" size = \"" + size + "\" />");
+            }
+        }
+        pw.println("  </variables>");
+
+        // (IV.) states and transitions
+        pw.println(); // empty line
+        pw.println("  <states>");
+        State state;
+        String conditionStr; // condition as a string (for transitions)
+        // for all states
+        Iterator<State> itStates = model.getStates().iterator();
+        while (itStates.hasNext()) {
+            state = itStates.next();
+
+            // (IV.i) start tag
+            pw.println("    <state id = \"" + state.getName() + "\">");
+
+            // (IV.ii) position
+            Point position = state.getPosition();
+            pw.println("      <position x=\"" + position.x + "\" y=\"" + position.y + "\" />");
+
+            // (IV.iii) size
+            Point size = state.getSize();
+            pw.println("      <size width=\"" + size.x + "\" height=\"" + size.y + "\" />");
+
+            // (IV.iv) transitions
+            Transition transition;
+            pw.println("      <transitions>");
+            // for all transitions of current state
+            for (Iterator<Transition> itTrans = state.getTransitions().iterator(); itTrans.hasNext();) {
+                transition = itTrans.next();
+                // write to file
+                conditionStr = transition.getGeneratedCondition().neutral;
+
+                conditionStr = conditionStr.replaceAll("#", ""); // in case of SCXML all numbers are decimal
+                // => just remove '#' from intermediate-
+                //    condition-format (e. g. "#123#" -> "123")
+
+                State toState = transition.getToState();
+                pw.println("        <transition cond = \"" + conditionStr
+                        + "\" target = \"" + toState.getName() + "\">");
+
+                // output in case of Mealy
+                if (model.getGraphType() == GRAPH_TYPE.MEALY) {
+                    List<GeneratedOutputVector> llGov = transition.getGeneratedOutputVector();
+
+                    Iterator<Signal> outSigIt = model.getSignals(SIGNAL_DIRECTION.OUT).iterator();
+                    Signal outSignal;
+                    int i = 0;
+                    while (outSigIt.hasNext()) {
+                        outSignal = outSigIt.next();
+                        GeneratedOutputVector gov = llGov.get(i);
+                        if (gov.variable != null) {
+                            pw.println("          <assign signal = \"" + outSignal.getName() + "\" expr = \""
+                                    + gov.variable.getName() + "(" + gov.upperBound + "," + gov.lowerBound + ")" + "\"/>");
+                        } else {
+                            pw.println("          <assign signal = \"" + outSignal.getName() + "\" expr = \"" + gov.value + "\"/>");
+                        }
+
+                        i++;
+                    }
+                }
+
+                pw.println("        </transition>");
+            }
+            pw.println("      </transitions>");
+            // Variable assignments?
+            if (state.isVariableAssignmentsEnabled()) {
+                Iterator<GeneratedVarAssignment> itGVA = state.getGeneratedVariableAssignments().iterator();
+                GeneratedVarAssignment gva;
+                while (itGVA.hasNext()) {
+                    gva = itGVA.next();
+                    pw.println("      <onentry>");
+                    pw.println("        <assign variable = \"" + gva.lhs + "\" expr = \"" + gva.rhsNeutral + "\"/>");
+                    pw.println("      </onentry>");
+                }
+            }
+
+            // Moore? => write output-vector
+            if (model.getGraphType() == GRAPH_TYPE.MOORE) {
+                List<GeneratedOutputVector> llGov = state.getGeneratedOutputVector();
+
+                pw.println("      <during>");
+
+                Iterator<Signal> outSigIt = model.getSignals(SIGNAL_DIRECTION.OUT).iterator();
+                Signal outSignal;
+                int i = 0;
+                while (outSigIt.hasNext()) {
+                    outSignal = outSigIt.next();
+                    GeneratedOutputVector gov = llGov.get(i);
+                    if (gov.variable != null) {
+                        pw.println("        <assign signal = \"" + outSignal.getName() + "\" expr = \""
+                                + gov.variable.getName() + "(" + gov.upperBound + "," + gov.lowerBound + ")" + "\"/>");
+                    } else {
+                        pw.println("        <assign signal = \"" + outSignal.getName() + "\" expr = \"" + gov.value + "\"/>");
+                    }
+
+                    i++;
+                }
+
+                pw.println("      </during>");
+            }
+
+            // (IV.vi) end tag
+            pw.println("    </state>\n");
+        }
+        pw.println("  </states>");
+
+        // (V.) write startNode
+        pw.println(""); //empty line
+        Transition startNode = model.getStartNode();
+        State sNTarget = startNode.getToState();
+        pw.println("  <startNode target=\"" + sNTarget.getName() + "\" condition=\"" + startNode.getCondition() + "\">");
+        pw.println("  </startNode>");
+
+        // (VI.) write trailer
+        pw.println("</scxml>");
+
+        // close file
+        pw.close();
+    }
+}
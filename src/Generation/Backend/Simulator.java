@@ -0,0 +1,624 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       Simulator
+ * Created:     2026-10-19
+ */
+
+package Generation.Backend;
+
+import Generation.Ast.Assignment;
+import Generation.Ast.BinaryExpression;
+import Generation.Ast.ConstantExpression;
+import Generation.Ast.Expression;
+import Generation.Ast.I_EXPRESSION_VISITOR;
+import Generation.Ast.NumberExpression;
+import Generation.Ast.ParenthesizedExpression;
+import Generation.Ast.SymbolExpression;
+import Generation.Backend.MachineModel.Signal;
+import Generation.Backend.MachineModel.State;
+import Generation.Backend.MachineModel.Transition;
+import Generation.Backend.MachineModel.Variable;
+import Generation.OutputVectorParser.GeneratedOutputVector;
+import Generation.VariableAssignmentParser.GeneratedVarAssignment;
+import Graph.Graph.GRAPH_TYPE;
+import Graph.SigVar;
+import Graph.SigVar.SIGVAR_TYPE;
+import Graph.Signal.SIGNAL_DIRECTION;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Simulates a machine with random input-signals and counts the state-
+ * changes (switching activity of the state-register) as well as, for each
+ * bit of each signal, variable and of the state-register, the cycles at 1
+ * and the toggles (see SaifBackend).
+ *
+ * Each cycle behaves like the step-function of the generated C-code: the
+ * variable-assignments of the current state are executed, then the first
+ * transition, whose condition holds, is taken. The input-signals are
+ * uniformly distributed and independent of each other (no stimuli are
+ * known); the variables start with 0 and wrap around like the registers.
+ *
+ * The values of each cycle are taken after the clock-edge (inputs of the
+ * cycle, new state, variables after the assignments, outputs). The counters
+ * are updated without branches on the packed bits (64 per word).
+ *
+ * The random-generator is seeded, thus the counts (and the codes chosen from
+ * them, see StateEncoding) are the same for each generation.
+ *
+ * @author Andreas Schwenk
+ */
+public final class Simulator implements I_EXPRESSION_VISITOR
+{
+    // *** CONSTANTS ***
+    private static final long SEED = 0x5744E;
+
+    // *** SUB-CLASSES ***
+
+    // packed bits of a signal / variable / the state-register and its counters
+    private static final class Probe
+    {
+        final String name;
+        final int bits;
+        final long[] value, previous;
+        final long[] ones, toggles; // per bit
+
+        Probe(String name, int bits)
+        {
+            this.name = name;
+            this.bits = bits;
+            value = new long[(bits + 63) / 64];
+            previous = new long[value.length];
+            ones = new long[bits];
+            toggles = new long[bits];
+        }
+
+        void set(long v)
+        {
+            value[0] = (bits < 64) ? v & ((1L << bits) - 1) : v;
+        }
+
+        void count(boolean first)
+        {
+            for(int w=0; w<value.length; w++)
+            {
+                long v = value[w];
+                long changed = first ? 0 : v ^ previous[w];
+                int n = Math.min(64, bits - 64 * w);
+                for(int k=0; k<n; k++)
+                {
+                    ones[64 * w + k] += (v >>> k) & 1;
+                    toggles[64 * w + k] += (changed >>> k) & 1;
+                }
+                previous[w] = v;
+            }
+        }
+    }
+
+    // *** ATTRIBUTES ***
+    private final MachineModel model;
+    private final HashMap<State, Integer> index = new HashMap<State, Integer>();
+    private final long[][] counts;
+    private long cycles = 0;
+    private final Random random = new Random(SEED);
+    // values of the variables and of the input-signals (current cycle)
+    private final HashMap<String, Long> variables = new HashMap<String, Long>();
+    private final HashMap<String, Long> inputs = new HashMap<String, Long>();
+    private long value; // result of the last visited expression
+    // switching activity: inputs, outputs, variables, state-register
+    private final List<Signal> inputSignals = new ArrayList<Signal>();
+    private final List<Signal> outputSignals;
+    private final ArrayList<Probe> probes = new ArrayList<Probe>();
+    private final HashMap<State, long[]> stateCodes = new HashMap<State, long[]>();
+    private final long[] outputs;
+    // recorded cycles (see recordTrace())
+    private ArrayList<long[]> trace = null;
+
+    // *** METHODS ***
+
+    /**
+     * @param model model of the verified graph
+     *
+     * @author Andreas Schwenk
+     */
+    public Simulator(MachineModel model)
+    {
+        this.model = model;
+        List<State> states = model.getStates();
+        for(int i=0; i<states.size(); i++)
+            index.put(states.get(i), i);
+        counts = new long[states.size()][states.size()];
+
+        List<Signal> signals = model.getSignals();
+        for(int i=0; i<signals.size(); i++)
+        {
+            if(signals.get(i).getDirection() != SIGNAL_DIRECTION.OUT)
+                inputSignals.add(signals.get(i));
+        }
+        outputSignals = model.getSignals(SIGNAL_DIRECTION.OUT);
+        outputs = new long[outputSignals.size()];
+        ArrayList<Signal> observed = new ArrayList<Signal>(inputSignals);
+        observed.addAll(outputSignals);
+        for(int i=0; i<observed.size(); i++)
+        {
+            Signal s = observed.get(i);
+            probes.add(new Probe(s.getName().toUpperCase(), getBits(s.getType(), s.getBitLength())));
+        }
+        List<Variable> vars = model.getVariables();
+        for(int i=0; i<vars.size(); i++)
+        {
+            Variable v = vars.get(i);
+            probes.add(new Probe(v.getName().toUpperCase(), getBits(v.getType(), v.getBitLength())));
+        }
+        setStateCodes(null);
+    }
+
+    /**
+     * sets the codes of the state-register (default: binary, order of the
+     * states)
+     *
+     * @param encoding codes of the states or null
+     *
+     * @author Andreas Schwenk
+     */
+    public void setStateCodes(StateEncoding encoding)
+    {
+        List<State> states = model.getStates();
+        int bits = 1;
+        while((1L << bits) < states.size())
+            bits++;
+        if(encoding != null)
+            bits = encoding.getBitLength();
+        Probe probe = new Probe("STATE", bits);
+        stateCodes.clear();
+        for(int i=0; i<states.size(); i++)
+        {
+            long[] code = new long[probe.value.length];
+            String b = (encoding != null) ? encoding.getBits(states.get(i)) : StateEncoding.toBits(i, bits);
+            for(int k=0; k<bits; k++)
+            {
+                if(b.charAt(bits - 1 - k) == '1')
+                    code[k / 64] |= 1L << (k % 64);
+            }
+            stateCodes.put(states.get(i), code);
+        }
+        if(probes.size() > inputSignals.size() + outputSignals.size() + model.getVariables().size())
+            probes.set(probes.size() - 1, probe);
+        else
+            probes.add(probe);
+    }
+
+    /**
+     * simulates the given number of cycles from the start-state (reset)
+     *
+     * @param steps number of cycles
+     *
+     * @author Andreas Schwenk
+     */
+    public void run(int steps)
+    {
+        State state = model.getStartNode().getToState();
+        variables.clear();
+        if(state != null)
+        {
+            // reset: output of the start-node (Mealy) / start-state (Moore)
+            inputs.clear();
+            setOutputs(model.getGraphType() == GRAPH_TYPE.MEALY
+                    ? model.getStartNode().getGeneratedOutputVector() : state.getGeneratedOutputVector());
+        }
+        for(int k=0; k<steps && state != null; k++)
+        {
+            // random inputs of this cycle
+            inputs.clear();
+            for(int i=0; i<inputSignals.size(); i++)
+            {
+                Signal s = inputSignals.get(i);
+                inputs.put(s.getName(), wrap(random.nextLong(), s.getType(), s.getBitLength()));
+            }
+            // (a) variable-assignments
+            if(state.isVariableAssignmentsEnabled() && state.getGeneratedVariableAssignments() != null)
+            {
+                List<GeneratedVarAssignment> assignments = state.getGeneratedVariableAssignments();
+                for(int i=0; i<assignments.size(); i++)
+                    assign(assignments.get(i).assignment);
+            }
+            // (b) first transition, whose condition holds
+            State next = state;
+            boolean taken = false;
+            List<Transition> transitions = state.getTransitions();
+            for(int i=0; i<transitions.size(); i++)
+            {
+                if(evaluate(transitions.get(i).getGeneratedCondition().ast) != 0)
+                {
+                    next = transitions.get(i).getToState();
+                    taken = true;
+                    if(model.getGraphType() == GRAPH_TYPE.MEALY)
+                        setOutputs(transitions.get(i).getGeneratedOutputVector());
+                    break;
+                }
+            }
+            if(model.getGraphType() == GRAPH_TYPE.MOORE)
+                setOutputs(next.getGeneratedOutputVector());
+            counts[index.get(state)][index.get(next)]++;
+            countActivity(next);
+            if(trace != null)
+                record(taken);
+            cycles++;
+            state = next;
+        }
+    }
+
+    /**
+     * records the inputs and outputs of each cycle of the following runs
+     * (see getTrace())
+     *
+     * @author Andreas Schwenk
+     */
+    public void recordTrace()
+    {
+        trace = new ArrayList<long[]>();
+    }
+
+    /**
+     * @return recorded cycles or null (see recordTrace()); per cycle the values
+     *         of the input-signals (order of getInputSignals()), of the
+     *         output-signals after the cycle (order of getOutputSignals())
+     *         and 1, if a transition has been taken (otherwise 0)
+     */
+    public List<long[]> getTrace()
+    {
+        return trace;
+    }
+
+    private void record(boolean taken)
+    {
+        long[] cycle = new long[inputSignals.size() + outputs.length + 1];
+        for(int i=0; i<inputSignals.size(); i++)
+            cycle[i] = inputs.get(inputSignals.get(i).getName());
+        System.arraycopy(outputs, 0, cycle, inputSignals.size(), outputs.length);
+        cycle[cycle.length - 1] = taken ? 1 : 0;
+        trace.add(cycle);
+    }
+
+    // switching activity of the cycle (after the clock-edge)
+    private void countActivity(State state)
+    {
+        int p = 0;
+        for(int i=0; i<inputSignals.size(); i++)
+            probes.get(p++).set(inputs.get(inputSignals.get(i).getName()));
+        for(int i=0; i<outputSignals.size(); i++)
+            probes.get(p++).set(outputs[i]);
+        List<Variable> vars = model.getVariables();
+        for(int i=0; i<vars.size(); i++)
+        {
+            Long v = variables.get(vars.get(i).getName());
+            probes.get(p++).set(v == null ? 0 : v);
+        }
+        long[] code = stateCodes.get(state);
+        System.arraycopy(code, 0, probes.get(p).value, 0, code.length);
+        for(int i=0; i<probes.size(); i++)
+            probes.get(i).count(cycles == 0);
+    }
+
+    // values of the output-signals (held until the next output)
+    private void setOutputs(List<GeneratedOutputVector> llGov)
+    {
+        computeOutputs(llGov, outputs);
+    }
+
+    private void computeOutputs(List<GeneratedOutputVector> llGov, long[] values)
+    {
+        if(llGov == null)
+            return;
+        for(int i=0; i<values.length && i<llGov.size(); i++)
+        {
+            GeneratedOutputVector gov = llGov.get(i);
+            long v;
+            if(gov.variable != null)
+                v = get(gov.variable);
+            else if(gov.signal != null)
+                v = get(gov.signal);
+            else
+                v = gov.value;
+            if(gov.variable != null || gov.signal != null)
+            {
+                if(gov.isVectorComponent)
+                    v = (v >> gov.upperBound) & 1;
+                else if(gov.isVectorSlice)
+                    v = (v >> gov.lowerBound) & ((1L << (gov.upperBound - gov.lowerBound + 1)) - 1);
+            }
+            Signal s = outputSignals.get(i);
+            values[i] = wrap(v, s.getType(), s.getBitLength());
+        }
+    }
+
+    /**
+     * evaluates a single cycle for the given values of the input-signals
+     * (like run(), but without random inputs, counters and variables; see
+     * RomTable)
+     *
+     * @param state current state
+     * @param inputValues bits of the input-signals (order of
+     *                    getInputSignals(); signed values in two's complement)
+     * @param outputValues receives the values of the output-signals (Moore:
+     *                     output of the next state; Mealy: output of the
+     *                     taken transition, unchanged without transition)
+     * @return taken transition or null, if no condition holds (the state is
+     *         kept)
+     *
+     * @author Andreas Schwenk
+     */
+    public Transition evaluateCycle(State state, long[] inputValues, long[] outputValues)
+    {
+        setInputs(inputValues);
+        variables.clear();
+        List<Transition> transitions = state.getTransitions();
+        for(int i=0; i<transitions.size(); i++)
+        {
+            if(evaluate(transitions.get(i).getGeneratedCondition().ast) != 0)
+            {
+                Transition t = transitions.get(i);
+                computeOutputs(model.getGraphType() == GRAPH_TYPE.MEALY
+                        ? t.getGeneratedOutputVector() : t.getToState().getGeneratedOutputVector(), outputValues);
+                return t;
+            }
+        }
+        if(model.getGraphType() == GRAPH_TYPE.MOORE)
+            computeOutputs(state.getGeneratedOutputVector(), outputValues);
+        return null;
+    }
+
+    /**
+     * evaluates an output-vector for the given values of the input-signals
+     *
+     * @param llGov generated output-vector
+     * @param inputValues bits of the input-signals (order of
+     *                    getInputSignals())
+     * @param outputValues receives the values of the output-signals
+     */
+    public void evaluateOutputs(List<GeneratedOutputVector> llGov, long[] inputValues, long[] outputValues)
+    {
+        setInputs(inputValues);
+        variables.clear();
+        computeOutputs(llGov, outputValues);
+    }
+
+    private void setInputs(long[] inputValues)
+    {
+        inputs.clear();
+        for(int i=0; i<inputSignals.size(); i++)
+        {
+            Signal s = inputSignals.get(i);
+            inputs.put(s.getName(), wrap(inputValues[i], s.getType(), s.getBitLength()));
+        }
+    }
+
+    /**
+     * @return input-signals (IN and INOUT, order of the model)
+     */
+    public List<Signal> getInputSignals()
+    {
+        return inputSignals;
+    }
+
+    /**
+     * @return output-signals (order of the model)
+     */
+    public List<Signal> getOutputSignals()
+    {
+        return outputSignals;
+    }
+
+    /**
+     * @param type type of a signal / variable
+     * @param bitLength bit-length
+     * @return number of simulated bits
+     */
+    static int getBits(SIGVAR_TYPE type, int bitLength)
+    {
+        return (type == SIGVAR_TYPE.BIT) ? 1 : Math.max(1, Math.min(bitLength, 63));
+    }
+
+    /**
+     * @return number of observed signals, variables and registers (see
+     *         getName(int) etc.; the state-register "STATE" is the last one)
+     */
+    public int getNetCount()
+    {
+        return probes.size();
+    }
+
+    /**
+     * @param net index of the net
+     * @return name (as in the VHDL-code)
+     */
+    public String getName(int net)
+    {
+        return probes.get(net).name;
+    }
+
+    /**
+     * @param net index of the net
+     * @return number of bits
+     */
+    public int getBitLength(int net)
+    {
+        return probes.get(net).bits;
+    }
+
+    /**
+     * @param net index of the net
+     * @param bit index of the bit (0: least significant)
+     * @return number of cycles, in which the bit is 1
+     */
+    public long getOnes(int net, int bit)
+    {
+        return probes.get(net).ones[bit];
+    }
+
+    /**
+     * @param net index of the net
+     * @param bit index of the bit (0: least significant)
+     * @return number of toggles of the bit
+     */
+    public long getToggles(int net, int bit)
+    {
+        return probes.get(net).toggles[bit];
+    }
+
+    /**
+     * @return number of simulated cycles
+     */
+    public long getCycles()
+    {
+        return cycles;
+    }
+
+    /**
+     * @param from state before the cycle
+     * @param to state after the cycle
+     * @return number of cycles from "from" to "to" (from == to: cycles
+     *         without state-change)
+     */
+    public long getCount(State from, State to)
+    {
+        return counts[index.get(from)][index.get(to)];
+    }
+
+    private long evaluate(Expression e)
+    {
+        if(e == null)
+            return 1; // empty condition
+        e.accept(this);
+        return value;
+    }
+
+    private void assign(Assignment a)
+    {
+        if(a == null || a.target == null || a.type == null)
+            return;
+        long x = get(a.target);
+        long result;
+        switch(a.type)
+        {
+            case SHIFT_LEFT:
+                result = x << 1;
+                break;
+            case SHIFT_RIGHT:
+                result = x >> 1;
+                break;
+            case COPY:
+                result = get(a.operand);
+                break;
+            case ADD:
+            case SUBTRACT:
+                long op2 = (a.operand2 != null) ? get(a.operand2) : a.number;
+                result = get(a.operand) + (a.type == Assignment.ASSIGNMENT_TYPE.ADD ? op2 : -op2);
+                break;
+            case CONSTANT:
+                result = a.number;
+                break;
+            case INCREMENT:
+                result = x + 1;
+                break;
+            default: // DECREMENT
+                result = x - 1;
+        }
+        variables.put(a.target.getName(), wrap(result, a.target.getType(), a.target.getBitLength()));
+    }
+
+    // value of a variable or input-signal of the current cycle
+    private long get(SigVar sv)
+    {
+        if(sv == null)
+            return 0;
+        Long v = (sv instanceof Graph.Variable) ? variables.get(sv.getName()) : inputs.get(sv.getName());
+        return (v == null) ? 0 : v;
+    }
+
+    // value as stored in a register of the type of the signal / variable
+    private static long wrap(long value, SIGVAR_TYPE type, int bitLength)
+    {
+        int bits = getBits(type, bitLength);
+        long v = value & ((1L << bits) - 1);
+        if(type == SIGVAR_TYPE.SIGNED && bits > 1 && (v >> (bits - 1)) != 0)
+            v -= 1L << bits;
+        return v;
+    }
+
+    @Override
+    public void visit(BinaryExpression e)
+    {
+        long left = evaluate(e.left);
+        // short-circuit evaluation (no side-effects, but like C)
+        if(e.operator == BinaryExpression.OPERATOR.OR && left != 0)
+        {
+            value = 1;
+            return;
+        }
+        if(e.operator == BinaryExpression.OPERATOR.AND && left == 0)
+        {
+            value = 0;
+            return;
+        }
+        long right = evaluate(e.right);
+        boolean result;
+        switch(e.operator)
+        {
+            case OR:
+            case AND:
+                result = right != 0;
+                break;
+            case EQUAL:
+                result = left == right;
+                break;
+            case NOT_EQUAL:
+                result = left != right;
+                break;
+            case LESS:
+                result = left < right;
+                break;
+            case LESS_EQUAL:
+                result = left <= right;
+                break;
+            case GREATER:
+                result = left > right;
+                break;
+            default: // GREATER_EQUAL
+                result = left >= right;
+        }
+        value = result ? 1 : 0;
+    }
+
+    @Override
+    public void visit(ParenthesizedExpression e)
+    {
+        long inner = evaluate(e.inner);
+        value = e.negated ? (inner == 0 ? 1 : 0) : inner;
+    }
+
+    @Override
+    public void visit(SymbolExpression e)
+    {
+        long v = get(e.getSymbol());
+        value = e.negated ? (v == 0 ? 1 : 0) : v;
+    }
+
+    @Override
+    public void visit(NumberExpression e)
+    {
+        value = e.value;
+    }
+
+    @Override
+    public void visit(ConstantExpression e)
+    {
+        value = e.value ? 1 : 0;
+    }
+}
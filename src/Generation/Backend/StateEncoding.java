@@ -0,0 +1,454 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       StateEncoding
+ * Created:     2026-10-19
+ */
+
+package Generation.Backend;
+
+import Generation.Backend.MachineModel.Signal;
+import Generation.Backend.MachineModel.State;
+import Generation.Backend.MachineModel.Transition;
+import Generation.OutputVectorParser.GeneratedOutputVector;
+import Graph.Graph.GRAPH_TYPE;
+import Graph.Graph.STATE_ENCODING;
+import Graph.Signal.SIGNAL_DIRECTION;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Binary codes of the states of a machine (explicit state-encoding).
+ *
+ * The states are numbered in breadth-first order from the start-state (states
+ * without path from the start-state at the end); thus the start-state has the
+ * code 0 (one-hot: bit 0) and Gray- / Johnson-codes of states, that follow
+ * each other, differ in a single bit more often than in the order of the
+ * states.
+ *
+ * AUTOMATIC chooses by the number of states: up to 4 states binary (no
+ * advantage of wider codes), up to 32 states one-hot (fast next-state logic
+ * on FPGAs), binary otherwise (the number of flip-flops dominates).
+ *
+ * OUTPUT_ENCODED (Moore only): the lower bits of each code are the output-
+ * vector of the state (first output-signal most significant), the upper bits
+ * only distinguish states with the same outputs. The outputs are wired
+ * directly to the state-register (no decoding, no glitches). If the graph is
+ * a Mealy-machine or an output of a state is not constant, BINARY is used.
+ *
+ * LOW_POWER: binary width; the codes are chosen by simulated annealing, so
+ * that state-changes, that occur frequently in a simulation with random
+ * inputs (see Simulator), differ in few bits (weighted Hamming-distance). This
+ * reduces the toggling of the state-register (dynamic power). The start-state
+ * keeps the code 0.
+ *
+ * @author Andreas Schwenk
+ */
+public final class StateEncoding
+{
+    // *** CONSTANTS ***
+    private static final int AUTOMATIC_MAX_BINARY = 4;
+    private static final int AUTOMATIC_MAX_ONE_HOT = 32;
+    private static final int SIMULATION_CYCLES = 10000;
+    private static final long ANNEALING_SEED = 1;
+
+    // *** ATTRIBUTES ***
+    private final STATE_ENCODING encoding;
+    private final int bitLength;
+    private final HashMap<State, String> bits = new HashMap<State, String>();
+    // OUTPUT_ENCODED: lowest bit and bit-length of each output-signal
+    private int[] outputLowerBit, outputBitLength;
+    // LOW_POWER: state-changes of the register per cycle (simulated)
+    private double toggleRate = 0.0, binaryToggleRate = 0.0;
+
+    // *** METHODS ***
+
+    /**
+     * computes the codes of all states
+     *
+     * @param model model
+     * @param encoding requested encoding (not ENUMERATION)
+     *
+     * @author Andreas Schwenk
+     */
+    public StateEncoding(MachineModel model, STATE_ENCODING encoding)
+    {
+        List<State> order = getOrder(model);
+        int n = order.size();
+        if(encoding == STATE_ENCODING.AUTOMATIC)
+            encoding = resolve(n);
+        if(encoding == STATE_ENCODING.OUTPUT_ENCODED && !isOutputEncodable(model))
+            encoding = STATE_ENCODING.BINARY;
+        this.encoding = encoding;
+
+        if(encoding == STATE_ENCODING.OUTPUT_ENCODED)
+        {
+            bitLength = encodeOutputs(model, order);
+            return;
+        }
+        if(encoding == STATE_ENCODING.LOW_POWER)
+        {
+            bitLength = encodeLowPower(model, order);
+            return;
+        }
+        switch(encoding)
+        {
+            case ONE_HOT:
+                bitLength = Math.max(n, 1);
+                break;
+            case JOHNSON:
+                bitLength = Math.max((n + 1) / 2, 1);
+                break;
+            default: // BINARY, GRAY
+                int b = 1;
+                while((1L << b) < n)
+                    b++;
+                bitLength = b;
+        }
+        for(int i=0; i<n; i++)
+        {
+            if(encoding == STATE_ENCODING.ONE_HOT)
+            {
+                // may be wider than 64 bits
+                StringBuilder sb = new StringBuilder(toBits(0, bitLength));
+                sb.setCharAt(bitLength - 1 - i, '1');
+                bits.put(order.get(i), sb.toString());
+                continue;
+            }
+            long code;
+            switch(encoding)
+            {
+                case GRAY:
+                    code = i ^ (i >> 1);
+                    break;
+                case JOHNSON:
+                    // 000, 001, 011, 111, 110, 100
+                    if(i <= bitLength)
+                        code = (1L << i) - 1;
+                    else
+                        code = ((1L << bitLength) - 1) & ~((1L << (i - bitLength)) - 1);
+                    break;
+                default:
+                    code = i;
+            }
+            bits.put(order.get(i), toBits(code, bitLength));
+        }
+    }
+
+    /**
+     * @param model model
+     * @return true, if the outputs of all states are constant (Moore)
+     */
+    private static boolean isOutputEncodable(MachineModel model)
+    {
+        if(model.getGraphType() != GRAPH_TYPE.MOORE)
+            return false;
+        List<State> states = model.getStates();
+        for(int i=0; i<states.size(); i++)
+        {
+            List<GeneratedOutputVector> llGov = states.get(i).getGeneratedOutputVector();
+            for(int j=0; j<llGov.size(); j++)
+            {
+                if(llGov.get(j).variable != null || llGov.get(j).signal != null)
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    // OUTPUT_ENCODED: [state-bits | output-bits]; returns the bit-length
+    private int encodeOutputs(MachineModel model, List<State> order)
+    {
+        LinkedList<Signal> outsig = model.getSignals(SIGNAL_DIRECTION.OUT);
+        outputLowerBit = new int[outsig.size()];
+        outputBitLength = new int[outsig.size()];
+        int outputBits = 0;
+        for(int i=outsig.size()-1; i>=0; i--)
+        {
+            outputLowerBit[i] = outputBits;
+            outputBitLength[i] = outsig.get(i).getBitLength();
+            outputBits += outputBitLength[i];
+        }
+        // output-bits of each state, number of states per output-vector
+        ArrayList<String> outputs = new ArrayList<String>();
+        HashMap<String, Integer> count = new HashMap<String, Integer>();
+        int maxCount = 0;
+        for(int i=0; i<order.size(); i++)
+        {
+            List<GeneratedOutputVector> llGov = order.get(i).getGeneratedOutputVector();
+            StringBuilder sb = new StringBuilder(outputBits);
+            for(int j=0; j<outsig.size(); j++)
+                sb.append(toBits(llGov.get(j).value, outputBitLength[j]));
+            String o = sb.toString();
+            outputs.add(o);
+            Integer c = count.get(o);
+            c = (c == null) ? 1 : c + 1;
+            count.put(o, c);
+            maxCount = Math.max(maxCount, c);
+        }
+        // additional bits distinguish states with the same outputs
+        int stateBits = 0;
+        while((1L << stateBits) < maxCount)
+            stateBits++;
+        if(stateBits + outputBits == 0)
+            stateBits = 1;
+        // number the states per output-vector (start-state: 0)
+        count.clear();
+        for(int i=0; i<order.size(); i++)
+        {
+            String o = outputs.get(i);
+            Integer c = count.get(o);
+            c = (c == null) ? 0 : c;
+            count.put(o, c + 1);
+            bits.put(order.get(i), toBits(c, stateBits) + o);
+        }
+        return stateBits + outputBits;
+    }
+
+    // LOW_POWER: simulated annealing over the codes; returns the bit-length
+    private int encodeLowPower(MachineModel model, List<State> order)
+    {
+        int n = order.size();
+        int b = 1;
+        while((1L << b) < n)
+            b++;
+        // weights: state-changes in both directions
+        Simulator simulator = new Simulator(model);
+        simulator.run(SIMULATION_CYCLES);
+        double[][] weight = new double[n][n];
+        ArrayList<ArrayList<Integer>> neighbours = new ArrayList<ArrayList<Integer>>();
+        double total = 0.0;
+        for(int i=0; i<n; i++)
+            neighbours.add(new ArrayList<Integer>());
+        for(int i=0; i<n; i++)
+        {
+            for(int j=i+1; j<n; j++)
+            {
+                weight[i][j] = weight[j][i] = simulator.getCount(order.get(i), order.get(j))
+                        + simulator.getCount(order.get(j), order.get(i));
+                if(weight[i][j] > 0)
+                {
+                    neighbours.get(i).add(j);
+                    neighbours.get(j).add(i);
+                    total += weight[i][j];
+                }
+            }
+        }
+        // start: binary (breadth-first order)
+        int[] code = new int[n];
+        int[] stateOf = new int[1 << b];
+        for(int c=0; c<stateOf.length; c++)
+            stateOf[c] = -1;
+        for(int i=0; i<n; i++)
+        {
+            code[i] = i;
+            stateOf[i] = i;
+        }
+        double cost = getCost(code, weight, n);
+        binaryToggleRate = cost / Math.max(simulator.getCycles(), 1);
+        int[] best = code.clone();
+        double bestCost = cost;
+        // annealing: swap the codes of two states (or move to a free code)
+        Random random = new Random(ANNEALING_SEED);
+        int moves = Math.min(20000 + 2000 * n, 2000000);
+        double temperature = (n > 1 && total > 0) ? total / n : 0.0;
+        double cooling = Math.pow(1.0e-4, 1.0 / moves);
+        for(int m=0; m<moves && temperature > 0; m++, temperature *= cooling)
+        {
+            int i = random.nextInt(n);
+            int c = random.nextInt(stateOf.length);
+            if(c == code[i])
+                continue;
+            int j = stateOf[c];
+            double delta = getDelta(i, c, j, code, weight, neighbours);
+            if(j >= 0)
+                delta += getDelta(j, code[i], i, code, weight, neighbours);
+            if(delta > 0 && random.nextDouble() >= Math.exp(-delta / temperature))
+                continue;
+            stateOf[code[i]] = j;
+            if(j >= 0)
+                code[j] = code[i];
+            stateOf[c] = i;
+            code[i] = c;
+            cost += delta;
+            if(cost < bestCost - 1.0e-9)
+            {
+                bestCost = cost;
+                best = code.clone();
+            }
+        }
+        toggleRate = bestCost / Math.max(simulator.getCycles(), 1);
+        // start-state: code 0 (XOR keeps the Hamming-distances)
+        for(int i=0; i<n; i++)
+            bits.put(order.get(i), toBits(best[i] ^ best[0], b));
+        return b;
+    }
+
+    // weighted Hamming-distance of all state-changes
+    private static double getCost(int[] code, double[][] weight, int n)
+    {
+        double cost = 0.0;
+        for(int i=0; i<n; i++)
+        {
+            for(int j=i+1; j<n; j++)
+                cost += weight[i][j] * Integer.bitCount(code[i] ^ code[j]);
+        }
+        return cost;
+    }
+
+    // change of the cost, if state i gets the code c (state "other" is
+    // not considered: the distance of a swapped pair does not change)
+    private static double getDelta(int i, int c, int other, int[] code, double[][] weight,
+            List<ArrayList<Integer>> neighbours)
+    {
+        double delta = 0.0;
+        ArrayList<Integer> ni = neighbours.get(i);
+        for(int k=0; k<ni.size(); k++)
+        {
+            int j = ni.get(k);
+            if(j != other)
+                delta += weight[i][j] * (Integer.bitCount(c ^ code[j]) - Integer.bitCount(code[i] ^ code[j]));
+        }
+        return delta;
+    }
+
+    /**
+     * @return simulated state-changes of the register per cycle (bits, that
+     *         toggle; LOW_POWER only)
+     */
+    public double getToggleRate()
+    {
+        return toggleRate;
+    }
+
+    /**
+     * @return simulated toggle-rate of the binary code in breadth-first order
+     *         (reference for LOW_POWER)
+     */
+    public double getBinaryToggleRate()
+    {
+        return binaryToggleRate;
+    }
+
+    /**
+     * @return true: the outputs are bits of the state-code (OUTPUT_ENCODED)
+     */
+    public boolean isOutputEncoded()
+    {
+        return encoding == STATE_ENCODING.OUTPUT_ENCODED;
+    }
+
+    /**
+     * @param signal index of the output-signal (see
+     *               MachineModel.getSignals(SIGNAL_DIRECTION.OUT))
+     * @return lowest bit of the output-signal in the state-code
+     *         (OUTPUT_ENCODED)
+     */
+    public int getOutputLowerBit(int signal)
+    {
+        return outputLowerBit[signal];
+    }
+
+    /**
+     * @param signal index of the output-signal
+     * @return highest bit of the output-signal in the state-code
+     *         (OUTPUT_ENCODED)
+     */
+    public int getOutputUpperBit(int signal)
+    {
+        return outputLowerBit[signal] + outputBitLength[signal] - 1;
+    }
+
+    /**
+     * @param states number of states
+     * @return encoding chosen by AUTOMATIC
+     */
+    public static STATE_ENCODING resolve(int states)
+    {
+        if(states <= AUTOMATIC_MAX_BINARY)
+            return STATE_ENCODING.BINARY;
+        if(states <= AUTOMATIC_MAX_ONE_HOT)
+            return STATE_ENCODING.ONE_HOT;
+        return STATE_ENCODING.BINARY;
+    }
+
+    /**
+     * @return encoding (AUTOMATIC is resolved)
+     */
+    public STATE_ENCODING getEncoding()
+    {
+        return encoding;
+    }
+
+    /**
+     * @return number of bits of a code
+     */
+    public int getBitLength()
+    {
+        return bitLength;
+    }
+
+    /**
+     * @param state state
+     * @return code of the state as bit-string (most significant bit first)
+     */
+    public String getBits(State state)
+    {
+        return bits.get(state);
+    }
+
+    /**
+     * @param code code
+     * @param length number of bits
+     * @return bit-string (most significant bit first)
+     */
+    static String toBits(long code, int length)
+    {
+        StringBuilder sb = new StringBuilder(length);
+        for(int i=length-1; i>=0; i--)
+            sb.append(((code >> i) & 1) != 0 ? '1' : '0');
+        return sb.toString();
+    }
+
+    // breadth-first order from the start-state
+    private static List<State> getOrder(MachineModel model)
+    {
+        ArrayList<State> order = new ArrayList<State>();
+        HashMap<State, Boolean> visited = new HashMap<State, Boolean>();
+        LinkedList<State> queue = new LinkedList<State>();
+        State start = model.getStartNode().getToState();
+        if(start != null)
+        {
+            queue.add(start);
+            visited.put(start, true);
+        }
+        while(!queue.isEmpty())
+        {
+            State s = queue.removeFirst();
+            order.add(s);
+            List<Transition> transitions = s.getTransitions();
+            for(int i=0; i<transitions.size(); i++)
+            {
+                State t = transitions.get(i).getToState();
+                if(t != null && !visited.containsKey(t))
+                {
+                    visited.put(t, true);
+                    queue.add(t);
+                }
+            }
+        }
+        List<State> states = model.getStates();
+        for(int i=0; i<states.size(); i++)
+        {
+            if(!visited.containsKey(states.get(i)))
+                order.add(states.get(i));
+        }
+        return order;
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       StateMinimizer
+ * Created:     2026-10-19
+ */
+
+package Generation.Backend;
+
+import Generation.Backend.MachineModel.State;
+import Generation.Backend.MachineModel.Transition;
+import Generation.OutputVectorParser.GeneratedOutputVector;
+import Graph.Graph.GRAPH_TYPE;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Merges equivalent states of a model (partition refinement by Hopcroft).
+ *
+ * The transitions are symbolic (conditions over signals and variables, tested
+ * in order), thus two states can only be equivalent, if they test the same
+ * conditions in the same order: the initial partition groups the states by
+ * their outputs (Moore: output-vector of the state; Mealy: output-vector of
+ * each transition) and the sequence of their conditions (as generated,
+ * incl. minimization). The i-th transition is then the symbol i of a
+ * deterministic automaton, which is refined by Hopcroft's algorithm until the
+ * targets of each symbol are equivalent. If no condition holds, a state
+ * remains in its state; this is the same for all states of a block.
+ *
+ * States with variable-assignments are never merged (the assignment is part
+ * of the state's behaviour); conditions and outputs may read variables.
+ *
+ * The start-state represents its block, otherwise the first state of the
+ * block (order of the graph).
+ *
+ * @author Andreas Schwenk
+ */
+public final class StateMinimizer
+{
+    // *** ATTRIBUTES ***
+    private final MachineModel model;
+    private final ArrayList<String> merged = new ArrayList<String>();
+    private final HashMap<String, String> representativeNames = new HashMap<String, String>();
+
+    // *** METHODS ***
+
+    /**
+     * @param model model of the verified graph
+     *
+     * @author Andreas Schwenk
+     */
+    public StateMinimizer(MachineModel model)
+    {
+        this.model = model;
+    }
+
+    /**
+     * merges the equivalent states
+     *
+     * @return model without equivalent states (the given model, if there are
+     *         none)
+     *
+     * @author Andreas Schwenk
+     */
+    public MachineModel minimize()
+    {
+        List<State> states = model.getStates();
+        int n = states.size();
+        merged.clear();
+        representativeNames.clear();
+        if(n < 2)
+            return model;
+        HashMap<State, Integer> index = new HashMap<State, Integer>();
+        int symbols = 0;
+        for(int i=0; i<n; i++)
+        {
+            index.put(states.get(i), i);
+            symbols = Math.max(symbols, states.get(i).getTransitions().size());
+        }
+
+        // (a) transition-function and its inverse (per symbol)
+        int[][] next = new int[n][];
+        ArrayList<ArrayList<LinkedList<Integer>>> previous = new ArrayList<ArrayList<LinkedList<Integer>>>();
+        for(int k=0; k<symbols; k++)
+        {
+            ArrayList<LinkedList<Integer>> pre = new ArrayList<LinkedList<Integer>>();
+            for(int j=0; j<n; j++)
+                pre.add(new LinkedList<Integer>());
+            previous.add(pre);
+        }
+        for(int i=0; i<n; i++)
+        {
+            List<Transition> transitions = states.get(i).getTransitions();
+            next[i] = new int[transitions.size()];
+            for(int k=0; k<transitions.size(); k++)
+            {
+                Integer j = index.get(transitions.get(k).getToState());
+                next[i][k] = (j == null) ? -1 : j;
+                if(j != null)
+                    previous.get(k).get(j).add(i);
+            }
+        }
+
+        // (b) initial partition
+        int[] block = new int[n];
+        ArrayList<ArrayList<Integer>> blocks = new ArrayList<ArrayList<Integer>>();
+        HashMap<String, Integer> signatures = new HashMap<String, Integer>();
+        for(int i=0; i<n; i++)
+        {
+            String signature = getSignature(states.get(i), i);
+            Integer b = signatures.get(signature);
+            if(b == null)
+            {
+                b = blocks.size();
+                signatures.put(signature, b);
+                blocks.add(new ArrayList<Integer>());
+            }
+            block[i] = b;
+            blocks.get(b).add(i);
+        }
+        if(blocks.size() == n)
+            return model;
+
+        // (c) refinement: (block, symbol) splits all blocks with states
+        //     leading into the block and states leading elsewhere
+        LinkedList<int[]> work = new LinkedList<int[]>();
+        ArrayList<boolean[]> inWork = new ArrayList<boolean[]>();
+        for(int b=0; b<blocks.size(); b++)
+        {
+            inWork.add(new boolean[symbols]);
+            for(int k=0; k<symbols; k++)
+            {
+                work.add(new int[] { b, k });
+                inWork.get(b)[k] = true;
+            }
+        }
+        while(!work.isEmpty())
+        {
+            int[] splitter = work.removeFirst();
+            int k = splitter[1];
+            inWork.get(splitter[0])[k] = false;
+            // states leading into the splitter (grouped by block)
+            HashMap<Integer, ArrayList<Integer>> touched = new HashMap<Integer, ArrayList<Integer>>();
+            ArrayList<Integer> touchedOrder = new ArrayList<Integer>();
+            ArrayList<Integer> members = blocks.get(splitter[0]);
+            for(int m=0; m<members.size(); m++)
+            {
+                Iterator<Integer> it = previous.get(k).get(members.get(m)).iterator();
+                while(it.hasNext())
+                {
+                    int i = it.next();
+                    ArrayList<Integer> t = touched.get(block[i]);
+                    if(t == null)
+                    {
+                        t = new ArrayList<Integer>();
+                        touched.put(block[i], t);
+                        touchedOrder.add(block[i]);
+                    }
+                    t.add(i);
+                }
+            }
+            for(int t=0; t<touchedOrder.size(); t++)
+            {
+                int y = touchedOrder.get(t);
+                ArrayList<Integer> inside = touched.get(y);
+                if(inside.size() == blocks.get(y).size())
+                    continue; // not split
+                // split y: the states leading into the splitter get a new block
+                int z = blocks.size();
+                blocks.add(inside);
+                inWork.add(new boolean[symbols]);
+                for(int m=0; m<inside.size(); m++)
+                    block[inside.get(m)] = z;
+                ArrayList<Integer> rest = new ArrayList<Integer>();
+                ArrayList<Integer> old = blocks.get(y);
+                for(int m=0; m<old.size(); m++)
+                {
+                    if(block[old.get(m)] == y)
+                        rest.add(old.get(m));
+                }
+                blocks.set(y, rest);
+                for(int s=0; s<symbols; s++)
+                {
+                    // pending splitter: both halves; otherwise the smaller one
+                    int add = (inWork.get(y)[s] || inside.size() <= rest.size()) ? z : y;
+                    if(!inWork.get(add)[s])
+                    {
+                        work.add(new int[] { add, s });
+                        inWork.get(add)[s] = true;
+                    }
+                }
+            }
+        }
+
+        // (d) representatives
+        HashMap<State, State> representatives = new HashMap<State, State>();
+        int start = -1;
+        if(index.containsKey(model.getStartNode().getToState()))
+            start = index.get(model.getStartNode().getToState());
+        for(int b=0; b<blocks.size(); b++)
+        {
+            ArrayList<Integer> members = blocks.get(b);
+            if(members.isEmpty())
+                continue;
+            int representative = members.get(0);
+            for(int m=0; m<members.size(); m++)
+            {
+                if(members.get(m) == start)
+                    representative = start;
+                else if(representative != start && members.get(m) < representative)
+                    representative = members.get(m);
+            }
+            for(int m=0; m<members.size(); m++)
+                representatives.put(states.get(members.get(m)), states.get(representative));
+        }
+        // report (order of the graph)
+        for(int i=0; i<n; i++)
+        {
+            State r = representatives.get(states.get(i));
+            if(r != states.get(i))
+            {
+                representativeNames.put(states.get(i).getName(), r.getName());
+                continue;
+            }
+            String names = "";
+            int count = 0;
+            for(int j=0; j<n; j++)
+            {
+                if(representatives.get(states.get(j)) == r)
+                {
+                    names += (count > 0 ? ", " : "") + states.get(j).getName();
+                    count++;
+                }
+            }
+            if(count > 1)
+                merged.add(names + " -> " + r.getName());
+        }
+        return new MachineModel(model, representatives);
+    }
+
+    /**
+     * @return merged states of the last minimization: one entry per group,
+     *         e. g. "A, B -> A"
+     */
+    public List<String> getMergedStates()
+    {
+        return merged;
+    }
+
+    /**
+     * @return name of the representative of each merged state (by name; the
+     *         representatives themselves are not contained)
+     */
+    public Map<String, String> getRepresentatives()
+    {
+        return representativeNames;
+    }
+
+    // key of the initial partition
+    private String getSignature(State state, int index)
+    {
+        if(state.isVariableAssignmentsEnabled() && state.getGeneratedVariableAssignments() != null
+                && !state.getGeneratedVariableAssignments().isEmpty())
+            return "#" + index; // never merged
+        StringBuilder sb = new StringBuilder();
+        boolean mealy = model.getGraphType() == GRAPH_TYPE.MEALY;
+        if(!mealy)
+            sb.append(getOutputKey(state.getGeneratedOutputVector()));
+        List<Transition> transitions = state.getTransitions();
+        for(int k=0; k<transitions.size(); k++)
+        {
+            Transition t = transitions.get(k);
+            sb.append('|').append(t.getGeneratedCondition().C);
+            if(mealy)
+                sb.append("=>").append(getOutputKey(t.getGeneratedOutputVector()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @param llGov generated output-vector
+     * @return key of the output-vector (equal keys: equal outputs)
+     */
+    public static String getOutputKey(List<GeneratedOutputVector> llGov)
+    {
+        if(llGov == null)
+            return "";
+        StringBuilder sb = new StringBuilder();
+        for(int i=0; i<llGov.size(); i++)
+        {
+            GeneratedOutputVector gov = llGov.get(i);
+            if(gov.variable != null)
+                sb.append("v:").append(gov.variable.getName());
+            else if(gov.signal != null)
+                sb.append("s:").append(gov.signal.getName());
+            else
+                sb.append(gov.value);
+            if(gov.isVectorComponent || gov.isVectorSlice)
+                sb.append('(').append(gov.upperBound).append(':').append(gov.lowerBound).append(')');
+            sb.append(',');
+        }
+        return sb.toString();
+    }
+}
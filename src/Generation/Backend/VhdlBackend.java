@@ -0,0 +1,1494 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       VhdlBackend
+ * Created:     2026-10-19
+ */
+package Generation.Backend;
+
+import Generation.DecisionTree;
+import Generation.Diagnostic;
+import Generation.Diagnostic.CODE;
+import Generation.Diagnostic.SEVERITY;
+import Generation.Ast.Emitter;
+import Generation.Ast.Expression;
+import Generation.Ast.VhdlEmitter;
+import Generation.Backend.MachineModel.Signal;
+import Generation.Backend.MachineModel.State;
+import Generation.Backend.MachineModel.Transition;
+import Generation.Backend.MachineModel.Variable;
+import Generation.OutputVectorParser.GeneratedOutputVector;
+import Generation.VariableAssignmentParser.GeneratedVarAssignment;
+import Graph.Graph.GRAPH_TYPE;
+import Graph.Graph.STATE_ENCODING;
+import Graph.Graph.VHDL_ARCHITECTURE;
+import Graph.SigVar.SIGVAR_TYPE;
+import Graph.Signal.SIGNAL_DIRECTION;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Generates VHDL-code (process-style or dataflow-style; per graph also two or
+ * three processes with registered outputs, see writeMultiProcessArchitecture,
+ * or a ROM in block RAM, see writeRomArchitecture).
+ *
+ * @author Andreas Schwenk
+ */
+public class VhdlBackend implements I_BACKEND {
+
+    // *** SUBSCASSES ***
+    private class VHDL_OutputHelper {
+
+        String vec;
+        LinkedList<String> cond = new LinkedList<String>();
+    }
+
+
+    // *** ATTRIBUTES ***
+    private final File file;
+    private final boolean useProcess;
+    private final boolean decisionTrees; // see DecisionTree
+    private final long romBudget;        // bits; 0: no automatic ROM
+
+    // words per line of a ROM
+    private static final int ROM_WORDS_PER_LINE = 8;
+
+    // tests of the decision-trees
+    private final Emitter vhdlEmitter = new VhdlEmitter();
+
+    // *** METHODS ***
+
+    /**
+     * @param file output-file
+     * @param useProcess true: process-style; false: dataflow-style
+     * @param decisionTrees true: the outgoing transitions of each state are
+     *                      tested in one decision-tree (process-style only)
+     *
+     * @author Andreas Schwenk
+     */
+    public VhdlBackend(File file, boolean useProcess, boolean decisionTrees) {
+        this(file, useProcess, decisionTrees, 0);
+    }
+
+    /**
+     * @param file output-file
+     * @param useProcess true: process-style; false: dataflow-style
+     * @param decisionTrees true: the outgoing transitions of each state are
+     *                      tested in one decision-tree (process-style only)
+     * @param romBudget size of block RAM in bits: machines with the default
+     *                  architecture, whose table (see RomTable) fits, are
+     *                  generated as ROM; 0: only on request of the graph
+     *
+     * @author Andreas Schwenk
+     */
+    public VhdlBackend(File file, boolean useProcess, boolean decisionTrees, long romBudget) {
+        this.file = file;
+        this.useProcess = useProcess;
+        this.decisionTrees = decisionTrees;
+        this.romBudget = romBudget;
+    }
+
+    @Override
+    public File[] getFiles() {
+        return new File[]{file};
+    }
+
+    @Override
+    public String[] getOptions() {
+        return new String[]{"VHDL", useProcess ? "process" : "dataflow", decisionTrees ? "tree" : "", "" + romBudget};
+    }
+
+    @Override
+    public boolean includesLayout() {
+        return false;
+    }
+
+    @Override
+    public String getSummary() {
+        return ">> GENERIERUNG VHDL-CODE: ERFOLGREICH! <<\n";
+    }
+
+    /**
+     * generate VHDL-Code
+     *
+     * @param model model of the verified graph
+     * @param sink receives the file
+     * @throws IOException java-input-output-exception
+     *
+     * @author Andreas Schwenk
+     */
+    @Override
+    public void generate(MachineModel model, OutputSink sink) throws IOException {
+        // create a new file
+        PrintWriter pw = sink.open(file);
+
+        // (I.) writer header
+        pw.println("-- " + model.getName());
+        pw.println();
+        pw.println("library ieee;");
+        pw.println("use ieee.std_logic_1164.all;");
+        pw.println("use ieee.numeric_std.all;");
+        pw.println();
+
+        // (II.) write ENTITY
+        pw.println("entity " + model.getName().toUpperCase() + " is");
+        pw.println("    port");
+        pw.println("    (");
+        Signal signal;
+        String direction = "", type = "";
+        int bitLen;
+        // for all signals
+        Iterator<Signal> itSig;
+        //  (a) calculate max signal-name length
+        int maxSignalNameLength = 5; // "RESET"
+        itSig = model.getSignals().iterator();
+        while (itSig.hasNext()) {
+            signal = itSig.next();
+            if (signal.getName().length() > maxSignalNameLength) {
+                maxSignalNameLength = signal.getName().length();
+            }
+        }
+        //  (b) write CLK and RESET-signals
+        pw.println(String.format("        %-" + maxSignalNameLength + "s : %-5s %-36s -- %s",
+                "CLK", "in", "std_logic;", "clock"));
+        pw.println(String.format("        %-" + maxSignalNameLength + "s : %-5s %-36s -- %s",
+                "RESET", "in", "std_logic;", "reset"));
+        //  (c) get number of signals
+        int numSigs = model.getSignals().size();
+        //  (d) write signals
+        int currentSigNumber = 0;
+        for (int i = 0; i < 3; i++) // input + output signals
+        {
+            if (i == 0) {
+                itSig = model.getSignals(SIGNAL_DIRECTION.IN).iterator();
+            } else if (i == 1) {
+                itSig = model.getSignals(SIGNAL_DIRECTION.OUT).iterator();
+            } else {
+                itSig = model.getSignals(SIGNAL_DIRECTION.INOUT).iterator();
+            }
+            while (itSig.hasNext()) {
+                signal = itSig.next();
+                bitLen = signal.getBitLength();
+                // detect signal-type
+                type = getVHDLType(signal.getType(), bitLen);
+                pw.println(String.format("        %-" + maxSignalNameLength + "s : %-5s %-36s -- %s",
+                        signal.getName().toUpperCase(), signal.getDirection().toString().toLowerCase(), type + ((currentSigNumber < numSigs - 1) ? ";" : " "), signal.getDescription()));
+
+                currentSigNumber++;
+            }
+        }
+        pw.println("    );");
+        pw.println("end " + model.getName().toUpperCase() + ";");
+        pw.println();
+
+        // (III.) write architecture
+        pw.println("architecture BEHAVE of " + model.getName().toUpperCase() + " is");
+        // next state and outputs from a ROM (requested or within the budget)?
+        VHDL_ARCHITECTURE architecture = model.getVhdlArchitecture();
+        if (isRomArchitecture(model, romBudget)) {
+            writeRomArchitecture(model, new RomTable(model), pw);
+            pw.println();
+            pw.println("end BEHAVE;");
+            pw.close();
+            return;
+        }
+        if (architecture == VHDL_ARCHITECTURE.ROM) {
+            String reason = new RomTable(model).getUnsupportedReason();
+            pw.println("    -- NO ROM POSSIBLE: " + reason);
+            sink.report(new Diagnostic(SEVERITY.WARNING, CODE.ROM_NOT_POSSIBLE, -1, -1,
+                    "warning: VHDL-Architektur ROM nicht möglich (" + reason + "), Standard-Architektur erzeugt"));
+        }
+        // explicit state-encoding (null: enumeration-type)
+        StateEncoding encoding = null;
+        if (model.getStateEncoding() != STATE_ENCODING.ENUMERATION) {
+            encoding = new StateEncoding(model, model.getStateEncoding());
+        }
+
+        // separate processes for state-register, next-state-logic (and outputs)?
+//##### MULTIPLE PROCESSES #####
+        if (architecture == VHDL_ARCHITECTURE.TWO_PROCESS || architecture == VHDL_ARCHITECTURE.THREE_PROCESS) {
+            writeMultiProcessArchitecture(model, encoding, pw);
+        } // use VHDL-process for state transitions, ...?
+//##### USE PROCESS #####
+        else if (useProcess) {
+            // (III.b) begin architecture
+            pw.println("begin");
+            // (III.c) process incl sensitivity-list
+            String sensitivityList = "";
+            // in-signals
+            LinkedList<Signal> sensitivitySignals = model.getSignals(SIGNAL_DIRECTION.IN);
+            // inout-signals
+            sensitivitySignals.addAll(model.getSignals(SIGNAL_DIRECTION.INOUT));
+            Iterator<Signal> itSensitivitySignals = sensitivitySignals.iterator();
+            Signal sig;
+            if (sensitivitySignals.size() > 0) {
+                sensitivityList += ", ";
+            }
+            while (itSensitivitySignals.hasNext()) {
+                sig = itSensitivitySignals.next();
+                sensitivityList += sig.getName().toUpperCase() + (itSensitivitySignals.hasNext() ? ", " : "");
+            }
+            pw.println("    process(RESET, CLK" + sensitivityList + ") is");
+
+            // (III.a) write state-type
+            State state;
+            // for all states
+            State s;
+            // calculate lenght max state-name
+            int maxStateNameLength = 0;
+            Iterator<State> itStates = model.getStates().iterator();
+            while (itStates.hasNext()) {
+                s = itStates.next();
+                if (s.getName().length() > maxStateNameLength) {
+                    maxStateNameLength = s.getName().length();
+                }
+            }
+            if (encoding != null) {
+                writeEncodedStateType(model, encoding, pw, "        ", maxStateNameLength);
+                pw.println("        variable STATE : TSTATE;");
+                writeEncodingAttributes(encoding, pw, "        ", "STATE", "variable");
+            } else {
+                pw.println("        -- DEFINE A STATE-TYPE");
+                pw.println("        type TSTATE is(");
+                // write states
+                itStates = model.getStates().iterator();
+                while (itStates.hasNext()) {
+                    s = itStates.next();
+                    pw.println(String.format("            %-" + (maxStateNameLength + 1) + "s -- %s",
+                            s.getName().toUpperCase() + (itStates.hasNext() ? "," : " "), s.getDescription()));
+                }
+                pw.println("        );");
+                pw.println("        variable STATE : TSTATE;");
+            }
+
+            // (III.b) write variables
+            List<Variable> variables = model.getVariables();
+            Iterator<Variable> itVar;
+            Variable variable;
+            if (variables.size() > 0) {
+                // calculate lenght max state-name
+                int maxVariableNameLength = 0;
+                itVar = model.getVariables().iterator();
+                while (itVar.hasNext()) {
+                    variable = itVar.next();
+                    if (variable.getName().length() > maxVariableNameLength) {
+                        maxVariableNameLength = variable.getName().length();
+                    }
+                }
+                // write variables
+                pw.println("        -- VARIABLES");
+                type = "";
+                itVar = variables.iterator();
+                while (itVar.hasNext()) {
+                    variable = itVar.next();
+                    bitLen = variable.getBitLength();
+                    // detect signal-type
+                    type = getVHDLType(variable.getType(), bitLen);
+                    pw.println(String.format("        variable %-" + maxVariableNameLength + "s : %-36s -- %s",
+                            variable.getName().toUpperCase(), type + ";", variable.getDescription()));
+                }
+            }
+
+            pw.println("    begin"); // begin process
+
+            pw.println("        if RESET='1' then");
+            pw.println("            STATE := " + model.getStartNode().getToState().getName().toUpperCase() + ";");
+            pw.println("        elsif CLK'event and CLK='1' then");
+
+            // STATE TRANSITION FUNCTION
+            pw.println("            -- STATE-TRANSITION-FUNCTION");
+            pw.println("            case STATE is");
+            // for all states
+            itStates = model.getStates().iterator();
+            while (itStates.hasNext()) {
+                state = itStates.next();
+                pw.println("                when " + state.getName().toUpperCase() + " =>");
+                // variable assignments
+                if (state.isVariableAssignmentsEnabled()) {
+                    Iterator<GeneratedVarAssignment> itGVA = state.getGeneratedVariableAssignments().iterator();
+                    GeneratedVarAssignment gva;
+                    while (itGVA.hasNext()) {
+                        gva = itGVA.next();
+                        // hier muss noch erweitert werden!!! if (gva.rhs)
+                        pw.println("                    " + gva.lhs + " := " + gva.rhsVHDL + "; -- variable assignment");
+                    }
+                }
+                // all outgoing transitions of current state as one decision-tree
+                DecisionTree.Node tree = getDecisionTree(state);
+                if (tree != null) {
+                    writeVHDLDecisionTree(tree, state.getTransitions(), null, pw, 0, 20);
+                }
+                // for all outgoing transitions of current state
+                Iterator<Transition> itTrans = state.getTransitions().iterator();
+                String IF = "";
+                String conditionStr; // condition string
+                Transition transition;
+                while (tree == null && itTrans.hasNext()) {
+                    transition = itTrans.next();
+                    if (IF.equals("")) {
+                        IF = "if";
+                    } else {
+                        IF = "elsif";
+                    }
+
+                    conditionStr = transition.getGeneratedCondition().VHDL;
+
+                    if (conditionStr.equals("1")) {
+                        conditionStr = "true";
+                    }
+
+                    // write condition
+                    pw.println("                    " + IF + "(" + conditionStr + ") then");
+
+                    pw.println("                        STATE := " + transition.getToState().getName().toUpperCase() + ";");
+                }
+                if (tree == null && state.getTransitions().size() > 0) {
+                    pw.println("                    end if;");
+                }
+
+            }
+            pw.println("                when others =>");
+            pw.println("                    STATE := " + model.getStartNode().getToState().getName().toUpperCase() + ";");
+            pw.println("            end case;");
+            // end if
+            pw.println("        end if;");
+
+            // OUTPUT FUNCTION
+            pw.println("        -- OUTPUT-FUNCTION");
+            if (encoding != null && encoding.isOutputEncoded()) {
+                writeEncodedOutputs(model, encoding, pw, "        ", "STATE");
+            } else {
+                pw.println("        case STATE is");
+                // for all states
+                itStates = model.getStates().iterator();
+                while (itStates.hasNext()) {
+                    state = itStates.next();
+                    pw.println("                when " + state.getName().toUpperCase() + " =>");
+
+                    // ** output
+                    LinkedList<Signal> outsig = model.getSignals(SIGNAL_DIRECTION.OUT);
+                    Signal outSignal;
+                    // (a) get maximum output-signal length
+                    int maxlen = 0;
+                    Iterator<Signal> outSigIt = outsig.iterator();
+                    while (outSigIt.hasNext()) {
+                        outSignal = outSigIt.next();
+                        if (outSignal.getName().length() > maxlen) {
+                            maxlen = outSignal.getName().length();
+                        }
+                    }
+                    // (b) output
+                    DecisionTree.Node tree = (model.getGraphType() == GRAPH_TYPE.MEALY) ? getDecisionTree(state) : null;
+                    // (b1) MOORE
+                    if (model.getGraphType() == GRAPH_TYPE.MOORE) {
+                        List<GeneratedOutputVector> llGov = state.getGeneratedOutputVector();
+                        writeVHDLOutput(llGov, outsig, pw, maxlen, true);
+                    } // (b2) MEALY (decision-tree)
+                    else if (tree != null) {
+                        int spaces = 20;
+                        // start-state
+                        if (state == model.getStartNode().getToState()) {
+                            pw.println("                    if RESET='1' then");
+                            List<GeneratedOutputVector> llGov = model.getStartNode().getGeneratedOutputVector();
+                            writeVHDLOutput(llGov, outsig, pw, maxlen, 24);
+                            pw.println("                    else");
+                            spaces = 24;
+                        }
+                        writeVHDLDecisionTree(tree, state.getTransitions(), outsig, pw, maxlen, spaces);
+                        if (spaces > 20) {
+                            pw.println("                    end if;");
+                        }
+                    }
+                    else {
+                        // start-state
+                        if (state == model.getStartNode().getToState()) {
+                            pw.println("                    if RESET='1' then");
+                            List<GeneratedOutputVector> llGov = model.getStartNode().getGeneratedOutputVector();
+                            writeVHDLOutput(llGov, outsig, pw, maxlen, false);
+                        }
+                        // for all outgoing transitions of current state
+                        Iterator<Transition> itTrans = state.getTransitions().iterator();
+                        String IF = "";
+                        String conditionStr; // condition string
+                        Transition transition;
+                        while (itTrans.hasNext()) {
+                            transition = itTrans.next();
+                            if (IF.equals("") && !(state == model.getStartNode().getToState())) {
+                                IF = "if";
+                            } else {
+                                IF = "elsif";
+                            }
+
+                            conditionStr = transition.getGeneratedCondition().VHDL;
+
+                            if (conditionStr.equals("1")) {
+                                conditionStr = "true";
+                            }
+
+                            // write condition
+                            pw.println("                    " + IF + "(" + conditionStr + ") then");
+
+                            // write output
+                            List<GeneratedOutputVector> llGov = transition.getGeneratedOutputVector();
+                            writeVHDLOutput(llGov, outsig, pw, maxlen, false);
+
+                            if (state.getTransitions().size() > 0 || (state == model.getStartNode().getToState())) {
+                                pw.println("                    end if;");
+                            }
+                        }
+                    }
+
+                }
+                if (encoding != null) {
+                    // codes without state
+                    pw.println("                when others =>");
+                    pw.println("                    null;");
+                }
+                pw.println("            end case;");
+            }
+
+            pw.println("    end process;");
+        } //##### DO NOT USE PROCESS #####
+        else {
+            pw.println();
+
+            // (III.a) write state-type
+            State state;
+            Iterator<State> itStates;
+            int maxStateNameLength = writeStateSignals(model, encoding, pw);
+
+            // (III.b) begin architecture
+            pw.println();
+            pw.println("begin");
+            pw.println();
+
+            // STATE TRANSITION FUNCTION
+            pw.println("    NEXT_STATE <=");
+            itStates = model.getStates().iterator();
+            while (itStates.hasNext()) {
+                state = itStates.next();
+
+                // for all outgoing transitions of current state
+                Iterator<Transition> itTrans = state.getTransitions().iterator();
+                Transition transition;
+                while (itTrans.hasNext()) {
+                    transition = itTrans.next();
+
+                    if (transition.getToState().getName().toUpperCase().equals(
+                            state.getName().toUpperCase())) {
+                        continue; // skip, if no state change
+                    }
+                    pw.println(String.format(
+                            "        %-"
+                            + (maxStateNameLength)
+                            + "s when CURRENT_STATE = %-"
+                            + (maxStateNameLength)
+                            + "s and (%s) else",
+                            transition.getToState().getName().toUpperCase(),
+                            state.getName().toUpperCase(),
+                            transition.getGeneratedCondition().VHDL));
+                }
+            }
+            pw.println("        CURRENT_STATE;");
+
+            // RESET-PROCESS
+            pw.println();
+            pw.println("    process(CLK, RESET, NEXT_STATE) is");
+            pw.println("    begin"); // begin process
+            pw.println("        if RESET='1' then");
+            pw.println("            CURRENT_STATE <= RESET_STATE;");
+            pw.println("        elsif CLK'event and CLK='1' then");
+            pw.println("            CURRENT_STATE <= NEXT_STATE;");
+            pw.println("        end if;");
+            pw.println("    end process;");
+            pw.println();
+
+            // OUTPUT FUNCTION
+            String value = "";
+            pw.println("    -- OUTPUT-FUNCTION");
+
+            // outputs are bits of the state
+            if (encoding != null && encoding.isOutputEncoded()) {
+                writeEncodedOutputs(model, encoding, pw, "    ", "CURRENT_STATE");
+            } // (a) ##### MOORE #####
+            else if (model.getGraphType() == GRAPH_TYPE.MOORE) {
+                itSig = model.getSignals(SIGNAL_DIRECTION.OUT).iterator();
+                int i = 0;
+                while (itSig.hasNext()) {
+                    Signal outSignal = itSig.next();
+                    pw.println("    " + outSignal.getName() + " <=");
+
+                    // ** (a) collect -> a set of states is mapped to each output-value of the current signal **
+                    LinkedList<VHDL_OutputHelper> vohList = new LinkedList<VHDL_OutputHelper>();
+
+                    itStates = model.getStates().iterator();
+                    while (itStates.hasNext()) {
+                        state = itStates.next();
+
+                        GeneratedOutputVector gov;
+                        gov = state.getGeneratedOutputVector().get(i);
+
+                        switch (outSignal.getType()) {
+                            case BIT:
+                                value = "'" + gov.value + "'";
+                                break;
+                            case BIT_N:
+                                // convert to binary
+                                value = "\"" + String.format("%" + outSignal.getBitLength() + "s",
+                                        Integer.toBinaryString(gov.value)).replace(" ", "0") + "\"";
+                                break;
+                            case SIGNED:
+                            case UNSIGNED:
+                                value = "" + gov.value;
+                                break;
+                        }
+
+                        String cond = String.format("CURRENT_STATE = %s", state.getName().toUpperCase());
+
+                        VHDL_OutputHelper voh;
+                        boolean found = false;
+                        for (int j = 0; j < vohList.size(); j++) {
+                            voh = vohList.get(j);
+                            if (voh.vec.equals(value)) {
+                                found = true;
+                                voh.cond.add(cond);
+                            }
+                        }
+                        if (!found) {
+                            voh = new VHDL_OutputHelper();
+                            voh.vec = value;
+                            voh.cond.add(cond);
+                            vohList.add(voh);
+                        }
+                    }
+                    // ** (b) consolidation and output **
+                    VHDL_OutputHelper voh;
+                    for (int j = 0; j < vohList.size(); j++) {
+                        voh = vohList.get(j);
+                        String line = String.format("        %s when ", voh.vec);
+                        if (j == vohList.size() - 1) {
+                            line = String.format("        %s;", voh.vec);
+                        } else {
+                            for (int k = 0; k < voh.cond.size(); k++) {
+                                if (k == 0) {
+                                    line += "(" + voh.cond.get(k) + ")";
+                                } else {
+                                    line += " or (" + voh.cond.get(k) + ")";
+                                }
+                                if (k == voh.cond.size() - 1) {
+                                    line += " else";
+                                }
+                            }
+                        }
+                        pw.println(line);
+                    }
+
+                    // ** next **
+                    i++;
+                }
+
+            } // (b) ##### MEALY #####
+            else {
+                itSig = model.getSignals(SIGNAL_DIRECTION.OUT).iterator();
+                int i = 0;
+                while (itSig.hasNext()) {
+                    Signal outSignal = itSig.next();
+                    pw.println("    " + outSignal.getName() + " <=");
+
+                    // ** (a) collect -> a set of states is mapped to each output-value of the current signal **
+                    LinkedList<VHDL_OutputHelper> vohList = new LinkedList<VHDL_OutputHelper>();
+
+                    Transition transition;
+                    Iterator<Transition> itTransitions;
+                    itTransitions = model.getTransitions().iterator();
+                    while (itTransitions.hasNext()) {
+                        transition = itTransitions.next();
+
+                        GeneratedOutputVector gov;
+                        gov = transition.getGeneratedOutputVector().get(i);
+
+                        switch (outSignal.getType()) {
+                            case BIT:
+                                value = "'" + gov.value + "'";
+                                break;
+                            case BIT_N:
+                                // convert to binary
+                                value = "\"" + String.format("%" + outSignal.getBitLength() + "s",
+                                        Integer.toBinaryString(gov.value)).replace(" ", "0") + "\"";
+                                break;
+                            case SIGNED:
+                            case UNSIGNED:
+                                value = "" + gov.value;
+                                break;
+                        }
+
+                        String cond = String.format("CURRENT_STATE = %s and (%s)", transition.getFromState().getName().toUpperCase(),
+                                transition.getGeneratedCondition().VHDL);
+
+                        VHDL_OutputHelper voh;
+                        boolean found = false;
+                        for (int j = 0; j < vohList.size(); j++) {
+                            voh = vohList.get(j);
+                            if (voh.vec.equals(value)) {
+                                found = true;
+                                voh.cond.add(cond);
+                            }
+                        }
+                        if (!found) {
+                            voh = new VHDL_OutputHelper();
+                            voh.vec = value;
+                            voh.cond.add(cond);
+                            vohList.add(voh);
+                        }
+                    }
+
+                    // ** (b) consolidation and output **
+                    VHDL_OutputHelper voh;
+                    for (int j = 0; j < vohList.size(); j++) {
+                        voh = vohList.get(j);
+                        String line = String.format("        %s when ", voh.vec);
+                        if (j == vohList.size() - 1) {
+                            line = String.format("        %s;", voh.vec);
+                        } else {
+                            for (int k = 0; k < voh.cond.size(); k++) {
+                                if (k == 0) {
+                                    line += "(" + voh.cond.get(k) + ")";
+                                } else {
+                                    line += " or (" + voh.cond.get(k) + ")";
+                                }
+                                if (k == voh.cond.size() - 1) {
+                                    line += " else";
+                                }
+                            }
+                        }
+                        pw.println(line);
+                    }
+
+                    // ** next **
+                    i++;
+                }
+
+            }
+
+        }
+
+        pw.println();
+        pw.println("end BEHAVE;"); // end main
+
+        // close file
+        pw.close();
+    }
+
+    /**
+     * writes the output-vector (VHDL)
+     *
+     * @param llGov generated output-vector
+     * @param outsig output-signal-list
+     * @param pw generated text
+     * @param maxlen max name-length of an output-signal
+     * @param moore Moore? (just needed for white-spaces)
+     *
+     * @author Andreas Schwenk
+     */
+    private void writeVHDLOutput(List<GeneratedOutputVector> llGov,
+            LinkedList<Signal> outsig, PrintWriter pw, int maxlen,
+            boolean moore) {
+        writeVHDLOutput(llGov, outsig, pw, maxlen, moore ? 20 : 24);
+    }
+
+    /**
+     * writes the output-vector (VHDL)
+     *
+     * @param llGov generated output-vector
+     * @param outsig output-signal-list
+     * @param pw generated text
+     * @param maxlen max name-length of an output-signal
+     * @param spaces indentation
+     *
+     * @author Andreas Schwenk
+     */
+    private void writeVHDLOutput(List<GeneratedOutputVector> llGov,
+            LinkedList<Signal> outsig, PrintWriter pw, int maxlen,
+            int spaces) {
+        writeVHDLOutput(llGov, outsig, pw, maxlen, spaces, "");
+    }
+
+    /**
+     * writes the output-vector (VHDL)
+     *
+     * @param llGov generated output-vector
+     * @param outsig output-signal-list
+     * @param pw generated text
+     * @param maxlen max name-length of an output-signal (incl. prefix)
+     * @param spaces indentation
+     * @param prefix prefix of the assigned names (e.g. "NEXT_" for the
+     *               output-registers)
+     *
+     * @author Andreas Schwenk
+     */
+    private void writeVHDLOutput(List<GeneratedOutputVector> llGov,
+            LinkedList<Signal> outsig, PrintWriter pw, int maxlen,
+            int spaces, String prefix) {
+        Iterator<Signal> outSigIt = outsig.iterator();
+        String value = ""; // can be a constant or variable-name
+// TODO: "INOUT" MISSING
+        int i = 0;
+        Signal outSignal;
+        while (outSigIt.hasNext()) {
+            outSignal = outSigIt.next();
+
+            GeneratedOutputVector gov = llGov.get(i);
+
+            if (gov.variable != null) {
+                Graph.Variable var = llGov.get(i).variable;
+                // variable adressing (get appropriate bits)
+                String varAdressing = "";
+                if (gov.isVectorComponent) {
+                    varAdressing = "(" + gov.upperBound + ")";
+                } else if (gov.isVectorSlice) {
+                    varAdressing = "(" + gov.upperBound + " downto " + gov.lowerBound + ")";
+                }
+                value = var.getName().toUpperCase() + varAdressing;
+            } else if (gov.signal != null) {
+                Graph.Signal sgn = llGov.get(i).signal;
+                // variable adressing (get appropriate bits)
+                String sgnAdressing = "";
+                if (gov.isVectorComponent) {
+                    sgnAdressing = "(" + gov.upperBound + ")";
+                } else if (gov.isVectorSlice) {
+                    sgnAdressing = "(" + gov.upperBound + " downto " + gov.lowerBound + ")";
+                }
+                value = sgn.getName().toUpperCase() + sgnAdressing;
+            } else {
+                switch (outSignal.getType()) {
+                    case BIT:
+                        value = "'" + gov.value + "'";
+                        break;
+                    case BIT_N:
+                        // convert to binary
+                        value = "\"" + String.format("%" + outSignal.getBitLength() + "s",
+                                Integer.toBinaryString(gov.value)).replace(" ", "0") + "\"";
+                        break;
+                    case SIGNED:
+                        value = "to_signed(" + gov.value + "," + outSignal.getBitLength() + ")";
+                        break;
+                    case UNSIGNED:
+                        value = "to_unsigned(" + gov.value + "," + outSignal.getBitLength() + ")";
+                        break;
+                }
+            }
+
+            pw.println(String.format("%" + spaces + "s%-" + maxlen
+                    + "s <= %s;", "", prefix + outSignal.getName().toUpperCase(), value));
+
+            i++;
+        }
+
+    }
+
+    /**
+     * writes the declarations of the state-type, of the signals CURRENT_STATE
+     * and NEXT_STATE and of the constant RESET_STATE (architecture)
+     *
+     * @param model model
+     * @param encoding codes of the states (null: enumeration-type)
+     * @param pw generated text
+     * @return length of the longest state-name
+     */
+    private int writeStateSignals(MachineModel model, StateEncoding encoding, PrintWriter pw) {
+        // for all states
+        State s;
+        // calculate lenght max state-name
+        int maxStateNameLength = 0;
+        Iterator<State> itStates = model.getStates().iterator();
+        while (itStates.hasNext()) {
+            s = itStates.next();
+            if (s.getName().length() > maxStateNameLength) {
+                maxStateNameLength = s.getName().length();
+            }
+        }
+        if (encoding != null) {
+            writeEncodedStateType(model, encoding, pw, "    ", maxStateNameLength);
+            pw.println("    signal CURRENT_STATE, NEXT_STATE : TSTATE;");
+            writeEncodingAttributes(encoding, pw, "    ", "CURRENT_STATE", "signal");
+        } else {
+            pw.println("    -- define state-type");
+            pw.println("    type TSTATE is");
+            pw.println("    (");
+            // write states
+            itStates = model.getStates().iterator();
+            while (itStates.hasNext()) {
+                s = itStates.next();
+                pw.println(String.format("        %-" + (maxStateNameLength + 1) + "s -- %s",
+                        s.getName().toUpperCase() + (itStates.hasNext() ? "," : " "), s.getDescription()));
+            }
+            pw.println("    );");
+            pw.println("    signal CURRENT_STATE, NEXT_STATE : TSTATE;");
+        }
+
+        pw.println("    constant RESET_STATE : TSTATE := " + model.getStartNode().getToState().getName().toUpperCase() + ";");
+        return maxStateNameLength;
+    }
+
+    /**
+     * writes the architecture with separate processes (higher clock-rate than
+     * one process: short paths between the registers, no outputs decoded
+     * combinationally in the critical path):
+     *
+     * two processes: (1) state-register (and variable-registers), (2) next-
+     * state-logic and output-logic (combinational; Moore: outputs decoded
+     * from CURRENT_STATE).
+     *
+     * three processes: like two processes, but the outputs are registered in
+     * (3): Moore-outputs are decoded from NEXT_STATE, thus they change
+     * together with the state (no additional cycle of latency).
+     *
+     * Mealy-outputs are computed with the next state into NEXT_&lt;OUT&gt;. With
+     * three processes or if registered Mealy-outputs are enabled (see Graph),
+     * the outputs are driven by a register: the output of a transition appears
+     * one cycle later (together with the new state, as in the generated
+     * C-code); otherwise NEXT_&lt;OUT&gt; drives the outputs combinationally.
+     * Without transition the last output is held.
+     *
+     * With output-encoded states (see StateEncoding) the Moore-outputs are
+     * bits of CURRENT_STATE in both variants.
+     *
+     * Decision-trees are not used here.
+     *
+     * @param model model
+     * @param encoding codes of the states (null: enumeration-type)
+     * @param pw generated text
+     *
+     * @author Andreas Schwenk
+     */
+    private void writeMultiProcessArchitecture(MachineModel model, StateEncoding encoding, PrintWriter pw) {
+        boolean threeProcesses = model.getVhdlArchitecture() == VHDL_ARCHITECTURE.THREE_PROCESS;
+        boolean mealy = model.getGraphType() == GRAPH_TYPE.MEALY;
+        // Moore-outputs are bits of the state-register (no output-logic)
+        boolean outputEncoded = encoding != null && encoding.isOutputEncoded();
+        LinkedList<Signal> outsig = model.getSignals(SIGNAL_DIRECTION.OUT);
+        List<Variable> variables = model.getVariables();
+        Iterator<Signal> itSig;
+        Iterator<Variable> itVar;
+        Iterator<State> itStates;
+        Signal signal;
+        Variable variable;
+        State state;
+        String name;
+
+        // max name-length of an output-signal
+        int maxlen = 0;
+        itSig = outsig.iterator();
+        while (itSig.hasNext()) {
+            signal = itSig.next();
+            if (signal.getName().length() > maxlen) {
+                maxlen = signal.getName().length();
+            }
+        }
+
+        // (a) declarations
+        pw.println();
+        writeStateSignals(model, encoding, pw);
+        if (variables.size() > 0) {
+            pw.println("    -- VARIABLES (REGISTERS)");
+            itVar = variables.iterator();
+            while (itVar.hasNext()) {
+                variable = itVar.next();
+                name = variable.getName().toUpperCase();
+                pw.println("    signal REG_" + name + ", NEXT_" + name + " : "
+                        + getVHDLType(variable.getType(), variable.getBitLength()) + "; -- " + variable.getDescription());
+            }
+        }
+        if (mealy && outsig.size() > 0) {
+            pw.println("    -- OUTPUT-REGISTERS");
+            itSig = outsig.iterator();
+            while (itSig.hasNext()) {
+                signal = itSig.next();
+                name = signal.getName().toUpperCase();
+                pw.println("    signal REG_" + name + ", NEXT_" + name + " : "
+                        + getVHDLType(signal.getType(), signal.getBitLength()) + ";");
+            }
+        }
+        pw.println();
+        pw.println("begin");
+        pw.println();
+
+        // (b) state-register
+        pw.println("    -- STATE-REGISTER");
+        pw.println("    process(CLK, RESET) is");
+        pw.println("    begin");
+        pw.println("        if RESET='1' then");
+        pw.println("            CURRENT_STATE <= RESET_STATE;");
+        if (mealy && !threeProcesses) {
+            writeVHDLOutput(model.getStartNode().getGeneratedOutputVector(), outsig, pw, maxlen + 4, 12, "REG_");
+        }
+        pw.println("        elsif CLK'event and CLK='1' then");
+        pw.println("            CURRENT_STATE <= NEXT_STATE;");
+        itVar = variables.iterator();
+        while (itVar.hasNext()) {
+            name = itVar.next().getName().toUpperCase();
+            pw.println("            REG_" + name + " <= NEXT_" + name + ";");
+        }
+        if (mealy && !threeProcesses) {
+            itSig = outsig.iterator();
+            while (itSig.hasNext()) {
+                name = itSig.next().getName().toUpperCase();
+                pw.println("            REG_" + name + " <= NEXT_" + name + ";");
+            }
+        }
+        pw.println("        end if;");
+        pw.println("    end process;");
+        pw.println();
+
+        // (c) next-state-logic (and output-logic)
+        String sensitivityList = "CURRENT_STATE";
+        itVar = variables.iterator();
+        while (itVar.hasNext()) {
+            sensitivityList += ", REG_" + itVar.next().getName().toUpperCase();
+        }
+        LinkedList<Signal> sensitivitySignals = model.getSignals(SIGNAL_DIRECTION.IN);
+        sensitivitySignals.addAll(model.getSignals(SIGNAL_DIRECTION.INOUT));
+        itSig = sensitivitySignals.iterator();
+        while (itSig.hasNext()) {
+            sensitivityList += ", " + itSig.next().getName().toUpperCase();
+        }
+        if (mealy) {
+            itSig = outsig.iterator();
+            while (itSig.hasNext()) {
+                sensitivityList += ", REG_" + itSig.next().getName().toUpperCase();
+            }
+        }
+        pw.println("    -- NEXT-STATE-LOGIC" + ((!mealy && !threeProcesses && !outputEncoded) ? " AND OUTPUT-LOGIC" : ""));
+        pw.println("    process(" + sensitivityList + ") is");
+        itVar = variables.iterator();
+        while (itVar.hasNext()) {
+            variable = itVar.next();
+            pw.println("        variable " + variable.getName().toUpperCase() + " : "
+                    + getVHDLType(variable.getType(), variable.getBitLength()) + ";");
+        }
+        pw.println("    begin");
+        itVar = variables.iterator();
+        while (itVar.hasNext()) {
+            name = itVar.next().getName().toUpperCase();
+            pw.println("        " + name + " := REG_" + name + ";");
+        }
+        if (mealy) {
+            // hold the outputs, if no transition is enabled
+            itSig = outsig.iterator();
+            while (itSig.hasNext()) {
+                name = itSig.next().getName().toUpperCase();
+                pw.println("        NEXT_" + name + " <= REG_" + name + ";");
+            }
+        } else if (!threeProcesses && !outputEncoded) {
+            pw.println("        -- OUTPUT-FUNCTION");
+            pw.println("        case CURRENT_STATE is");
+            itStates = model.getStates().iterator();
+            while (itStates.hasNext()) {
+                state = itStates.next();
+                pw.println("            when " + state.getName().toUpperCase() + " =>");
+                writeVHDLOutput(state.getGeneratedOutputVector(), outsig, pw, maxlen, 16);
+            }
+            pw.println("            when others =>");
+            writeVHDLOutput(model.getStartNode().getToState().getGeneratedOutputVector(), outsig, pw, maxlen, 16);
+            pw.println("        end case;");
+        }
+        pw.println("        -- STATE-TRANSITION-FUNCTION");
+        pw.println("        NEXT_STATE <= CURRENT_STATE;");
+        pw.println("        case CURRENT_STATE is");
+        itStates = model.getStates().iterator();
+        while (itStates.hasNext()) {
+            state = itStates.next();
+            pw.println("            when " + state.getName().toUpperCase() + " =>");
+            // variable assignments
+            if (state.isVariableAssignmentsEnabled()) {
+                Iterator<GeneratedVarAssignment> itGVA = state.getGeneratedVariableAssignments().iterator();
+                GeneratedVarAssignment gva;
+                while (itGVA.hasNext()) {
+                    gva = itGVA.next();
+                    pw.println("                " + gva.lhs + " := " + gva.rhsVHDL + "; -- variable assignment");
+                }
+            }
+            // for all outgoing transitions of current state
+            Iterator<Transition> itTrans = state.getTransitions().iterator();
+            String IF = "if";
+            String conditionStr;
+            Transition transition;
+            while (itTrans.hasNext()) {
+                transition = itTrans.next();
+                conditionStr = transition.getGeneratedCondition().VHDL;
+                if (conditionStr.equals("1")) {
+                    conditionStr = "true";
+                }
+                pw.println("                " + IF + "(" + conditionStr + ") then");
+                pw.println("                    NEXT_STATE <= " + transition.getToState().getName().toUpperCase() + ";");
+                if (mealy) {
+                    writeVHDLOutput(transition.getGeneratedOutputVector(), outsig, pw, maxlen + 5, 20, "NEXT_");
+                }
+                IF = "elsif";
+            }
+            if (state.getTransitions().size() > 0) {
+                pw.println("                end if;");
+            }
+        }
+        pw.println("            when others =>");
+        pw.println("                NEXT_STATE <= RESET_STATE;");
+        pw.println("        end case;");
+        itVar = variables.iterator();
+        while (itVar.hasNext()) {
+            name = itVar.next().getName().toUpperCase();
+            pw.println("        NEXT_" + name + " <= " + name + ";");
+        }
+        pw.println("    end process;");
+
+        // (d) output-register
+        if (outputEncoded) {
+            pw.println();
+            pw.println("    -- OUTPUTS (BITS OF THE STATE-REGISTER)");
+            writeEncodedOutputs(model, encoding, pw, "    ", "CURRENT_STATE");
+        } else if (threeProcesses) {
+            pw.println();
+            pw.println("    -- OUTPUT-REGISTER");
+            pw.println("    process(CLK, RESET) is");
+            if (!mealy) {
+                // outputs may read the variables of the next state
+                itVar = variables.iterator();
+                while (itVar.hasNext()) {
+                    variable = itVar.next();
+                    pw.println("        variable " + variable.getName().toUpperCase() + " : "
+                            + getVHDLType(variable.getType(), variable.getBitLength()) + ";");
+                }
+            }
+            pw.println("    begin");
+            if (!mealy) {
+                itVar = variables.iterator();
+                while (itVar.hasNext()) {
+                    name = itVar.next().getName().toUpperCase();
+                    pw.println("        " + name + " := NEXT_" + name + ";");
+                }
+            }
+            pw.println("        if RESET='1' then");
+            if (mealy) {
+                writeVHDLOutput(model.getStartNode().getGeneratedOutputVector(), outsig, pw, maxlen + 4, 12, "REG_");
+            } else {
+                writeVHDLOutput(model.getStartNode().getToState().getGeneratedOutputVector(), outsig, pw, maxlen, 12);
+            }
+            pw.println("        elsif CLK'event and CLK='1' then");
+            if (mealy) {
+                itSig = outsig.iterator();
+                while (itSig.hasNext()) {
+                    name = itSig.next().getName().toUpperCase();
+                    pw.println("            REG_" + name + " <= NEXT_" + name + ";");
+                }
+            } else {
+                // decoded from the next state: outputs change with the state
+                pw.println("            case NEXT_STATE is");
+                itStates = model.getStates().iterator();
+                while (itStates.hasNext()) {
+                    state = itStates.next();
+                    pw.println("                when " + state.getName().toUpperCase() + " =>");
+                    writeVHDLOutput(state.getGeneratedOutputVector(), outsig, pw, maxlen, 20);
+                }
+                pw.println("                when others =>");
+                pw.println("                    null;");
+                pw.println("            end case;");
+            }
+            pw.println("        end if;");
+            pw.println("    end process;");
+        }
+
+        // (e) Mealy-outputs
+        if (mealy && outsig.size() > 0) {
+            boolean registered = threeProcesses || model.getRegisteredMealyOutputs();
+            pw.println();
+            pw.println("    -- OUTPUTS" + (registered ? " (REGISTERED)" : ""));
+            itSig = outsig.iterator();
+            while (itSig.hasNext()) {
+                name = itSig.next().getName().toUpperCase();
+                pw.println(String.format("    %-" + maxlen + "s <= %s%s;", name, registered ? "REG_" : "NEXT_", name));
+            }
+        }
+    }
+
+    /**
+     * @param model model
+     * @param romBudget size of block RAM in bits (see constructor)
+     * @return true, if the architecture with a ROM is generated
+     */
+    static boolean isRomArchitecture(MachineModel model, long romBudget) {
+        VHDL_ARCHITECTURE architecture = model.getVhdlArchitecture();
+        if (architecture != VHDL_ARCHITECTURE.ROM && (architecture != VHDL_ARCHITECTURE.DEFAULT || romBudget <= 0)) {
+            return false;
+        }
+        RomTable rom = new RomTable(model);
+        return rom.getUnsupportedReason() == null
+                && (architecture == VHDL_ARCHITECTURE.ROM || rom.getSize() <= romBudget);
+    }
+
+    /**
+     * @param signal signal
+     * @return signal as std_logic / std_logic_vector (packed bits)
+     */
+    static String toBits(Signal signal) {
+        String name = signal.getName().toUpperCase();
+        if (RomTable.getBitLength(signal) > 1 && signal.getType() != SIGVAR_TYPE.BIT_N) {
+            name = "std_logic_vector(" + name + ")";
+        }
+        return name;
+    }
+
+    /**
+     * @param object packed bits (std_logic_vector)
+     * @param signal signal
+     * @param upper highest bit of the signal in object
+     * @param lower lowest bit of the signal in object
+     * @return bits of the signal in object, converted to its type
+     */
+    static String fromBits(String object, Signal signal, int upper, int lower) {
+        String value = object + ((upper == lower && signal.getType() != SIGVAR_TYPE.BIT_N)
+                ? "(" + lower + ")" : "(" + upper + " downto " + lower + ")");
+        if (signal.getBitLength() > 1 && signal.getType() == SIGVAR_TYPE.SIGNED) {
+            value = "signed(" + value + ")";
+        } else if (signal.getBitLength() > 1 && signal.getType() == SIGVAR_TYPE.UNSIGNED) {
+            value = "unsigned(" + value + ")";
+        }
+        return value;
+    }
+
+    /**
+     * writes the architecture with a ROM (block RAM): the next state and the
+     * outputs are read from a table (see RomTable), addressed by the current
+     * state and the input-signals. The registered output of the ROM is the
+     * state-register (and the output-register); this frees logic and the
+     * timing does not depend on the conditions.
+     *
+     * The states are encoded binary (address of the ROM). The reset is
+     * synchronous (output-register of the block RAM). As with three
+     * processes, the outputs are registered: Moore-outputs change with the
+     * state, Mealy-outputs of a transition appear together with the new
+     * state; without transition the last output is held (hold-flag).
+     *
+     * @param model model
+     * @param rom table of the machine
+     * @param pw generated text
+     *
+     * @author Andreas Schwenk
+     */
+    private void writeRomArchitecture(MachineModel model, RomTable rom, PrintWriter pw) {
+        LinkedList<Signal> outsig = model.getSignals(SIGNAL_DIRECTION.OUT);
+        LinkedList<Signal> insig = model.getSignals(SIGNAL_DIRECTION.IN);
+        insig.addAll(model.getSignals(SIGNAL_DIRECTION.INOUT));
+        int addressBits = rom.getAddressBits();
+        int stateBits = rom.getStateBits();
+        long inputCombinations = 1L << (addressBits - stateBits);
+        int holdBit = rom.getHoldBit();
+
+        // (a) declarations
+        pw.println();
+        int maxStateNameLength = 0;
+        Iterator<State> itStates = model.getStates().iterator();
+        while (itStates.hasNext()) {
+            maxStateNameLength = Math.max(maxStateNameLength, itStates.next().getName().length());
+        }
+        writeEncodedStateType(model, rom.getEncoding(), pw, "    ", maxStateNameLength);
+        pw.println("    constant RESET_STATE : TSTATE := " + model.getStartNode().getToState().getName().toUpperCase() + ";");
+        pw.println("    -- ROM: NEXT STATE AND OUTPUTS (" + (1L << addressBits) + " x " + rom.getWordBits() + " BITS)");
+        pw.println("    --   address: CURRENT_STATE & inputs");
+        pw.println("    --   word:    " + ((holdBit >= 0) ? "hold outputs & " : "")
+                + ((rom.getOutputBits() > 0) ? "outputs & " : "") + "next state");
+        pw.println("    subtype TROM_WORD is std_logic_vector(" + (rom.getWordBits() - 1) + " downto 0);");
+        pw.println("    type TROM is array(0 to " + ((1L << addressBits) - 1) + ") of TROM_WORD;");
+        pw.println("    constant ROM : TROM :=");
+        pw.println("    (");
+        for (long code = 0; code < (1L << stateBits); code++) {
+            State state = rom.getState(code);
+            pw.println("        -- " + ((state != null) ? state.getName().toUpperCase() : "unused"));
+            StringBuilder line = new StringBuilder("       ");
+            for (long inputs = 0; inputs < inputCombinations; inputs++) {
+                String word = (state != null) ? rom.getWord(state, inputs) : rom.getUnusedWord();
+                boolean last = code == (1L << stateBits) - 1 && inputs == inputCombinations - 1;
+                line.append(" \"").append(word).append('"').append(last ? "" : ",");
+                if (inputs % ROM_WORDS_PER_LINE == ROM_WORDS_PER_LINE - 1 || inputs == inputCombinations - 1) {
+                    pw.println(line.toString());
+                    line = new StringBuilder("       ");
+                }
+            }
+        }
+        pw.println("    );");
+        pw.println("    constant RESET_WORD : TROM_WORD := \"" + rom.getResetWord() + "\";");
+        pw.println("    signal CURRENT_STATE : TSTATE;");
+        pw.println("    signal ADDRESS : std_logic_vector(" + (addressBits - 1) + " downto 0);");
+        pw.println("    signal ROM_DATA : TROM_WORD := RESET_WORD;");
+        pw.println("    attribute rom_style : string;");
+        pw.println("    attribute rom_style of ROM_DATA : signal is \"block\";");
+        pw.println("    attribute syn_romstyle : string;");
+        pw.println("    attribute syn_romstyle of ROM_DATA : signal is \"block_rom\";");
+        if (holdBit >= 0) {
+            pw.println("    -- OUTPUTS (HELD WITHOUT TRANSITION)");
+            pw.println("    signal OUTPUT_BITS, REG_OUTPUT_BITS : std_logic_vector(" + (holdBit - stateBits - 1)
+                    + " downto 0) := RESET_WORD(" + (holdBit - 1) + " downto " + stateBits + ");");
+        }
+        pw.println();
+        pw.println("begin");
+        pw.println();
+
+        // (b) address and synchronous read (block RAM)
+        String address = "CURRENT_STATE";
+        Iterator<Signal> itSig = insig.iterator();
+        while (itSig.hasNext()) {
+            address += " & " + toBits(itSig.next());
+        }
+        pw.println("    ADDRESS <= " + address + ";");
+        pw.println();
+        pw.println("    -- ROM (BLOCK RAM); ITS OUTPUT-REGISTER IS THE STATE-REGISTER");
+        pw.println("    process(CLK) is");
+        pw.println("    begin");
+        pw.println("        if CLK'event and CLK='1' then");
+        pw.println("            if RESET='1' then");
+        pw.println("                ROM_DATA <= RESET_WORD;");
+        pw.println("            else");
+        pw.println("                ROM_DATA <= ROM(to_integer(unsigned(ADDRESS)));");
+        pw.println("            end if;");
+        pw.println("        end if;");
+        pw.println("    end process;");
+        pw.println();
+        pw.println("    CURRENT_STATE <= ROM_DATA(" + (stateBits - 1) + " downto 0);");
+
+        // (c) outputs
+        String data = "ROM_DATA";
+        int offset = 0;
+        if (holdBit >= 0) {
+            pw.println();
+            pw.println("    -- HOLD THE OUTPUTS, IF NO TRANSITION HAS BEEN TAKEN");
+            pw.println("    OUTPUT_BITS <= REG_OUTPUT_BITS when ROM_DATA(" + holdBit + ")='1' else ROM_DATA("
+                    + (holdBit - 1) + " downto " + stateBits + ");");
+            pw.println("    process(CLK) is");
+            pw.println("    begin");
+            pw.println("        if CLK'event and CLK='1' then");
+            pw.println("            REG_OUTPUT_BITS <= OUTPUT_BITS;");
+            pw.println("        end if;");
+            pw.println("    end process;");
+            // OUTPUT_BITS: without the state-code
+            data = "OUTPUT_BITS";
+            offset = stateBits;
+        }
+        if (outsig.size() > 0) {
+            pw.println();
+            pw.println("    -- OUTPUTS (REGISTERED)");
+            int maxlen = 0;
+            for (int i = 0; i < outsig.size(); i++) {
+                maxlen = Math.max(maxlen, outsig.get(i).getName().length());
+            }
+            for (int i = 0; i < outsig.size(); i++) {
+                Signal outSignal = outsig.get(i);
+                String value = fromBits(data, outSignal, rom.getOutputUpperBit(i) - offset,
+                        rom.getOutputLowerBit(i) - offset);
+                pw.println(String.format("    %-" + maxlen + "s <= %s;", outSignal.getName().toUpperCase(), value));
+            }
+        }
+    }
+
+    /**
+     * @param type type of a signal / variable
+     * @param bitLen bit-length
+     * @return VHDL-type
+     */
+    static String getVHDLType(SIGVAR_TYPE type, int bitLen) {
+        String vhdlType = "";
+        switch (type) {
+            case BIT:
+                vhdlType = "std_logic";
+                break;
+            case BIT_N:
+                vhdlType = "std_logic_vector(" + (long) (bitLen - 1) + " downto 0)";
+                break;
+            case UNSIGNED:
+                if (bitLen == 1) {
+                    vhdlType = "std_logic";
+                } else {
+                    vhdlType = "unsigned(" + (long) (bitLen - 1) + " downto 0)";
+                }
+                break;
+            case SIGNED:
+                if (bitLen == 1) {
+                    vhdlType = "std_logic";
+                } else {
+                    vhdlType = "signed(" + (long) (bitLen - 1) + " downto 0)";
+                }
+                break;
+        }
+        return vhdlType;
+    }
+
+    /**
+     * writes the state-type as vector and one constant per state
+     *
+     * @param model model
+     * @param encoding codes of the states
+     * @param pw generated text
+     * @param indent indentation
+     * @param maxStateNameLength length of the longest state-name
+     */
+    private void writeEncodedStateType(MachineModel model, StateEncoding encoding, PrintWriter pw,
+            String indent, int maxStateNameLength) {
+        pw.println(indent + "-- DEFINE A STATE-TYPE (ENCODING: " + encoding.getEncoding().name().replace('_', '-') + ")");
+        if (encoding.getEncoding() == STATE_ENCODING.LOW_POWER) {
+            pw.println(String.format(Locale.ROOT, indent + "-- simulated state-bit toggles per cycle: %.3f (binary: %.3f)",
+                    encoding.getToggleRate(), encoding.getBinaryToggleRate()));
+        }
+        pw.println(indent + "subtype TSTATE is std_logic_vector(" + (encoding.getBitLength() - 1) + " downto 0);");
+        Iterator<State> itStates = model.getStates().iterator();
+        while (itStates.hasNext()) {
+            State s = itStates.next();
+            pw.println(String.format(indent + "constant %-" + maxStateNameLength + "s : TSTATE := \"%s\"; -- %s",
+                    s.getName().toUpperCase(), encoding.getBits(s), s.getDescription()));
+        }
+    }
+
+    /**
+     * writes the outputs as bits of the state-register (output-encoded states)
+     *
+     * @param model model
+     * @param encoding codes of the states (output-encoded)
+     * @param pw generated text
+     * @param indent indentation
+     * @param object name of the state-register
+     */
+    private void writeEncodedOutputs(MachineModel model, StateEncoding encoding, PrintWriter pw,
+            String indent, String object) {
+        LinkedList<Signal> outsig = model.getSignals(SIGNAL_DIRECTION.OUT);
+        int maxlen = 0;
+        for (int i = 0; i < outsig.size(); i++) {
+            maxlen = Math.max(maxlen, outsig.get(i).getName().length());
+        }
+        for (int i = 0; i < outsig.size(); i++) {
+            Signal outSignal = outsig.get(i);
+            String value = object;
+            if (encoding.getOutputUpperBit(i) == encoding.getOutputLowerBit(i)) {
+                value += "(" + encoding.getOutputLowerBit(i) + ")";
+            } else {
+                value += "(" + encoding.getOutputUpperBit(i) + " downto " + encoding.getOutputLowerBit(i) + ")";
+            }
+            if (outSignal.getBitLength() > 1 && outSignal.getType() == SIGVAR_TYPE.SIGNED) {
+                value = "signed(" + value + ")";
+            } else if (outSignal.getBitLength() > 1 && outSignal.getType() == SIGVAR_TYPE.UNSIGNED) {
+                value = "unsigned(" + value + ")";
+            }
+            pw.println(String.format("%s%-" + maxlen + "s <= %s;", indent, outSignal.getName().toUpperCase(), value));
+        }
+    }
+
+    /**
+     * writes the synthesis-attributes of the state-register (Xilinx:
+     * fsm_encoding, Intel / Altera: syn_encoding)
+     *
+     * @param encoding codes of the states
+     * @param pw generated text
+     * @param indent indentation
+     * @param object name of the state-register
+     * @param objectClass "signal" or "variable"
+     */
+    private void writeEncodingAttributes(StateEncoding encoding, PrintWriter pw, String indent,
+            String object, String objectClass) {
+        String fsmEncoding, synEncoding;
+        switch (encoding.getEncoding()) {
+            case ONE_HOT:
+                fsmEncoding = "one_hot";
+                synEncoding = "one-hot";
+                break;
+            case GRAY:
+                fsmEncoding = synEncoding = "gray";
+                break;
+            case JOHNSON:
+                fsmEncoding = synEncoding = "johnson";
+                break;
+            case OUTPUT_ENCODED:
+            case LOW_POWER:
+                // keep the codes (outputs are bits of the state / chosen
+                // by the switching-activity)
+                fsmEncoding = synEncoding = "user";
+                break;
+            default:
+                fsmEncoding = synEncoding = "sequential";
+        }
+        pw.println(indent + "attribute fsm_encoding : string;");
+        pw.println(indent + "attribute fsm_encoding of " + object + " : " + objectClass + " is \"" + fsmEncoding + "\";");
+        pw.println(indent + "attribute syn_encoding : string;");
+        pw.println(indent + "attribute syn_encoding of " + object + " : " + objectClass + " is \"" + synEncoding + "\";");
+    }
+
+    /**
+     * writes the decision-tree of a state (VHDL, process-style)
+     *
+     * @param node node of the tree
+     * @param transitions outgoing transitions of the state
+     * @param outsig output-signal-list (Mealy-output) or null (next state)
+     * @param pw generated text
+     * @param maxlen max name-length of an output-signal
+     * @param spaces indentation
+     *
+     * @author Andreas Schwenk
+     */
+    private void writeVHDLDecisionTree(DecisionTree.Node node, List<Transition> transitions,
+            LinkedList<Signal> outsig, PrintWriter pw, int maxlen, int spaces) {
+        String spacesStr = String.format("%" + spaces + "s", " ");
+        if (node.isLeaf()) {
+            if (node.transition < 0) {
+                return; // no transition
+            }
+            Transition transition = transitions.get(node.transition);
+            if (outsig != null) {
+                writeVHDLOutput(transition.getGeneratedOutputVector(), outsig, pw, maxlen, spaces);
+            } else {
+                pw.println(spacesStr + "STATE := " + transition.getToState().getName().toUpperCase() + ";");
+            }
+            return;
+        }
+        // tests of the else-branches are chained ("elsif")
+        String IF = "if";
+        while (true) {
+            // "if" without "else", if possible
+            DecisionTree.Node whenTrue = node.whenTrue, whenFalse = node.whenFalse;
+            Expression test = node.test;
+            if (whenTrue.isLeaf() && whenTrue.transition < 0) {
+                whenTrue = node.whenFalse;
+                whenFalse = node.whenTrue;
+                test = node.testNegated;
+            }
+            pw.println(spacesStr + IF + "(" + vhdlEmitter.emit(test) + ") then");
+            writeVHDLDecisionTree(whenTrue, transitions, outsig, pw, maxlen, spaces + 4);
+            if (!whenFalse.isLeaf()) {
+                node = whenFalse;
+                IF = "elsif";
+                continue;
+            }
+            if (whenFalse.transition >= 0) {
+                pw.println(spacesStr + "else");
+                writeVHDLDecisionTree(whenFalse, transitions, outsig, pw, maxlen, spaces + 4);
+            }
+            break;
+        }
+        pw.println(spacesStr + "end if;");
+    }
+
+    /**
+     * builds the decision-tree of the outgoing transitions of a state
+     *
+     * @param state state
+     * @return root of the tree or null, if decision-trees are disabled or the
+     *         tree would be too large
+     */
+    private DecisionTree.Node getDecisionTree(State state) {
+        if (!decisionTrees || state.getTransitions().isEmpty()) {
+            return null;
+        }
+        return DecisionTree.build(state.getConditions());
+    }
+}
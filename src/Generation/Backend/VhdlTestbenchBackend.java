@@ -0,0 +1,255 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       VhdlTestbenchBackend
+ * Created:     2026-10-19
+ */
+package Generation.Backend;
+
+import Generation.Backend.MachineModel.Signal;
+import Graph.Graph.GRAPH_TYPE;
+import Graph.Graph.VHDL_ARCHITECTURE;
+import Graph.SigVar.SIGVAR_TYPE;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+
+/**
+ * Generates a self-checking VHDL-testbench for the generated VHDL-code (see
+ * VhdlBackend): the machine is simulated with random inputs (see Simulator),
+ * the trace is stored as constant array (one word per cycle: check-flag,
+ * expected outputs, inputs) and applied to the design in a loop, that
+ * compares the outputs in each cycle.
+ *
+ * The outputs are checked after the rising edge (Moore, registered Mealy-
+ * outputs) or before it (combinational Mealy-outputs). With the default
+ * architecture (one process / dataflow) a combinational Mealy-output without
+ * transition is not specified, thus only cycles with a transition are
+ * checked there.
+ *
+ * @author Andreas Schwenk
+ */
+public class VhdlTestbenchBackend implements I_BACKEND {
+
+    // *** CONSTANTS ***
+    // words per line of the trace
+    private static final int WORDS_PER_LINE = 8;
+
+    // *** ATTRIBUTES ***
+    private final File file;
+    private final int cycles;
+    private final int clockPeriod;
+    private final long romBudget;
+
+    // *** METHODS ***
+
+    /**
+     * @param file output-file
+     * @param cycles number of simulated clock-cycles
+     * @param clockPeriod clock-period in ns
+     * @param romBudget ROM-budget of the tested VHDL-code (see VhdlBackend)
+     *
+     * @author Andreas Schwenk
+     */
+    public VhdlTestbenchBackend(File file, int cycles, int clockPeriod, long romBudget) {
+        this.file = file;
+        this.cycles = cycles;
+        this.clockPeriod = clockPeriod;
+        this.romBudget = romBudget;
+    }
+
+    @Override
+    public File[] getFiles() {
+        return new File[]{file};
+    }
+
+    @Override
+    public String[] getOptions() {
+        return new String[]{"VHDL-TESTBENCH", "" + cycles, "" + clockPeriod, "" + romBudget};
+    }
+
+    @Override
+    public boolean includesLayout() {
+        return false;
+    }
+
+    @Override
+    public String getSummary() {
+        return ">> GENERIERUNG VHDL-TESTBENCH: ERFOLGREICH! <<\n";
+    }
+
+    /**
+     * simulates the machine and writes the testbench
+     *
+     * @param model model of the verified graph
+     * @param sink receives the file
+     * @throws IOException java-input-output-exception
+     *
+     * @author Andreas Schwenk
+     */
+    @Override
+    public void generate(MachineModel model, OutputSink sink) throws IOException {
+        Simulator simulator = new Simulator(model);
+        simulator.recordTrace();
+        simulator.run(cycles);
+        List<long[]> trace = simulator.getTrace();
+        List<Signal> inputs = simulator.getInputSignals();
+        List<Signal> outputs = simulator.getOutputSignals();
+        int inputBits = 0, outputBits = 0;
+        for (int i = 0; i < inputs.size(); i++) {
+            inputBits += RomTable.getBitLength(inputs.get(i));
+        }
+        for (int i = 0; i < outputs.size(); i++) {
+            outputBits += RomTable.getBitLength(outputs.get(i));
+        }
+        int wordBits = 1 + outputBits + inputBits;
+
+        // timing of the outputs of the tested architecture
+        VHDL_ARCHITECTURE architecture = model.getVhdlArchitecture();
+        boolean mealy = model.getGraphType() == GRAPH_TYPE.MEALY;
+        boolean registered = !mealy || architecture == VHDL_ARCHITECTURE.THREE_PROCESS
+                || (architecture == VHDL_ARCHITECTURE.TWO_PROCESS && model.getRegisteredMealyOutputs())
+                || VhdlBackend.isRomArchitecture(model, romBudget);
+        boolean transitionsOnly = mealy && !registered && architecture != VHDL_ARCHITECTURE.TWO_PROCESS;
+
+        String name = model.getName().toUpperCase();
+        PrintWriter pw = sink.open(file);
+        pw.println("-- testbench of " + model.getName() + ": " + trace.size()
+                + " cycles with random inputs, recorded by the simulator of STDE");
+        pw.println("-- outputs are checked " + (registered ? "after" : "before") + " the rising edge"
+                + (transitionsOnly ? " (only cycles with a transition)" : ""));
+        pw.println();
+        pw.println("library ieee;");
+        pw.println("use ieee.std_logic_1164.all;");
+        pw.println("use ieee.numeric_std.all;");
+        pw.println();
+        pw.println("entity TB_" + name + " is");
+        pw.println("end TB_" + name + ";");
+        pw.println();
+        pw.println("architecture TEST of TB_" + name + " is");
+        pw.println("    constant TB_CLK_PERIOD : time := " + clockPeriod + " ns;");
+        pw.println("    constant TB_CYCLES : natural := " + trace.size() + ";");
+        pw.println("    -- TRACE: check & expected outputs & inputs (first signal most significant)");
+        pw.println("    subtype TB_TWORD is std_logic_vector(" + (wordBits - 1) + " downto 0);");
+        pw.println("    type TB_TTRACE is array(0 to " + (trace.size() - 1) + ") of TB_TWORD;");
+        pw.println("    constant TB_TRACE : TB_TTRACE :=");
+        pw.println("    (");
+        StringBuilder line = new StringBuilder("       ");
+        for (int k = 0; k < trace.size(); k++) {
+            long[] cycle = trace.get(k);
+            StringBuilder word = new StringBuilder(wordBits);
+            word.append((!transitionsOnly || cycle[cycle.length - 1] != 0) ? '1' : '0');
+            for (int i = 0; i < outputs.size(); i++) {
+                word.append(StateEncoding.toBits(cycle[inputs.size() + i], RomTable.getBitLength(outputs.get(i))));
+            }
+            for (int i = 0; i < inputs.size(); i++) {
+                word.append(StateEncoding.toBits(cycle[i], RomTable.getBitLength(inputs.get(i))));
+            }
+            line.append(" \"").append(word).append('"').append((k < trace.size() - 1) ? "," : "");
+            if (k % WORDS_PER_LINE == WORDS_PER_LINE - 1 || k == trace.size() - 1) {
+                pw.println(line.toString());
+                line = new StringBuilder("       ");
+            }
+        }
+        pw.println("    );");
+        pw.println("    signal CLK     : std_logic := '0';");
+        pw.println("    signal RESET   : std_logic := '1';");
+        pw.println("    signal TB_DONE : boolean := false;");
+        for (int i = 0; i < inputs.size(); i++) {
+            Signal signal = inputs.get(i);
+            String type = VhdlBackend.getVHDLType(signal.getType(), signal.getBitLength());
+            pw.println("    signal " + signal.getName().toUpperCase() + " : " + type
+                    + (type.equals("std_logic") ? " := '0';" : " := (others => '0');"));
+        }
+        for (int i = 0; i < outputs.size(); i++) {
+            Signal signal = outputs.get(i);
+            pw.println("    signal " + signal.getName().toUpperCase() + " : "
+                    + VhdlBackend.getVHDLType(signal.getType(), signal.getBitLength()) + ";");
+        }
+        if (outputBits > 0) {
+            pw.println("    signal TB_OUTPUTS : std_logic_vector(" + (outputBits - 1) + " downto 0);");
+        }
+        pw.println();
+        pw.println("begin");
+        pw.println();
+
+        // (a) design under test, clock and packed outputs
+        pw.println("    DUT : entity work." + name);
+        pw.println("        port map");
+        pw.println("        (");
+        pw.println("            CLK => CLK,");
+        pw.print("            RESET => RESET");
+        List<Signal> signals = model.getSignals();
+        for (int i = 0; i < signals.size(); i++) {
+            String signalName = signals.get(i).getName().toUpperCase();
+            pw.println(",");
+            pw.print("            " + signalName + " => " + signalName);
+        }
+        pw.println();
+        pw.println("        );");
+        pw.println();
+        pw.println("    CLK <= not CLK after TB_CLK_PERIOD / 2 when not TB_DONE else '0';");
+        pw.println();
+        int bit = outputBits;
+        for (int i = 0; i < outputs.size(); i++) {
+            Signal signal = outputs.get(i);
+            int bits = RomTable.getBitLength(signal);
+            bit -= bits;
+            String target = (bits == 1 && signal.getType() != SIGVAR_TYPE.BIT_N)
+                    ? "TB_OUTPUTS(" + bit + ")" : "TB_OUTPUTS(" + (bit + bits - 1) + " downto " + bit + ")";
+            pw.println("    " + target + " <= " + VhdlBackend.toBits(signal) + ";");
+        }
+        if (outputBits > 0) {
+            pw.println();
+        }
+
+        // (b) stimulus and check
+        pw.println("    -- APPLY THE TRACE AND CHECK THE OUTPUTS");
+        pw.println("    process is");
+        pw.println("        variable TB_ERRORS : natural := 0;");
+        pw.println("    begin");
+        pw.println("        -- reset at the first rising edge");
+        pw.println("        wait until CLK'event and CLK='1';");
+        pw.println("        wait for TB_CLK_PERIOD / 4;");
+        pw.println("        RESET <= '0';");
+        pw.println("        for TB_K in 0 to TB_CYCLES - 1 loop");
+        pw.println("            -- inputs of the cycle");
+        pw.println("            wait until CLK'event and CLK='0';");
+        bit = inputBits;
+        for (int i = 0; i < inputs.size(); i++) {
+            Signal signal = inputs.get(i);
+            int bits = RomTable.getBitLength(signal);
+            bit -= bits;
+            pw.println("            " + signal.getName().toUpperCase() + " <= "
+                    + VhdlBackend.fromBits("TB_TRACE(TB_K)", signal, bit + bits - 1, bit) + ";");
+        }
+        if (registered) {
+            pw.println("            wait until CLK'event and CLK='1';");
+        }
+        pw.println("            wait for TB_CLK_PERIOD / 4;");
+        if (outputBits > 0) {
+            pw.println("            -- outputs");
+            pw.println("            if TB_TRACE(TB_K)(" + (wordBits - 1) + ")='1' and TB_OUTPUTS /= TB_TRACE(TB_K)("
+                    + (wordBits - 2) + " downto " + inputBits + ") then");
+            pw.println("                report \"cycle \" & integer'image(TB_K) & \": unexpected outputs\" severity error;");
+            pw.println("                TB_ERRORS := TB_ERRORS + 1;");
+            pw.println("            end if;");
+        }
+        if (!registered) {
+            pw.println("            wait until CLK'event and CLK='1';");
+        }
+        pw.println("        end loop;");
+        pw.println("        report \"" + name + ": \" & integer'image(TB_CYCLES) & \" cycles, \"");
+        pw.println("            & integer'image(TB_ERRORS) & \" errors\";");
+        pw.println("        TB_DONE <= true;");
+        pw.println("        wait;");
+        pw.println("    end process;");
+        pw.println();
+        pw.println("end TEST;");
+        pw.close();
+    }
+}
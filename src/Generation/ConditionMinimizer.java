@@ -0,0 +1,566 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       ConditionMinimizer
+ * Created:     2026-10-19
+ */
+
+package Generation;
+
+import Generation.Ast.BinaryExpression;
+import Generation.Ast.BinaryExpression.OPERATOR;
+import Generation.Ast.ConstantExpression;
+import Generation.Ast.Expression;
+import Generation.Ast.NeutralEmitter;
+import Generation.Ast.NumberExpression;
+import Generation.Ast.ParenthesizedExpression;
+import Generation.Ast.SymbolExpression;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+
+/**
+ * Minimizes the boolean structure of a transition-condition (two-level
+ * sum of products). Atoms are the signals / variables used as boolean and the
+ * comparisons; a negated comparison is written with the complementary
+ * operator (e. g. "!(cnt < 3)" => "cnt >= 3"). Constants are folded.
+ *
+ * Conditions with up to QM_MAX_VARIABLES atoms are minimized by the method of
+ * Quine-McCluskey (all prime implicants; essential ones first, then greedy).
+ * Larger conditions are minimized heuristically like Espresso: each product
+ * is expanded as far as possible, then redundant products are removed.
+ *
+ * The minimized condition is only used, if it has less literals than the
+ * original one (constants count as literals, thus they are always folded);
+ * otherwise (and if a limit is exceeded) the condition is kept as written.
+ *
+ * @author Andreas Schwenk
+ */
+public class ConditionMinimizer
+{
+    // *** SUBCLASSES ***
+
+    // product-term: bit i of pos / neg is set => atom i appears (negated)
+    static class Cube
+    {
+        final long pos, neg;
+
+        Cube(long pos, long neg)
+        {
+            this.pos = pos;
+            this.neg = neg;
+        }
+
+        int literals()
+        {
+            return Long.bitCount(pos) + Long.bitCount(neg);
+        }
+
+        // true, if this cube contains the given one (all its minterms)
+        boolean contains(Cube c)
+        {
+            return (pos & ~c.pos) == 0 && (neg & ~c.neg) == 0;
+        }
+
+        // lowest atom of the cube (order of the output)
+        int firstAtom()
+        {
+            return Long.numberOfTrailingZeros(pos | neg);
+        }
+    }
+
+    // a limit has been exceeded: the condition is kept unchanged
+    static class LimitExceededException extends Exception
+    {
+        private static final long serialVersionUID = 1L;
+    }
+
+    // *** CONSTANTS ***
+    private static final int QM_MAX_VARIABLES = 10;
+    private static final int MAX_VARIABLES = 62;
+    private static final int MAX_CUBES = 256;
+    private static final int MAX_TAUTOLOGY_STEPS = 100000;
+
+    // *** ATTRIBUTES ***
+
+    // atoms (positive form) in the order of their first occurrence
+    private final ArrayList<Expression> atoms = new ArrayList<Expression>();
+    private final HashMap<String, Integer> atomIndex = new HashMap<String, Integer>();
+    private final NeutralEmitter keyEmitter = new NeutralEmitter();
+
+    // literals of the original condition (incl. constants)
+    private int leaves = 0;
+
+    private int tautologySteps = 0;
+
+    // *** METHODS ***
+
+    ConditionMinimizer()
+    {
+        /* empty */
+    }
+
+    /**
+     * minimizes a condition
+     *
+     * @param e syntax-tree of the condition
+     * @return minimized syntax-tree (or e, if it cannot be improved)
+     *
+     * @author Andreas Schwenk
+     */
+    public static Expression minimize(Expression e)
+    {
+        ConditionMinimizer m = new ConditionMinimizer();
+        try
+        {
+            ArrayList<Cube> f = m.toCover(e, false);
+            ArrayList<Cube> min;
+            if(f.isEmpty())
+                return new ConstantExpression(false);
+            if(isUniversal(f))
+                return new ConstantExpression(true);
+            if(m.atoms.size() <= QM_MAX_VARIABLES)
+                min = m.quineMcCluskey(f);
+            else
+                min = m.espresso(f);
+            if(min.isEmpty())
+                return new ConstantExpression(false);
+            if(isUniversal(min))
+                return new ConstantExpression(true);
+            if(literals(min) >= m.leaves)
+                return e;
+            return m.toExpression(min);
+        }
+        catch(LimitExceededException ex)
+        {
+            return e;
+        }
+    }
+
+    // ** sum of products **
+
+    /**
+     * converts an expression into a sum of products (negations are moved
+     * to the atoms); the atoms are shared by all converted expressions
+     */
+    ArrayList<Cube> toCover(Expression e, boolean negated) throws LimitExceededException
+    {
+        if(e instanceof ParenthesizedExpression)
+        {
+            ParenthesizedExpression p = (ParenthesizedExpression)e;
+            return toCover(p.inner, negated ^ p.negated);
+        }
+        if(e instanceof SymbolExpression)
+        {
+            SymbolExpression s = (SymbolExpression)e;
+            leaves++;
+            int i = getAtom("S:" + s.name, new SymbolExpression(s.name, false, s.signal, s.variable));
+            return literal(i, negated ^ s.negated);
+        }
+        if(e instanceof NumberExpression)
+        {
+            leaves++;
+            return constant((((NumberExpression)e).value != 0) ^ negated);
+        }
+        if(e instanceof ConstantExpression)
+        {
+            leaves++;
+            return constant(((ConstantExpression)e).value ^ negated);
+        }
+
+        BinaryExpression b = (BinaryExpression)e;
+        if(b.operator == OPERATOR.OR || b.operator == OPERATOR.AND)
+        {
+            ArrayList<Cube> left = toCover(b.left, negated);
+            ArrayList<Cube> right = toCover(b.right, negated);
+            // De Morgan
+            if((b.operator == OPERATOR.OR) != negated)
+            {
+                left.addAll(right);
+                return removeContained(left);
+            }
+            return product(left, right);
+        }
+
+        // comparison: stored with EQUAL, LESS or LESS_EQUAL
+        leaves++;
+        boolean complemented = false;
+        OPERATOR op = b.operator;
+        if(op == OPERATOR.NOT_EQUAL || op == OPERATOR.GREATER_EQUAL || op == OPERATOR.GREATER)
+        {
+            op = complement(op);
+            complemented = true;
+        }
+        BinaryExpression atom = new BinaryExpression(op, b.left, b.right);
+        int i = getAtom("C:" + keyEmitter.emit(atom), atom);
+        return literal(i, negated ^ complemented);
+    }
+
+    private int getAtom(String key, Expression atom) throws LimitExceededException
+    {
+        Integer i = atomIndex.get(key);
+        if(i == null)
+        {
+            if(atoms.size() >= MAX_VARIABLES)
+                throw new LimitExceededException();
+            i = atoms.size();
+            atoms.add(atom);
+            atomIndex.put(key, i);
+        }
+        return i;
+    }
+
+    private static ArrayList<Cube> literal(int atom, boolean negated)
+    {
+        ArrayList<Cube> f = new ArrayList<Cube>();
+        if(negated)
+            f.add(new Cube(0, 1L << atom));
+        else
+            f.add(new Cube(1L << atom, 0));
+        return f;
+    }
+
+    private static ArrayList<Cube> constant(boolean value)
+    {
+        ArrayList<Cube> f = new ArrayList<Cube>();
+        if(value)
+            f.add(new Cube(0, 0));
+        return f;
+    }
+
+    private static ArrayList<Cube> product(ArrayList<Cube> a, ArrayList<Cube> b) throws LimitExceededException
+    {
+        ArrayList<Cube> f = new ArrayList<Cube>();
+        for(int i=0; i<a.size(); i++)
+        {
+            for(int j=0; j<b.size(); j++)
+            {
+                long pos = a.get(i).pos | b.get(j).pos;
+                long neg = a.get(i).neg | b.get(j).neg;
+                if((pos & neg) != 0)
+                    continue; // x & !x
+                f.add(new Cube(pos, neg));
+            }
+            if(f.size() > MAX_CUBES)
+                throw new LimitExceededException();
+        }
+        return removeContained(f);
+    }
+
+    // removes all cubes that are contained in another cube (and duplicates)
+    private static ArrayList<Cube> removeContained(ArrayList<Cube> f) throws LimitExceededException
+    {
+        if(f.size() > MAX_CUBES)
+            throw new LimitExceededException();
+        ArrayList<Cube> result = new ArrayList<Cube>();
+        for(int i=0; i<f.size(); i++)
+        {
+            boolean contained = false;
+            for(int j=0; j<f.size() && !contained; j++)
+            {
+                if(i != j && f.get(j).contains(f.get(i))
+                        && (!f.get(i).contains(f.get(j)) || j < i))
+                    contained = true;
+            }
+            if(!contained)
+                result.add(f.get(i));
+        }
+        return result;
+    }
+
+    static boolean isUniversal(ArrayList<Cube> f)
+    {
+        for(int i=0; i<f.size(); i++)
+        {
+            if(f.get(i).literals() == 0)
+                return true;
+        }
+        return false;
+    }
+
+    private static int literals(ArrayList<Cube> f)
+    {
+        int n = 0;
+        for(int i=0; i<f.size(); i++)
+            n += f.get(i).literals();
+        return n;
+    }
+
+    // ** Quine-McCluskey **
+
+    private ArrayList<Cube> quineMcCluskey(ArrayList<Cube> f)
+    {
+        int n = atoms.size();
+        int all = (1 << n) - 1;
+
+        // minterms of the function
+        ArrayList<Integer> minterms = new ArrayList<Integer>();
+        for(int m=0; m<=all; m++)
+        {
+            for(int i=0; i<f.size(); i++)
+            {
+                Cube c = f.get(i);
+                if((m & c.pos) == c.pos && (m & c.neg) == 0)
+                {
+                    minterms.add(m);
+                    break;
+                }
+            }
+        }
+
+        // prime implicants: implicant = value | (don't-care-mask << 16)
+        HashSet<Integer> current = new HashSet<Integer>(minterms);
+        ArrayList<Integer> primes = new ArrayList<Integer>();
+        while(!current.isEmpty())
+        {
+            HashSet<Integer> next = new HashSet<Integer>();
+            HashSet<Integer> combined = new HashSet<Integer>();
+            for(Integer imp : current)
+            {
+                int value = imp & 0xFFFF, dc = imp >>> 16;
+                for(int bit=1; bit<=all; bit<<=1)
+                {
+                    if((dc & bit) != 0 || (value & bit) != 0)
+                        continue;
+                    Integer partner = (value | bit) | (dc << 16);
+                    if(current.contains(partner))
+                    {
+                        next.add(value | ((dc | bit) << 16));
+                        combined.add(imp);
+                        combined.add(partner);
+                    }
+                }
+            }
+            for(Integer imp : current)
+            {
+                if(!combined.contains(imp))
+                    primes.add(imp);
+            }
+            current = next;
+        }
+        Collections.sort(primes);
+
+        // cover: essential prime implicants first, then greedy
+        ArrayList<Cube> result = new ArrayList<Cube>();
+        HashSet<Integer> uncovered = new HashSet<Integer>(minterms);
+        for(Integer m : minterms)
+        {
+            int only = -1, count = 0;
+            for(int p=0; p<primes.size() && count < 2; p++)
+            {
+                if(covers(primes.get(p), m))
+                {
+                    only = p;
+                    count++;
+                }
+            }
+            if(count == 1 && uncovered.contains(m))
+                select(primes.get(only), uncovered, result, all);
+        }
+        while(!uncovered.isEmpty())
+        {
+            int best = -1, bestCount = 0;
+            for(int p=0; p<primes.size(); p++)
+            {
+                int count = 0;
+                for(Integer m : uncovered)
+                {
+                    if(covers(primes.get(p), m))
+                        count++;
+                }
+                if(count > bestCount || (count == bestCount && count > 0
+                        && Integer.bitCount(primes.get(p) >>> 16) > Integer.bitCount(primes.get(best) >>> 16)))
+                {
+                    best = p;
+                    bestCount = count;
+                }
+            }
+            select(primes.get(best), uncovered, result, all);
+        }
+        return result;
+    }
+
+    private static boolean covers(int implicant, int minterm)
+    {
+        int dc = implicant >>> 16;
+        return ((implicant & 0xFFFF) & ~dc) == (minterm & ~dc);
+    }
+
+    private static void select(int implicant, HashSet<Integer> uncovered, ArrayList<Cube> result, int all)
+    {
+        int value = implicant & 0xFFFF, dc = implicant >>> 16;
+        result.add(new Cube(value & ~dc, ~value & ~dc & all));
+        ArrayList<Integer> done = new ArrayList<Integer>();
+        for(Integer m : uncovered)
+        {
+            if(covers(implicant, m))
+                done.add(m);
+        }
+        uncovered.removeAll(done);
+    }
+
+    // ** heuristic (Espresso-like) **
+
+    private ArrayList<Cube> espresso(ArrayList<Cube> f) throws LimitExceededException
+    {
+        ArrayList<Cube> cover = new ArrayList<Cube>(f);
+        // largest cubes first
+        Collections.sort(cover, new Comparator<Cube>() {
+            @Override
+            public int compare(Cube a, Cube b) {
+                return a.literals() - b.literals();
+            }
+        });
+
+        // EXPAND: remove literals, as long as the cube stays in the function
+        for(int i=0; i<cover.size(); i++)
+        {
+            Cube c = cover.get(i);
+            long literals = c.pos | c.neg;
+            while(literals != 0)
+            {
+                long bit = Long.lowestOneBit(literals);
+                literals &= ~bit;
+                Cube candidate = new Cube(c.pos & ~bit, c.neg & ~bit);
+                if(isContained(candidate, cover))
+                    c = candidate;
+            }
+            cover.set(i, c);
+        }
+        cover = removeContained(cover);
+
+        // IRREDUNDANT: remove cubes, that are covered by the others
+        for(int i=cover.size()-1; i>=0; i--)
+        {
+            ArrayList<Cube> others = new ArrayList<Cube>(cover);
+            Cube c = others.remove(i);
+            if(isContained(c, others))
+                cover = others;
+        }
+        return cover;
+    }
+
+    // true, if all minterms of c are covered by f (f cofactored by c is a tautology)
+    private boolean isContained(Cube c, ArrayList<Cube> f) throws LimitExceededException
+    {
+        ArrayList<Cube> cofactor = new ArrayList<Cube>();
+        for(int i=0; i<f.size(); i++)
+        {
+            Cube d = f.get(i);
+            if((d.pos & c.neg) != 0 || (d.neg & c.pos) != 0)
+                continue;
+            cofactor.add(new Cube(d.pos & ~c.pos, d.neg & ~c.neg));
+        }
+        return isTautology(cofactor);
+    }
+
+    private boolean isTautology(ArrayList<Cube> f) throws LimitExceededException
+    {
+        if(++tautologySteps > MAX_TAUTOLOGY_STEPS)
+            throw new LimitExceededException();
+        if(f.isEmpty())
+            return false;
+        long pos = 0, neg = 0;
+        for(int i=0; i<f.size(); i++)
+        {
+            if(f.get(i).literals() == 0)
+                return true;
+            pos |= f.get(i).pos;
+            neg |= f.get(i).neg;
+        }
+        // unate atoms: only the cubes without them can form a tautology
+        long unate = (pos ^ neg);
+        if(unate != 0)
+        {
+            ArrayList<Cube> reduced = new ArrayList<Cube>();
+            for(int i=0; i<f.size(); i++)
+            {
+                if(((f.get(i).pos | f.get(i).neg) & unate) == 0)
+                    reduced.add(f.get(i));
+            }
+            return isTautology(reduced);
+        }
+        // split by a binate atom
+        long bit = Long.lowestOneBit(pos & neg);
+        return isTautology(cofactor(f, bit, true)) && isTautology(cofactor(f, bit, false));
+    }
+
+    static ArrayList<Cube> cofactor(ArrayList<Cube> f, long bit, boolean value)
+    {
+        ArrayList<Cube> result = new ArrayList<Cube>();
+        for(int i=0; i<f.size(); i++)
+        {
+            Cube c = f.get(i);
+            long opposite = value ? c.neg : c.pos;
+            if((opposite & bit) != 0)
+                continue;
+            result.add(new Cube(c.pos & ~bit, c.neg & ~bit));
+        }
+        return result;
+    }
+
+    // ** syntax-tree **
+
+    private Expression toExpression(ArrayList<Cube> f)
+    {
+        ArrayList<Cube> cubes = new ArrayList<Cube>(f);
+        Collections.sort(cubes, new Comparator<Cube>() {
+            @Override
+            public int compare(Cube a, Cube b) {
+                if(a.firstAtom() != b.firstAtom())
+                    return a.firstAtom() - b.firstAtom();
+                return a.literals() - b.literals();
+            }
+        });
+        Expression sum = null;
+        for(int i=0; i<cubes.size(); i++)
+        {
+            Cube c = cubes.get(i);
+            Expression term = null;
+            for(int a=0; a<atoms.size(); a++)
+            {
+                long bit = 1L << a;
+                if(((c.pos | c.neg) & bit) == 0)
+                    continue;
+                Expression lit = toLiteral(a, (c.neg & bit) != 0);
+                term = (term == null) ? lit : new BinaryExpression(OPERATOR.AND, term, lit);
+            }
+            // VHDL does not allow "and" and "or" without parentheses
+            if(cubes.size() > 1 && c.literals() > 1)
+                term = new ParenthesizedExpression(false, term);
+            sum = (sum == null) ? term : new BinaryExpression(OPERATOR.OR, sum, term);
+        }
+        return sum;
+    }
+
+    Expression toLiteral(int atom, boolean negated)
+    {
+        Expression e = atoms.get(atom);
+        if(e instanceof SymbolExpression)
+        {
+            SymbolExpression s = (SymbolExpression)e;
+            return new SymbolExpression(s.name, negated, s.signal, s.variable);
+        }
+        BinaryExpression b = (BinaryExpression)e;
+        return negated ? new BinaryExpression(complement(b.operator), b.left, b.right) : b;
+    }
+
+    private static OPERATOR complement(OPERATOR op)
+    {
+        switch(op)
+        {
+            case EQUAL:         return OPERATOR.NOT_EQUAL;
+            case NOT_EQUAL:     return OPERATOR.EQUAL;
+            case LESS:          return OPERATOR.GREATER_EQUAL;
+            case GREATER_EQUAL: return OPERATOR.LESS;
+            case LESS_EQUAL:    return OPERATOR.GREATER;
+            case GREATER:       return OPERATOR.LESS_EQUAL;
+        }
+        return op;
+    }
+}
@@ -10,18 +10,33 @@
 
 package Generation;
 
+import Generation.Diagnostic.CODE;
+import Generation.Diagnostic.SEVERITY;
+import Generation.Ast.BinaryExpression;
+import Generation.Ast.BinaryExpression.OPERATOR;
+import Generation.Ast.CEmitter;
+import Generation.Ast.Emitter;
+import Generation.Ast.Expression;
+import Generation.Ast.NeutralEmitter;
+import Generation.Ast.NumberExpression;
+import Generation.Ast.ParenthesizedExpression;
+import Generation.Ast.SymbolExpression;
+import Generation.Ast.VhdlEmitter;
 import Generation.Lexer.TOKEN;
 import Graph.SigVar;
 import Graph.SigVar.SIGVAR_TYPE;
 import Graph.Signal;
+import Graph.Signal.SIGNAL_DIRECTION;
+import Graph.SymbolTable;
 import Graph.Variable;
-import java.util.Iterator;
-import java.util.LinkedList;
 
 /**
  * Verifies the condition of a transition.
  * Syntax-description (EBNF) can be found in the specification-document.
  * 
+ * The parser builds an abstract syntax tree (package Generation.Ast), that
+ * is translated into the target languages by emitters.
+ * 
  * reference:  "Niklaus Wirth - Compiler Construction"
  * 
  * @author Andreas Schwenk
@@ -40,6 +55,7 @@ public class ConditionParser
     public class GeneratedCondition
     {
         public String neutral="", C="", VHDL="";
+        public Expression ast; // abstract syntax tree
     }
 
     // *** ENUMERATIONS ***
@@ -47,14 +63,14 @@ public class ConditionParser
     // *** ATTRIBUTES ***    
     
     // Tokenizer
-    private Lexer lex;
+    private final Lexer lex;
     // error-reporting
     private String errorStr;
+    private int errorPos; // position of the error in the input-string
+    private int errorLength; // length of the erroneous token
     
-    // all "input"-signals of the graph
-    private LinkedList<Signal> inputSignals;
-    // all variables of the graph
-    private LinkedList<Variable> variables;
+    // names of all "input"-signals and variables of the graph
+    private SymbolTable symbols;
     
     // logging (errors and success-messages; shown in the GUI [bottom-left corner])
     private Log log;
@@ -62,22 +78,28 @@ public class ConditionParser
     // generated condition
     private GeneratedCondition generatedCondition=null;
     
+    // translation into the target languages
+    private final Emitter neutralEmitter = new NeutralEmitter();
+    private final Emitter cEmitter = new CEmitter();
+    private final Emitter vhdlEmitter = new VhdlEmitter();
+    
+    // C and VHDL are generated from the minimized condition
+    private boolean minimize = false;
+    
     
     // *** METHODS ***
     /**
      * constructor; input signals and variables (of the graph) are needed
      * to verify that all used identifiers are known
      * 
-     * @param inputSignals input-signals of the graph
-     * @param variables  variables of the graph
+     * @param symbols symbol-table of the graph (input-signals, variables)
      * 
      * @author Andreas Schwenk
      */
-    public ConditionParser(LinkedList<Signal> inputSignals, 
-            LinkedList<Variable> variables)
+    public ConditionParser(SymbolTable symbols)
     {
-        this.inputSignals = inputSignals;
-        this.variables = variables;
+        this.symbols = symbols;
+        this.lex = new Lexer(symbols);
     }
     
     /**
@@ -85,19 +107,17 @@ public class ConditionParser
      * 
      * @author Andreas Schwenk
      */
-    private void parseEXP()
+    private Expression parseEXP()
     {
         // <AND>
-        parseAND();
+        Expression e = parseAND();
         // { “||” <AND> }
         while(lex.getToken() == TOKEN.OR)
         {
-            generatedCondition.neutral += "or ";
-            generatedCondition.C += " || ";
-            generatedCondition.VHDL += " or ";
             lex.getNextToken();
-            parseAND();
+            e = new BinaryExpression(OPERATOR.OR, e, parseAND());
         }
+        return e;
     }
     
     /**
@@ -105,19 +125,17 @@ public class ConditionParser
      * 
      * @author Andreas Schwenk
      */
-    private void parseAND()
+    private Expression parseAND()
     {
         // <COMPARE>
-        parseCOMPARE();
+        Expression e = parseCOMPARE();
         // { "&&" <COMPARE> }
         while(lex.getToken() == TOKEN.AND)
         {
-            generatedCondition.neutral += "and ";
-            generatedCondition.C += " && ";
-            generatedCondition.VHDL += " and ";
             lex.getNextToken();
-            parseCOMPARE();
+            e = new BinaryExpression(OPERATOR.AND, e, parseCOMPARE());
         }
+        return e;
     }
     
     /**
@@ -127,62 +145,51 @@ public class ConditionParser
      * 
      * @author Andreas Schwenk
      */
-    private void parseCOMPARE()
+    private Expression parseCOMPARE()
     {
         // <UNARY>
-        SigVar lhs_Type = parseUNARY(null); // type of lhs (:= left hand side)
+        Expression e = parseUNARY(null);
+        SigVar lhs_Type = (e instanceof SymbolExpression)
+                ? ((SymbolExpression)e).getSymbol() : null; // type of lhs (:= left hand side)
+        boolean lhs_Bit = lhs_Type != null && lhs_Type.getType() == SIGVAR_TYPE.BIT;
         // { “==” <UNARY> } | { “<>” <UNARY> }
         while(lex.getToken() == TOKEN.EQUALS || lex.getToken() == TOKEN.UNEQUAL
            || lex.getToken() == TOKEN.LESS || lex.getToken() == TOKEN.LESS_EQUAL
            || lex.getToken() == TOKEN.GREATER || lex.getToken() == TOKEN.GREATER_EQUAL)
         {
+            OPERATOR op;
             if(lex.getToken() == TOKEN.EQUALS)
-            {
-                generatedCondition.neutral += "equal ";
-                generatedCondition.C += "==";
-                generatedCondition.VHDL += "=";
-            }
+                op = OPERATOR.EQUAL;
             else if(lex.getToken() == TOKEN.UNEQUAL)
-            {
-                generatedCondition.neutral += "not_equal ";
-                generatedCondition.C += "!=";
-                generatedCondition.VHDL += "/=";
-            }
+                op = OPERATOR.NOT_EQUAL;
             else if(lex.getToken() == TOKEN.LESS)
             {
-                if(lhs_Type.getType() == SIGVAR_TYPE.BIT)
-                    errorStr = "'<' nicht auf Typ 'BIT' anwendbar";
-                generatedCondition.neutral += "less_than ";
-                generatedCondition.C += "<";
-                generatedCondition.VHDL += "<";
+                if(lhs_Bit)
+                    setError("'<' nicht auf Typ 'BIT' anwendbar");
+                op = OPERATOR.LESS;
             }
             else if(lex.getToken() == TOKEN.LESS_EQUAL)
             {
-                if(lhs_Type.getType() == SIGVAR_TYPE.BIT)
-                    errorStr = "'<=' nicht auf Typ 'BIT' anwendbar";
-                generatedCondition.neutral += "less_equal ";
-                generatedCondition.C += "<=";
-                generatedCondition.VHDL += "<=";
+                if(lhs_Bit)
+                    setError("'<=' nicht auf Typ 'BIT' anwendbar");
+                op = OPERATOR.LESS_EQUAL;
             }
             else if(lex.getToken() == TOKEN.GREATER)
             {
-                if(lhs_Type.getType() == SIGVAR_TYPE.BIT)
-                    errorStr = "'>' nicht auf Typ 'BIT' anwendbar";
-                generatedCondition.neutral += "greater_than ";
-                generatedCondition.C += ">";
-                generatedCondition.VHDL += ">";
+                if(lhs_Bit)
+                    setError("'>' nicht auf Typ 'BIT' anwendbar");
+                op = OPERATOR.GREATER;
             }
-            else if(lex.getToken() == TOKEN.GREATER_EQUAL)
+            else
             {
-                if(lhs_Type.getType() == SIGVAR_TYPE.BIT)
-                    errorStr = "'>=' nicht auf Typ 'BIT' anwendbar";
-                generatedCondition.neutral += "greater_equal ";
-                generatedCondition.C += ">=";
-                generatedCondition.VHDL += ">=";
+                if(lhs_Bit)
+                    setError("'>=' nicht auf Typ 'BIT' anwendbar");
+                op = OPERATOR.GREATER_EQUAL;
             }
             lex.getNextToken();
-            parseUNARY(lhs_Type);
+            e = new BinaryExpression(op, e, parseUNARY(lhs_Type));
         }
+        return e;
     }
     
     /**
@@ -190,14 +197,14 @@ public class ConditionParser
      * 
      * Rev. 1.2 Fehlerbeseitigung in Codeerzeugung VHDL 
      * 
+     * @param typeIn left-hand side of the comparison (null: none)
+     * @return node (null in case of an error)
      * 
      * @author Andreas Schwenk, Georg Hartung (R1.2)
      * 
      */
-    private SigVar parseUNARY(SigVar typeIn)
+    private Expression parseUNARY(SigVar typeIn)
     {
-        SigVar typeOut=null;
-        
         boolean not=false;
         // [“!”]
         if(lex.getToken() == TOKEN.NOT)
@@ -208,34 +215,23 @@ public class ConditionParser
         // “(“ <EXP> “)”
         if(lex.getToken() == TOKEN.LPARENTH)
         {
-            if(not)
-            {
-                generatedCondition.neutral += "not ";
-                generatedCondition.C += "!";
-                generatedCondition.VHDL += "not ";
-            }
-            generatedCondition.neutral += "( ";
-            generatedCondition.C += " (";
-            generatedCondition.VHDL += " (";
             lex.getNextToken();
             // <EXP>
-            parseEXP();
+            Expression inner = parseEXP();
             // ")"
             if(lex.getToken() == TOKEN.RPARENTH)
             {
-                generatedCondition.neutral += ") ";
-                generatedCondition.C += ") ";
-                generatedCondition.VHDL += ") ";
                 lex.getNextToken();
             }
             // error-handling
             else
             {
                 if(lex.getToken() == TOKEN.UNKNOWN)
-                    errorStr = "unbekanntes Symbol '"+lex.getUnknownCharacter()+"'";
+                    setError("unbekanntes Symbol '"+lex.getUnknownCharacter()+"'");
                 else
-                    errorStr = ") fehlt";
+                    setError(") fehlt");
             }
+            return new ParenthesizedExpression(not, inner);
         }
         // <SIGNAL> | <VARIABLE>
         else if(lex.getToken() == TOKEN.IDENTIFIER)
@@ -244,132 +240,62 @@ public class ConditionParser
             
             lex.getNextToken();
             
-            boolean isSignal=false;
-            boolean isVariable=false;
-            
-            // IDENTIFIER == input-signal?
-            Signal s=null;
-            // search identifier in input-signal-list
-            Iterator it=inputSignals.iterator();
-            while(it.hasNext())
-            {
-                s = (Signal)it.next();
-                if(s.getName().equals(identifier))
-                {
-                    isSignal = true;
-                    typeOut = s;
-                    break;
-                }
-            }
-            // IDENTIFIER == variable?
-            Variable v=null;
-            // search identifier in variable-list
-            it=variables.iterator();
-            while(it.hasNext())
-            {
-                v = (Variable)it.next();
-                if(v.getName().equals(identifier))
-                {
-                    isVariable = true;
-                    typeOut = v;
-                    break;
-                }
-            }
+            // IDENTIFIER == input-signal? IDENTIFIER == variable?
+            Signal s=symbols.getSignal(identifier, SIGNAL_DIRECTION.IN);
+            Variable v=symbols.getVariable(identifier);
             
             // error-handling
-            if(isSignal || isVariable)
+            if(s == null && v == null)
             {
-                if(not)
-                {
-                    // special handling for VHDL:
-                    //  "!Signal" or "!Variable" is translated to => "(Signal='0')" or "(Variable='0')"
-                    //  note: this is only done in case of bit; otherwise: behavior not yet defined
-                    if(isSignal && s.getType()==SIGVAR_TYPE.BIT)
-                        generatedCondition.VHDL += "(" + s.getName().toUpperCase()+"='0')";
-                    else if(isVariable && v.getType()==SIGVAR_TYPE.BIT)
-                        generatedCondition.VHDL += "(" + v.getName().toUpperCase()+"='0')";
-                    else
-                        generatedCondition.VHDL += "not " + identifier.toUpperCase();
-                    // neutral, C:
-                    generatedCondition.neutral += "not " + identifier +" ";
-                    if (isSignal) {
-                        generatedCondition.C += "!(inV->" + identifier +")";
-                    }
-                    else {
-                        generatedCondition.C += "!" + identifier;
-                    }
-                }
-                else
-                {
-                    // special handling for VHDL:
-                    //  "Signal" or "Variable" is translated to => "Signal='1'" or "Variable='1'"
-                    //  note: this is only done in case of bit; otherwise: behavior not yet defined
-                    if(isSignal && s.getType()==SIGVAR_TYPE.BIT
-                           /* && lex.getToken() != TOKEN.EQUALS && lex.getToken() != TOKEN.UNEQUAL*/)
-                        generatedCondition.VHDL += "(" + s.getName().toUpperCase()+"='1')";
-                    else if(isVariable && v.getType()==SIGVAR_TYPE.BIT
-                            /*&& lex.getToken() != TOKEN.EQUALS && lex.getToken() != TOKEN.UNEQUAL*/)
-                        generatedCondition.VHDL += "(" + v.getName().toUpperCase()+"='1')";
-                    else
-                        generatedCondition.VHDL += identifier.toUpperCase();
-                    // neutral, C
-                    generatedCondition.neutral += identifier+" ";
-                    if (isSignal) {
-                        generatedCondition.C += "(inV->" + identifier +")";
-                    }
-                    else {
-                        generatedCondition.C += identifier;
-                    }
-                }
-            }   
-            else
-            {
-                errorStr = "Symbol/Variable '"+identifier+"' unbekannt." ;
+                setError("Symbol/Variable '"+identifier+"' unbekannt." );
+                return null;
             }
+            return new SymbolExpression(identifier, not, s, v);
         }
-        // <NUMBER>
+        // <NUMBER> (a negation is ignored)
         else if(lex.getToken() == TOKEN.NUMBER)
         {
-            generatedCondition.neutral += lex.getNumber()+" ";
-            generatedCondition.C += lex.getNumber();
-            // VHDL: number has to be converted according to type
-            if(typeIn != null)
-            {
-                switch(typeIn.getType())
-                {
-                    case BIT:
-                        generatedCondition.VHDL += "'"+lex.getNumber()+"'";
-                        break;
-                    case BIT_N:
-                        generatedCondition.VHDL += "\"" + String.format("%"+typeIn.getBitLength()+"s", 
-                                Integer.toBinaryString(lex.getNumber())).replace(" ", "0")  + "\"";
-                        break;
-                    case SIGNED:
-                        generatedCondition.VHDL += lex.getNumber();
-                        break;
-                    case UNSIGNED:
-                        generatedCondition.VHDL += lex.getNumber();
-                        break;
-                }
-            }
-            else
-            {
-                generatedCondition.VHDL += lex.getNumber();
-            }
-            
+            Expression e = new NumberExpression(lex.getNumber(), typeIn);
             lex.getNextToken();
+            return e;
         }
         else if(lex.getToken() == TOKEN.INVALID_NUMBER)
         {
-            errorStr = "ungültiges Format für eine Zahl";
+            setError("ungültiges Format für eine Zahl");
         }
         // unknown token
         else
         {
-            errorStr = "Syntaxfehler!";
+            setError("Syntaxfehler!");
         }
         
-        return typeOut;
+        return null;
+    }
+    
+    /**
+     * Enables the minimization of the conditions (C and VHDL only; the
+     * neutral form, e. g. for SCXML, is kept as written).
+     * 
+     * @param minimize true: minimize
+     * 
+     * @author Andreas Schwenk
+     */
+    public void setMinimize(boolean minimize) {
+        this.minimize = minimize;
+    }
+    
+    /**
+     * @return true, if conditions are minimized
+     */
+    public boolean isMinimize() {
+        return minimize;
+    }
+
+    /**
+     * @return symbol-table, against which the names are resolved
+     */
+    public SymbolTable getSymbolTable() {
+        return symbols;
     }
     
     /**
@@ -387,16 +313,15 @@ public class ConditionParser
         // init generated condition
         generatedCondition = new GeneratedCondition();
 
-        // create a new instance for tokenizing
-        lex = new Lexer();
-
         // reset errors
         errorStr = null;
+        errorPos = -1;
+        errorLength = 0;
         // set string to tokenizer (lexer)
-        lex.setString((str+'\0').toCharArray());
+        lex.setString(str);
         
         // parse expression (condition)
-        parseEXP();
+        Expression ast = parseEXP();
         
         // only acceptable if...
         //  (i)  no errors
@@ -404,18 +329,29 @@ public class ConditionParser
         if(errorStr == null && lex.getToken()==TOKEN.END)
         {
             //log.append("parsing OK");
+            generatedCondition.ast = ast;
+            generatedCondition.neutral = neutralEmitter.emit(ast);
+            if(minimize)
+                ast = ConditionMinimizer.minimize(ast);
+            generatedCondition.C = cEmitter.emit(ast);
+            generatedCondition.VHDL = vhdlEmitter.emit(ast);
             return true;
         }
 
         if(errorStr != null)
-            log.append(" -> " + errorStr);
+            log.append(new Diagnostic(SEVERITY.ERROR, CODE.PARSER, -1, errorPos, errorLength,
+                    " -> " + errorStr));
         
         if(lex.getToken()!=TOKEN.END)
         {
             if(lex.getToken() == TOKEN.UNKNOWN)
-                log.append(" -> " + "Unbekanntes Symbol: '" + lex.getUnknownCharacter() + "'");
+                log.append(new Diagnostic(SEVERITY.ERROR, CODE.PARSER, -1, lex.getTokenPosition(),
+                        lex.getTokenEnd()-lex.getTokenPosition(),
+                        " -> " + "Unbekanntes Symbol: '" + lex.getUnknownCharacter() + "'"));
             else
-                log.append(" -> " + "Unerwartetes Token: '" + lex.getToken() + "'");
+                log.append(new Diagnostic(SEVERITY.ERROR, CODE.PARSER, -1, lex.getTokenPosition(),
+                        lex.getTokenEnd()-lex.getTokenPosition(),
+                        " -> " + "Unerwartetes Token: '" + lex.getToken() + "'"));
         }
         
         return false;
@@ -433,6 +369,30 @@ public class ConditionParser
         return log.getLogString();
     }
 
+    /**
+     * return the diagnostics of the last parsing
+     * 
+     * @return log (component-id not set; offsets relative to the parsed string)
+     * 
+     * @author Andreas Schwenk
+     */
+    public Log getLog()
+    {
+        return log;
+    }
+
+    /**
+     * sets the error-message; the position of the current token is stored
+     * 
+     * @param str error-message
+     */
+    private void setError(String str)
+    {
+        errorStr = str;
+        errorPos = lex.getTokenPosition();
+        errorLength = lex.getTokenEnd()-errorPos;
+    }
+
     /**
      * get generated condition
      * 
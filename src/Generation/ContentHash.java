@@ -0,0 +1,229 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       ContentHash
+ * Created:     2026-10-19
+ */
+
+package Generation;
+
+import Graph.Component;
+import Graph.Graph;
+import Graph.Signal;
+import Graph.State;
+import Graph.Transition;
+import Graph.Variable;
+import java.awt.Point;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+
+/**
+ * SHA-256 hash over the semantic content of a graph: name, type, signals,
+ * variables, states and transitions (names, descriptions, conditions,
+ * output-vectors, variable-assignments and the order of all elements).
+ * Positions and sizes are only included on request (SCXML contains them).
+ *
+ * Two graphs with the same hash produce the same verification-log and the
+ * same generated code.
+ *
+ * @author Andreas Schwenk
+ */
+public class ContentHash
+{
+    // *** CONSTANTS ***
+    private static final int FORMAT = 3; // increment, if the hashed content changes
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    // *** ATTRIBUTES ***
+    private MessageDigest md;
+
+    // *** METHODS ***
+
+    private ContentHash()
+    {
+        try
+        {
+            md = MessageDigest.getInstance("SHA-256");
+        }
+        catch(NoSuchAlgorithmException e)
+        {
+            // SHA-256 is available on all Java platforms
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * computes the hash of a graph
+     *
+     * @param graph graph
+     * @param includeLayout true: positions and sizes of the states are included
+     * @return hash (hexadecimal)
+     *
+     * @author Andreas Schwenk
+     */
+    public static String compute(Graph graph, boolean includeLayout)
+    {
+        ContentHash h = new ContentHash();
+        h.add(FORMAT);
+        h.add(graph.getName());
+        h.add(String.valueOf(graph.getGraphType()));
+        h.add(String.valueOf(graph.getStateEncoding()));
+        h.add(String.valueOf(graph.getVhdlArchitecture()));
+        h.add(String.valueOf(graph.getRegisteredMealyOutputs()));
+
+        // signals
+        h.add(graph.getSignals().size());
+        Iterator<Signal> itSig = graph.getSignals().iterator();
+        Signal s;
+        while(itSig.hasNext())
+        {
+            s = itSig.next();
+            h.add(s.getName());
+            h.add(s.getDescription());
+            h.add(String.valueOf(s.getType()));
+            h.add(s.getBitLength());
+            h.add(String.valueOf(s.getDirection()));
+        }
+
+        // variables
+        h.add(graph.getVariables().size());
+        Iterator<Variable> itVar = graph.getVariables().iterator();
+        Variable v;
+        while(itVar.hasNext())
+        {
+            v = itVar.next();
+            h.add(v.getName());
+            h.add(v.getDescription());
+            h.add(String.valueOf(v.getType()));
+            h.add(v.getBitLength());
+        }
+
+        // components are referenced by their index (ids differ after loading)
+        IdentityHashMap<Component, Integer> index = new IdentityHashMap<Component, Integer>();
+        Iterator<Component> itComp = graph.getComponents().iterator();
+        while(itComp.hasNext())
+            index.put(itComp.next(), index.size());
+
+        h.add(index.size());
+        itComp = graph.getComponents().iterator();
+        Component c;
+        while(itComp.hasNext())
+        {
+            c = itComp.next();
+            if(c instanceof State)
+            {
+                State state = (State)c;
+                h.add("S");
+                h.add(state.getName());
+                h.add(state.getDescription());
+                h.add(state.getMooreOutputString());
+                h.add(state.isVariableAssignmentsEnabled() ? 1 : 0);
+                h.add(state.getVariableAssignments());
+                h.add(state.getTransitions().size());
+                Iterator<Transition> itTrans = state.getTransitions().iterator();
+                while(itTrans.hasNext())
+                    h.add(h.indexOf(index, itTrans.next()));
+                if(includeLayout)
+                {
+                    h.add(state.getPosition());
+                    h.add(state.getSize());
+                }
+            }
+            else if(c instanceof Transition)
+            {
+                Transition t = (Transition)c;
+                h.add("T");
+                h.add(t.getCondition());
+                h.add(t.getMealyOutputString());
+                h.add(h.indexOf(index, t.getFromState()));
+                h.add(h.indexOf(index, t.getToState()));
+            }
+            else
+                h.add(c.getClass().getName());
+        }
+
+        // start node
+        Transition startNode = graph.getStartNode();
+        if(startNode == null)
+            h.add(-1);
+        else
+        {
+            h.add(h.indexOf(index, startNode));
+            h.add(startNode.getCondition());
+            h.add(startNode.getMealyOutputString());
+            h.add(h.indexOf(index, startNode.getToState()));
+        }
+
+        return h.digest();
+    }
+
+    /**
+     * hash over some strings (e. g. to combine a content-hash and options)
+     *
+     * @param parts strings
+     * @return hash (hexadecimal)
+     *
+     * @author Andreas Schwenk
+     */
+    public static String compute(String... parts)
+    {
+        ContentHash h = new ContentHash();
+        h.add(parts.length);
+        for(int i=0; i<parts.length; i++)
+            h.add(parts[i]);
+        return h.digest();
+    }
+
+    private int indexOf(IdentityHashMap<Component, Integer> index, Component c)
+    {
+        if(c == null)
+            return -1;
+        Integer i = index.get(c);
+        return (i == null) ? -2 : i;
+    }
+
+    private void add(int n)
+    {
+        md.update((byte)(n >>> 24));
+        md.update((byte)(n >>> 16));
+        md.update((byte)(n >>> 8));
+        md.update((byte)n);
+    }
+
+    // strings are prefixed by their length (unambiguous concatenation)
+    private void add(String str)
+    {
+        if(str == null)
+        {
+            add(-1);
+            return;
+        }
+        byte[] b = str.getBytes(UTF8);
+        add(b.length);
+        md.update(b);
+    }
+
+    private void add(Point p)
+    {
+        add(p.x);
+        add(p.y);
+    }
+
+    private String digest()
+    {
+        byte[] d = md.digest();
+        StringBuilder sb = new StringBuilder(2*d.length);
+        for(int i=0; i<d.length; i++)
+        {
+            sb.append(Character.forDigit((d[i] >> 4) & 0xF, 16));
+            sb.append(Character.forDigit(d[i] & 0xF, 16));
+        }
+        return sb.toString();
+    }
+}
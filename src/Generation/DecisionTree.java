@@ -0,0 +1,207 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       DecisionTree
+ * Created:     2026-10-19
+ */
+
+package Generation;
+
+import Generation.ConditionMinimizer.Cube;
+import Generation.ConditionMinimizer.LimitExceededException;
+import Generation.Ast.Expression;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiles the outgoing transitions of a state into one decision tree
+ * (Shannon expansion). The transitions are tested in their order (the first
+ * transition with a true condition is taken); instead of testing each
+ * condition on its own, each atom (signal / variable used as boolean or
+ * comparison) is tested at most once on each path of the tree.
+ *
+ * The atom to test next is taken from the first undecided condition; among
+ * its atoms the one that occurs in the most other conditions is chosen.
+ * Tests, whose both branches lead to the same decision, are left out.
+ *
+ * @author Andreas Schwenk
+ */
+public class DecisionTree
+{
+    // *** SUBCLASSES ***
+
+    /**
+     * node of the tree: either a test or a decision (leaf)
+     *
+     * @author Andreas Schwenk
+     */
+    public static class Node
+    {
+        // test (null: leaf)
+        public final Expression test;        // atom
+        public final Expression testNegated; // negated atom
+        public final Node whenTrue, whenFalse;
+        // leaf: index of the taken transition (-1: no transition)
+        public final int transition;
+
+        Node(int transition)
+        {
+            this.test = null;
+            this.testNegated = null;
+            this.whenTrue = null;
+            this.whenFalse = null;
+            this.transition = transition;
+        }
+
+        Node(Expression test, Expression testNegated, Node whenTrue, Node whenFalse)
+        {
+            this.test = test;
+            this.testNegated = testNegated;
+            this.whenTrue = whenTrue;
+            this.whenFalse = whenFalse;
+            this.transition = -1;
+        }
+
+        public boolean isLeaf()
+        {
+            return test == null;
+        }
+
+        // same decisions for all inputs (tests are compared by the atoms)
+        boolean sameAs(Node n)
+        {
+            if(this == n)
+                return true;
+            if(isLeaf() || n.isLeaf())
+                return isLeaf() && n.isLeaf() && transition == n.transition;
+            return test == n.test && whenTrue.sameAs(n.whenTrue) && whenFalse.sameAs(n.whenFalse);
+        }
+    }
+
+    // *** CONSTANTS ***
+    private static final int MAX_NODES = 256;
+
+    // *** ATTRIBUTES ***
+    private final ConditionMinimizer atoms = new ConditionMinimizer();
+    private final ArrayList<Expression> tests = new ArrayList<Expression>();
+    private final ArrayList<Expression> negatedTests = new ArrayList<Expression>();
+    private int nodes = 0;
+
+    // *** METHODS ***
+
+    private DecisionTree()
+    {
+        /* empty */
+    }
+
+    /**
+     * builds the decision tree of a state
+     *
+     * @param conditions syntax-trees of the conditions of the outgoing
+     *                   transitions (in the order of testing)
+     * @return root of the tree or null, if the tree would be too large (the
+     *         conditions have to be tested one after another)
+     *
+     * @author Andreas Schwenk
+     */
+    public static Node build(List<Expression> conditions)
+    {
+        DecisionTree t = new DecisionTree();
+        try
+        {
+            ArrayList<ArrayList<Cube>> covers = new ArrayList<ArrayList<Cube>>();
+            for(int i=0; i<conditions.size(); i++)
+                covers.add(t.atoms.toCover(conditions.get(i), false));
+            return t.build(covers);
+        }
+        catch(LimitExceededException ex)
+        {
+            return null;
+        }
+    }
+
+    private Node build(ArrayList<ArrayList<Cube>> covers) throws LimitExceededException
+    {
+        if(++nodes > MAX_NODES)
+            throw new LimitExceededException();
+
+        // first condition, that is not false
+        int first = 0;
+        while(first < covers.size() && covers.get(first).isEmpty())
+            first++;
+        if(first == covers.size())
+            return new Node(-1);
+        if(ConditionMinimizer.isUniversal(covers.get(first)))
+            return new Node(first);
+
+        // atom to test
+        long candidates = 0;
+        ArrayList<Cube> f = covers.get(first);
+        for(int i=0; i<f.size(); i++)
+            candidates |= f.get(i).pos | f.get(i).neg;
+        long best = 0;
+        int bestCount = -1;
+        while(candidates != 0)
+        {
+            long bit = Long.lowestOneBit(candidates);
+            candidates &= ~bit;
+            int count = 0;
+            for(int j=first; j<covers.size(); j++)
+            {
+                ArrayList<Cube> g = covers.get(j);
+                for(int i=0; i<g.size(); i++)
+                {
+                    if(((g.get(i).pos | g.get(i).neg) & bit) != 0)
+                    {
+                        count++;
+                        break;
+                    }
+                }
+            }
+            if(count > bestCount)
+            {
+                best = bit;
+                bestCount = count;
+            }
+        }
+
+        Node whenTrue = build(cofactor(covers, first, best, true));
+        Node whenFalse = build(cofactor(covers, first, best, false));
+        if(whenTrue.sameAs(whenFalse))
+            return whenTrue;
+        int atom = Long.numberOfTrailingZeros(best);
+        return new Node(getTest(atom, false), getTest(atom, true), whenTrue, whenFalse);
+    }
+
+    // conditions before 'first' are false and are not needed any more
+    private static ArrayList<ArrayList<Cube>> cofactor(ArrayList<ArrayList<Cube>> covers, int first,
+            long bit, boolean value)
+    {
+        ArrayList<ArrayList<Cube>> result = new ArrayList<ArrayList<Cube>>();
+        for(int j=0; j<covers.size(); j++)
+        {
+            if(j < first)
+                result.add(covers.get(j));
+            else
+                result.add(ConditionMinimizer.cofactor(covers.get(j), bit, value));
+        }
+        return result;
+    }
+
+    // each test is created once (nodes compare tests by identity)
+    private Expression getTest(int atom, boolean negated)
+    {
+        while(tests.size() <= atom)
+        {
+            tests.add(null);
+            negatedTests.add(null);
+        }
+        ArrayList<Expression> list = negated ? negatedTests : tests;
+        if(list.get(atom) == null)
+            list.set(atom, atoms.toLiteral(atom, negated));
+        return list.get(atom);
+    }
+}
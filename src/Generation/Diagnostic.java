@@ -0,0 +1,172 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       Diagnostic
+ * Created:     2026-10-19
+ */
+
+package Generation;
+
+/**
+ * A single entry of the log (error, warning or information).
+ * Entries are immutable.
+ *
+ * @author Andreas Schwenk
+ */
+public class Diagnostic
+{
+    // *** ENUMERATIONS ***
+    public enum SEVERITY
+    {
+        ERROR, WARNING, INFO
+    }
+
+    public enum CODE
+    {
+        /** plain message (no specific error) **/
+        MESSAGE("I000"),
+        /** summary of a verification / generation **/
+        SUMMARY("I001"),
+        /** equivalent states have been merged (see StateMinimizer) **/
+        STATES_MERGED("I100"),
+        /** name of the project is not an identifier **/
+        INVALID_PROJECT_NAME("E100"),
+        /** no start-node **/
+        NO_START_NODE("E101"),
+        /** name of a variable, signal or state is not an identifier **/
+        INVALID_NAME("E110"),
+        /** two symbols of the same kind have the same name **/
+        DUPLICATE_NAME("E111"),
+        /** name is used by symbols of different kinds **/
+        NAME_CONFLICT("E112"),
+        /** reserved identifier (reset, clk, shl, shr) **/
+        RESERVED_NAME("E113"),
+        /** syntax-error in a transition-condition **/
+        CONDITION_SYNTAX("E200"),
+        /** syntax-error in an output-vector **/
+        OUTPUT_VECTOR_SYNTAX("E210"),
+        /** syntax-error in a variable-assignment **/
+        VARIABLE_ASSIGNMENT_SYNTAX("E220"),
+        /** detailed message of a parser **/
+        PARSER("E300"),
+        /** graph cannot be converted (Moore / Mealy, see GraphConverter) **/
+        NOT_CONVERTIBLE("E400"),
+        /** requested VHDL-architecture ROM not possible (default generated) **/
+        ROM_NOT_POSSIBLE("W500");
+
+        private final String id;
+
+        private CODE(String id)
+        {
+            this.id = id;
+        }
+
+        public String getId() {
+            return id;
+        }
+    }
+
+    // *** ATTRIBUTES ***
+    private final SEVERITY severity;
+    private final CODE code;
+    private final int componentId; // -1: not related to a component
+    private final int offset;      // position in the parsed text; -1: unknown
+    private final int length;      // number of erroneous characters at offset
+    private final String message;
+
+    // *** METHODS ***
+
+    /**
+     * @param severity severity
+     * @param code error code
+     * @param componentId id of the related state or transition (-1: none)
+     * @param offset character offset in the parsed text (-1: unknown)
+     * @param message message (as shown in the log)
+     *
+     * @author Andreas Schwenk
+     */
+    public Diagnostic(SEVERITY severity, CODE code, int componentId, int offset, String message)
+    {
+        this(severity, code, componentId, offset, 0, message);
+    }
+
+    /**
+     * @param severity severity
+     * @param code error code
+     * @param componentId id of the related state or transition (-1: none)
+     * @param offset character offset in the parsed text (-1: unknown)
+     * @param length number of characters (e. g. of the erroneous token)
+     * @param message message (as shown in the log)
+     *
+     * @author Andreas Schwenk
+     */
+    public Diagnostic(SEVERITY severity, CODE code, int componentId, int offset, int length, String message)
+    {
+        this.severity = severity;
+        this.code = code;
+        this.componentId = componentId;
+        this.offset = offset;
+        this.length = length;
+        this.message = message;
+    }
+
+    /**
+     * creates a copy that is related to the given component
+     *
+     * @param componentId id of the state or transition
+     * @return copy
+     *
+     * @author Andreas Schwenk
+     */
+    public Diagnostic forComponent(int componentId)
+    {
+        return new Diagnostic(severity, code, componentId, offset, length, message);
+    }
+
+    public SEVERITY getSeverity() {
+        return severity;
+    }
+
+    public CODE getCode() {
+        return code;
+    }
+
+    public int getComponentId() {
+        return componentId;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * detailed representation (e. g. for the command-line):
+     * "E200 [component 12, offset 4] message"
+     */
+    @Override
+    public String toString()
+    {
+        String s = code.getId();
+        if(componentId >= 0 || offset >= 0)
+        {
+            s += " [";
+            if(componentId >= 0)
+                s += "component " + componentId + (offset >= 0 ? ", " : "");
+            if(offset >= 0)
+                s += "offset " + offset;
+            s += "]";
+        }
+        return s + " " + message.trim();
+    }
+}
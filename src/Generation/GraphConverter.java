@@ -0,0 +1,421 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       GraphConverter
+ * Created:     2026-10-19
+ */
+
+package Generation;
+
+import Generation.Backend.MachineModel;
+import Generation.Backend.StateMinimizer;
+import Generation.Diagnostic.CODE;
+import Generation.Diagnostic.SEVERITY;
+import Generation.OutputVectorParser.GeneratedOutputVector;
+import Graph.Component;
+import Graph.Graph;
+import Graph.Graph.GRAPH_TYPE;
+import Graph.State;
+import Graph.Transition;
+import java.awt.Point;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts a Moore-machine into an equivalent Mealy-machine and vice versa;
+ * the result is minimized (see StateMinimizer).
+ *
+ * The conversion preserves the behaviour of the generated code: an output is
+ * set, when a transition is taken, and held, while no condition holds.
+ *
+ * Moore -> Mealy: the states remain; each transition (and the start-node)
+ * outputs the output-vector of its target-state.
+ *
+ * Mealy -> Moore: each state is split by the output-vectors of its incoming
+ * transitions (incl. the start-node); a copy S_i of the state S outputs the
+ * vector, that has been set when entering S_i. Each transition of S is
+ * copied to all copies of S. The copies are placed cascaded below the
+ * original state.
+ *
+ * Only constant output-vectors can be converted: outputs, that read signals or
+ * variables, are evaluated in each step in a Moore-state, but only once on a
+ * Mealy-transition.
+ *
+ * The graph itself is not changed; the result is a new graph with the same
+ * signals, variables and attributes.
+ *
+ * @author Andreas Schwenk
+ */
+public final class GraphConverter
+{
+    // *** CONSTANTS ***
+    private static final int COPY_OFFSET = 32; // position of copies (Mealy -> Moore)
+
+    // *** ATTRIBUTES ***
+    private final Graph graph;
+    private final Log log = new Log();
+
+    // *** METHODS ***
+
+    /**
+     * @param graph graph that shall be converted
+     *
+     * @author Andreas Schwenk
+     */
+    public GraphConverter(Graph graph)
+    {
+        this.graph = graph;
+    }
+
+    /**
+     * converts the graph (Moore -> Mealy, Mealy -> Moore) and merges
+     * equivalent states of the result
+     *
+     * @return converted graph or null, if the graph cannot be converted (see
+     *         getLog())
+     * @throws IOException java-input-output-exception (copy of the signals and
+     *         variables)
+     *
+     * @author Andreas Schwenk
+     */
+    public Graph convert() throws IOException
+    {
+        log.setLogString("");
+        // (a) verify the graph (generates the output-vectors)
+        Generation generation = new Generation();
+        generation.verifyGraphAndPartialGenerate(graph);
+        if(generation.getLog().count(SEVERITY.ERROR) > 0)
+        {
+            log.append(generation.getLog());
+            log.append(new Diagnostic(SEVERITY.ERROR, CODE.NOT_CONVERTIBLE, -1, -1,
+                    "error: Umwandlung nicht möglich: der Automat ist fehlerhaft"));
+            return null;
+        }
+        if(!checkConstantOutputs())
+            return null;
+
+        // (b) convert
+        GRAPH_TYPE target = (graph.getGraphType() == GRAPH_TYPE.MOORE) ? GRAPH_TYPE.MEALY : GRAPH_TYPE.MOORE;
+        Graph result = createEmptyGraph(target);
+        if(target == GRAPH_TYPE.MEALY)
+            convertMooreToMealy(result);
+        else
+            convertMealyToMoore(result);
+
+        // (c) minimize
+        int states = result.getStates().size();
+        generation = new Generation();
+        generation.verifyGraphAndPartialGenerate(result);
+        if(generation.getLog().count(SEVERITY.ERROR) > 0)
+        {
+            // should never happen: the result of a verified graph is verified
+            log.append(generation.getLog());
+            log.append(new Diagnostic(SEVERITY.ERROR, CODE.NOT_CONVERTIBLE, -1, -1,
+                    "error: Umwandlung nicht möglich: das Ergebnis ist fehlerhaft"));
+            return null;
+        }
+        StateMinimizer minimizer = new StateMinimizer(new MachineModel(result, null));
+        minimizer.minimize();
+        mergeStates(result, minimizer.getRepresentatives());
+        Iterator<String> it = minimizer.getMergedStates().iterator();
+        while(it.hasNext())
+        {
+            log.append(new Diagnostic(SEVERITY.INFO, CODE.STATES_MERGED, -1, -1,
+                    "info: äquivalente Zustände zusammengefasst: " + it.next()));
+        }
+        log.append(new Diagnostic(SEVERITY.INFO, CODE.SUMMARY, -1, -1,
+                "Umwandlung " + graph.getGraphType() + " -> " + target + ": "
+                + graph.getStates().size() + " Zustände -> " + states + " Zustände, "
+                + result.getStates().size() + " nach Minimierung"));
+        return result;
+    }
+
+    /**
+     * @return diagnostics of the last conversion
+     */
+    public Log getLog()
+    {
+        return log;
+    }
+
+    // outputs of all states (Moore) / transitions (Mealy) constant?
+    private boolean checkConstantOutputs()
+    {
+        boolean constant = true;
+        if(graph.getGraphType() == GRAPH_TYPE.MOORE)
+        {
+            Iterator<State> it = graph.getStates().iterator();
+            while(it.hasNext())
+            {
+                State s = it.next();
+                if(!isConstant(s.getGeneratedOutputVector()))
+                {
+                    log.append(new Diagnostic(SEVERITY.ERROR, CODE.NOT_CONVERTIBLE, s.getId(), -1,
+                            "error: Umwandlung nicht möglich: die Ausgabe des Zustands '" + s.getName()
+                            + "' ist nicht konstant"));
+                    constant = false;
+                }
+            }
+        }
+        else
+        {
+            LinkedList<Transition> transitions = graph.getTransitions();
+            transitions.add(graph.getStartNode());
+            Iterator<Transition> it = transitions.iterator();
+            while(it.hasNext())
+            {
+                Transition t = it.next();
+                if(!isConstant(t.getGeneratedOutputVector()))
+                {
+                    log.append(new Diagnostic(SEVERITY.ERROR, CODE.NOT_CONVERTIBLE, t.getId(), -1,
+                            "error: Umwandlung nicht möglich: die Ausgabe des Übergangs '"
+                            + t.getCondition() + "' ist nicht konstant"));
+                    constant = false;
+                }
+            }
+        }
+        return constant;
+    }
+
+    private static boolean isConstant(List<GeneratedOutputVector> llGov)
+    {
+        if(llGov == null)
+            return true;
+        for(int i=0; i<llGov.size(); i++)
+        {
+            if(llGov.get(i).variable != null || llGov.get(i).signal != null)
+                return false;
+        }
+        return true;
+    }
+
+    // copy of the graph (signals, variables, attributes) without components
+    private Graph createEmptyGraph(GRAPH_TYPE target) throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        graph.saveGraph(out);
+        out.flush();
+        Graph result = new Graph();
+        result.loadGraph(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), Graph.FILE_VERSION);
+        result.setGraphType(target);
+        result.deleteAllComponents();
+        return result;
+    }
+
+    // the transitions output the outputs of their target-states
+    private void convertMooreToMealy(Graph result)
+    {
+        HashMap<State, State> copies = new HashMap<State, State>();
+        Iterator<State> itStates = graph.getStates().iterator();
+        while(itStates.hasNext())
+        {
+            State s = itStates.next();
+            copies.put(s, copyState(result, s, s.getName(), 0));
+        }
+        itStates = graph.getStates().iterator();
+        while(itStates.hasNext())
+        {
+            State s = itStates.next();
+            Iterator<Transition> itTrans = s.getTransitions().iterator();
+            while(itTrans.hasNext())
+            {
+                Transition t = itTrans.next();
+                Transition copy = copyTransition(result, t, copies.get(s), copies.get(t.getToState()), 0);
+                copy.setMealyOutputString(t.getToState().getMooreOutputString());
+            }
+        }
+        Transition startNode = graph.getStartNode();
+        Transition copy = copyTransition(result, startNode, null, copies.get(startNode.getToState()), 0);
+        copy.setMealyOutputString(startNode.getToState().getMooreOutputString());
+    }
+
+    // the states are split by the outputs of their incoming transitions
+    private void convertMealyToMoore(Graph result)
+    {
+        // (a) outputs of the incoming transitions (start-node first)
+        HashMap<State, ArrayList<String>> keys = new HashMap<State, ArrayList<String>>();
+        HashMap<String, String> outputs = new HashMap<String, String>();
+        LinkedList<Transition> transitions = graph.getTransitions();
+        transitions.addFirst(graph.getStartNode());
+        Iterator<Transition> itTrans = transitions.iterator();
+        while(itTrans.hasNext())
+        {
+            Transition t = itTrans.next();
+            String key = StateMinimizer.getOutputKey(t.getGeneratedOutputVector());
+            ArrayList<String> k = keys.get(t.getToState());
+            if(k == null)
+            {
+                k = new ArrayList<String>();
+                keys.put(t.getToState(), k);
+            }
+            if(!k.contains(key))
+                k.add(key);
+            if(!outputs.containsKey(key))
+                outputs.put(key, t.getMealyOutputString());
+        }
+
+        // (b) copies of the states (unreachable states: default-output)
+        HashSet<String> names = new HashSet<String>();
+        Iterator<State> itStates = graph.getStates().iterator();
+        while(itStates.hasNext())
+            names.add(itStates.next().getName());
+        HashMap<State, HashMap<String, State>> copies = new HashMap<State, HashMap<String, State>>();
+        itStates = graph.getStates().iterator();
+        while(itStates.hasNext())
+        {
+            State s = itStates.next();
+            HashMap<String, State> c = new HashMap<String, State>();
+            copies.put(s, c);
+            ArrayList<String> k = keys.get(s);
+            if(k == null)
+            {
+                c.put("", copyState(result, s, s.getName(), 0));
+                continue;
+            }
+            int suffix = 1;
+            for(int i=0; i<k.size(); i++)
+            {
+                String name = s.getName();
+                if(i > 0)
+                {
+                    while(names.contains(s.getName() + "_" + suffix))
+                        suffix++;
+                    name = s.getName() + "_" + suffix;
+                    names.add(name);
+                }
+                State copy = copyState(result, s, name, i);
+                copy.setMooreOutputString(outputs.get(k.get(i)));
+                c.put(k.get(i), copy);
+            }
+        }
+
+        // (c) transitions of each copy (same order)
+        itStates = graph.getStates().iterator();
+        while(itStates.hasNext())
+        {
+            State s = itStates.next();
+            ArrayList<String> k = keys.get(s);
+            int n = (k == null) ? 1 : k.size();
+            for(int i=0; i<n; i++)
+            {
+                State from = copies.get(s).get(k == null ? "" : k.get(i));
+                itTrans = s.getTransitions().iterator();
+                while(itTrans.hasNext())
+                {
+                    Transition t = itTrans.next();
+                    State to = copies.get(t.getToState()).get(StateMinimizer.getOutputKey(t.getGeneratedOutputVector()));
+                    copyTransition(result, t, from, to, i);
+                }
+            }
+        }
+        Transition startNode = graph.getStartNode();
+        State to = copies.get(startNode.getToState()).get(StateMinimizer.getOutputKey(startNode.getGeneratedOutputVector()));
+        copyTransition(result, startNode, null, to, 0);
+    }
+
+    // copy of a state; the i-th copy is moved by i offsets
+    private State copyState(Graph result, State s, String name, int i)
+    {
+        State copy = new State(result);
+        copy.setName(name);
+        copy.setDescription(s.getDescription());
+        copy.setPosition(new Point(s.getPosition().x + i * COPY_OFFSET, s.getPosition().y + i * COPY_OFFSET));
+        copy.setVariableAssignments(s.getVariableAssignments(), s.isVariableAssignmentsEnabled());
+        if(s.getMooreOutputString() != null)
+            copy.setMooreOutputString(s.getMooreOutputString());
+        copy.deselect();
+        result.insertComponent(copy);
+        enlarge(result, copy);
+        return copy;
+    }
+
+    // copy of a transition (from == null: start-node); the control-points are
+    // moved with the i-th copy of the "from"-state
+    private Transition copyTransition(Graph result, Transition t, State from, State to, int i)
+    {
+        boolean isStartNode = (from == null);
+        Transition copy = new Transition(result, isStartNode);
+        copy.setCondition(t.getCondition());
+        copy.setDescription(t.getDescription());
+        Iterator<Point> it = t.getCtrlPoints().iterator();
+        while(it.hasNext())
+        {
+            Point p = it.next();
+            copy.addCtrlPoint(new Point(p.x + i * COPY_OFFSET, p.y + i * COPY_OFFSET));
+        }
+        if(isStartNode)
+            copy.setStartNodeStartPos(t.getStartNodeStartPos());
+        else
+            copy.setFromState(new Transition.StateConnection(from, t.getFromDockingPointIndex()));
+        copy.setToState(new Transition.StateConnection(to, t.getToDockingPointIndex()));
+        copy.deselect();
+        if(isStartNode)
+            result.setStartNode(copy);
+        else
+            result.insertComponent(copy);
+        return copy;
+    }
+
+    // the graph has to contain the (moved) copies
+    private static void enlarge(Graph result, State s)
+    {
+        int width = s.getPosition().x + s.getSize().x;
+        int height = s.getPosition().y + s.getSize().y;
+        if(width > result.getWidth())
+            result.setWidth(Math.min(width, 2000));
+        if(height > result.getHeight())
+            result.setHeight(Math.min(height, 2000));
+    }
+
+    // redirects the transitions into merged states to their representatives
+    // and deletes the merged states (incl. their transitions)
+    private static void mergeStates(Graph result, Map<String, String> representatives)
+    {
+        if(representatives.isEmpty())
+            return;
+        HashMap<String, State> states = new HashMap<String, State>();
+        Iterator<State> itStates = result.getStates().iterator();
+        while(itStates.hasNext())
+        {
+            State s = itStates.next();
+            states.put(s.getName(), s);
+        }
+        LinkedList<Component> deleted = new LinkedList<Component>();
+        LinkedList<Transition> transitions = result.getTransitions();
+        transitions.add(result.getStartNode());
+        Iterator<Transition> itTrans = transitions.iterator();
+        while(itTrans.hasNext())
+        {
+            Transition t = itTrans.next();
+            if(!t.getIsStartNode() && representatives.containsKey(t.getFromState().getName()))
+                deleted.add(t);
+            else if(representatives.containsKey(t.getToState().getName()))
+            {
+                State r = states.get(representatives.get(t.getToState().getName()));
+                t.setToState(new Transition.StateConnection(r, t.getToDockingPointIndex()));
+            }
+        }
+        itStates = result.getStates().iterator();
+        while(itStates.hasNext())
+        {
+            State s = itStates.next();
+            if(representatives.containsKey(s.getName()))
+                deleted.add(s);
+        }
+        result.deleteComponents(deleted);
+    }
+}
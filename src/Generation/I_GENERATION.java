@@ -10,6 +10,7 @@
 
 package Generation;
 
+import Generation.Backend.I_BACKEND;
 import Graph.Graph;
 import java.io.File;
 import java.io.IOException;
@@ -24,9 +25,20 @@ public interface I_GENERATION
 {
     // verification
     public String verifyGraphAndPartialGenerate(Graph graph);
+    public Log getLog();
+    
+    // options
+    public void setMinimizeConditions(boolean minimize);
+    public void setDecisionTrees(boolean decisionTrees);
+    public void setTableDriven(boolean tableDriven);
+    public void setReentrant(boolean reentrant);
+    public void setMinimizeStates(boolean minimizeStates);
+    public void setRomBudget(long romBudget);
+    public void setBenchmark(boolean benchmark);
         
     // generation
     public String exportAsSCXML(File file, Graph graph) throws IOException;
     public String generateCode_C(File file_h, File file_c, File file_e,  Graph graph) throws IOException;
     public String generateCode_VHDL(File file, Graph graph, boolean useProcess) throws IOException;
+    public String generate(Graph graph, I_BACKEND... backends) throws IOException;
 }
@@ -9,9 +9,16 @@
  */
 package Generation;
 
+import Graph.SymbolTable;
+
 /**
  * Acts as tokenizer. An input-string (ASCII) is split into tokens
  * that can be used by a parser.
+ *
+ * The input is scanned in place (no copy, no terminating character needed).
+ * Identifiers are stored as a range of the input; the string is created on
+ * request only, names of signals and variables are taken from the
+ * symbol-table (interned). Keywords are recognized by a perfect hash.
  * 
  * @author Andreas Schwenk
  */
@@ -51,55 +58,96 @@ public class Lexer
         END // '\0'
     }
 
+    // *** CONSTANTS ***
+
+    // keywords (lower case); index = keywordHash()
+    private static final String[] KEYWORDS = { "shr", "shl" };
+    private static final TOKEN[] KEYWORD_TOKENS = { TOKEN.SHIFT_RIGHT, TOKEN.SHIFT_LEFT };
+
     // *** ATTRIBUTES ***
     
     // current (ASCII)-character, last (ASCII)-character
     private char ch, lastCh;
     
     // input-string
-    private char[] string;
+    private CharSequence string;
+    private int stringLength;
     // current position of input-string
     private int stringPos;
 
     // number (sequence of figures)
     private int number;
-    // identifier (sequence of alpha-numeric characters)
+    // identifier (sequence of alpha-numeric characters): range of the input
+    private int identifierStart, identifierEnd;
+    // identifier as string (null: not yet requested)
     private String identifier;
     
+    // interns identifiers (null: identifiers are not interned)
+    private SymbolTable symbols;
+    
     // ASCII-character not element of known tokens
     private char unknownCharacter;
     
     // current token
     private TOKEN token;
+    // position of the current token in the input-string
+    private int tokenPos;
        
     // *** METHODS ***
     
     /**
-     * constructor; currently empty
+     * constructor; identifiers are not interned
      * 
      * @author Andreas Schwenk
      */
     public Lexer()
     {
-        /* empty */
+        this(null);
+    }
+    
+    /**
+     * constructor
+     * 
+     * @param symbols names of signals and variables are taken from this table
+     * 
+     * @author Andreas Schwenk
+     */
+    public Lexer(SymbolTable symbols)
+    {
+        this.symbols = symbols;
     }
     
     /**
      * reads the next (ASCII-)character from the input-string
-     * and stores it into "ch" (current character)
+     * and stores it into "ch" (current character);
+     * the end of the input is read as '\0'
      * 
      * @author Andreas Schwenk
      */
     private void readChar()
     {
         // in bounds?
-        if(stringPos < string.length)
+        if(stringPos <= stringLength)
         {
-            ch = string[stringPos];
+            ch = (stringPos < stringLength) ? string.charAt(stringPos) : '\0';
             stringPos ++;
         }
     }
     
+    /**
+     * Perfect hash of the keywords: maps "shl" and "shr" (in any case) to
+     * different indices of KEYWORDS. Other identifiers either have another
+     * length or are rejected by comparing with the keyword at the index.
+     * 
+     * @return index in KEYWORDS or -1, if the identifier is no keyword
+     */
+    private int keywordHash()
+    {
+        if(identifierEnd - identifierStart != 3)
+            return -1;
+        return ((string.charAt(identifierStart+2) | 0x20) >> 2) & 1;
+    }
+    
     /**
      * Get the next token from the input-string
      * the result will be stored in the attribute "token".
@@ -117,25 +165,25 @@ public class Lexer
             lastCh = ch;
         while(ch==' ' || ch=='\t' || ch=='\n')
             readChar();
+        tokenPos = stringPos-1;
         
         // identifier?
         //  starts with a..z | A..Z
         if(ch>='a'&&ch<='z' || ch>='A'&&ch<='Z' || ch=='_')
         {
             token = TOKEN.IDENTIFIER;
-            identifier = "";
+            identifier = null;
+            identifierStart = stringPos-1;
             // read following charaters: { a..z | A..Z | 0..9 }
             do
             {
-                identifier = identifier+ch;
                 readChar();
             } while(ch>='a'&&ch<='z' || ch>='A'&&ch<='Z' || ch>='0'&&ch<='9' || ch=='_');
-            // shl?
-            if(identifier.toLowerCase().equals("shl"))
-                token = TOKEN.SHIFT_LEFT;
-            // shr?
-            if(identifier.toLowerCase().equals("shr"))
-                token = TOKEN.SHIFT_RIGHT;
+            identifierEnd = stringPos-1;
+            // shl? shr?
+            int k = keywordHash();
+            if(k >= 0 && regionEqualsIgnoreCase(KEYWORDS[k]))
+                token = KEYWORD_TOKENS[k];
         }        
         // number (e. g.: 00001010, 0xA, #10, #-10)
         else if(ch=='0' || ch=='1' || ch=='#')
@@ -344,19 +392,49 @@ public class Lexer
     public TOKEN getToken() {
         return token;
     }
+
+    /**
+     * returns the position of the current token in the input-string
+     *
+     * @return character offset (0 = first character)
+     *
+     * @author Andreas Schwenk
+     */
+    public int getTokenPosition() {
+        return tokenPos;
+    }
+
+    /**
+     * returns the end of the current token in the input-string
+     *
+     * @return character offset after the last character of the token
+     *
+     * @author Andreas Schwenk
+     */
+    public int getTokenEnd() {
+        return stringPos-1;
+    }
     
     /**
-     * sets the string that will be lexed (tokenized)
+     * sets the string that will be lexed (tokenized); the string is not copied
      * 
-     * @param str 
+     * @param str input (must not be changed while lexing)
      * 
      * @author Andreas Schwenk
      */
-    public final void setString(char[] str)
+    public final void setString(CharSequence str)
     {
         string = str;
-        ch = string[0];
-        stringPos = 1;
+        stringLength = str.length();
+        // reset (the lexer may be reused)
+        token = null;
+        lastCh = '\0';
+        number = 0;
+        identifier = null;
+        identifierStart = -1;
+        unknownCharacter = '\0';
+        stringPos = 0;
+        readChar();
                 
         getNextToken();
     }
@@ -374,14 +452,33 @@ public class Lexer
 
     /**
      * returns the last read identifier
+     * (names of signals and variables are returned as interned strings)
      * 
      * @return identifier
      * 
      * @author Andreas Schwenk
      */
     public String getIdentifier() {
+        if(identifier == null && identifierStart >= 0)
+        {
+            // names of signals and variables are interned
+            if(symbols != null)
+                identifier = symbols.intern(string, identifierStart, identifierEnd);
+            if(identifier == null)
+                identifier = string.subSequence(identifierStart, identifierEnd).toString();
+        }
         return identifier;
     }
+    
+    private boolean regionEqualsIgnoreCase(String keyword)
+    {
+        for(int i=0; i<keyword.length(); i++)
+        {
+            if((string.charAt(identifierStart+i) | 0x20) != keyword.charAt(i))
+                return false;
+        }
+        return true;
+    }
 
     /**
      * returns the last read number
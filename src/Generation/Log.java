@@ -10,52 +10,195 @@
 
 package Generation;
 
+import Generation.Diagnostic.CODE;
+import Generation.Diagnostic.SEVERITY;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
 /**
  * Logs the overall generation-process; the user gets an overview about error.
+ *
+ * The log is a list of diagnostics (appending is O(1)). The log-string is
+ * rendered on demand only and cached until the next change.
+ *
  * @author Andreas Schwenk
  */
 public class Log
 {
     // *** ATTRIBUTES ***
-    private String logString;
-    
+    private ArrayList<Diagnostic> entries = new ArrayList<Diagnostic>();
+    private String logString = null; // rendered log (null: has to be rendered)
+
     // *** METHODS ***
     /**
      * @author Andreas Schwenk
      */
     public Log()
     {
-        logString = "";
+        /* empty */
     }
-    
+
     /**
-     * writes a new line into the log-string
+     * writes a new line into the log; messages starting with "error:" are
+     * logged as errors, all other messages as information
      * @param msg message to be logged
      * @author Andreas Schwenk
      */
     public void append(String msg)
     {
-        if(logString.length() == 0)
-            logString = msg;
+        if(msg.startsWith("error:"))
+            append(new Diagnostic(SEVERITY.ERROR, CODE.MESSAGE, -1, -1, msg));
         else
-            logString = logString + "\n" + msg;
+            append(new Diagnostic(SEVERITY.INFO, CODE.MESSAGE, -1, -1, msg));
+    }
+
+    /**
+     * appends a diagnostic
+     * @param d diagnostic
+     * @author Andreas Schwenk
+     */
+    public void append(Diagnostic d)
+    {
+        entries.add(d);
+        logString = null;
+    }
+
+    /**
+     * appends all diagnostics of another log
+     * @param log log
+     * @author Andreas Schwenk
+     */
+    public void append(Log log)
+    {
+        entries.addAll(log.entries);
+        logString = null;
+    }
+
+    /**
+     * appends all diagnostics of another log; diagnostics without a
+     * component are related to the given component
+     * @param log log (e. g. of a parser)
+     * @param componentId id of the state or transition
+     * @author Andreas Schwenk
+     */
+    public void append(Log log, int componentId)
+    {
+        Iterator<Diagnostic> it = log.entries.iterator();
+        Diagnostic d;
+        while(it.hasNext())
+        {
+            d = it.next();
+            entries.add(d.getComponentId() < 0 ? d.forComponent(componentId) : d);
+        }
+        logString = null;
+    }
+
+    /**
+     * @return true, if nothing has been logged
+     */
+    public boolean isEmpty() {
+        return entries.isEmpty();
     }
 
     /**
-     * returns the current log-string
+     * @return all diagnostics (read only)
+     */
+    public List<Diagnostic> getDiagnostics() {
+        return Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * gets all diagnostics with the given severity
+     * @param severity severity
+     * @return diagnostics (in logging order)
+     */
+    public List<Diagnostic> getDiagnostics(SEVERITY severity)
+    {
+        ArrayList<Diagnostic> list = new ArrayList<Diagnostic>();
+        for(int i=0; i<entries.size(); i++)
+        {
+            if(entries.get(i).getSeverity() == severity)
+                list.add(entries.get(i));
+        }
+        return list;
+    }
+
+    /**
+     * gets all diagnostics related to the given component
+     * @param componentId id of the state or transition
+     * @return diagnostics (in logging order)
+     */
+    public List<Diagnostic> getDiagnostics(int componentId)
+    {
+        ArrayList<Diagnostic> list = new ArrayList<Diagnostic>();
+        for(int i=0; i<entries.size(); i++)
+        {
+            if(entries.get(i).getComponentId() == componentId)
+                list.add(entries.get(i));
+        }
+        return list;
+    }
+
+    /**
+     * counts the diagnostics with the given severity
+     * @param severity severity
+     * @return number of diagnostics
+     */
+    public int count(SEVERITY severity)
+    {
+        int n = 0;
+        for(int i=0; i<entries.size(); i++)
+        {
+            if(entries.get(i).getSeverity() == severity)
+                n++;
+        }
+        return n;
+    }
+
+    /**
+     * returns the current log-string (one line per message)
      * @author Andreas Schwenk
      */
-    public String getLogString() {
+    public String getLogString()
+    {
+        if(logString == null)
+        {
+            StringBuilder sb = new StringBuilder();
+            for(int i=0; i<entries.size(); i++)
+            {
+                // empty messages at the beginning are not rendered
+                if(sb.length() > 0)
+                    sb.append('\n');
+                sb.append(entries.get(i).getMessage());
+            }
+            logString = sb.toString();
+        }
         return logString;
     }
 
     /**
-     * replaces the current log-string by the given one
+     * replaces the current log by the given string
      * @param logString new log string
      * @author Andreas Schwenk
      */
-    public void setLogString(String logString) {
-        this.logString = logString;
+    public void setLogString(String logString)
+    {
+        entries.clear();
+        if(logString.length() > 0)
+            append(logString);
+        this.logString = null;
+    }
+
+    /**
+     * replaces the current log by the diagnostics of the given log
+     * @param log log
+     * @author Andreas Schwenk
+     */
+    public void set(Log log)
+    {
+        entries.clear();
+        append(log);
     }
-        
 }
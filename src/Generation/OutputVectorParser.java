@@ -12,11 +12,15 @@
  */
 package Generation;
 
+import Generation.Diagnostic.CODE;
+import Generation.Diagnostic.SEVERITY;
 import Generation.Lexer.TOKEN;
 import Graph.SigVar.SIGVAR_TYPE;
 import Graph.Signal;
+import Graph.Signal.SIGNAL_DIRECTION;
+import Graph.SymbolTable;
 import Graph.Variable;
-import java.util.Iterator;
+import java.util.ArrayList;
 import java.util.LinkedList;
 
 /**
@@ -57,14 +61,16 @@ public class OutputVectorParser {
     // *** ENUMERATIONS ***
     // *** ATTRIBUTES ***    
     // Tokenizer
-    private Lexer lex;
+    private final Lexer lex;
     // error-reporting
     private String errorStr;
+    private int errorPos; // position of the error in the input-string
+    private int errorLength; // length of the erroneous token
 
     // all "output"-signals of the graph
-    private LinkedList<Signal> outputSignals;
-    private LinkedList<Signal> inputSignals;
-    private LinkedList<Variable> variables;
+    private ArrayList<Signal> outputSignals;
+    // names of signals and variables
+    private SymbolTable symbols;
 
     // logging (errors and success-messages; shown in the GUI [bottom-left corner])
     private Log log;
@@ -84,17 +90,7 @@ public class OutputVectorParser {
      * @author Andreas Schwenk
      */
     private Variable getVariable(String identifier) {
-        Variable v;
-        // search identifier in variable-list
-        Iterator<Variable> it = variables.iterator();
-        while (it.hasNext()) {
-            v = it.next();
-            if (v.getName().equals(identifier)) {
-                return v;
-            }
-        }
-        // not a variable
-        return null;
+        return symbols.getVariable(identifier);
     }
 
     /**
@@ -106,32 +102,28 @@ public class OutputVectorParser {
      * @author Andreas Schwenk
      */
     private Signal getSignal(String identifier) {
-        Signal v;
-        // search identifier in variable-list
-        Iterator<Signal> it = inputSignals.iterator();
-        while (it.hasNext()) {
-            v = it.next();
-            if (v.getName().equals(identifier)) {
-                return v;
-            }
-        }
-        // not a signal
-        return null;
+        return symbols.getSignal(identifier, SIGNAL_DIRECTION.IN);
     }
 
     /**
      * constructor; output signals (of the graph) are needed for type-check
      *
      * @param outputSignals output-signals of the graph
-     * @param variables variables of the graph
+     * @param symbols symbol-table of the graph (variables, input-signals)
      *
      * @author Andreas Schwenk
      */
-    public OutputVectorParser(LinkedList<Signal> outputSignals,
-            LinkedList<Variable> variables, LinkedList<Signal> inputSignals) {
-        this.outputSignals = outputSignals;
-        this.inputSignals = inputSignals;
-        this.variables = variables;
+    public OutputVectorParser(LinkedList<Signal> outputSignals, SymbolTable symbols) {
+        this.outputSignals = new ArrayList<Signal>(outputSignals);
+        this.symbols = symbols;
+        this.lex = new Lexer(symbols);
+    }
+
+    /**
+     * @return symbol-table, against which the names are resolved
+     */
+    public SymbolTable getSymbolTable() {
+        return symbols;
     }
 
     /**
@@ -162,7 +154,7 @@ public class OutputVectorParser {
         GeneratedOutputVector gov = new GeneratedOutputVector();
 
         if (signalIndex >= outputSignals.size()) {
-            errorStr = "Der angegebene Ausgabevektor hat mehr Elemente als erlaubt (" + outputSignals.size() + ")";
+            setError("Der angegebene Ausgabevektor hat mehr Elemente als erlaubt (" + outputSignals.size() + ")");
             return;
         }
         // ab hier zunaechst den Output einfach scannen. Ob es zum Input passt, erst
@@ -184,7 +176,7 @@ public class OutputVectorParser {
             } else if ((iSgn = getSignal(identifier)) != null) {
                 gov.signal = iSgn;
             } else {
-                errorStr = "Identifier not a Variable or Input Signal";
+                setError("Identifier not a Variable or Input Signal");
             }
             if ((var != null) || (iSgn != null)) {
                 if (lex.getToken() == TOKEN.LPARENTH) {
@@ -202,22 +194,22 @@ public class OutputVectorParser {
                                     if (gov.lowerBound < gov.upperBound) {
                                         gov.isVectorSlice = true;
                                     } else {
-                                        errorStr = "Unter Bereichsgrenze > obere Bereichsgrenze.";
+                                        setError("Unter Bereichsgrenze > obere Bereichsgrenze.");
                                     }
                                 } else {
-                                    errorStr = "Schließende Klammer fehlt.";
+                                    setError("Schließende Klammer fehlt.");
                                 }
                             } else {
-                                errorStr = "Untere Bereichsgrenze muss eine Konstante sein.";
+                                setError("Untere Bereichsgrenze muss eine Konstante sein.");
                             }
                         } else if (lex.getToken() == TOKEN.RPARENTH) {
                             lex.getNextToken();
                             gov.isVectorComponent = true;
                         } else {
-                            errorStr = "Doppelpunkt oder schließende Klammer fehlt";
+                            setError("Doppelpunkt oder schließende Klammer fehlt");
                         }
                     } else {
-                        errorStr = "Index oder obere Bereichsgrenze muss eine Konstante sein.";
+                        setError("Index oder obere Bereichsgrenze muss eine Konstante sein.");
                     }
                 } else {
                     // hier muss nichts passieren. Ausdruck ist Variable
@@ -225,9 +217,9 @@ public class OutputVectorParser {
             } 
             // number invalid?
             else if (lex.getToken() == TOKEN.INVALID_NUMBER) {
-                errorStr = "ungültiges Format für Konstante";
+                setError("ungültiges Format für Konstante");
             } else {
-                errorStr = "erwartet: Konstante oder Variable";
+                setError("erwartet: Konstante oder Variable");
             }
         }
         // generation output
@@ -235,7 +227,7 @@ public class OutputVectorParser {
             case BIT:
                 if (gov.isNumber) {
                     if (gov.value != 0 && gov.value != 1) {
-                        errorStr = "Ausgabesignal '" + s.getName() + "' darf nur 0 oder 1 erhalten";
+                        setError("Ausgabesignal '" + s.getName() + "' darf nur 0 oder 1 erhalten");
                     } else {
                         generatedOutputVector.add(gov);
                     }
@@ -246,7 +238,7 @@ public class OutputVectorParser {
                                 && (gov.upperBound < iSgn.getBitLength())) {
                             generatedOutputVector.add(gov);
                         } else {
-                            errorStr = "Ausgabesignal '" + s.getName() + "' muss gueltige Komponente erhalten";
+                            setError("Ausgabesignal '" + s.getName() + "' muss gueltige Komponente erhalten");
                         }
                     } else if (var != null) {
                         if ((var.getType() == SIGVAR_TYPE.BIT_N)
@@ -254,7 +246,7 @@ public class OutputVectorParser {
                                 && (gov.upperBound < var.getBitLength())) {
                             generatedOutputVector.add(gov);
                         } else {
-                            errorStr = "Ausgabesignal '" + s.getName() + "' muss gueltige Komponente erhalten";
+                            setError("Ausgabesignal '" + s.getName() + "' muss gueltige Komponente erhalten");
                         }
                     }
                 } else if (!gov.isVectorSlice) {
@@ -262,17 +254,17 @@ public class OutputVectorParser {
                         if ((iSgn.getType() == SIGVAR_TYPE.BIT)) {
                             generatedOutputVector.add(gov);
                         } else {
-                            errorStr = "Ausgabesignal '" + s.getName() + "' Falscher Wert";
+                            setError("Ausgabesignal '" + s.getName() + "' Falscher Wert");
                         }
                     } else if (var != null) {
                         if ((var.getType() == SIGVAR_TYPE.BIT)) {
                             generatedOutputVector.add(gov);
                         } else {
-                            errorStr = "Ausgabesignal '" + s.getName() + "' Falscher Wert";
+                            setError("Ausgabesignal '" + s.getName() + "' Falscher Wert");
                         }
                     }
                 } else {
-                    errorStr = "Ausgabesignal '" + s.getName() + "' Kein Bereich erlaubt";
+                    setError("Ausgabesignal '" + s.getName() + "' Kein Bereich erlaubt");
                 }
                 break;
 
@@ -287,7 +279,7 @@ public class OutputVectorParser {
                             && ((gov.isVectorSlice) && (s.getBitLength() == (gov.upperBound - gov.lowerBound + 1)))) {
                         generatedOutputVector.add(gov);
                     } else {
-                        errorStr = "Ausgabesignal '" + s.getName() + "' Wert passt nicht";
+                        setError("Ausgabesignal '" + s.getName() + "' Wert passt nicht");
                     }
                 } else if (gov.variable != null) {
                     if ((gov.variable.getType() == SIGVAR_TYPE.BIT_N)
@@ -297,7 +289,7 @@ public class OutputVectorParser {
                             && ((gov.isVectorSlice) && (s.getBitLength() == (gov.upperBound - gov.lowerBound + 1)))) {
                         generatedOutputVector.add(gov);
                     } else {
-                        errorStr = "Ausgabesignal '" + s.getName() + "' Wert passt nicht";
+                        setError("Ausgabesignal '" + s.getName() + "' Wert passt nicht");
                     }
                 }
                 break;
@@ -309,16 +301,16 @@ public class OutputVectorParser {
                     if (gov.signal.getType() == SIGVAR_TYPE.SIGNED) {
                         generatedOutputVector.add(gov);
                     } else {
-                        errorStr = "Ausgabesignal '" + s.getName() + "' kein signed-Wert";
+                        setError("Ausgabesignal '" + s.getName() + "' kein signed-Wert");
                     }
                 } else if (gov.variable != null) {
                     if (gov.variable.getType() == SIGVAR_TYPE.SIGNED) {
                         generatedOutputVector.add(gov);
                     } else {
-                        errorStr = "Ausgabesignal '" + s.getName() + "' kein signed-Wert";
+                        setError("Ausgabesignal '" + s.getName() + "' kein signed-Wert");
                     }
                 } else {
-                    errorStr = "Ausgabesignal '" + s.getName() + "' kein Zahlen- oder signed-Wert";
+                    setError("Ausgabesignal '" + s.getName() + "' kein Zahlen- oder signed-Wert");
                 }
                 break;
 
@@ -327,22 +319,22 @@ public class OutputVectorParser {
                     if (gov.value >= 0) {
                         generatedOutputVector.add(gov);
                     } else {
-                        errorStr = "Ausgabesignal '" + s.getName() + "' kann keinen negativen Wert erhalten";
+                        setError("Ausgabesignal '" + s.getName() + "' kann keinen negativen Wert erhalten");
                     }
                 } else if (gov.signal != null) {
                     if (gov.signal.getType() == SIGVAR_TYPE.UNSIGNED) {
                         generatedOutputVector.add(gov);
                     } else {
-                        errorStr = "Ausgabesignal '" + s.getName() + "' kein unsigned-Wert";
+                        setError("Ausgabesignal '" + s.getName() + "' kein unsigned-Wert");
                     }
                 } else if (gov.variable != null) {
                     if (gov.variable.getType() == SIGVAR_TYPE.UNSIGNED) {
                         generatedOutputVector.add(gov);
                     } else {
-                        errorStr = "Ausgabesignal '" + s.getName() + "' kein unsigned-Wert";
+                        setError("Ausgabesignal '" + s.getName() + "' kein unsigned-Wert");
                     }
                 } else {
-                    errorStr = "Ausgabesignal '" + s.getName() + "' kein Zahlen- oder unsigned-Wert";
+                    setError("Ausgabesignal '" + s.getName() + "' kein Zahlen- oder unsigned-Wert");
                 }
                 break;
         }
@@ -363,7 +355,7 @@ public class OutputVectorParser {
             if (str.length() == 0) {
                 return true;
             } else {
-                log.append(" -> keine Ausgabesignale vorhanden");
+                log.append(new Diagnostic(SEVERITY.ERROR, CODE.PARSER, -1, 0, " -> keine Ausgabesignale vorhanden"));
                 return false;
             }
         }
@@ -371,23 +363,21 @@ public class OutputVectorParser {
         // init generated output-vector
         generatedOutputVector = new LinkedList<GeneratedOutputVector>();
 
-        // create a new instance for tokenizing
-        lex = new Lexer();
-
         signalIndex = 0;
         // reset errors
         errorStr = null;
+        errorPos = -1;
+        errorLength = 0;
 
         // set string to tokenizer (lexer)
-        lex.setString(
-                (str + '\0').toCharArray());
+        lex.setString(str);
 
         // parse expression (condition)
         parseOUTPUT_VEC();
 
         if (str.length()
                 == 0 || signalIndex != outputSignals.size() - 1) {
-            errorStr = "Ausgabevektor mit falscher Länge, bzw. Parsen fehlerhaft";
+            setError("Ausgabevektor mit falscher Länge, bzw. Parsen fehlerhaft");
         }
 
         // only acceptable if...
@@ -402,15 +392,20 @@ public class OutputVectorParser {
 
         if (errorStr
                 != null) {
-            log.append(" -> " + errorStr);
+            log.append(new Diagnostic(SEVERITY.ERROR, CODE.PARSER, -1, errorPos, errorLength,
+                    " -> " + errorStr));
         }
 
         if (lex.getToken()
                 != TOKEN.END) {
             if (lex.getToken() == TOKEN.UNKNOWN) {
-                log.append(" -> " + "Unbekanntes Symbol: '" + lex.getUnknownCharacter() + "'");
+                log.append(new Diagnostic(SEVERITY.ERROR, CODE.PARSER, -1, lex.getTokenPosition(),
+                        lex.getTokenEnd()-lex.getTokenPosition(),
+                        " -> " + "Unbekanntes Symbol: '" + lex.getUnknownCharacter() + "'"));
             } else {
-                log.append(" -> " + "Unerwartetes Token: '" + lex.getToken() + "'");
+                log.append(new Diagnostic(SEVERITY.ERROR, CODE.PARSER, -1, lex.getTokenPosition(),
+                        lex.getTokenEnd()-lex.getTokenPosition(),
+                        " -> " + "Unerwartetes Token: '" + lex.getToken() + "'"));
             }
         }
 
@@ -428,6 +423,28 @@ public class OutputVectorParser {
         return log.getLogString();
     }
 
+    /**
+     * return the diagnostics of the last parsing
+     *
+     * @return log (component-id not set; offsets relative to the parsed string)
+     *
+     * @author Andreas Schwenk
+     */
+    public Log getLog() {
+        return log;
+    }
+
+    /**
+     * sets the error-message; the position of the current token is stored
+     *
+     * @param str error-message
+     */
+    private void setError(String str) {
+        errorStr = str;
+        errorPos = lex.getTokenPosition();
+        errorLength = lex.getTokenEnd()-errorPos;
+    }
+
     /**
      * get generated output-vector
      *
@@ -0,0 +1,227 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       ParseCache
+ * Created:     2026-10-19
+ */
+
+package Generation;
+
+import Generation.ConditionParser.GeneratedCondition;
+import Generation.OutputVectorParser.GeneratedOutputVector;
+import Generation.VariableAssignmentParser.GeneratedVarAssignment;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.Map;
+
+/**
+ * Results of the parsers (conditions, output-vectors, variable-assignments),
+ * addressed by the parsed text and the revision of the symbol-table of the
+ * parser. The generated results refer to the signals and variables of that
+ * symbol-table (revisions are unique over all symbol-tables); thus a detached
+ * snapshot (own copies of the signals and variables) never shares results
+ * with the graph.
+ *
+ * Many components share the same text (e. g. the condition "EM" of four
+ * transitions); such texts are parsed once, and all components share the
+ * generated result. Generated results are never changed after parsing.
+ *
+ * The cache is shared by all instances of Generation (verification of the
+ * workflow and live-verification); least recently used entries are dropped.
+ *
+ * @author Andreas Schwenk
+ */
+public class ParseCache
+{
+    // *** SUBCLASSES ***
+
+    /**
+     * result of parsing a text
+     *
+     * @param <T> type of the generated result
+     *
+     * @author Andreas Schwenk
+     */
+    public static class Result<T>
+    {
+        public final boolean success;
+        public final T generated; // null, if not successful
+        public final Log log;     // messages of the parser
+
+        Result(boolean success, T generated, Log log)
+        {
+            this.success = success;
+            this.generated = success ? generated : null;
+            this.log = log;
+        }
+    }
+
+    // kind of the parsed text
+    private enum KIND
+    {
+        CONDITION, CONDITION_MINIMIZED, OUTPUT_VECTOR, VARIABLE_ASSIGNMENT
+    }
+
+    private static class Key
+    {
+        final KIND kind;
+        final String text;
+        final long revision;
+
+        Key(KIND kind, String text, long revision)
+        {
+            this.kind = kind;
+            this.text = text;
+            this.revision = revision;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if(!(o instanceof Key))
+                return false;
+            Key k = (Key)o;
+            return kind == k.kind && revision == k.revision && text.equals(k.text);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return (text.hashCode()*31 + kind.ordinal())*31 + (int)(revision ^ (revision >>> 32));
+        }
+    }
+
+    // *** CONSTANTS ***
+    private static final int MAX_ENTRIES = 4096;
+
+    // *** ATTRIBUTES ***
+    private static final ParseCache shared = new ParseCache();
+
+    private long parseCount = 0; // texts parsed (cache misses)
+
+    private final LinkedHashMap<Key, Result<?>> entries = new LinkedHashMap<Key, Result<?>>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Result<?>> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    // *** METHODS ***
+
+    /**
+     * @return cache, that is shared by all verifications
+     *
+     * @author Andreas Schwenk
+     */
+    public static ParseCache getShared() {
+        return shared;
+    }
+
+    /**
+     * parses a transition-condition (or gets the cached result)
+     *
+     * @param cp parser
+     * @param text condition
+     * @return result
+     *
+     * @author Andreas Schwenk
+     */
+    @SuppressWarnings("unchecked")
+    public Result<GeneratedCondition> parseCondition(ConditionParser cp, String text)
+    {
+        Key key = new Key(cp.isMinimize() ? KIND.CONDITION_MINIMIZED : KIND.CONDITION, text,
+                cp.getSymbolTable().getRevision());
+        Result<GeneratedCondition> r = (Result<GeneratedCondition>)get(key);
+        if(r == null)
+        {
+            boolean success = cp.parseCondition(text);
+            r = new Result<GeneratedCondition>(success, cp.getGeneratedCondition(), cp.getLog());
+            put(key, r);
+        }
+        return r;
+    }
+
+    /**
+     * parses an output-vector (or gets the cached result)
+     *
+     * @param ovp parser
+     * @param text output-vector
+     * @return result
+     *
+     * @author Andreas Schwenk
+     */
+    @SuppressWarnings("unchecked")
+    public Result<LinkedList<GeneratedOutputVector>> parseOutputVector(OutputVectorParser ovp, String text)
+    {
+        Key key = new Key(KIND.OUTPUT_VECTOR, text, ovp.getSymbolTable().getRevision());
+        Result<LinkedList<GeneratedOutputVector>> r = (Result<LinkedList<GeneratedOutputVector>>)get(key);
+        if(r == null)
+        {
+            boolean success = ovp.parseOutputVector(text);
+            r = new Result<LinkedList<GeneratedOutputVector>>(success, ovp.getGeneratedOutputVector(), ovp.getLog());
+            put(key, r);
+        }
+        return r;
+    }
+
+    /**
+     * parses a variable-assignment (or gets the cached result)
+     *
+     * @param vap parser
+     * @param text variable-assignment
+     * @return result
+     *
+     * @author Andreas Schwenk
+     */
+    @SuppressWarnings("unchecked")
+    public Result<LinkedList<GeneratedVarAssignment>> parseVariableAssignment(VariableAssignmentParser vap,
+            String text)
+    {
+        Key key = new Key(KIND.VARIABLE_ASSIGNMENT, text, vap.getSymbolTable().getRevision());
+        Result<LinkedList<GeneratedVarAssignment>> r = (Result<LinkedList<GeneratedVarAssignment>>)get(key);
+        if(r == null)
+        {
+            boolean success = vap.parseVariableAssignment(text);
+            r = new Result<LinkedList<GeneratedVarAssignment>>(success, vap.getGeneratedVariableAssignments(),
+                    vap.getLog());
+            put(key, r);
+        }
+        return r;
+    }
+
+    /**
+     * @return number of texts, that have been parsed (not found in the cache)
+     *
+     * @author Andreas Schwenk
+     */
+    public synchronized long getParseCount()
+    {
+        return parseCount;
+    }
+
+    /**
+     * removes all entries
+     *
+     * @author Andreas Schwenk
+     */
+    public synchronized void clear()
+    {
+        entries.clear();
+    }
+
+    // parsing is done outside of the lock; two threads may parse the same
+    //  text at the same time, both results are equal
+    private synchronized Result<?> get(Key key)
+    {
+        return entries.get(key);
+    }
+
+    private synchronized void put(Key key, Result<?> r)
+    {
+        parseCount++;
+        entries.put(key, r);
+    }
+}
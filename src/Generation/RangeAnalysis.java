@@ -0,0 +1,395 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       RangeAnalysis
+ * Created:     2026-10-19
+ */
+
+package Generation;
+
+import Generation.Ast.Assignment;
+import Generation.VariableAssignmentParser.GeneratedVarAssignment;
+import Graph.Graph;
+import Graph.SigVar;
+import Graph.SigVar.SIGVAR_TYPE;
+import Graph.State;
+import Graph.Transition;
+import Graph.Variable;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+
+/**
+ * Abstract interpretation of the variable-assignments of a (verified) graph.
+ * For every variable an interval [min, max] is computed, that contains all
+ * values the variable can take (per state and over the whole graph).
+ *
+ * Semantics (identical to the generated code):
+ *  - variables are initialized with 0 (static variables in C)
+ *  - the variable-assignments of a state are executed in each step, before
+ *    the conditions of the outgoing transitions are evaluated
+ *  - a state is kept, if no condition holds (implicit self-loop)
+ *  - a reset only sets the state, variables keep their values
+ *
+ * Bounds that did not become stable after some iterations are widened to the
+ * declared range of the variable. An interval that left the declared range
+ * (overflow) is set to TOP ("unknown").
+ *
+ * @author Andreas Schwenk
+ */
+public class RangeAnalysis
+{
+    // *** SUBCLASSES ***
+
+    /**
+     * closed interval [min, max]; TOP represents an unknown value
+     */
+    public static class Interval
+    {
+        public static final Interval TOP = new Interval(Long.MIN_VALUE, Long.MAX_VALUE);
+
+        public final long min, max;
+
+        public Interval(long min, long max)
+        {
+            this.min = min;
+            this.max = max;
+        }
+
+        public boolean isTop()
+        {
+            return this == TOP;
+        }
+
+        /**
+         * smallest interval containing both intervals
+         */
+        public Interval join(Interval i)
+        {
+            if(i == null || i == this)
+                return this;
+            if(isTop() || i.isTop())
+                return TOP;
+            if(i.min >= min && i.max <= max)
+                return this;
+            return new Interval(Math.min(min, i.min), Math.max(max, i.max));
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if(!(o instanceof Interval))
+                return false;
+            return ((Interval)o).min == min && ((Interval)o).max == max;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return (int)(min ^ (max >>> 32) ^ max);
+        }
+
+        @Override
+        public String toString()
+        {
+            return isTop() ? "?" : min + ".." + max;
+        }
+    }
+
+    // *** CONSTANTS ***
+    private static final int WIDENING_THRESHOLD = 16; // updates of a state before widening
+
+    // *** ATTRIBUTES ***
+    private Graph graph;
+    private HashMap<State, HashMap<Variable, Interval>> stateIn;  // values on entry of a step
+    private HashMap<State, HashMap<Variable, Interval>> stateOut; // values after the assignments
+    private HashMap<Variable, Interval> globalRange;
+
+    // *** METHODS ***
+
+    /**
+     * @param graph verified graph (the generated variable-assignments must exist)
+     *
+     * @author Andreas Schwenk
+     */
+    public RangeAnalysis(Graph graph)
+    {
+        this.graph = graph;
+    }
+
+    /**
+     * runs the analysis (worklist-algorithm until a fixpoint is reached)
+     *
+     * @author Andreas Schwenk
+     */
+    public void analyze()
+    {
+        stateIn = new HashMap<State, HashMap<Variable, Interval>>();
+        stateOut = new HashMap<State, HashMap<Variable, Interval>>();
+        globalRange = new HashMap<Variable, Interval>();
+
+        LinkedList<Variable> variables = graph.getVariables();
+        if(graph.getStartNode() == null || graph.getStartNode().getToState() == null)
+            return;
+
+        // initial values
+        HashMap<Variable, Interval> init = new HashMap<Variable, Interval>();
+        Iterator<Variable> itVar = variables.iterator();
+        Variable v;
+        while(itVar.hasNext())
+        {
+            v = itVar.next();
+            init.put(v, new Interval(0, 0));
+        }
+        globalRange.putAll(init);
+
+        State start = graph.getStartNode().getToState();
+        HashMap<State, Integer> updates = new HashMap<State, Integer>();
+        LinkedList<State> worklist = new LinkedList<State>();
+
+        stateIn.put(start, init);
+        worklist.add(start);
+
+        State s;
+        while(!worklist.isEmpty())
+        {
+            s = worklist.removeFirst();
+            HashMap<Variable, Interval> out = transfer(s, stateIn.get(s));
+            if(out.equals(stateOut.get(s)))
+                continue;
+            stateOut.put(s, out);
+
+            // propagate to successors, to the state itself and (reset) to the start state
+            LinkedList<State> successors = new LinkedList<State>();
+            successors.add(s);
+            successors.add(start);
+            Iterator<Transition> itTrans = s.getTransitions().iterator();
+            Transition trans;
+            while(itTrans.hasNext())
+            {
+                trans = itTrans.next();
+                if(trans.getToState() != null)
+                    successors.add(trans.getToState());
+            }
+
+            Iterator<State> itSucc = successors.iterator();
+            State t;
+            while(itSucc.hasNext())
+            {
+                t = itSucc.next();
+                HashMap<Variable, Interval> oldIn = stateIn.get(t);
+                HashMap<Variable, Interval> newIn = join(oldIn, out);
+                if(newIn.equals(oldIn))
+                    continue;
+                int n = updates.containsKey(t) ? updates.get(t) + 1 : 1;
+                updates.put(t, n);
+                if(n > WIDENING_THRESHOLD)
+                    newIn = widen(oldIn, newIn);
+                stateIn.put(t, newIn);
+                if(!worklist.contains(t))
+                    worklist.add(t);
+            }
+        }
+    }
+
+    /**
+     * executes the variable-assignments of a state on abstract values
+     *
+     * @param s state
+     * @param in values on entry
+     * @return values after all assignments
+     */
+    private HashMap<Variable, Interval> transfer(State s, HashMap<Variable, Interval> in)
+    {
+        HashMap<Variable, Interval> env = new HashMap<Variable, Interval>(in);
+        if(!s.isVariableAssignmentsEnabled() || s.getGeneratedVariableAssignments() == null)
+            return env;
+
+        Iterator<GeneratedVarAssignment> itGVA = s.getGeneratedVariableAssignments().iterator();
+        Assignment a;
+        while(itGVA.hasNext())
+        {
+            a = itGVA.next().assignment;
+            if(a == null || a.target == null || a.type == null)
+                continue;
+            Interval value = evaluate(a, env);
+            // overflow => value is unknown
+            Interval declared = getDeclaredRange(a.target);
+            if(value.isTop() || value.min < declared.min || value.max > declared.max)
+                value = Interval.TOP;
+            env.put(a.target, value);
+            globalRange.put(a.target, value.join(globalRange.get(a.target)));
+        }
+        return env;
+    }
+
+    /**
+     * abstract value of the right-hand side of an assignment
+     */
+    private Interval evaluate(Assignment a, HashMap<Variable, Interval> env)
+    {
+        Interval x = env.get(a.target);
+        switch(a.type)
+        {
+            case SHIFT_LEFT:
+                return mul2(x);
+            case SHIFT_RIGHT:
+                return x.isTop() ? x : new Interval(x.min >> 1, x.max >> 1);
+            case COPY:
+                return getDeclaredRange(a.operand);
+            case CONSTANT:
+                return new Interval(a.number, a.number);
+            case INCREMENT:
+                return add(x, new Interval(1, 1));
+            case DECREMENT:
+                return add(x, new Interval(-1, -1));
+            case ADD:
+            case SUBTRACT:
+                Interval op1 = getOperandRange(a.operand, env);
+                Interval op2 = (a.operand2 == null)
+                        ? new Interval(a.number, a.number) : getOperandRange(a.operand2, env);
+                if(a.type == Assignment.ASSIGNMENT_TYPE.SUBTRACT)
+                    op2 = op2.isTop() ? op2 : new Interval(-op2.max, -op2.min);
+                return add(op1, op2);
+        }
+        return Interval.TOP;
+    }
+
+    private Interval getOperandRange(SigVar sv, HashMap<Variable, Interval> env)
+    {
+        if(sv instanceof Variable)
+            return env.get((Variable)sv);
+        return getDeclaredRange(sv);
+    }
+
+    private static Interval add(Interval a, Interval b)
+    {
+        if(a.isTop() || b.isTop())
+            return Interval.TOP;
+        return new Interval(a.min + b.min, a.max + b.max); // no overflow: |values| < 2^62
+    }
+
+    private static Interval mul2(Interval a)
+    {
+        if(a.isTop())
+            return a;
+        return new Interval(a.min * 2, a.max * 2);
+    }
+
+    private static HashMap<Variable, Interval> join(HashMap<Variable, Interval> a, HashMap<Variable, Interval> b)
+    {
+        if(a == null)
+            return b;
+        HashMap<Variable, Interval> r = new HashMap<Variable, Interval>(a);
+        Iterator<Variable> itVar = b.keySet().iterator();
+        Variable v;
+        while(itVar.hasNext())
+        {
+            v = itVar.next();
+            r.put(v, b.get(v).join(a.get(v)));
+        }
+        return r;
+    }
+
+    /**
+     * every bound that is still growing is set to the bound of the declared range
+     */
+    private static HashMap<Variable, Interval> widen(HashMap<Variable, Interval> oldIn, HashMap<Variable, Interval> newIn)
+    {
+        if(oldIn == null)
+            return newIn;
+        HashMap<Variable, Interval> r = new HashMap<Variable, Interval>(newIn);
+        Iterator<Variable> itVar = newIn.keySet().iterator();
+        Variable v;
+        Interval o, n, d;
+        while(itVar.hasNext())
+        {
+            v = itVar.next();
+            o = oldIn.get(v);
+            n = newIn.get(v);
+            if(n.equals(o) || n.isTop() || o == null)
+                continue;
+            d = getDeclaredRange(v);
+            if(d.isTop())
+                r.put(v, Interval.TOP);
+            else
+                r.put(v, new Interval(n.min < o.min ? d.min : n.min, n.max > o.max ? d.max : n.max));
+        }
+        return r;
+    }
+
+    /**
+     * range of values, that can be represented by the declared type and bit-length
+     *
+     * @param sv signal or variable
+     * @return declared range (TOP for bit-lengths > 62)
+     */
+    public static Interval getDeclaredRange(SigVar sv)
+    {
+        int n = sv.getBitLength();
+        if(sv.getType() == SIGVAR_TYPE.BIT)
+            return new Interval(0, 1);
+        if(n > 62)
+            return Interval.TOP;
+        if(sv.getType() == SIGVAR_TYPE.SIGNED)
+            return new Interval(-(1L << (n-1)), (1L << (n-1)) - 1);
+        return new Interval(0, (1L << n) - 1);
+    }
+
+    /**
+     * gets the range of a variable over all states
+     *
+     * @param v variable
+     * @return range (TOP if unknown)
+     */
+    public Interval getRange(Variable v)
+    {
+        Interval i = (globalRange == null) ? null : globalRange.get(v);
+        return (i == null) ? Interval.TOP : i;
+    }
+
+    /**
+     * gets the range of a variable, when a step in the given state begins
+     *
+     * @param s state
+     * @param v variable
+     * @return range (null if the state is unreachable; TOP if unknown)
+     */
+    public Interval getRange(State s, Variable v)
+    {
+        if(stateIn == null || !stateIn.containsKey(s))
+            return null;
+        Interval i = stateIn.get(s).get(v);
+        return (i == null) ? Interval.TOP : i;
+    }
+
+    /**
+     * gets the range of a variable after the variable-assignments of the given
+     * state (that is the range seen by the conditions of the outgoing transitions)
+     *
+     * @param s state
+     * @param v variable
+     * @return range (null if the state is unreachable; TOP if unknown)
+     */
+    public Interval getRangeAfterAssignments(State s, Variable v)
+    {
+        if(stateOut == null || !stateOut.containsKey(s))
+            return null;
+        Interval i = stateOut.get(s).get(v);
+        return (i == null) ? Interval.TOP : i;
+    }
+
+    /**
+     * checks whether a state can be reached from the start-state
+     *
+     * @param s state
+     * @return true, if reachable
+     */
+    public boolean isReachable(State s)
+    {
+        return stateIn != null && stateIn.containsKey(s);
+    }
+}
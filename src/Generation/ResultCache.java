@@ -0,0 +1,272 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       ResultCache
+ * Created:     2026-10-19
+ */
+
+package Generation;
+
+import Generation.Backend.OutputSink;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache of generated files (C, VHDL, SCXML), addressed by a key that is
+ * computed from the content-hash of the graph and all options of the
+ * generation (see class ContentHash).
+ *
+ * Entries are kept in memory (least recently used entries are dropped) and
+ * optionally in a directory on disk, so that repeated exports of an unchanged
+ * graph only have to copy the files.
+ *
+ * @author Andreas Schwenk
+ */
+public class ResultCache
+{
+    // *** SUBCLASSES ***
+
+    // contents of all generated files and the log of the generation
+    private static class Entry
+    {
+        byte[][] files;
+        Log log;
+    }
+
+    // *** CONSTANTS ***
+    private static final int MAX_ENTRIES = 32;     // in memory
+    private static final int MAGIC = 0x53544432;   // "STD2" (format 2: diagnostics with length)
+
+    // *** ATTRIBUTES ***
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private File directory = null; // disk-cache (null: in memory only)
+
+    // *** METHODS ***
+
+    /**
+     * sets the directory of the disk-cache
+     *
+     * @param directory directory (created if necessary); null: memory only
+     *
+     * @author Andreas Schwenk
+     */
+    public synchronized void setDirectory(File directory)
+    {
+        this.directory = directory;
+        if(directory != null)
+            directory.mkdirs();
+    }
+
+    /**
+     * Writes the cached files (if any) to the given destinations.
+     *
+     * @param key key of the generation (null: not cached)
+     * @param files destinations (same order as on storing)
+     * @param log receives the cached log
+     * @return true, if the files have been restored
+     *
+     * @author Andreas Schwenk
+     */
+    public synchronized boolean restore(String key, File[] files, Log log)
+    {
+        if(key == null)
+            return false;
+        Entry e = entries.get(key);
+        if(e == null)
+        {
+            e = load(key);
+            if(e == null)
+                return false;
+            entries.put(key, e);
+        }
+        if(e.files.length != files.length)
+            return false;
+        try
+        {
+            for(int i=0; i<files.length; i++)
+                writeFile(files[i], e.files[i]);
+        }
+        catch(IOException ex)
+        {
+            return false;
+        }
+        log.set(e.log);
+        return true;
+    }
+
+    /**
+     * Stores the given (just generated) files.
+     *
+     * @param key key of the generation
+     * @param files generated files
+     * @param log log of the generation
+     *
+     * @author Andreas Schwenk
+     */
+    public synchronized void store(String key, File[] files, Log log)
+    {
+        if(key == null)
+            return;
+        Entry e = new Entry();
+        e.files = new byte[files.length][];
+        e.log = new Log();
+        e.log.append(log);
+        try
+        {
+            for(int i=0; i<files.length; i++)
+                e.files[i] = readFile(files[i]);
+        }
+        catch(IOException ex)
+        {
+            return;
+        }
+        entries.put(key, e);
+        save(key, e);
+    }
+
+    /**
+     * removes all entries from memory (the disk-cache is kept)
+     *
+     * @author Andreas Schwenk
+     */
+    public synchronized void clear()
+    {
+        entries.clear();
+    }
+
+    private Entry load(String key)
+    {
+        if(directory == null)
+            return null;
+        File f = new File(directory, key + ".cache");
+        if(!f.exists())
+            return null;
+        try
+        {
+            DataInputStream dis = new DataInputStream(new FileInputStream(f));
+            try
+            {
+                if(dis.readInt() != MAGIC)
+                    return null;
+                Entry e = new Entry();
+                e.files = new byte[dis.readInt()][];
+                for(int i=0; i<e.files.length; i++)
+                {
+                    e.files[i] = new byte[dis.readInt()];
+                    dis.readFully(e.files[i]);
+                }
+                e.log = new Log();
+                int n = dis.readInt();
+                for(int i=0; i<n; i++)
+                {
+                    Diagnostic.SEVERITY severity = Diagnostic.SEVERITY.valueOf(dis.readUTF());
+                    Diagnostic.CODE code = Diagnostic.CODE.valueOf(dis.readUTF());
+                    int componentId = dis.readInt();
+                    int offset = dis.readInt();
+                    int length = dis.readInt();
+                    e.log.append(new Diagnostic(severity, code, componentId, offset, length, dis.readUTF()));
+                }
+                return e;
+            }
+            finally
+            {
+                dis.close();
+            }
+        }
+        catch(IOException ex)
+        {
+            return null; // corrupt entry: generate again
+        }
+        catch(IllegalArgumentException ex)
+        {
+            return null; // written by another version
+        }
+    }
+
+    private void save(String key, Entry e)
+    {
+        if(directory == null)
+            return;
+        // write a temporary file first; a cache-entry is never incomplete
+        File tmp = new File(directory, key + ".tmp");
+        try
+        {
+            DataOutputStream dos = new DataOutputStream(new FileOutputStream(tmp));
+            try
+            {
+                dos.writeInt(MAGIC);
+                dos.writeInt(e.files.length);
+                for(int i=0; i<e.files.length; i++)
+                {
+                    dos.writeInt(e.files[i].length);
+                    dos.write(e.files[i]);
+                }
+                List<Diagnostic> log = e.log.getDiagnostics();
+                dos.writeInt(log.size());
+                Iterator<Diagnostic> it = log.iterator();
+                Diagnostic d;
+                while(it.hasNext())
+                {
+                    d = it.next();
+                    dos.writeUTF(d.getSeverity().name());
+                    dos.writeUTF(d.getCode().name());
+                    dos.writeInt(d.getComponentId());
+                    dos.writeInt(d.getOffset());
+                    dos.writeInt(d.getLength());
+                    dos.writeUTF(d.getMessage());
+                }
+            }
+            finally
+            {
+                dos.close();
+            }
+            File f = new File(directory, key + ".cache");
+            if(!tmp.renameTo(f))
+            {
+                f.delete();
+                tmp.renameTo(f);
+            }
+        }
+        catch(IOException ex)
+        {
+            tmp.delete(); // disk-cache is optional
+        }
+    }
+
+    private static byte[] readFile(File f) throws IOException
+    {
+        DataInputStream dis = new DataInputStream(new FileInputStream(f));
+        try
+        {
+            byte[] b = new byte[(int)f.length()];
+            dis.readFully(b);
+            return b;
+        }
+        finally
+        {
+            dis.close();
+        }
+    }
+
+    private static void writeFile(File f, byte[] b) throws IOException
+    {
+        OutputSink.writeAtomically(f, b);
+    }
+}
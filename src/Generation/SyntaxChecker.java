@@ -0,0 +1,115 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       SyntaxChecker
+ * Created:     2026-10-19
+ */
+
+package Generation;
+
+import Graph.Graph;
+import Graph.Signal.SIGNAL_DIRECTION;
+import java.util.Iterator;
+
+/**
+ * Checks the syntax of a single text (condition, output-vector or
+ * variable-assignment) while it is edited. Only the given text is parsed;
+ * results are taken from (and stored in) the shared parse-cache.
+ *
+ * The checker is bound to the symbols of a graph; the parsers are created
+ * again, whenever the signals or variables of the graph changed.
+ *
+ * @author Andreas Schwenk
+ */
+public class SyntaxChecker
+{
+    // *** ENUMERATIONS ***
+    public enum KIND
+    {
+        CONDITION, OUTPUT_VECTOR, VARIABLE_ASSIGNMENT
+    }
+
+    // *** ATTRIBUTES ***
+
+    // checker of the last edited graph (used by the event-thread only)
+    private static SyntaxChecker last = null;
+
+    private final Graph graph;
+    private final long revision;
+    private final ConditionParser cp;
+    private final OutputVectorParser ovp;
+    private final VariableAssignmentParser vap;
+    private final ParseCache parseCache = ParseCache.getShared();
+
+    // *** METHODS ***
+
+    private SyntaxChecker(Graph graph)
+    {
+        this.graph = graph;
+        this.revision = graph.getSymbolRevision();
+        cp = new ConditionParser(graph.getSymbolTable());
+        ovp = new OutputVectorParser(graph.getSignals(SIGNAL_DIRECTION.OUT), graph.getSymbolTable());
+        vap = new VariableAssignmentParser(graph.getSymbolTable());
+    }
+
+    /**
+     * gets a checker for the current symbols of the given graph
+     *
+     * @param graph graph
+     * @return checker
+     *
+     * @author Andreas Schwenk
+     */
+    public static SyntaxChecker forGraph(Graph graph)
+    {
+        SyntaxChecker c = last;
+        if(c == null || c.graph != graph || c.revision != graph.getSymbolRevision())
+        {
+            c = new SyntaxChecker(graph);
+            last = c;
+        }
+        return c;
+    }
+
+    /**
+     * checks the syntax of a text
+     *
+     * @param kind kind of the text
+     * @param text text
+     * @return first error with a known position (offset and length of the
+     *         erroneous token) or null, if the text is valid
+     *
+     * @author Andreas Schwenk
+     */
+    public Diagnostic check(KIND kind, String text)
+    {
+        ParseCache.Result<?> r;
+        switch(kind)
+        {
+            case CONDITION:
+                r = parseCache.parseCondition(cp, text);
+                break;
+            case OUTPUT_VECTOR:
+                r = parseCache.parseOutputVector(ovp, text);
+                break;
+            default:
+                r = parseCache.parseVariableAssignment(vap, text);
+                break;
+        }
+        if(r.success)
+            return null;
+        Iterator<Diagnostic> it = r.log.getDiagnostics().iterator();
+        Diagnostic d;
+        while(it.hasNext())
+        {
+            d = it.next();
+            if(d.getOffset() >= 0)
+                return d;
+        }
+        // error without position: the whole text is erroneous
+        return new Diagnostic(Diagnostic.SEVERITY.ERROR, Diagnostic.CODE.PARSER, -1, 0, text.length(), "");
+    }
+}
@@ -12,9 +12,19 @@
 
 package Generation;
 
+import Generation.Ast.Assignment;
+import Generation.Ast.Assignment.ASSIGNMENT_TYPE;
+import Generation.Ast.CEmitter;
+import Generation.Ast.Emitter;
+import Generation.Ast.NeutralEmitter;
+import Generation.Ast.VhdlEmitter;
+import Generation.Diagnostic.CODE;
+import Generation.Diagnostic.SEVERITY;
 import Generation.Lexer.TOKEN;
 import Graph.SigVar;
 import Graph.Signal;
+import Graph.Signal.SIGNAL_DIRECTION;
+import Graph.SymbolTable;
 import Graph.Variable;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -39,28 +49,35 @@ public class VariableAssignmentParser
     {
         public String lhs; // left-hand side
         public String rhsNeutral, rhsC, rhsVHDL; // right-hand side
+        
+        // syntax-tree (needed e. g. for the range-analysis)
+        public Assignment assignment;
     }
-    
-    // *** ENUMERATIONS ***
 
     // *** ATTRIBUTES ***    
     
     // Tokenizer
-    private Lexer lex;
+    private final Lexer lex;
     // error-reporting
     private String errorStr;
+    private int errorPos; // position of the error in the input-string
+    private int errorLength; // length of the erroneous token
     
-    // all variables of the graph
-    private LinkedList<Variable> variables;
-    
-    // all input-signals of the graph
-    private LinkedList<Signal> inputSignals;
+    // names of all variables and input-signals of the graph
+    private SymbolTable symbols;
     
     // logging (errors and success-messages; shown in the GUI [bottom-left corner])
     private Log log;
     
     // generated variable Assigments
     private LinkedList<GeneratedVarAssignment> generatedVariableAssignments=null;
+    // syntax-trees of the current input
+    private LinkedList<Assignment> assignments=null;
+    
+    // code-generation of the right-hand sides
+    private final Emitter neutralEmitter = new NeutralEmitter();
+    private final Emitter cEmitter = new CEmitter();
+    private final Emitter vhdlEmitter = new VhdlEmitter();
 
     
     // *** METHODS ***
@@ -69,16 +86,22 @@ public class VariableAssignmentParser
      * constructor; variables (of the graph) are needed
      * to verify that all used identifiers are known
      * 
-     * @param inputSignals input-signals of the graph
-     * @param variables  variables of the graph
+     * @param symbols symbol-table of the graph (variables, input-signals)
      * 
      * @author Andreas Schwenk
      */
-    public VariableAssignmentParser(LinkedList<Signal> inputSignals,
-            LinkedList<Variable> variables)
+    public VariableAssignmentParser(SymbolTable symbols)
     {
-        this.variables = variables;
-        this.inputSignals = inputSignals;
+        this.symbols = symbols;
+        this.lex = new Lexer(symbols);
+    }
+
+    /**
+     * @return symbol-table, against which the names are resolved
+     */
+    public SymbolTable getSymbolTable()
+    {
+        return symbols;
     }
    
     /**
@@ -91,19 +114,7 @@ public class VariableAssignmentParser
      */
     private Variable getVariable(String identifier)
     {
-        Variable v;
-        // search identifier in variable-list
-        Iterator<Variable> it=variables.iterator();
-        while(it.hasNext())
-        {
-            v = it.next();
-            if(v.getName().equals(identifier))
-            {
-                return v;
-            }
-        }
-        // not a variable
-        return null;
+        return symbols.getVariable(identifier);
     }
 
     /**
@@ -116,19 +127,7 @@ public class VariableAssignmentParser
      */
     private Signal getSignal(String identifier)
     {
-        Signal s;
-        // search identifier in variable-list
-        Iterator<Signal> it=inputSignals.iterator();
-        while(it.hasNext())
-        {
-            s = it.next();
-            if(s.getName().equals(identifier))
-            {
-                return s;
-            }
-        }
-        // not a variable
-        return null;
+        return symbols.getSignal(identifier, SIGNAL_DIRECTION.IN);
     }
     
     /**
@@ -136,17 +135,13 @@ public class VariableAssignmentParser
      */
     private void parseASSIGNMENTLIST()
     {
-        GeneratedVarAssignment genVarAssign = new GeneratedVarAssignment();
-        generatedVariableAssignments.add(genVarAssign);
         // <ASSIGNEMNT>
-        parseASSIGNMENT(genVarAssign);
+        assignments.add(parseASSIGNMENT());
         // { “;” <ASSIGNMENT> }
         while(lex.getToken() == TOKEN.SEMICOLON)
         {
             lex.getNextToken();
-            genVarAssign = new GeneratedVarAssignment();
-            generatedVariableAssignments.add(genVarAssign);
-            parseASSIGNMENT(genVarAssign);
+            assignments.add(parseASSIGNMENT());
         }
     }
    
@@ -159,17 +154,21 @@ public class VariableAssignmentParser
      *                 | <VARIABLE> "=" <NUMBER>
      *                 | <VARIABLE> "++" 
      *                 | <VARIABLE> "--"
+     * 
+     * @return node (only complete, if no error occurred)
      */
-    private void parseASSIGNMENT(GeneratedVarAssignment genVarAssign)
+    private Assignment parseASSIGNMENT()
     {
+        Assignment a = new Assignment();
         if(lex.getToken() == TOKEN.IDENTIFIER || 
                 lex.getToken() == TOKEN.SHIFT_LEFT || lex.getToken() == TOKEN.SHIFT_RIGHT)
         {
             String identifier = lex.getIdentifier();
             
-            // "shl" "(" <IDENTIFIER> ")"
-            if(lex.getToken() == TOKEN.SHIFT_LEFT)
+            // "shl" "(" <IDENTIFIER> ")" | "shr" "(" <IDENTIFIER> ")"
+            if(lex.getToken() == TOKEN.SHIFT_LEFT || lex.getToken() == TOKEN.SHIFT_RIGHT)
             {
+                boolean left = lex.getToken() == TOKEN.SHIFT_LEFT;
                 lex.getNextToken();
                 if(lex.getToken() == TOKEN.LPARENTH)
                 {
@@ -181,106 +180,35 @@ public class VariableAssignmentParser
                         if((v=getVariable(identifier)) != null)
                         {
                             lex.getNextToken();
-                            // left-hand side
-                            genVarAssign.lhs = identifier;
-                            // right-hand side
-                              // neutral, C:
-                            genVarAssign.rhsNeutral = "shl(" + v.getName() + ")";
-                            genVarAssign.rhsC = v.getName() + " << 1";
-                              // VHDL:
-                            if(v.getType() == SigVar.SIGVAR_TYPE.UNSIGNED)
-                                genVarAssign.rhsVHDL = "to_integer(to_unsigned("
-                                        +v.getName().toUpperCase()+","+v.getBitLength()+") sll 1)";
-                            else if(v.getType() == SigVar.SIGVAR_TYPE.SIGNED)
-                                genVarAssign.rhsVHDL = "to_integer(to_signed("
-                                        +v.getName().toUpperCase()+","+v.getBitLength()+") sll 1)";
-                            else if(v.getType() == SigVar.SIGVAR_TYPE.BIT_N)
-                                genVarAssign.rhsVHDL = v.getName().toUpperCase()
-                                        + "("+(v.getBitLength()-2)+" downto 0) & '0'";
-                            else // BIT
-                                errorStr = "Shift beim Typ 'BIT' nicht möglich";
+                            a.type = left ? ASSIGNMENT_TYPE.SHIFT_LEFT : ASSIGNMENT_TYPE.SHIFT_RIGHT;
+                            a.targetName = identifier;
+                            a.target = v;
+                            if(v.getType() == SigVar.SIGVAR_TYPE.BIT)
+                                setError("Shift beim Typ 'BIT' nicht möglich");
                             
                             if(lex.getToken() == TOKEN.RPARENTH)
                             {
                                 lex.getNextToken();
-                                return;
+                                return a;
                             }
                             else
                             {
-                                errorStr = "')' fehlt";
+                                setError("')' fehlt");
                             }
                         }
                         else
                         {
-                            errorStr = "nach '(' wird eine Variable erwartet";
+                            setError("nach '(' wird eine Variable erwartet");
                         }
                     }
                     else
                     {
-                        errorStr = "nach '(' wird eine Variable erwartet";
+                        setError("nach '(' wird eine Variable erwartet");
                     }
                 }
                 else
                 {
-                    errorStr = "nach 'SHL' wird '(' erwartet";
-                }
-            }
-            // "shr" "(" <IDENTIFIER> ")"
-            else if(lex.getToken() == TOKEN.SHIFT_RIGHT)
-            {
-                lex.getNextToken();
-                if(lex.getToken() == TOKEN.LPARENTH)
-                {
-                    lex.getNextToken();
-                    if(lex.getToken()==TOKEN.IDENTIFIER)
-                    {
-                        identifier = lex.getIdentifier();
-                        Variable v;
-                        if((v=getVariable(identifier)) != null)
-                        {
-                            lex.getNextToken();
-                            // left-hand side
-                            genVarAssign.lhs = identifier;
-                            // right-hand side
-                              // neutral, C:
-                            genVarAssign.rhsNeutral = "shr(" + v.getName() + ")";
-                            genVarAssign.rhsC = v.getName() + " >> 1";
-                              // VHDL:
-                            if(v.getType() == SigVar.SIGVAR_TYPE.UNSIGNED)
-                                genVarAssign.rhsVHDL = "to_integer(to_unsigned("
-                                        +v.getName().toUpperCase()+","+v.getBitLength()+") srl 1)";
-                            else if(v.getType() == SigVar.SIGVAR_TYPE.SIGNED)
-                                genVarAssign.rhsVHDL = "to_integer(to_signed("
-                                        +v.getName().toUpperCase()+","+v.getBitLength()+") sra 1)";
-                            else if(v.getType() == SigVar.SIGVAR_TYPE.BIT_N)
-                                genVarAssign.rhsVHDL = "'0' & " + v.getName().toUpperCase() 
-                                        + "("+(v.getBitLength()-1)+" downto 1)";
-                            else // BIT
-                                errorStr = "Shift beim Typ 'BIT' nicht möglich";
-                            
-                            if(lex.getToken() == TOKEN.RPARENTH)
-                            {
-                                lex.getNextToken();
-                                return;
-                            }
-                            else
-                            {
-                                errorStr = "')' fehlt";
-                            }
-                        }
-                        else
-                        {
-                            errorStr = "nach '(' wird eine Variable erwartet";
-                        }
-                    }
-                    else
-                    {
-                        errorStr = "nach '(' wird eine Variable erwartet";
-                    }
-                }
-                else
-                {
-                    errorStr = "nach 'SHR' wird '(' erwartet";
+                    setError(left ? "nach 'SHL' wird '(' erwartet" : "nach 'SHR' wird '(' erwartet");
                 }
             }
             //   <VARIABLE> "=" <INPUT-SIGNAL>   [note: types must be equal]
@@ -295,7 +223,8 @@ public class VariableAssignmentParser
                 if((varLhs=getVariable(identifier)) != null)
                 {
                     lex.getNextToken();
-                    genVarAssign.lhs = identifier;
+                    a.targetName = identifier;
+                    a.target = varLhs;
                     // '='
                     if(lex.getToken() == TOKEN.ASSIGNMENT)
                     {
@@ -308,183 +237,120 @@ public class VariableAssignmentParser
                             lex.getNextToken();
                             if(varLhs.getType() == sigRhs.getType() && varLhs.getBitLength() == sigRhs.getBitLength())
                             {
-                                genVarAssign.rhsNeutral = identifier;
-                                genVarAssign.rhsC = "inV->"+identifier;
-                                genVarAssign.rhsVHDL = identifier.toUpperCase();
+                                a.type = ASSIGNMENT_TYPE.COPY;
+                                a.operandName = identifier;
+                                a.operand = sigRhs;
                             }
                             else
                             {
-                                errorStr = "Typ oder Bitlänge von Variable und Eingangssignal ungleich!";
+                                setError("Typ oder Bitlänge von Variable und Eingangssignal ungleich!");
                             }
                         }
                         // <IDENTIFIER> == variable?
                         else if(lex.getToken() == TOKEN.IDENTIFIER 
                                 && (varRhs=getVariable(lex.getIdentifier()))!=null)
                         {
-                            identifier = lex.getIdentifier();
+                            a.operandName = lex.getIdentifier();
+                            a.operand = varRhs;
                             lex.getNextToken();
-                            genVarAssign.rhsNeutral = identifier;
-                            genVarAssign.rhsC = identifier;
-                            genVarAssign.rhsVHDL = identifier.toUpperCase();
                             // '+' | '-'
                             if(lex.getToken() == TOKEN.PLUS || lex.getToken() == TOKEN.MINUS)
                             {
-                                if(lex.getToken() == TOKEN.PLUS)
-                                {
-                                    genVarAssign.rhsNeutral += " + ";
-                                    genVarAssign.rhsC += " + ";
-                                    genVarAssign.rhsVHDL += " + ";
-                                }
-                                else
-                                {
-                                    genVarAssign.rhsNeutral += " - ";
-                                    genVarAssign.rhsC += " - ";
-                                    genVarAssign.rhsVHDL += " - ";
-                                }
+                                a.type = (lex.getToken() == TOKEN.PLUS) 
+                                        ? ASSIGNMENT_TYPE.ADD : ASSIGNMENT_TYPE.SUBTRACT;
                                 lex.getNextToken();
                                 // <NUMBER>
                                 if(lex.getToken() == TOKEN.NUMBER)
                                 {
-                                    genVarAssign.rhsNeutral += lex.getNumber();
-                                    genVarAssign.rhsC += lex.getNumber();
-                                    switch(varRhs.getType())
-                                    {
-                                        case BIT_N:
-                                            genVarAssign.rhsVHDL += "\"" + 
-                                                    String.format("%"+varLhs.getBitLength()+"s", 
-                                                    Integer.toBinaryString(lex.getNumber())).replace(" ", "0") 
-                                                    + "\"";
-                                            break;
-                                        case SIGNED:
-                                        case UNSIGNED:
-                                            genVarAssign.rhsVHDL += lex.getNumber();
-                                            break;
-                                        default:
-                                            errorStr = "'+'|'-' beim Typ BIT nicht erlaubt";
-                                    }
-                                    
+                                    a.number = lex.getNumber();
+                                    if(varRhs.getType() == SigVar.SIGVAR_TYPE.BIT)
+                                        setError("'+'|'-' beim Typ BIT nicht erlaubt");
                                     lex.getNextToken();
-                                    return;
+                                    return a;
                                 }
                                 // Erweitertung Rev.3: Variable auf rechter Seite erlaubt
                                 else if (lex.getToken() == TOKEN.IDENTIFIER) {
                                     if ((varRhs2=getVariable(lex.getIdentifier()))!= null) {
                                         if (varRhs.getType() == varRhs2.getType()) {
-                                            genVarAssign.rhsVHDL += lex.getIdentifier();
-                                            genVarAssign.rhsNeutral += lex.getIdentifier();
-                                            genVarAssign.rhsC += lex.getIdentifier();
+                                            a.operand2Name = lex.getIdentifier();
+                                            a.operand2 = varRhs2;
                                             lex.getNextToken();
                                         }
                                         else {
-                                            errorStr = "Variablenausdruck nur mit Variablen gleichen Typs moeglich";
+                                            setError("Variablenausdruck nur mit Variablen gleichen Typs moeglich");
                                         }
                                     }
                                     else if ((sigRhs = getSignal(lex.getIdentifier())) != null) {
                                         if (sigRhs.getType() == varRhs.getType()) {
-                                            genVarAssign.rhsVHDL += lex.getIdentifier();
-                                            genVarAssign.rhsNeutral += lex.getIdentifier();
-                                            genVarAssign.rhsC += lex.getIdentifier();
+                                            a.operand2Name = lex.getIdentifier();
+                                            a.operand2 = sigRhs;
                                             lex.getNextToken();
                                         } else {
-                                            errorStr = "Variablenausdruck nur mit Variable/Signal gleichen Typs moeglich";
+                                            setError("Variablenausdruck nur mit Variable/Signal gleichen Typs moeglich");
                                         }
                                     } else {
-                                        errorStr = "2. Variable in Variablenausdruck nicht definiert";
+                                        setError("2. Variable in Variablenausdruck nicht definiert");
                                     }
-                                        return;
+                                        return a;
                                 }
                                 else
                                 {
-                                        errorStr = "nach'+'|'-' Konstante erwartet";
+                                        setError("nach'+'|'-' Konstante erwartet");
                                 }
                             }
                             else
                             {
-                                errorStr = "nach Variable '+' oder '-' erwartet";
+                                setError("nach Variable '+' oder '-' erwartet");
                             }
                         }
                         // <NUMBER?>
                         else if(lex.getToken() == TOKEN.NUMBER)
                         {
-                            genVarAssign.rhsNeutral = "" + lex.getNumber();
-                            genVarAssign.rhsC = "" + lex.getNumber();
-                            switch(varLhs.getType())
-                            {
-                                case BIT_N:
-                                    genVarAssign.rhsVHDL = "\"" + String.format("%"+varLhs.getBitLength()+"s", 
-                                                    Integer.toBinaryString(lex.getNumber())).replace(" ", "0")  + "\"";
-                                    break;
-                                case SIGNED:
-                                    genVarAssign.rhsVHDL = "to_signed(" + lex.getNumber()+", "+ varLhs.getBitLength() + ")";
-                                    break;
-                                case UNSIGNED:
-                                    genVarAssign.rhsVHDL = "to_unsigned(" + lex.getNumber()+", "+ varLhs.getBitLength() + ")";
-                                    break;
-                                default: // "BIT"
-                                    errorStr = "'+'|'-' beim Typ BIT nicht erlaubt";
-                            }
+                            a.type = ASSIGNMENT_TYPE.CONSTANT;
+                            a.number = lex.getNumber();
+                            if(varLhs.getType() == SigVar.SIGVAR_TYPE.BIT)
+                                setError("'+'|'-' beim Typ BIT nicht erlaubt");
                             lex.getNextToken();
-                            return;
+                            return a;
                         }
                         else
                         {
-                            errorStr = "Rechter Teil der Gleichung (nach '=') ist ungültig";
+                            setError("Rechter Teil der Gleichung (nach '=') ist ungültig");
                         }
                     }
                     // '++'
                     else if(lex.getToken() == TOKEN.INCREMENT)
                     {
-                        genVarAssign.rhsNeutral = genVarAssign.lhs + " + 1";
-                        genVarAssign.rhsC = genVarAssign.lhs + " + 1";
-                        switch(varLhs.getType())
-                        {
-                            case BIT_N:
-                                genVarAssign.rhsVHDL = genVarAssign.lhs + " + \"1\"";
-                                break;
-                            case SIGNED:
-                            case UNSIGNED:
-                                genVarAssign.rhsVHDL = genVarAssign.lhs + " + 1";
-                                break;
-                            default: // "BIT"
-                                errorStr = "Inkrementierten ('++') beim Typ BIT nicht erlaubt";
-                        }
+                        a.type = ASSIGNMENT_TYPE.INCREMENT;
+                        if(varLhs.getType() == SigVar.SIGVAR_TYPE.BIT)
+                            setError("Inkrementierten ('++') beim Typ BIT nicht erlaubt");
                         lex.getNextToken();
                     }
                     // '--'
                     else if(lex.getToken() == TOKEN.DECREMENT)
                     {
-                        genVarAssign.rhsNeutral = genVarAssign.lhs + " - 1";
-                        genVarAssign.rhsC = genVarAssign.lhs + " - 1";
-                        switch(varLhs.getType())
-                        {
-                            case BIT_N:
-                                genVarAssign.rhsVHDL = genVarAssign.lhs + " - \"1\"";
-                                break;
-                            case SIGNED:
-                            case UNSIGNED:
-                                genVarAssign.rhsVHDL = genVarAssign.lhs + " - 1";
-                                break;
-                            default: // "BIT"
-                                errorStr = "Dekrementierten ('--') beim Typ BIT nicht erlaubt";
-                        }
+                        a.type = ASSIGNMENT_TYPE.DECREMENT;
+                        if(varLhs.getType() == SigVar.SIGVAR_TYPE.BIT)
+                            setError("Dekrementierten ('--') beim Typ BIT nicht erlaubt");
                         lex.getNextToken();
                     }
                     else
                     {
-                        errorStr = "Zuweisung '=' oder Inkrement / Dekrement '++' / '--' erwartet";
+                        setError("Zuweisung '=' oder Inkrement / Dekrement '++' / '--' erwartet");
                     }
                 }
                 else
                 {
-                    errorStr = "unbekannter Bezeichener: '"+identifier+"'";
+                    setError("unbekannter Bezeichener: '"+identifier+"'");
                 }
             }
         }
         // unknown token
         else
         {
-            errorStr = "Syntaxfehler!";
+            setError("Syntaxfehler!");
         }
+        return a;
     }
     
     /**
@@ -501,15 +367,15 @@ public class VariableAssignmentParser
         
         // init generated variable-assignments
         generatedVariableAssignments = new LinkedList<GeneratedVarAssignment>();
+        assignments = new LinkedList<Assignment>();
 
-        // create a new instance for tokenizing
-        lex = new Lexer();
-        
         // reset errors
         errorStr = null;
+        errorPos = -1;
+        errorLength = 0;
         
         // set string to tokenizer (lexer)
-        lex.setString((str+'\0').toCharArray());
+        lex.setString(str);
         
         // parse expression (variable-assignment)
         parseASSIGNMENTLIST();
@@ -520,20 +386,38 @@ public class VariableAssignmentParser
         if(errorStr == null && lex.getToken()==TOKEN.END)
         {
             //log.append("parsing OK");
+            Iterator<Assignment> it = assignments.iterator();
+            Assignment a;
+            while(it.hasNext())
+            {
+                a = it.next();
+                GeneratedVarAssignment gva = new GeneratedVarAssignment();
+                gva.assignment = a;
+                gva.lhs = a.targetName;
+                gva.rhsNeutral = neutralEmitter.emitRightHandSide(a);
+                gva.rhsC = cEmitter.emitRightHandSide(a);
+                gva.rhsVHDL = vhdlEmitter.emitRightHandSide(a);
+                generatedVariableAssignments.add(gva);
+            }
             return true;
         }
 
         // append new error
         if(errorStr != null)
-            log.append(" -> " + errorStr);
+            log.append(new Diagnostic(SEVERITY.ERROR, CODE.PARSER, -1, errorPos, errorLength,
+                    " -> " + errorStr));
         
         // further logging
         if(lex.getToken()!=TOKEN.END)
         {
             if(lex.getToken() == TOKEN.UNKNOWN)
-                log.append(" -> " + "Unbekanntes Symbol: '" + lex.getUnknownCharacter() + "'");
+                log.append(new Diagnostic(SEVERITY.ERROR, CODE.PARSER, -1, lex.getTokenPosition(),
+                        lex.getTokenEnd()-lex.getTokenPosition(),
+                        " -> " + "Unbekanntes Symbol: '" + lex.getUnknownCharacter() + "'"));
             else
-                log.append(" -> " + "Unerwartetes Token: '" + lex.getToken() + "'");
+                log.append(new Diagnostic(SEVERITY.ERROR, CODE.PARSER, -1, lex.getTokenPosition(),
+                        lex.getTokenEnd()-lex.getTokenPosition(),
+                        " -> " + "Unerwartetes Token: '" + lex.getToken() + "'"));
         }
         
         return false;
@@ -552,6 +436,30 @@ public class VariableAssignmentParser
         return log.getLogString();
     }
 
+    /**
+     * return the diagnostics of the last parsing
+     * 
+     * @return log (component-id not set; offsets relative to the parsed string)
+     * 
+     * @author Andreas Schwenk
+     */
+    public Log getLog()
+    {
+        return log;
+    }
+
+    /**
+     * sets the error-message; the position of the current token is stored
+     * 
+     * @param str error-message
+     */
+    private void setError(String str)
+    {
+        errorStr = str;
+        errorPos = lex.getTokenPosition();
+        errorLength = lex.getTokenEnd()-errorPos;
+    }
+
     /**
      * gets generated variable assignments
      * 
@@ -0,0 +1,267 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       VerificationSnapshot
+ * Created:     2026-10-19
+ */
+
+package Generation;
+
+import Graph.Component;
+import Graph.Graph;
+import Graph.Graph.GRAPH_TYPE;
+import Graph.Signal;
+import Graph.State;
+import Graph.SymbolTable;
+import Graph.Transition;
+import Graph.Variable;
+import java.util.Iterator;
+import java.util.LinkedList;
+
+/**
+ * Copy of all texts of a graph, that are needed for the verification
+ * (names, conditions, output-vectors, variable-assignments).
+ *
+ * A snapshot has to be taken on the event-thread. A "detached" snapshot also
+ * copies signals and variables and builds its own symbol-table; thus it can be
+ * verified in a background-thread while the user continues editing the graph.
+ * Its symbol-revision is the one of its own symbol-table; the parsed texts
+ * refer to the copied signals and variables. The copies of the previous
+ * snapshot (and its revision) are reused, as long as the signals and
+ * variables of the graph did not change; thus the verification of unmodified
+ * components and the parsed texts are reused by the next snapshot.
+ *
+ * @author Andreas Schwenk
+ */
+public class VerificationSnapshot
+{
+    // *** SUBCLASSES ***
+
+    /**
+     * texts of a single state or transition
+     */
+    public static class Item
+    {
+        public final Component component; // original (only used as key)
+        public final int id;
+        public final boolean isState;
+        public final long modificationCount;
+        public final String name;
+        public final String condition;     // transitions only
+        public final String outputVector;  // Moore: states, Mealy: transitions (null otherwise)
+        public final boolean variableAssignmentsEnabled;
+        public final String variableAssignments;
+
+        private Item(Component component, GRAPH_TYPE graphType)
+        {
+            this.component = component;
+            this.id = component.getId();
+            this.modificationCount = component.getModificationCount();
+            this.name = component.getName();
+            if(component instanceof State)
+            {
+                State s = (State)component;
+                isState = true;
+                condition = null;
+                outputVector = (graphType == GRAPH_TYPE.MOORE) ? s.getMooreOutputString() : null;
+                variableAssignmentsEnabled = s.isVariableAssignmentsEnabled();
+                variableAssignments = s.getVariableAssignments();
+            }
+            else
+            {
+                Transition t = (Transition)component;
+                isState = false;
+                condition = t.getCondition();
+                outputVector = (graphType == GRAPH_TYPE.MEALY) ? t.getMealyOutputString() : null;
+                variableAssignmentsEnabled = false;
+                variableAssignments = null;
+            }
+        }
+    }
+
+    // *** ATTRIBUTES ***
+    private final Graph graph;
+    private final String graphName;
+    private final GRAPH_TYPE graphType;
+    private final long symbolRevision;      // of the symbol-table of the snapshot
+    private final long graphSymbolRevision; // of the graph at the time of the snapshot
+    private final LinkedList<Signal> signals;
+    private final LinkedList<Variable> variables;
+    private final SymbolTable symbols;
+    private final Transition startNode;
+    private final String startNodeOutputVector;
+    private final LinkedList<Item> items = new LinkedList<Item>();
+
+    // *** METHODS ***
+
+    /**
+     * takes a snapshot of the given graph (call on the event-thread only)
+     *
+     * @param graph graph
+     * @param detached copy signals and variables (needed for verifying in a
+     *  background-thread)
+     *
+     * @author Andreas Schwenk
+     */
+    public VerificationSnapshot(Graph graph, boolean detached)
+    {
+        this(graph, detached, null);
+    }
+
+    /**
+     * takes a detached snapshot of the given graph (call on the event-thread
+     * only)
+     *
+     * @param graph graph
+     * @param previous previous detached snapshot of the graph (null: none);
+     *  its copies of the signals and variables are reused, if the graph did
+     *  not change them
+     *
+     * @author Andreas Schwenk
+     */
+    public VerificationSnapshot(Graph graph, VerificationSnapshot previous)
+    {
+        this(graph, true, previous);
+    }
+
+    private VerificationSnapshot(Graph graph, boolean detached, VerificationSnapshot previous)
+    {
+        this.graph = graph;
+        graphName = graph.getName();
+        graphType = graph.getGraphType();
+        graphSymbolRevision = graph.getSymbolRevision();
+        startNode = graph.getStartNode();
+        startNodeOutputVector = (startNode != null && graphType == GRAPH_TYPE.MEALY)
+                ? startNode.getMealyOutputString() : null;
+
+        Iterator<Component> itComp = graph.getComponents().iterator();
+        Component c;
+        while(itComp.hasNext())
+        {
+            c = itComp.next();
+            if(c instanceof State || c instanceof Transition)
+                items.add(new Item(c, graphType));
+        }
+
+        if(!detached)
+        {
+            signals = graph.getSignals();
+            variables = graph.getVariables();
+            symbols = graph.getSymbolTable();
+            symbolRevision = symbols.getRevision();
+            return;
+        }
+
+        // signals and variables unchanged since the previous snapshot?
+        if(previous != null && previous.graph == graph && previous.symbols != graph.getSymbolTable()
+                && previous.graphSymbolRevision == graphSymbolRevision)
+        {
+            signals = previous.signals;
+            variables = previous.variables;
+            symbols = new SymbolTable();
+            symbols.rebuild(signals, variables, graph.getComponents(), previous.symbolRevision);
+            symbolRevision = previous.symbolRevision;
+            return;
+        }
+
+        // copy signals and variables (without owner: changes are not reported)
+        signals = new LinkedList<Signal>();
+        Iterator<Signal> itSig = graph.getSignals().iterator();
+        Signal s, sCopy;
+        while(itSig.hasNext())
+        {
+            s = itSig.next();
+            sCopy = new Signal(null, s.getName(), s.getDescription(), s.getType(), s.getDirection());
+            sCopy.setbitLength(s.getBitLength());
+            signals.add(sCopy);
+        }
+        variables = new LinkedList<Variable>();
+        Iterator<Variable> itVar = graph.getVariables().iterator();
+        Variable v, vCopy;
+        while(itVar.hasNext())
+        {
+            v = itVar.next();
+            vCopy = new Variable(null, v.getName(), v.getDescription(), v.getType());
+            vCopy.setbitLength(v.getBitLength());
+            variables.add(vCopy);
+        }
+        symbols = new SymbolTable();
+        symbols.rebuild(signals, variables, graph.getComponents());
+        symbolRevision = symbols.getRevision();
+    }
+
+    public Graph getGraph() {
+        return graph;
+    }
+
+    public String getGraphName() {
+        return graphName;
+    }
+
+    public GRAPH_TYPE getGraphType() {
+        return graphType;
+    }
+
+    /**
+     * @return revision of the symbol-table of the snapshot (differs from the
+     *         one of the graph for detached snapshots)
+     */
+    public long getSymbolRevision() {
+        return symbolRevision;
+    }
+
+    /**
+     * @return revision of the symbol-table of the graph at the time of the
+     *         snapshot (only for detecting stale results)
+     */
+    public long getGraphSymbolRevision() {
+        return graphSymbolRevision;
+    }
+
+    public LinkedList<Signal> getSignals() {
+        return signals;
+    }
+
+    /**
+     * gets all signals with the given direction
+     *
+     * @param direction direction
+     * @return signals (in the order of the graph)
+     */
+    public LinkedList<Signal> getSignals(Signal.SIGNAL_DIRECTION direction)
+    {
+        LinkedList<Signal> list = new LinkedList<Signal>();
+        Iterator<Signal> it = signals.iterator();
+        Signal s;
+        while(it.hasNext())
+        {
+            s = it.next();
+            if(s.getDirection() == direction)
+                list.add(s);
+        }
+        return list;
+    }
+
+    public LinkedList<Variable> getVariables() {
+        return variables;
+    }
+
+    public SymbolTable getSymbolTable() {
+        return symbols;
+    }
+
+    public Transition getStartNode() {
+        return startNode;
+    }
+
+    public String getStartNodeOutputVector() {
+        return startNodeOutputVector;
+    }
+
+    public LinkedList<Item> getItems() {
+        return items;
+    }
+}
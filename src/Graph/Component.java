@@ -47,6 +47,9 @@ public abstract class Component
     protected int id=0; // component's ID
     protected static int idCounter=0; // stores next component id
     
+    // modifications (incremented on each change of the texts, that are verified)
+    private long modificationCount=0;
+    
     // *** METHODS ***
     
     /**
@@ -274,6 +277,41 @@ public abstract class Component
         this.name.setText(name);
     }
 
+    /**
+     * marks the component as modified, e. g. after editing the name or a 
+     * condition. The generation re-verifies only modified components.
+     * 
+     * @author Andreas Schwenk
+     */
+    public void markModified()
+    {
+        modificationCount++;
+        if(parent != null)
+            parent.componentModified(this);
+    }
+    
+    /**
+     * updates the symbol-table of the graph after renaming the component
+     * 
+     * @author Andreas Schwenk
+     */
+    public void nameModified()
+    {
+        if(parent != null)
+            parent.getSymbolTable().nameChanged(this);
+    }
+    
+    /**
+     * gets the number of modifications since creation of the component
+     * 
+     * @return modification-count
+     * 
+     * @author Andreas Schwenk
+     */
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
     /**
      * gets the position of the component
      * 
@@ -376,6 +414,17 @@ public abstract class Component
         return id;
     }
 
+    /**
+     * gets the owner (parent) of the component
+     * 
+     * @return graph (null, if the component is not part of a graph)
+     * 
+     * @author Andreas Schwenk
+     */
+    public Graph getParent() {
+        return parent;
+    }
+
     /**
      * sets the owner (parent) of the component => a graph
      * 
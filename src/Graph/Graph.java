@@ -45,12 +45,23 @@ public class Graph implements I_GRAPH
     public static final int COMP_TRANSITION = 2;
     public static final int COMP_SUPER_STATE = 3;
     public static final int COMP_PARALLEL_STATE = 4;
+    // version of the file-format, written before the graph (see saveGraph,
+    //  loadGraph); 2: state-encoding, 3: VHDL-architecture
+    public static final int FILE_VERSION = 3;
 
     // *** ENUMARATIONS ***
     public enum GRAPH_TYPE { MOORE, MEALY };
+    // encoding of the states in VHDL (ENUMERATION: left to the synthesis-tool)
+    public enum STATE_ENCODING { ENUMERATION, AUTOMATIC, ONE_HOT, GRAY, JOHNSON, BINARY, OUTPUT_ENCODED, LOW_POWER };
+    // architecture of the VHDL-code (DEFAULT: one process or dataflow, see preferences;
+    // ROM: next state and outputs from a block RAM)
+    public enum VHDL_ARCHITECTURE { DEFAULT, TWO_PROCESS, THREE_PROCESS, ROM };
     
     // *** ATTRIBUTES ***
     private GRAPH_TYPE graphType=GRAPH_TYPE.MOORE;
+    private STATE_ENCODING stateEncoding=STATE_ENCODING.ENUMERATION;
+    private VHDL_ARCHITECTURE vhdlArchitecture=VHDL_ARCHITECTURE.DEFAULT;
+    private boolean registeredMealyOutputs=false;
     private String name = "Graph01";
     
     // component that is currently inserted
@@ -67,6 +78,12 @@ public class Graph implements I_GRAPH
     
     private int width=600;
     private int height=400;
+    
+    // hashed names of signals, variables and components
+    private SymbolTable symbolTable = new SymbolTable();
+    
+    // informed about each modification, that is relevant for the verification
+    private Runnable modificationListener=null;
 
     // *** METHODS ***
     public Graph()
@@ -399,6 +416,8 @@ public class Graph implements I_GRAPH
     public void insertComponent(Component c)
     {
         components.add(c);
+        symbolTable.insert(c);
+        notifyModification();
     }
 
     /**
@@ -424,6 +443,7 @@ public class Graph implements I_GRAPH
     @Override
     public void setComponents(LinkedList<Component> components) {
         this.components = components;
+        rebuildSymbolTable();
     }
 
     /**
@@ -437,6 +457,8 @@ public class Graph implements I_GRAPH
     public void insertSignal(Signal s)
     {
         signals.add(s);
+        symbolTable.insert(s);
+        notifyModification();
     }
     
     /**
@@ -450,6 +472,8 @@ public class Graph implements I_GRAPH
     public void deleteSignal(Signal s)
     {
         signals.remove(s);
+        symbolTable.remove(s);
+        notifyModification();
     }
 
     /**
@@ -505,6 +529,7 @@ public class Graph implements I_GRAPH
     @Override
     public void setSignals(LinkedList<Signal> s) {
         this.signals = s;
+        rebuildSymbolTable();
     }
 
     /**
@@ -518,6 +543,8 @@ public class Graph implements I_GRAPH
     public void insertVariable(Variable v)
     {
         variables.add(v);
+        symbolTable.insert(v);
+        notifyModification();
     }
     
     /**
@@ -531,6 +558,8 @@ public class Graph implements I_GRAPH
     public void deleteVariable(Variable v)
     {
         variables.remove(v);
+        symbolTable.remove(v);
+        notifyModification();
     }
 
     /**
@@ -556,6 +585,7 @@ public class Graph implements I_GRAPH
     @Override
     public void setVariables(LinkedList<Variable> v) {
         this.variables = v;
+        rebuildSymbolTable();
     }
     
     /**
@@ -660,6 +690,7 @@ public class Graph implements I_GRAPH
     @Override
     public void setName(String name) {
         this.name = name.replace(" ", ""); // remove spaces
+        notifyModification();
     }
 
     /**
@@ -698,6 +729,7 @@ public class Graph implements I_GRAPH
         this.components = new LinkedList<Component>();
         if(startNode != null)
             startNode = null;
+        rebuildSymbolTable();
     }
 
     /**
@@ -709,6 +741,7 @@ public class Graph implements I_GRAPH
     public void deleteAllVariables() 
     {
         this.variables = new LinkedList<Variable>();
+        rebuildSymbolTable();
     }
 
     /**
@@ -720,6 +753,7 @@ public class Graph implements I_GRAPH
     public void deleteAllSignals() 
     {
         this.signals = new LinkedList<Signal>();
+        rebuildSymbolTable();
     }
 
     /**
@@ -782,6 +816,8 @@ public class Graph implements I_GRAPH
             }
             // remove component
             components.remove(c);
+            symbolTable.remove(c);
+            notifyModification();
             // start node?
             if(startNode != null && startNode == c)
                 startNode = null;
@@ -810,6 +846,166 @@ public class Graph implements I_GRAPH
     @Override
     public void setGraphType(GRAPH_TYPE graphType) {
         this.graphType = graphType;
+        symbolsModified();
+    }
+
+    /**
+     * gets the encoding of the states in the generated VHDL-code
+     * 
+     * @return encoding of the states
+     * 
+     * @author Andreas Schwenk
+     */
+    @Override
+    public STATE_ENCODING getStateEncoding() {
+        return stateEncoding;
+    }
+
+    /**
+     * sets the encoding of the states in the generated VHDL-code (does not
+     * change the verification)
+     * 
+     * @param stateEncoding encoding of the states
+     * 
+     * @author Andreas Schwenk
+     */
+    @Override
+    public void setStateEncoding(STATE_ENCODING stateEncoding) {
+        this.stateEncoding = stateEncoding;
+    }
+
+    /**
+     * gets the architecture of the generated VHDL-code
+     * 
+     * @return architecture
+     * 
+     * @author Andreas Schwenk
+     */
+    @Override
+    public VHDL_ARCHITECTURE getVhdlArchitecture() {
+        return vhdlArchitecture;
+    }
+
+    /**
+     * sets the architecture of the generated VHDL-code
+     * 
+     * @param vhdlArchitecture architecture
+     * 
+     * @author Andreas Schwenk
+     */
+    @Override
+    public void setVhdlArchitecture(VHDL_ARCHITECTURE vhdlArchitecture) {
+        this.vhdlArchitecture = vhdlArchitecture;
+    }
+
+    /**
+     * gets, if the Mealy-outputs are registered in the generated VHDL-code
+     * (two / three processes): the output of a transition appears one cycle
+     * later, together with the new state
+     * 
+     * @return true: registered Mealy-outputs
+     * 
+     * @author Andreas Schwenk
+     */
+    @Override
+    public boolean getRegisteredMealyOutputs() {
+        return registeredMealyOutputs;
+    }
+
+    /**
+     * sets, if the Mealy-outputs are registered in the generated VHDL-code
+     * 
+     * @param registeredMealyOutputs true: registered Mealy-outputs
+     * 
+     * @author Andreas Schwenk
+     */
+    @Override
+    public void setRegisteredMealyOutputs(boolean registeredMealyOutputs) {
+        this.registeredMealyOutputs = registeredMealyOutputs;
+    }
+    
+    /**
+     * Has to be called, whenever a signal or variable has been inserted,
+     * deleted or changed (name, type, bit-length, direction)
+     * 
+     * @author Andreas Schwenk
+     */
+    @Override
+    public void symbolsModified()
+    {
+        symbolTable.modified();
+        notifyModification();
+    }
+    
+    /**
+     * Has to be called, whenever a text of a component (name, condition,
+     * output-vector, variable-assignments) has been changed
+     * 
+     * @param c modified component
+     * 
+     * @author Andreas Schwenk
+     */
+    @Override
+    public void componentModified(Component c)
+    {
+        notifyModification();
+    }
+    
+    /**
+     * sets a listener, that is informed about each modification of the graph
+     * that is relevant for the verification (e. g. the live-verification)
+     * 
+     * @param listener listener (null: no listener)
+     * 
+     * @author Andreas Schwenk
+     */
+    @Override
+    public void setModificationListener(Runnable listener)
+    {
+        this.modificationListener = listener;
+    }
+    
+    private void notifyModification()
+    {
+        if(modificationListener != null)
+            modificationListener.run();
+    }
+    
+    /**
+     * gets the revision of the signals and variables. The revision changes,
+     * whenever "symbolsModified()" is called.
+     * 
+     * @return revision
+     * 
+     * @author Andreas Schwenk
+     */
+    @Override
+    public long getSymbolRevision() {
+        return symbolTable.getRevision();
+    }
+    
+    /**
+     * gets the symbol-table (hashed names of signals, variables and components)
+     * 
+     * @return symbol-table
+     * 
+     * @author Andreas Schwenk
+     */
+    @Override
+    public SymbolTable getSymbolTable() {
+        return symbolTable;
+    }
+    
+    /**
+     * rebuilds the symbol-table from the lists of signals, variables and
+     * components
+     * 
+     * @author Andreas Schwenk
+     */
+    private void rebuildSymbolTable()
+    {
+        symbolTable.rebuild(signals, variables, components);
+        notifyModification();
     }
     
     /**
@@ -902,6 +1098,11 @@ public class Graph implements I_GRAPH
         out.writeUTF(name);
         out.writeInt(width);
         out.writeInt(height);
+        // since file-version 2
+        out.writeUTF(stateEncoding.name());
+        // since file-version 3
+        out.writeUTF(vhdlArchitecture.name());
+        out.writeBoolean(registeredMealyOutputs);
         
         // save signals
         out.writeInt(signals.size());
@@ -959,6 +1160,20 @@ public class Graph implements I_GRAPH
         name = in.readUTF();
         width = in.readInt();
         height = in.readInt();
+        if(fileVersion >= 2)
+            stateEncoding = STATE_ENCODING.valueOf(in.readUTF());
+        else
+            stateEncoding = STATE_ENCODING.ENUMERATION;
+        if(fileVersion >= 3)
+        {
+            vhdlArchitecture = VHDL_ARCHITECTURE.valueOf(in.readUTF());
+            registeredMealyOutputs = in.readBoolean();
+        }
+        else
+        {
+            vhdlArchitecture = VHDL_ARCHITECTURE.DEFAULT;
+            registeredMealyOutputs = false;
+        }
 
         // delete everything
         deleteAllComponents();
@@ -1033,6 +1248,8 @@ public class Graph implements I_GRAPH
             comp = (Component)it.next();
             comp.fixAssociations();
         }
+        
+        rebuildSymbolTable();
     }
     
     /**
@@ -11,6 +11,8 @@
 package Graph;
 
 import Graph.Graph.GRAPH_TYPE;
+import Graph.Graph.STATE_ENCODING;
+import Graph.Graph.VHDL_ARCHITECTURE;
 import java.awt.Font;
 import java.awt.Graphics2D;
 import java.awt.Point;
@@ -72,6 +74,9 @@ public interface I_GRAPH
     
     // set
     public void                 setGraphType(GRAPH_TYPE graphType);
+    public void                 setStateEncoding(STATE_ENCODING stateEncoding);
+    public void                 setVhdlArchitecture(VHDL_ARCHITECTURE vhdlArchitecture);
+    public void                 setRegisteredMealyOutputs(boolean registeredMealyOutputs);
     public void                 setComponents(LinkedList<Component> components);
     public void                 setSignals(LinkedList<Signal> s);
     public void                 setVariables(LinkedList<Variable> v);
@@ -80,6 +85,9 @@ public interface I_GRAPH
 /*TODO:CHANGE NAME IN CLASS-DIAGRAM*/public void setStartNode(Transition startNode);
     public void                 setName(String name);
     public void                 setRenderDockingPoints(boolean renderDockingPoints);
+    public void                 symbolsModified();
+    public void                 componentModified(Component c);
+    public void                 setModificationListener(Runnable listener);
     
     // get
     public LinkedList<Signal>   getSignals();
@@ -91,10 +99,15 @@ public interface I_GRAPH
     public String               getName();
     public boolean              getRenderDockingPoints();
     public GRAPH_TYPE           getGraphType();
+    public STATE_ENCODING       getStateEncoding();
+    public VHDL_ARCHITECTURE    getVhdlArchitecture();
+    public boolean              getRegisteredMealyOutputs();
     public Component            getComponentByID(int id);
     public String               getLegend();
     public LinkedList<Component> getComponents();
     public LinkedList<Component> getSelectedComponents();
     public LinkedList<State>      getStates();
     public LinkedList<Transition> getTransitions();
+    public long                 getSymbolRevision();
+    public SymbolTable          getSymbolTable();
 }
@@ -63,6 +63,7 @@ public abstract class SigVar
      */
     public void setbitLength(int bitLength) {
         this.bitLength = bitLength;
+        modified();
     }
 
     /**
@@ -107,6 +108,9 @@ public abstract class SigVar
      */
     public void setName(String name) {
         this.name = name;
+        if(parent != null)
+            parent.getSymbolTable().nameChanged(this);
+        modified();
     }
 
     /**
@@ -129,6 +133,18 @@ public abstract class SigVar
      */
     public void setType(SIGVAR_TYPE type) {
         this.type = type;
+        modified();
+    }
+    
+    /**
+     * informs the owning graph about a modification of the signal/variable
+     * 
+     * @author Andreas Schwenk
+     */
+    protected void modified()
+    {
+        if(parent != null)
+            parent.symbolsModified();
     }
     
     /**
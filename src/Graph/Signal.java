@@ -88,6 +88,7 @@ public class Signal extends SigVar
      */
     public void setDirection(SIGNAL_DIRECTION direction) {
         this.direction = direction;
+        modified();
     }
     
     /**
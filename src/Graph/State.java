@@ -161,6 +161,18 @@ public class State extends Component
             return null;
     }
 
+    /**
+     * sets the output-string in case of Moore
+     * 
+     * @param output output-string
+     * 
+     * @author Andreas Schwenk
+     */
+    public void setMooreOutputString(String output) {
+        if(mooreOutput != null)
+            mooreOutput.setText(output);
+    }
+
     /**
      * for explanation: see superclass "Component"
      * 
@@ -357,11 +369,14 @@ public class State extends Component
         }
         // variable-assignments
         //   variable-assignments are possible, when enabled via button
+        boolean wasEnabled = variableAssignmentsEnabled;
         variableAssignmentsEnabled =
            mousePosition.x >= (getPosition().x-getSize().x/2-2) && 
            mousePosition.x <= (getPosition().x-getSize().x/2+12) &&
            mousePosition.y >= (getPosition().y-10) &&
            mousePosition.y <= (getPosition().y+10) ? !variableAssignmentsEnabled : variableAssignmentsEnabled;
+        if(wasEnabled != variableAssignmentsEnabled)
+            markModified();
         // fix text-positions
         if(variableAssignmentsEnabled)
         {
@@ -808,6 +823,19 @@ public class State extends Component
         return variableAssignments.getText();
     }
 
+    /**
+     * sets the variable-assignments
+     * 
+     * @param variableAssignments variable-assignments as a string
+     * @param enabled variable-assignments enabled?
+     * 
+     * @author Andreas Schwenk
+     */
+    public void setVariableAssignments(String variableAssignments, boolean enabled) {
+        this.variableAssignments.setText(variableAssignments);
+        this.variableAssignmentsEnabled = enabled;
+    }
+
     /**
      * get whether variable-assignments are enabled
      * 
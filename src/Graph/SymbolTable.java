@@ -0,0 +1,477 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Graph
+ * Class:       SymbolTable
+ * Created:     2026-10-19
+ */
+
+package Graph;
+
+import Graph.Signal.SIGNAL_DIRECTION;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hashed index of all names of a graph (signals, variables and components).
+ *
+ * Names are stored in lower case, since the verification treats names
+ * case-insensitive (duplicate tests). Parsers resolve identifiers case-sensitive,
+ * thus the lookup-methods compare the exact name within a bucket.
+ * A bucket contains more than one symbol only in case of duplicate names.
+ *
+ * The table is maintained by the graph (insertion, deletion, loading) and by
+ * the symbols themselves (renaming).
+ *
+ * Additionally the exact names of all signals and variables are interned:
+ * the lexer resolves an identifier directly from its characters in the
+ * parsed text, without creating a string (see method intern()).
+ *
+ * @author Andreas Schwenk
+ */
+public class SymbolTable
+{
+    // *** SUBCLASSES ***
+
+    // open-addressing hash-table of names; immutable once published
+    private static class NameIndex
+    {
+        final long revision;
+        final String[] slots; // length is a power of two
+
+        NameIndex(long revision, String[] slots)
+        {
+            this.revision = revision;
+            this.slots = slots;
+        }
+    }
+
+    // *** ATTRIBUTES ***
+    private HashMap<String, LinkedList<Signal>> signals = new HashMap<String, LinkedList<Signal>>();
+    private HashMap<String, LinkedList<Variable>> variables = new HashMap<String, LinkedList<Variable>>();
+    private HashMap<String, LinkedList<Component>> components = new HashMap<String, LinkedList<Component>>();
+
+    // key (lower case name), under which a symbol is stored
+    private IdentityHashMap<Object, String> keys = new IdentityHashMap<Object, String>();
+
+    // changed on each change of signals, variables or the graph-type
+    //  (all conditions, output-vectors and variable-assignments depend on them);
+    //  revisions are unique over all tables, thus a revision identifies the
+    //  symbols of one graph (e. g. as key of parsed expressions)
+    private static final AtomicLong REVISIONS = new AtomicLong();
+    private volatile long revision = REVISIONS.incrementAndGet();
+
+    // interned names of signals and variables (rebuilt lazily after changes)
+    private volatile NameIndex nameIndex = null;
+
+    // *** METHODS ***
+
+    /**
+     * inserts a signal
+     *
+     * @param s signal
+     *
+     * @author Andreas Schwenk
+     */
+    public void insert(Signal s)
+    {
+        add(signals, s, s.getName());
+        modified();
+    }
+
+    /**
+     * inserts a variable
+     *
+     * @param v variable
+     *
+     * @author Andreas Schwenk
+     */
+    public void insert(Variable v)
+    {
+        add(variables, v, v.getName());
+        modified();
+    }
+
+    /**
+     * inserts a component (state, transition, ...)
+     *
+     * @param c component
+     *
+     * @author Andreas Schwenk
+     */
+    public void insert(Component c)
+    {
+        add(components, c, c.getName());
+    }
+
+    /**
+     * removes a signal, variable or component
+     *
+     * @param symbol signal, variable or component
+     *
+     * @author Andreas Schwenk
+     */
+    public void remove(Object symbol)
+    {
+        if(symbol instanceof Signal)
+        {
+            remove(signals, symbol);
+            modified();
+        }
+        else if(symbol instanceof Variable)
+        {
+            remove(variables, symbol);
+            modified();
+        }
+        else if(symbol instanceof Component)
+            remove(components, symbol);
+    }
+
+    /**
+     * Has to be called after renaming a signal, variable or component.
+     * Symbols, that are not (yet) part of the table, are ignored.
+     *
+     * @param symbol signal, variable or component
+     *
+     * @author Andreas Schwenk
+     */
+    public void nameChanged(Object symbol)
+    {
+        if(!keys.containsKey(symbol))
+            return;
+        if(symbol instanceof Signal)
+        {
+            remove(signals, symbol);
+            add(signals, (Signal)symbol, ((Signal)symbol).getName());
+            modified();
+        }
+        else if(symbol instanceof Variable)
+        {
+            remove(variables, symbol);
+            add(variables, (Variable)symbol, ((Variable)symbol).getName());
+            modified();
+        }
+        else if(symbol instanceof Component)
+        {
+            remove(components, symbol);
+            add(components, (Component)symbol, ((Component)symbol).getName());
+        }
+    }
+
+    /**
+     * rebuilds the table from the lists of a graph
+     *
+     * @param signalList all signals
+     * @param variableList all variables
+     * @param componentList all components
+     *
+     * @author Andreas Schwenk
+     */
+    public void rebuild(LinkedList<Signal> signalList, LinkedList<Variable> variableList,
+            LinkedList<Component> componentList)
+    {
+        signals.clear();
+        variables.clear();
+        components.clear();
+        keys.clear();
+        Iterator<Signal> itSig = signalList.iterator();
+        while(itSig.hasNext())
+        {
+            Signal s = itSig.next();
+            add(signals, s, s.getName());
+        }
+        Iterator<Variable> itVar = variableList.iterator();
+        while(itVar.hasNext())
+        {
+            Variable v = itVar.next();
+            add(variables, v, v.getName());
+        }
+        Iterator<Component> itComp = componentList.iterator();
+        while(itComp.hasNext())
+        {
+            Component c = itComp.next();
+            add(components, c, c.getName());
+        }
+        modified();
+    }
+
+    /**
+     * Rebuilds the table from the lists of a graph and keeps the given
+     * revision. Only for tables of the same signals and variables (see
+     * VerificationSnapshot: copies of the signals and variables are reused as
+     * long as the graph does not change them); texts parsed against the
+     * table stay valid.
+     *
+     * @param signalList all signals
+     * @param variableList all variables
+     * @param componentList all components
+     * @param revision revision of the table, that was built from the same
+     *  signals and variables
+     *
+     * @author Andreas Schwenk
+     */
+    public void rebuild(LinkedList<Signal> signalList, LinkedList<Variable> variableList,
+            LinkedList<Component> componentList, long revision)
+    {
+        rebuild(signalList, variableList, componentList);
+        this.revision = revision;
+    }
+
+    /**
+     * gets a signal by its name (case-sensitive)
+     *
+     * @param name name of the signal
+     * @param direction direction of the signal
+     * @return signal or null, if no such signal exists
+     *
+     * @author Andreas Schwenk
+     */
+    public Signal getSignal(String name, SIGNAL_DIRECTION direction)
+    {
+        LinkedList<Signal> bucket = signals.get(name.toLowerCase());
+        if(bucket == null)
+            return null;
+        Iterator<Signal> it = bucket.iterator();
+        Signal s;
+        while(it.hasNext())
+        {
+            s = it.next();
+            if(s.getDirection() == direction && s.getName().equals(name))
+                return s;
+        }
+        return null;
+    }
+
+    /**
+     * gets a variable by its name (case-sensitive)
+     *
+     * @param name name of the variable
+     * @return variable or null, if no such variable exists
+     *
+     * @author Andreas Schwenk
+     */
+    public Variable getVariable(String name)
+    {
+        LinkedList<Variable> bucket = variables.get(name.toLowerCase());
+        if(bucket == null)
+            return null;
+        Iterator<Variable> it = bucket.iterator();
+        Variable v;
+        while(it.hasNext())
+        {
+            v = it.next();
+            if(v.getName().equals(name))
+                return v;
+        }
+        return null;
+    }
+
+    /**
+     * Gets the interned name of a signal or variable that equals the given
+     * part of a text (case-sensitive). No objects are created, unless the
+     * names have been changed since the last call.
+     *
+     * @param text text (e. g. a transition-condition)
+     * @param start index of the first character
+     * @param end index after the last character
+     * @return name (identical instance as used by the signal or variable)
+     *         or null, if there is no signal or variable with this name
+     *
+     * @author Andreas Schwenk
+     */
+    public String intern(CharSequence text, int start, int end)
+    {
+        NameIndex index = nameIndex;
+        if(index == null || index.revision != revision)
+            index = buildNameIndex();
+        // same hash-function as String.hashCode()
+        int h = 0;
+        for(int i=start; i<end; i++)
+            h = 31*h + text.charAt(i);
+        int mask = index.slots.length - 1;
+        int slot = mix(h) & mask;
+        String name;
+        while((name = index.slots[slot]) != null)
+        {
+            if(name.length() == end-start && name.hashCode() == h && regionEquals(name, text, start))
+                return name;
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * number of signals with the given name (case-insensitive)
+     *
+     * @param name name
+     * @return number of signals
+     *
+     * @author Andreas Schwenk
+     */
+    public int countSignals(String name)
+    {
+        LinkedList<Signal> bucket = signals.get(name.toLowerCase());
+        return bucket == null ? 0 : bucket.size();
+    }
+
+    /**
+     * number of variables with the given name (case-insensitive)
+     *
+     * @param name name
+     * @return number of variables
+     *
+     * @author Andreas Schwenk
+     */
+    public int countVariables(String name)
+    {
+        LinkedList<Variable> bucket = variables.get(name.toLowerCase());
+        return bucket == null ? 0 : bucket.size();
+    }
+
+    /**
+     * number of components with the given name (case-insensitive)
+     *
+     * @param name name
+     * @return number of components
+     *
+     * @author Andreas Schwenk
+     */
+    public int countComponents(String name)
+    {
+        LinkedList<Component> bucket = components.get(name.toLowerCase());
+        return bucket == null ? 0 : bucket.size();
+    }
+
+    /**
+     * checks whether a state with the given name exists (case-insensitive)
+     *
+     * @param name name
+     * @return true, if a state with this name exists
+     *
+     * @author Andreas Schwenk
+     */
+    public boolean containsState(String name)
+    {
+        LinkedList<Component> bucket = components.get(name.toLowerCase());
+        if(bucket == null)
+            return false;
+        Iterator<Component> it = bucket.iterator();
+        while(it.hasNext())
+        {
+            if(it.next() instanceof State)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Has to be called, whenever signals, variables or the graph-type changed
+     *
+     * @author Andreas Schwenk
+     */
+    public void modified()
+    {
+        revision = REVISIONS.incrementAndGet();
+    }
+
+    /**
+     * gets the revision of the signals and variables
+     *
+     * @return revision (unique over all symbol-tables)
+     *
+     * @author Andreas Schwenk
+     */
+    public long getRevision() {
+        return revision;
+    }
+
+    private synchronized NameIndex buildNameIndex()
+    {
+        NameIndex index = nameIndex;
+        if(index != null && index.revision == revision)
+            return index;
+        int size = 8;
+        while(size < 2*keys.size())
+            size *= 2;
+        String[] slots = new String[size];
+        Iterator<Object> it = keys.keySet().iterator();
+        Object symbol;
+        while(it.hasNext())
+        {
+            symbol = it.next();
+            if(symbol instanceof SigVar)
+                insertName(slots, ((SigVar)symbol).getName());
+        }
+        index = new NameIndex(revision, slots);
+        nameIndex = index;
+        return index;
+    }
+
+    private static void insertName(String[] slots, String name)
+    {
+        int mask = slots.length - 1;
+        int slot = mix(name.hashCode()) & mask;
+        while(slots[slot] != null)
+        {
+            if(slots[slot].equals(name))
+                return;
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = name;
+    }
+
+    // spreads the hash-value of short names over all bits
+    private static int mix(int h)
+    {
+        return h ^ (h >>> 16) ^ (h >>> 7);
+    }
+
+    private static boolean regionEquals(String name, CharSequence text, int start)
+    {
+        for(int i=0; i<name.length(); i++)
+        {
+            if(name.charAt(i) != text.charAt(start+i))
+                return false;
+        }
+        return true;
+    }
+
+    private <T> void add(HashMap<String, LinkedList<T>> map, T symbol, String name)
+    {
+        String key = name.toLowerCase();
+        LinkedList<T> bucket = map.get(key);
+        if(bucket == null)
+        {
+            bucket = new LinkedList<T>();
+            map.put(key, bucket);
+        }
+        bucket.add(symbol);
+        keys.put(symbol, key);
+    }
+
+    private <T> void remove(HashMap<String, LinkedList<T>> map, Object symbol)
+    {
+        String key = keys.remove(symbol);
+        if(key == null)
+            return;
+        LinkedList<T> bucket = map.get(key);
+        if(bucket == null)
+            return;
+        Iterator<T> it = bucket.iterator();
+        while(it.hasNext())
+        {
+            if(it.next() == symbol)
+            {
+                it.remove();
+                break;
+            }
+        }
+        if(bucket.isEmpty())
+            map.remove(key);
+    }
+}
@@ -1197,6 +1197,56 @@ public class Transition extends Component
         else
             return null;
     }
+
+    /**
+     * sets the output-string in case of Mealy
+     * 
+     * @param output output-string
+     * 
+     * @author Andreas Schwenk
+     */
+    public void setMealyOutputString(String output) {
+        if(mealyOutput != null)
+            mealyOutput.setText(output);
+    }
+
+    /**
+     * gets the docking-point of the "from"-state
+     * 
+     * @return docking-point-index (see StateConnection)
+     * 
+     * @author Andreas Schwenk
+     */
+    public int getFromDockingPointIndex() {
+        return fromState.dockingPointIndex;
+    }
+
+    /**
+     * gets the docking-point of the "to"-state
+     * 
+     * @return docking-point-index (see StateConnection)
+     * 
+     * @author Andreas Schwenk
+     */
+    public int getToDockingPointIndex() {
+        return toState.dockingPointIndex;
+    }
+
+    /**
+     * gets the control-points of the Bezier-curve
+     * 
+     * @return copy of the control-points
+     * 
+     * @author Andreas Schwenk
+     */
+    public LinkedList<Point> getCtrlPoints()
+    {
+        LinkedList<Point> list = new LinkedList<Point>();
+        Iterator<Point> it = ctrlPoints.iterator();
+        while(it.hasNext())
+            list.add(new Point(it.next()));
+        return list;
+    }
     
     /**
      * set weather the output-vector contains errors or not
@@ -1233,6 +1283,18 @@ public class Transition extends Component
     {
         startNodeStartPos = new Point(p);
     }
+
+    /**
+     * gets the start position in case of a start node
+     * 
+     * @return start position
+     * 
+     * @author Andreas Schwenk
+     */
+    public Point getStartNodeStartPos()
+    {
+        return new Point(startNodeStartPos);
+    }
     
     /**
      * is start node?
@@ -10,6 +10,8 @@
 package Gui.Boundary;
 
 import Graph.Graph.GRAPH_TYPE;
+import Graph.Graph.STATE_ENCODING;
+import Graph.Graph.VHDL_ARCHITECTURE;
 
 public class GuiPreferencesBoundary
 {
@@ -19,7 +21,17 @@ public class GuiPreferencesBoundary
     private String  projectPath="";
     private String  exportPath="";
     private GRAPH_TYPE graphType=GRAPH_TYPE.MOORE;
+    private STATE_ENCODING stateEncoding=STATE_ENCODING.ENUMERATION;
+    private VHDL_ARCHITECTURE vhdlArchitecture=VHDL_ARCHITECTURE.DEFAULT;
+    private boolean registeredMealyOutputs=false;
     private Boolean vhdlUseProcess=false;
+    private Boolean minimizeConditions=false;
+    private Boolean decisionTrees=false;
+    private Boolean tableDriven=false;
+    private Boolean reentrant=false;
+    private Boolean minimizeStates=false;
+    private long    romBudget=0;
+    private Boolean benchmark=false;
 
     public String getExportPath() {
         return exportPath;
@@ -69,6 +81,30 @@ public class GuiPreferencesBoundary
         this.graphType = graphType;
     }
 
+    public STATE_ENCODING getStateEncoding() {
+        return stateEncoding;
+    }
+
+    public void setStateEncoding(STATE_ENCODING stateEncoding) {
+        this.stateEncoding = stateEncoding;
+    }
+
+    public VHDL_ARCHITECTURE getVhdlArchitecture() {
+        return vhdlArchitecture;
+    }
+
+    public void setVhdlArchitecture(VHDL_ARCHITECTURE vhdlArchitecture) {
+        this.vhdlArchitecture = vhdlArchitecture;
+    }
+
+    public boolean getRegisteredMealyOutputs() {
+        return registeredMealyOutputs;
+    }
+
+    public void setRegisteredMealyOutputs(boolean registeredMealyOutputs) {
+        this.registeredMealyOutputs = registeredMealyOutputs;
+    }
+
     public Boolean getVhdlUseProcess() {
         return vhdlUseProcess;
     }
@@ -76,5 +112,61 @@ public class GuiPreferencesBoundary
     public void setVhdlUseProcess(Boolean vhdlUseProcess) {
         this.vhdlUseProcess = vhdlUseProcess;
     }
+
+    public Boolean getMinimizeConditions() {
+        return minimizeConditions;
+    }
+
+    public void setMinimizeConditions(Boolean minimizeConditions) {
+        this.minimizeConditions = minimizeConditions;
+    }
+
+    public Boolean getDecisionTrees() {
+        return decisionTrees;
+    }
+
+    public void setDecisionTrees(Boolean decisionTrees) {
+        this.decisionTrees = decisionTrees;
+    }
+
+    public Boolean getTableDriven() {
+        return tableDriven;
+    }
+
+    public void setTableDriven(Boolean tableDriven) {
+        this.tableDriven = tableDriven;
+    }
+
+    public Boolean getReentrant() {
+        return reentrant;
+    }
+
+    public void setReentrant(Boolean reentrant) {
+        this.reentrant = reentrant;
+    }
+
+    public Boolean getMinimizeStates() {
+        return minimizeStates;
+    }
+
+    public void setMinimizeStates(Boolean minimizeStates) {
+        this.minimizeStates = minimizeStates;
+    }
+
+    public long getRomBudget() {
+        return romBudget;
+    }
+
+    public void setRomBudget(long romBudget) {
+        this.romBudget = romBudget;
+    }
+
+    public Boolean getBenchmark() {
+        return benchmark;
+    }
+
+    public void setBenchmark(Boolean benchmark) {
+        this.benchmark = benchmark;
+    }
     
 }
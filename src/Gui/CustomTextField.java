@@ -10,6 +10,8 @@
 
 package Gui;
 
+import Generation.Diagnostic;
+import Generation.SyntaxChecker;
 import Graph.Component;
 import java.awt.Color;
 import java.awt.Font;
@@ -61,6 +63,9 @@ public class CustomTextField
     
     private boolean underlined = false;
     
+    // erroneous part of the text (checked on each modification); -1: unknown
+    private int errorStart = -1, errorEnd = -1;
+    
     // *** METHODS ***
     
     /**
@@ -132,11 +137,18 @@ public class CustomTextField
         // underlined?
         if(underlined)
         {
+            int lineStart = 0;
             int lineLength = metrics.stringWidth(text);
+            // only the erroneous token (if known)
+            if(errorStart >= 0)
+            {
+                lineStart = metrics.stringWidth(text.substring(0, errorStart));
+                lineLength = metrics.stringWidth(text.substring(errorStart, errorEnd));
+            }
             if(lineLength < 5)
                 lineLength = 5;
             g2d.setColor(Color.red);
-            g2d.fillRect(p.x, p.y+4, lineLength, 2);
+            g2d.fillRect(p.x+lineStart, p.y+4, lineLength, 2);
             g2d.setColor(Color.black);
         }
         
@@ -264,6 +276,7 @@ public class CustomTextField
                 {
                     text = text.substring(0, cursorPos-1) + text.substring(cursorPos, text.length());
                     cursorPos --;
+                    textModified();
                 }                
                 return;
             case KeyEvent.VK_DELETE:
@@ -271,6 +284,7 @@ public class CustomTextField
                 if(cursorPos < text.length())
                 {
                     text = text.substring(0, cursorPos) + text.substring(cursorPos+1, text.length());
+                    textModified();
                 }                
                 return;
             case KeyEvent.VK_HOME:
@@ -296,6 +310,7 @@ public class CustomTextField
         {
             text = text.substring(0, cursorPos) + (char)keyCodeChar + text.substring(cursorPos, text.length());
             cursorPos ++;
+            textModified();
         }
         // (ii) transition-condition
         else if(symbolList == SYMBOL_LIST.CONDITION &&
@@ -311,6 +326,7 @@ public class CustomTextField
         {
             text = text.substring(0, cursorPos) + (char)keyCodeChar + text.substring(cursorPos, text.length());
             cursorPos ++;
+            textModified();
         }
         // (iii) variable-assignment(s)
         else if(symbolList == SYMBOL_LIST.VARIABLE_ASSIGNMENT &&
@@ -325,6 +341,7 @@ public class CustomTextField
         {
             text = text.substring(0, cursorPos) + (char)keyCodeChar + text.substring(cursorPos, text.length());
             cursorPos ++;
+            textModified();
         }
         // (iv) output-vector
         else if(symbolList == SYMBOL_LIST.OUTPUT_VECTOR &&
@@ -338,6 +355,7 @@ public class CustomTextField
         {
             text = text.substring(0, cursorPos) + (char)keyCodeChar + text.substring(cursorPos, text.length());
             cursorPos ++;
+            textModified();
         }
     }
        
@@ -407,6 +425,62 @@ public class CustomTextField
         this.text = text;
         // set cursor right to the end of the string
         cursorPos = text.length();
+        textModified();
+    }
+    
+    /**
+     * informs the related component about a modified text (needed for the
+     * incremental verification)
+     * 
+     * @author Andreas Schwenk
+     */
+    private void textModified()
+    {
+        if(relatedComponent != null)
+        {
+            relatedComponent.markModified();
+            if(symbolList == SYMBOL_LIST.NAME)
+                relatedComponent.nameModified();
+            else
+                underlined = checkSyntax();
+        }
+    }
+    
+    /**
+     * Parses the text (only this one, results are cached) and stores the
+     * position of the first erroneous token.
+     * 
+     * @return true, if the text contains an error
+     * 
+     * @author Andreas Schwenk
+     */
+    private boolean checkSyntax()
+    {
+        errorStart = errorEnd = -1;
+        if(relatedComponent == null || relatedComponent.getParent() == null)
+            return false;
+        SyntaxChecker.KIND kind;
+        switch(symbolList)
+        {
+            case CONDITION:
+                kind = SyntaxChecker.KIND.CONDITION;
+                break;
+            case OUTPUT_VECTOR:
+                kind = SyntaxChecker.KIND.OUTPUT_VECTOR;
+                break;
+            case VARIABLE_ASSIGNMENT:
+                kind = SyntaxChecker.KIND.VARIABLE_ASSIGNMENT;
+                break;
+            default:
+                return false;
+        }
+        Diagnostic d = SyntaxChecker.forGraph(relatedComponent.getParent()).check(kind, text);
+        if(d == null)
+            return false;
+        // at least one character (if any), at most the whole text
+        errorStart = Math.min(d.getOffset(), text.length());
+        errorEnd = Math.min(Math.max(errorStart + d.getLength(), errorStart + 1), text.length());
+        return true;
     }
 
     /**
@@ -467,6 +541,10 @@ public class CustomTextField
      */
     public void setUnderlined(boolean underlined) {
         this.underlined = underlined;
+        // erroneous token of a condition, output-vector or variable-assignment
+        errorStart = errorEnd = -1;
+        if(underlined && symbolList != SYMBOL_LIST.NAME)
+            checkSyntax();
     }
     
     
@@ -11,6 +11,7 @@ package Gui;
 
 import Graph.Graph.GRAPH_TYPE;
 import Gui.Boundary.GuiPreferencesBoundary;
+import Workflow.CommandLine;
 import Workflow.Workflow;
 import java.awt.*;
 import java.awt.event.ActionEvent;
@@ -262,9 +263,11 @@ public class GuiMain extends JFrame
 
         // MenuBar elements
         JMenu file = new JMenu("Datei");
+        JMenu machine = new JMenu("Automat");
         JMenu help = new JMenu("Hilfe");
 
         file.setBackground(new Color(0xb4, 0xb4, 0xb4));
+        machine.setBackground(new Color(0xb4, 0xb4, 0xb4));
         help.setBackground(new Color(0xb4, 0xb4, 0xb4));
 
         // File
@@ -338,6 +341,17 @@ public class GuiMain extends JFrame
             }
         });
 
+        // Machine
+        JMenuItem convert = new JMenuItem("In Mealy / Moore umwandeln");
+        convert.addActionListener(new ActionListener()
+        {
+            @Override
+            public void actionPerformed(ActionEvent e)
+            {
+                listener.convertGraphType();
+            }
+        });
+
         // Help
         JMenuItem about = new JMenuItem("Über STDE...");
         about.addActionListener(new ActionListener()
@@ -351,6 +365,7 @@ public class GuiMain extends JFrame
         
         // add MenuBar elements
         menuBar.add(file);
+        menuBar.add(machine);
         menuBar.add(help);
 
         // add sub-MenuBar elements
@@ -363,6 +378,8 @@ public class GuiMain extends JFrame
         file.add(new JSeparator());
         file.add(exit);
 
+        machine.add(convert);
+
         help.add(about);
 
         this.setJMenuBar(menuBar);
@@ -851,6 +868,10 @@ public class GuiMain extends JFrame
 
     public static void main(String[] args)
     {
+        // headless (command-line) mode
+        if(args.length > 0)
+            System.exit(new CommandLine(System.out).run(args));
+
         boolean macOSX = false;
         String osname = System.getProperty("os.name");
 
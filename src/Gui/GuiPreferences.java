@@ -10,6 +10,8 @@
 package Gui;
 
 import Graph.Graph.GRAPH_TYPE;
+import Graph.Graph.STATE_ENCODING;
+import Graph.Graph.VHDL_ARCHITECTURE;
 import Gui.Boundary.GuiPreferencesBoundary;
 import java.awt.Component;
 import java.awt.Container;
@@ -23,8 +25,10 @@ import java.awt.event.ActionListener;
 import java.io.File;
 import javax.swing.Box;
 import javax.swing.ButtonGroup;
+import javax.swing.DefaultComboBoxModel;
 import javax.swing.JButton;
 import javax.swing.JCheckBox;
+import javax.swing.JComboBox;
 import javax.swing.JFileChooser;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
@@ -46,8 +50,31 @@ public class GuiPreferences extends JFrame
     protected JTextField projectPath, exportPath;
 
     protected JRadioButton rbMoore, rbMealy;
+    protected JComboBox<String> cbStateEncoding;
+    // names of STATE_ENCODING (same order)
+    private static final String[] STATE_ENCODING_NAMES = {
+        "Aufzählungstyp (Synthese-Werkzeug)", "automatisch (nach Anzahl der Zustände)",
+        "One-Hot", "Gray", "Johnson", "binär (kompakt)",
+        "Ausgänge im Zustandscode (Moore, ohne Ausgangslogik)",
+        "stromsparend (wenige Bitwechsel, aus Simulation; auch C)"
+    };
+    protected JComboBox<String> cbVhdlArchitecture;
+    // names of VHDL_ARCHITECTURE (same order)
+    private static final String[] VHDL_ARCHITECTURE_NAMES = {
+        "gemäß Einstellung 'VHDL' (ein Prozess / Datenfluss)", "zwei Prozesse",
+        "drei Prozesse (Ausgaben registriert)",
+        "ROM im Block-RAM (nur ohne Variablen)"
+    };
+    protected JCheckBox cbRegisteredMealyOutputs;
     
     protected JCheckBox cbUseVhdlProcess;
+    protected JCheckBox cbMinimizeConditions;
+    protected JCheckBox cbDecisionTrees;
+    protected JCheckBox cbTableDriven;
+    protected JCheckBox cbReentrant;
+    protected JCheckBox cbMinimizeStates;
+    protected JCheckBox cbBenchmark;
+    protected JTextField romBudget;
     
     protected JButton bOK, bCancel;
     protected JButton bBrowseProjectDir, bBrowseExportDir;
@@ -73,6 +100,7 @@ public class GuiPreferences extends JFrame
             if(src == bOK)
             {
                 int width=600, height=400;
+                long budget=0;
                 
                 try 
                 {
@@ -96,12 +124,35 @@ public class GuiPreferences extends JFrame
                     return; 
                 }
                 
+                try 
+                {
+                    budget = Long.parseLong(romBudget.getText().toString().trim());
+                    if(budget < 0)
+                        throw new NumberFormatException();
+                } 
+                catch(Exception e) 
+                { 
+                    JOptionPane.showMessageDialog(guiPreferences, 
+                            "Bitte einen numerischen Wert für 'VHDL-ROM' eingeben (0 = aus)!"); 
+                    return; 
+                }
+                
                 boundary.setProjectName(projectName.getText());
                 boundary.setProjectWidth(width);
                 boundary.setProjectHeight(height);
+                boundary.setStateEncoding(STATE_ENCODING.values()[cbStateEncoding.getSelectedIndex()]);
+                boundary.setVhdlArchitecture(VHDL_ARCHITECTURE.values()[cbVhdlArchitecture.getSelectedIndex()]);
+                boundary.setRegisteredMealyOutputs(cbRegisteredMealyOutputs.isSelected());
                 boundary.setProjectPath(projectPath.getText());
                 boundary.setExportPath(exportPath.getText());
                 boundary.setVhdlUseProcess(cbUseVhdlProcess.isSelected());
+                boundary.setMinimizeConditions(cbMinimizeConditions.isSelected());
+                boundary.setDecisionTrees(cbDecisionTrees.isSelected());
+                boundary.setTableDriven(cbTableDriven.isSelected());
+                boundary.setReentrant(cbReentrant.isSelected());
+                boundary.setMinimizeStates(cbMinimizeStates.isSelected());
+                boundary.setRomBudget(budget);
+                boundary.setBenchmark(cbBenchmark.isSelected());
                 
                 guiMain.getWorkflow().savePreferences(boundary);
                 guiPreferences.setVisible(false);
@@ -255,7 +306,7 @@ public class GuiPreferences extends JFrame
         GridBagLayout gbl = new GridBagLayout();
         
         setLayout(gbl);
-        setSize(600, 300);
+        setSize(600, 600);
         
         Toolkit tk = Toolkit.getDefaultToolkit();
         Dimension screenSize = tk.getScreenSize();
@@ -280,6 +331,16 @@ public class GuiPreferences extends JFrame
         box.add(rbMealy);
         
         addLine("  Automaten-Typ", box, null);
+
+        cbStateEncoding = new JComboBox<String>(new DefaultComboBoxModel<String>(STATE_ENCODING_NAMES));
+        addLine("  Zustandskodierung (VHDL):", cbStateEncoding, null);
+
+        cbVhdlArchitecture = new JComboBox<String>(new DefaultComboBoxModel<String>(VHDL_ARCHITECTURE_NAMES));
+        addLine("  VHDL-Architektur:", cbVhdlArchitecture, null);
+
+        cbRegisteredMealyOutputs = new JCheckBox("Mealy-Ausgaben registrieren (einen Takt später)", false);
+        cbRegisteredMealyOutputs.addActionListener(listener);
+        addLine("", cbRegisteredMealyOutputs, null);
         
         projectWidth = new JTextField();
         addLine("  Zeichenblatt-Breite:", projectWidth, null);
@@ -308,6 +369,33 @@ public class GuiPreferences extends JFrame
         cbUseVhdlProcess.addActionListener(listener);
         addLine("  VHDL:", cbUseVhdlProcess, null);
 
+        cbMinimizeConditions = new JCheckBox("Übergangsbedingungen minimieren (C und VHDL)", false);
+        cbMinimizeConditions.addActionListener(listener);
+        addLine("  Optimierung:", cbMinimizeConditions, null);
+
+        cbDecisionTrees = new JCheckBox("Übergänge je Zustand als Entscheidungsbaum (C und VHDL-Prozess)", false);
+        cbDecisionTrees.addActionListener(listener);
+        addLine("", cbDecisionTrees, null);
+
+        cbTableDriven = new JCheckBox("C-Code tabellengesteuert (für sehr große Automaten)", false);
+        cbTableDriven.addActionListener(listener);
+        addLine("", cbTableDriven, null);
+
+        cbReentrant = new JCheckBox("C-Code für mehrere Instanzen (Kontext-Struktur, Batch-Funktion)", false);
+        cbReentrant.addActionListener(listener);
+        addLine("", cbReentrant, null);
+
+        cbBenchmark = new JCheckBox("C-Beispielprogramm als Benchmark (ns/Schritt, Takte/Schritt)", false);
+        cbBenchmark.addActionListener(listener);
+        addLine("", cbBenchmark, null);
+
+        cbMinimizeStates = new JCheckBox("Äquivalente Zustände zusammenfassen (C und VHDL)", false);
+        cbMinimizeStates.addActionListener(listener);
+        addLine("", cbMinimizeStates, null);
+
+        romBudget = new JTextField();
+        addLine("  VHDL-ROM bis (Bits):", romBudget, null);
+
         bOK = new JButton("OK");
         bOK.addActionListener(listener);
         
@@ -329,9 +417,19 @@ public class GuiPreferences extends JFrame
         projectName.setText(boundary.getProjectName());
         projectWidth.setText("" + boundary.getProjectWidth());
         projectHeight.setText("" + boundary.getProjectHeight());
+        cbStateEncoding.setSelectedIndex(boundary.getStateEncoding().ordinal());
+        cbVhdlArchitecture.setSelectedIndex(boundary.getVhdlArchitecture().ordinal());
+        cbRegisteredMealyOutputs.setSelected(boundary.getRegisteredMealyOutputs());
         projectPath.setText(boundary.getProjectPath());
         exportPath.setText(boundary.getExportPath());
         cbUseVhdlProcess.setSelected(boundary.getVhdlUseProcess());
+        cbMinimizeConditions.setSelected(boundary.getMinimizeConditions());
+        cbDecisionTrees.setSelected(boundary.getDecisionTrees());
+        cbTableDriven.setSelected(boundary.getTableDriven());
+        cbReentrant.setSelected(boundary.getReentrant());
+        cbMinimizeStates.setSelected(boundary.getMinimizeStates());
+        romBudget.setText("" + boundary.getRomBudget());
+        cbBenchmark.setSelected(boundary.getBenchmark());
         
         if(boundary.getGraphType() == GRAPH_TYPE.MOORE)
             rbMoore.setSelected(true);
@@ -187,14 +187,14 @@ public class Listener implements ActionListener, WindowListener
         else if(src == guiMain.bVerify)
         {
             guiMain.getWorkflow().verifyGraph();
-            guiMain.log.setText(guiMain.log.getText() + "\n----------------------------\n" 
+            guiMain.log.append("\n----------------------------\n" 
                      + guiMain.getWorkflow().getLogString());
         }
         else if(src == guiMain.bSCXML)
         {
             if(exportAsSCXML())
             {
-                guiMain.log.setText(guiMain.log.getText() + "\n----------------------------\n" 
+                guiMain.log.append("\n----------------------------\n" 
                          + guiMain.getWorkflow().getLogString());
             }
         }
@@ -202,7 +202,7 @@ public class Listener implements ActionListener, WindowListener
         {
             if(exportAsC())
             {
-                guiMain.log.setText(guiMain.log.getText() + "\n----------------------------\n" 
+                guiMain.log.append("\n----------------------------\n" 
                          + guiMain.getWorkflow().getLogString());
             }
         }
@@ -210,7 +210,7 @@ public class Listener implements ActionListener, WindowListener
         {
             if(exportAsVHDL())
             {
-                guiMain.log.setText(guiMain.log.getText() + "\n----------------------------\n" 
+                guiMain.log.append("\n----------------------------\n" 
                          + guiMain.getWorkflow().getLogString());
             }
         }
@@ -284,24 +284,7 @@ public class Listener implements ActionListener, WindowListener
                 {
                     projectFile = openDialog.getSelectedFile();
                     guiMain.workflow.loadFile(projectFile);
-                    guiMain.changeTools();
-
-                    // left table
-                    guiMain.guiTableSignals1.clearBoundary();
-                    guiMain.guiTableSignals1.fillTableFromGraph();
-                    guiMain.guiTableVariables1.clearBoundary();
-                    guiMain.guiTableVariables1.fillTableFromGraph();
-                    guiMain.guiTableStates1.clearBoundary();
-                    guiMain.guiTableStates1.fillTableFromGraph();
-                    // right table
-                    guiMain.guiTableSignals2.clearBoundary();
-                    guiMain.guiTableSignals2.fillTableFromGraph();
-                    guiMain.guiTableVariables2.clearBoundary();
-                    guiMain.guiTableVariables2.fillTableFromGraph();
-                    guiMain.guiTableStates2.clearBoundary();
-                    guiMain.guiTableStates2.fillTableFromGraph();
-                    // states (left and right)
-                    refreshStatesTable();
+                    refreshAllTables();
 
                     guiMain.changeTitleByProjectName(guiMain.workflow.getGraph().getName());
                 }
@@ -654,6 +637,45 @@ public class Listener implements ActionListener, WindowListener
         }
     }
 
+    /**
+    * converts the graph (Moore -> Mealy, Mealy -> Moore)
+    *
+    * @author Andreas Schwenk
+    */
+    public void convertGraphType()
+    {
+        guiMain.getWorkflow().convertGraphType();
+        refreshAllTables();
+        guiMain.log.append("\n----------------------------\n" 
+                 + guiMain.getWorkflow().getLogString());
+    }
+
+    /**
+    * refreshs the tools and all tables after the graph has been replaced
+    *
+    */
+    private void refreshAllTables()
+    {
+        guiMain.changeTools();
+
+        // left table
+        guiMain.guiTableSignals1.clearBoundary();
+        guiMain.guiTableSignals1.fillTableFromGraph();
+        guiMain.guiTableVariables1.clearBoundary();
+        guiMain.guiTableVariables1.fillTableFromGraph();
+        guiMain.guiTableStates1.clearBoundary();
+        guiMain.guiTableStates1.fillTableFromGraph();
+        // right table
+        guiMain.guiTableSignals2.clearBoundary();
+        guiMain.guiTableSignals2.fillTableFromGraph();
+        guiMain.guiTableVariables2.clearBoundary();
+        guiMain.guiTableVariables2.fillTableFromGraph();
+        guiMain.guiTableStates2.clearBoundary();
+        guiMain.guiTableStates2.fillTableFromGraph();
+        // states (left and right)
+        refreshStatesTable();
+    }
+
     /**
     * refreshs the state table
     *
@@ -0,0 +1,369 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Workflow
+ * Class:       CommandLine
+ * Created:     2026-10-19
+ */
+
+package Workflow;
+
+import Generation.Backend.CBackend;
+import Generation.Backend.CTableBackend;
+import Generation.Backend.I_BACKEND;
+import Generation.Backend.SaifBackend;
+import Generation.Backend.ScxmlBackend;
+import Generation.Backend.VhdlBackend;
+import Generation.Backend.VhdlTestbenchBackend;
+import Generation.Diagnostic;
+import Generation.Diagnostic.SEVERITY;
+import Generation.Generation;
+import Generation.GraphConverter;
+import Generation.Log;
+import Graph.Graph;
+import Graph.Graph.STATE_ENCODING;
+import Graph.Graph.VHDL_ARCHITECTURE;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+
+/**
+ * Headless interface: verifies a graph-file and generates code without GUI.
+ *
+ * usage: stde [options] file.stde
+ *  -verify            verify only (default, if no other action is given)
+ *  -c NAME            generate C-code (NAME.h, NAME.c, NAME_exec.c)
+ *  -vhdl FILE         generate VHDL-code
+ *  -dataflow          VHDL: dataflow-style instead of process
+ *  -encoding ENC      VHDL: state-encoding (enumeration|automatic|one_hot|
+ *                     gray|johnson|binary|output_encoded|low_power);
+ *                     default: as saved in the file; low_power also sets
+ *                     the values of the C-enumeration
+ *  -arch ARCH         VHDL: architecture (default|two|three processes|rom);
+ *                     default: as saved in the file
+ *  -registered        VHDL: registered Mealy-outputs (one cycle later)
+ *  -rom-budget BITS   VHDL: map the machine into a ROM (block RAM), if its
+ *                     table of next states and outputs has at most BITS
+ *                     bits (only with the default architecture; -arch rom
+ *                     forces the ROM)
+ *  -minimize          minimize the transition-conditions (C, VHDL)
+ *  -merge-states      merge equivalent states (C, VHDL)
+ *  -tree              test the transitions of each state in one decision-
+ *                     tree (C, VHDL-process)
+ *  -table             table-driven C-code (for very large machines)
+ *  -reentrant         C-code for many instances: context-struct, reentrant
+ *                     and batch step-function (struct of arrays)
+ *  -benchmark         C: NAME_exec.c is a benchmark of the step-function
+ *                     (random inputs; ns/step, cycles/step, checksum)
+ *  -scxml FILE        export as SCXML
+ *  -saif FILE         simulate with random inputs and export the switching
+ *                     activity (SAIF) of all signals, variables and the
+ *                     state-register
+ *  -testbench FILE    generate a self-checking VHDL-testbench: random
+ *                     inputs and expected outputs recorded by simulation
+ *  -cycles N          SAIF / testbench: simulated clock-cycles (default:
+ *                     10000)
+ *  -period NS         SAIF / testbench: clock-period in ns (default: 10)
+ *  -convert FILE      convert Moore -> Mealy / Mealy -> Moore, merge
+ *                     equivalent states and save the result as FILE (the
+ *                     other targets are generated from the converted graph)
+ *  -severity LEVEL    print only diagnostics up to LEVEL (error|warning|info)
+ *  -details           print error-code, component-id and offset
+ *  -cache DIR         cache generated files in DIR (unchanged graphs are
+ *                     not generated again)
+ *
+ * All given targets are generated from a single verification (in parallel).
+ *
+ * Exit-code: 0 = success, 1 = errors in the graph, 2 = invalid call / IO-error
+ *
+ * @author Andreas Schwenk
+ */
+public class CommandLine
+{
+    // *** ATTRIBUTES ***
+    private PrintStream out;
+    private SEVERITY maxSeverity = SEVERITY.INFO;
+    private boolean details = false;
+
+    // *** METHODS ***
+
+    /**
+     * @param out stream for the diagnostics
+     *
+     * @author Andreas Schwenk
+     */
+    public CommandLine(PrintStream out)
+    {
+        this.out = out;
+    }
+
+    /**
+     * executes the given command-line
+     *
+     * @param args arguments
+     * @return exit-code
+     *
+     * @author Andreas Schwenk
+     */
+    public int run(String[] args)
+    {
+        String fileName = null;
+        String cName = null, vhdlName = null, scxmlName = null, cacheDir = null, convertName = null,
+                saifName = null, testbenchName = null;
+        int cycles = 10000, period = 10;
+        long romBudget = 0;
+        STATE_ENCODING encoding = null;
+        VHDL_ARCHITECTURE architecture = null;
+        boolean useProcess = true, minimize = false, tree = false, table = false,
+                reentrant = false, registered = false, mergeStates = false, benchmark = false;
+
+        for(int i=0; i<args.length; i++)
+        {
+            String a = args[i];
+            boolean hasValue = i+1 < args.length;
+            if(a.equals("-verify"))
+                continue; // every generation verifies the graph first
+            else if(a.equals("-c") && hasValue)
+                cName = args[++i];
+            else if(a.equals("-vhdl") && hasValue)
+                vhdlName = args[++i];
+            else if(a.equals("-dataflow"))
+                useProcess = false;
+            else if(a.equals("-encoding") && hasValue)
+            {
+                try
+                {
+                    encoding = STATE_ENCODING.valueOf(args[++i].toUpperCase().replace('-', '_'));
+                }
+                catch(IllegalArgumentException e)
+                {
+                    return usage("unbekannte Zustandskodierung: '" + args[i] + "'");
+                }
+            }
+            else if(a.equals("-arch") && hasValue)
+            {
+                String arch = args[++i].toLowerCase();
+                if(arch.equals("default"))
+                    architecture = VHDL_ARCHITECTURE.DEFAULT;
+                else if(arch.equals("two"))
+                    architecture = VHDL_ARCHITECTURE.TWO_PROCESS;
+                else if(arch.equals("three"))
+                    architecture = VHDL_ARCHITECTURE.THREE_PROCESS;
+                else if(arch.equals("rom"))
+                    architecture = VHDL_ARCHITECTURE.ROM;
+                else
+                    return usage("unbekannte VHDL-Architektur: '" + args[i] + "'");
+            }
+            else if(a.equals("-registered"))
+                registered = true;
+            else if(a.equals("-rom-budget") && hasValue)
+            {
+                try
+                {
+                    romBudget = Long.parseLong(args[++i]);
+                    if(romBudget < 0)
+                        throw new NumberFormatException();
+                }
+                catch(NumberFormatException e)
+                {
+                    return usage("ungültige Zahl: '" + args[i] + "'");
+                }
+            }
+            else if(a.equals("-minimize"))
+                minimize = true;
+            else if(a.equals("-merge-states"))
+                mergeStates = true;
+            else if(a.equals("-tree"))
+                tree = true;
+            else if(a.equals("-table"))
+                table = true;
+            else if(a.equals("-reentrant"))
+                reentrant = true;
+            else if(a.equals("-benchmark"))
+                benchmark = true;
+            else if(a.equals("-scxml") && hasValue)
+                scxmlName = args[++i];
+            else if(a.equals("-saif") && hasValue)
+                saifName = args[++i];
+            else if(a.equals("-testbench") && hasValue)
+                testbenchName = args[++i];
+            else if((a.equals("-cycles") || a.equals("-period")) && hasValue)
+            {
+                try
+                {
+                    int value = Integer.parseInt(args[++i]);
+                    if(value <= 0)
+                        throw new NumberFormatException();
+                    if(a.equals("-cycles"))
+                        cycles = value;
+                    else
+                        period = value;
+                }
+                catch(NumberFormatException e)
+                {
+                    return usage("ungültige Zahl: '" + args[i] + "'");
+                }
+            }
+            else if(a.equals("-convert") && hasValue)
+                convertName = args[++i];
+            else if(a.equals("-severity") && hasValue)
+            {
+                try
+                {
+                    maxSeverity = SEVERITY.valueOf(args[++i].toUpperCase());
+                }
+                catch(IllegalArgumentException e)
+                {
+                    return usage("unbekannte Stufe: '" + args[i] + "'");
+                }
+            }
+            else if(a.equals("-details"))
+                details = true;
+            else if(a.equals("-cache") && hasValue)
+                cacheDir = args[++i];
+            else if(!a.startsWith("-") && fileName == null)
+                fileName = a;
+            else
+                return usage("unbekannte Option: '" + a + "'");
+        }
+        if(fileName == null)
+            return usage("keine Datei angegeben");
+
+        // load graph
+        Graph graph = new Graph();
+        try
+        {
+            DataInputStream dis = new DataInputStream(new FileInputStream(fileName));
+            try
+            {
+                int fileVersion = dis.readInt();
+                graph.loadGraph(dis, fileVersion);
+            }
+            finally
+            {
+                dis.close();
+            }
+        }
+        catch(IOException e)
+        {
+            out.println("error: Datei '" + fileName + "' konnte nicht gelesen werden");
+            return 2;
+        }
+
+        if(encoding != null)
+            graph.setStateEncoding(encoding);
+        if(architecture != null)
+            graph.setVhdlArchitecture(architecture);
+        if(registered)
+            graph.setRegisteredMealyOutputs(true);
+
+        if(convertName != null)
+        {
+            GraphConverter converter = new GraphConverter(graph);
+            try
+            {
+                graph = converter.convert();
+                if(graph != null)
+                {
+                    DataOutputStream dos = new DataOutputStream(new FileOutputStream(convertName));
+                    try
+                    {
+                        dos.writeInt(Graph.FILE_VERSION);
+                        graph.saveGraph(dos);
+                    }
+                    finally
+                    {
+                        dos.close();
+                    }
+                }
+            }
+            catch(IOException e)
+            {
+                out.println("error: Ausgabedatei konnte nicht geschrieben werden: " + e.getMessage());
+                return 2;
+            }
+            boolean success = printLog(converter.getLog());
+            if(graph == null || !success)
+                return 1;
+        }
+
+        Generation generation = new Generation();
+        if(cacheDir != null)
+            generation.setCacheDirectory(new File(cacheDir));
+        generation.setMinimizeConditions(minimize);
+        generation.setMinimizeStates(mergeStates);
+        // all targets in one pass (single verification, backends in parallel)
+        ArrayList<I_BACKEND> backends = new ArrayList<I_BACKEND>();
+        if(cName != null && table)
+            backends.add(new CTableBackend(new File(cName + ".h"), new File(cName + ".c"),
+                    new File(cName + "_exec.c"), reentrant, benchmark));
+        else if(cName != null)
+            backends.add(new CBackend(new File(cName + ".h"), new File(cName + ".c"),
+                    new File(cName + "_exec.c"), tree, reentrant, benchmark));
+        if(vhdlName != null)
+            backends.add(new VhdlBackend(new File(vhdlName), useProcess, tree, romBudget));
+        if(scxmlName != null)
+            backends.add(new ScxmlBackend(new File(scxmlName)));
+        if(saifName != null)
+            backends.add(new SaifBackend(new File(saifName), cycles, period));
+        if(testbenchName != null)
+            backends.add(new VhdlTestbenchBackend(new File(testbenchName), cycles, period, romBudget));
+        boolean success;
+        try
+        {
+            if(backends.isEmpty())
+                generation.verifyGraphAndPartialGenerate(graph);
+            else
+                generation.generate(graph, backends.toArray(new I_BACKEND[0]));
+            success = printLog(generation.getLog());
+        }
+        catch(IOException e)
+        {
+            out.println("error: Ausgabedatei konnte nicht geschrieben werden: " + e.getMessage());
+            return 2;
+        }
+        return success ? 0 : 1;
+    }
+
+    /**
+     * prints the (filtered) diagnostics of the last verification / generation
+     *
+     * @param log log of the verification / generation / conversion
+     * @return true, if no errors have been logged
+     */
+    private boolean printLog(Log log)
+    {
+        Iterator<Diagnostic> it = log.getDiagnostics().iterator();
+        Diagnostic d;
+        while(it.hasNext())
+        {
+            d = it.next();
+            if(d.getSeverity().ordinal() > maxSeverity.ordinal())
+                continue;
+            if(details && d.getSeverity() != SEVERITY.INFO)
+                out.println(d.toString());
+            else if(d.getMessage().length() > 0)
+                out.println(d.getMessage().trim());
+        }
+        return log.count(SEVERITY.ERROR) == 0;
+    }
+
+    private int usage(String error)
+    {
+        out.println("error: " + error);
+        out.println("usage: stde [-verify] [-c NAME] [-vhdl FILE [-dataflow] [-encoding ENC]] [-scxml FILE]");
+        out.println("            [-saif FILE] [-testbench FILE] [-cycles N] [-period NS] [-convert FILE]");
+        out.println("            [-arch default|two|three|rom] [-rom-budget BITS] [-registered] [-minimize]");
+        out.println("            [-merge-states] [-tree] [-table] [-reentrant] [-benchmark]");
+        out.println("            [-severity error|warning|info] [-details] [-cache DIR] file.stde");
+        return 2;
+    }
+}
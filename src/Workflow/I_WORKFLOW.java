@@ -73,6 +73,7 @@ public interface I_WORKFLOW
     public void verifyGraph();
     public void generateCode_C(File file_h, File file_c, File file_e );
     public void generateCode_VHDL(File file);
+    public void convertGraphType();
     
     public GuiPreferencesBoundary loadPreferences();
     public void savePreferences(GuiPreferencesBoundary boundary);
@@ -0,0 +1,190 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Workflow
+ * Class:       LiveVerifier
+ * Created:     2026-10-19
+ */
+
+package Workflow;
+
+import Generation.Generation;
+import Generation.Generation.VerificationResult;
+import Generation.VerificationSnapshot;
+import Graph.Graph;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+/**
+ * Verifies the graph in the background while the user is editing.
+ *
+ * Each modification of the graph (re-)starts a short timer (debounce). When
+ * the timer expires, a detached snapshot of the graph is taken on the
+ * event-thread and verified in a background-thread. A run that has been
+ * overtaken by a newer modification is cancelled; its result is dropped.
+ * The error-markers of the graph are set on the event-thread.
+ *
+ * @author Andreas Schwenk
+ */
+public class LiveVerifier
+{
+    // *** CONSTANTS ***
+    private static final int DEBOUNCE_DELAY = 300; // ms
+
+    // *** ATTRIBUTES ***
+    private Graph graph;
+    private Runnable resultListener; // called on the event-thread after applying a result
+
+    // own instance: the verification-cache is only used by the background-thread
+    private final Generation generation = new Generation();
+    private final ExecutorService executor;
+    private final Timer debounceTimer;
+
+    private Future<?> currentRun = null;
+    private VerificationSnapshot lastSnapshot = null; // its copies of the symbols are reused
+    private volatile long runCounter = 0; // identifies the most recent run
+
+    private boolean enabled = true;
+
+    // *** METHODS ***
+
+    /**
+     * @param graph graph to be verified
+     * @param resultListener called on the event-thread, after the error-markers
+     *  have been updated (e. g. repaint)
+     *
+     * @author Andreas Schwenk
+     */
+    public LiveVerifier(Graph graph, Runnable resultListener)
+    {
+        this.graph = graph;
+        this.resultListener = resultListener;
+
+        executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "STDE live verification");
+                t.setDaemon(true);
+                t.setPriority(Thread.MIN_PRIORITY);
+                return t;
+            }
+        });
+
+        debounceTimer = new Timer(DEBOUNCE_DELAY, new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                startRun();
+            }
+        });
+        debounceTimer.setRepeats(false);
+
+        graph.setModificationListener(new Runnable() {
+            @Override
+            public void run() {
+                graphModified();
+            }
+        });
+    }
+
+    /**
+     * called on each modification of the graph (event-thread)
+     *
+     * @author Andreas Schwenk
+     */
+    public void graphModified()
+    {
+        if(!enabled)
+            return;
+        // a running verification is outdated now
+        cancelRun();
+        debounceTimer.restart();
+    }
+
+    /**
+     * enables / disables the live-verification
+     *
+     * @param enabled true: verify in background
+     *
+     * @author Andreas Schwenk
+     */
+    public void setEnabled(boolean enabled)
+    {
+        this.enabled = enabled;
+        if(!enabled)
+        {
+            debounceTimer.stop();
+            cancelRun();
+        }
+    }
+
+    /**
+     * stops the background-thread
+     *
+     * @author Andreas Schwenk
+     */
+    public void shutdown()
+    {
+        setEnabled(false);
+        graph.setModificationListener(null);
+        executor.shutdownNow();
+    }
+
+    private void cancelRun()
+    {
+        runCounter++;
+        if(currentRun != null)
+        {
+            currentRun.cancel(true);
+            currentRun = null;
+        }
+    }
+
+    /**
+     * takes a snapshot and verifies it in the background (event-thread)
+     */
+    private void startRun()
+    {
+        cancelRun();
+        final long run = runCounter;
+        final VerificationSnapshot snapshot = new VerificationSnapshot(graph, lastSnapshot);
+        lastSnapshot = snapshot;
+        currentRun = executor.submit(new Runnable() {
+            @Override
+            public void run() {
+                if(run != runCounter)
+                    return;
+                final VerificationResult result = generation.verify(snapshot);
+                if(result == null || run != runCounter)
+                    return;
+                SwingUtilities.invokeLater(new Runnable() {
+                    @Override
+                    public void run() {
+                        applyResult(run, snapshot, result);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * sets the error-markers (event-thread)
+     */
+    private void applyResult(long run, VerificationSnapshot snapshot, VerificationResult result)
+    {
+        // graph modified in the meantime?
+        if(run != runCounter || graph.getSymbolRevision() != snapshot.getGraphSymbolRevision())
+            return;
+        currentRun = null;
+        generation.applyResult(snapshot, result, true);
+        if(resultListener != null)
+            resultListener.run();
+    }
+}
@@ -11,6 +11,7 @@
 package Workflow;
 
 import Generation.Generation;
+import Generation.GraphConverter;
 import Graph.Graph;
 import Graph.Signal;
 import Graph.State;
@@ -25,6 +26,8 @@ import java.awt.Point;
 import java.awt.event.KeyEvent;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.File;
@@ -71,6 +74,8 @@ public class Workflow implements I_WORKFLOW
     private Graph graph;
     // generation
     private Generation generation;
+    // verification in background while editing
+    private LiveVerifier liveVerifier;
     // logstring
     private String logString;
 
@@ -97,6 +102,12 @@ public class Workflow implements I_WORKFLOW
         this.graph = new Graph();
         this.graphicsPanel.setGraph(graph);
         this.generation = new Generation();
+        this.liveVerifier = new LiveVerifier(graph, new Runnable() {
+            @Override
+            public void run() {
+                graphicsPanel.repaint();
+            }
+        });
         
         loadPreferences();
     }
@@ -141,6 +152,9 @@ public class Workflow implements I_WORKFLOW
     public void newFile(NewFileBoundary boundary)
     {
         graph.setGraphType(boundary.getType());
+        graph.setStateEncoding(Graph.STATE_ENCODING.ENUMERATION);
+        graph.setVhdlArchitecture(Graph.VHDL_ARCHITECTURE.DEFAULT);
+        graph.setRegisteredMealyOutputs(false);
         graph.deleteAllComponents();
         graph.deleteAllSignals();
         graph.deleteAllVariables();
@@ -594,11 +608,9 @@ public class Workflow implements I_WORKFLOW
     @Override
     public void saveFile(File file) throws FileNotFoundException, IOException
     {
-        int fileVersion=1;
-
         DataOutputStream dos = new DataOutputStream(new FileOutputStream(file));
         
-        dos.writeInt(fileVersion);
+        dos.writeInt(Graph.FILE_VERSION);
         
         graph.saveGraph(dos);
     }
@@ -678,6 +690,40 @@ public class Workflow implements I_WORKFLOW
         }
     }
 
+    /**
+     * converts the graph (Moore -> Mealy, Mealy -> Moore) and merges
+     * equivalent states; the graph remains unchanged, if it cannot be
+     * converted (see log)
+     *
+     * @author Andreas Schwenk
+     */
+    @Override
+    public void convertGraphType()
+    {
+        try
+        {
+            GraphConverter converter = new GraphConverter(graph);
+            Graph result = converter.convert();
+            if(result != null)
+            {
+                // replace the content of the graph (the GUI refers to it)
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                DataOutputStream dos = new DataOutputStream(bytes);
+                result.saveGraph(dos);
+                dos.flush();
+                graph.loadGraph(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), Graph.FILE_VERSION);
+                setGraphicsPanelSize(graph.getWidth(), graph.getHeight());
+                this.guiState = GUI_STATE_TYPE.SELECT_MODE;
+            }
+            logString = converter.getLog().getLogString();
+            graphicsPanel.repaint();
+        }
+        catch(IOException exception)
+        {
+            logString = "Umwandlung fehlgeschlagen!";
+        }
+    }
+
     /**
      * return the Graph
      *
@@ -716,6 +762,13 @@ public class Workflow implements I_WORKFLOW
         String projectPath="";
         String exportPath="";
         Boolean vhdlUseProcess=false;
+        Boolean minimizeConditions=false;
+        Boolean decisionTrees=false;
+        Boolean tableDriven=false;
+        Boolean reentrant=false;
+        Boolean minimizeStates=false;
+        long romBudget=0;
+        Boolean benchmark=false;
         try 
         {
             BufferedReader br = new BufferedReader(new FileReader("preferences.txt"));
@@ -723,6 +776,22 @@ public class Workflow implements I_WORKFLOW
             exportPath = br.readLine();
             if(br.readLine().equals("1"))
                 vhdlUseProcess = true;
+            // optional line (missing in older files)
+            if("1".equals(br.readLine()))
+                minimizeConditions = true;
+            if("1".equals(br.readLine()))
+                decisionTrees = true;
+            if("1".equals(br.readLine()))
+                tableDriven = true;
+            if("1".equals(br.readLine()))
+                reentrant = true;
+            if("1".equals(br.readLine()))
+                minimizeStates = true;
+            String budget = br.readLine();
+            if(budget != null && budget.matches("[0-9]{1,12}"))
+                romBudget = Long.parseLong(budget);
+            if("1".equals(br.readLine()))
+                benchmark = true;
         }
         catch (Exception ex) 
         { 
@@ -734,11 +803,28 @@ public class Workflow implements I_WORKFLOW
         guiPreferencesBoundary.setProjectPath(projectPath);
         guiPreferencesBoundary.setExportPath(exportPath);
         guiPreferencesBoundary.setVhdlUseProcess(vhdlUseProcess);
+        guiPreferencesBoundary.setMinimizeConditions(minimizeConditions);
+        generation.setMinimizeConditions(minimizeConditions);
+        guiPreferencesBoundary.setDecisionTrees(decisionTrees);
+        generation.setDecisionTrees(decisionTrees);
+        guiPreferencesBoundary.setTableDriven(tableDriven);
+        generation.setTableDriven(tableDriven);
+        guiPreferencesBoundary.setReentrant(reentrant);
+        generation.setReentrant(reentrant);
+        guiPreferencesBoundary.setMinimizeStates(minimizeStates);
+        generation.setMinimizeStates(minimizeStates);
+        guiPreferencesBoundary.setRomBudget(romBudget);
+        generation.setRomBudget(romBudget);
+        guiPreferencesBoundary.setBenchmark(benchmark);
+        generation.setBenchmark(benchmark);
         
         guiPreferencesBoundary.setProjectName(graph.getName());
         guiPreferencesBoundary.setProjectWidth(graph.getWidth());
         guiPreferencesBoundary.setProjectHeight(graph.getHeight());
         guiPreferencesBoundary.setGraphType(graph.getGraphType());
+        guiPreferencesBoundary.setStateEncoding(graph.getStateEncoding());
+        guiPreferencesBoundary.setVhdlArchitecture(graph.getVhdlArchitecture());
+        guiPreferencesBoundary.setRegisteredMealyOutputs(graph.getRegisteredMealyOutputs());
         
         
         return guiPreferencesBoundary;
@@ -755,10 +841,20 @@ public class Workflow implements I_WORKFLOW
     public void savePreferences(GuiPreferencesBoundary boundary)
     {
         guiPreferencesBoundary = boundary;
+        generation.setMinimizeConditions(boundary.getMinimizeConditions());
+        generation.setDecisionTrees(boundary.getDecisionTrees());
+        generation.setTableDriven(boundary.getTableDriven());
+        generation.setReentrant(boundary.getReentrant());
+        generation.setMinimizeStates(boundary.getMinimizeStates());
+        generation.setRomBudget(boundary.getRomBudget());
+        generation.setBenchmark(boundary.getBenchmark());
         
         graph.setName(boundary.getProjectName());
         graph.setWidth(boundary.getProjectWidth());
         graph.setHeight(boundary.getProjectHeight());
+        graph.setStateEncoding(boundary.getStateEncoding());
+        graph.setVhdlArchitecture(boundary.getVhdlArchitecture());
+        graph.setRegisteredMealyOutputs(boundary.getRegisteredMealyOutputs());
 
         int width = boundary.getProjectWidth();
         int height = boundary.getProjectHeight();
@@ -776,6 +872,20 @@ public class Workflow implements I_WORKFLOW
             bw.newLine();
             bw.write(boundary.getVhdlUseProcess()==true?"1":"0");
             bw.newLine();
+            bw.write(boundary.getMinimizeConditions()==true?"1":"0");
+            bw.newLine();
+            bw.write(boundary.getDecisionTrees()==true?"1":"0");
+            bw.newLine();
+            bw.write(boundary.getTableDriven()==true?"1":"0");
+            bw.newLine();
+            bw.write(boundary.getReentrant()==true?"1":"0");
+            bw.newLine();
+            bw.write(boundary.getMinimizeStates()==true?"1":"0");
+            bw.newLine();
+            bw.write("" + boundary.getRomBudget());
+            bw.newLine();
+            bw.write(boundary.getBenchmark()==true?"1":"0");
+            bw.newLine();
             bw.close();
         } catch (Exception ex) { System.out.println("could not write to 'preferences.txt'"); }        
         
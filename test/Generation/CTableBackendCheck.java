@@ -0,0 +1,127 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       CTableBackendCheck
+ * Created:     2026-10-19
+ */
+
+package Generation;
+
+import Graph.Graph;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Regression-check of the table-driven C-code (see CTableBackend): the
+ * benchmark-drivers of all styles of C-code replay the same inputs, thus the
+ * checksums of their outputs must be equal to the checksum of the
+ * switch-style (see CBackend). The check is skipped, if there is no
+ * C-compiler "cc".
+ *
+ * usage (in the root of the project, after build.sh):
+ *   javac -cp src/bin -d test/bin test/Generation/*.java
+ *   java -cp src/bin:test/bin Generation.CTableBackendCheck
+ *
+ * Exit-code: 0 = passed (or skipped), 1 = failed
+ *
+ * @author Andreas Schwenk
+ */
+public class CTableBackendCheck
+{
+    // examples with compilable C-code
+    private static final String[] EXAMPLES = {
+        "simple_LED", "simple_LED_mealy", "bikelight_moore", "bikelight_mealy", "elevator"
+    };
+
+    // styles: name, decision-trees, table-driven, reentrant
+    private static final String[] STYLES = { "switch", "tree", "table", "table, reentrant" };
+    private static final boolean[][] STYLE_FLAGS = {
+        { false, false, false }, { true, false, false }, { false, true, false }, { false, true, true }
+    };
+
+    // replayed steps of each benchmark
+    private static final int STEPS = 100000;
+
+    public static void main(String[] args) throws IOException, InterruptedException
+    {
+        String failure;
+        File dir = CheckSupport.createTempDirectory();
+        try
+        {
+            if(CheckSupport.run(dir, "cc", "--version") == null)
+            {
+                System.out.println("skipped: no C-compiler 'cc'");
+                return;
+            }
+            failure = check(dir);
+        }
+        finally
+        {
+            CheckSupport.deleteRecursively(dir);
+        }
+        CheckSupport.exit(failure, EXAMPLES.length + " examples have the same checksums in all "
+                + STYLES.length + " styles");
+    }
+
+    /**
+     * @param dir directory of the generated files
+     * @return null: passed; otherwise description of the failure
+     */
+    private static String check(File dir) throws IOException, InterruptedException
+    {
+        for(int i=0; i<EXAMPLES.length; i++)
+        {
+            String reference = null;
+            for(int j=0; j<STYLES.length; j++)
+            {
+                String checksum = checksum(dir, EXAMPLES[i], STYLE_FLAGS[j]);
+                if(checksum == null)
+                    return EXAMPLES[i] + " (" + STYLES[j] + "): no checksum";
+                if(reference == null)
+                    reference = checksum;
+                else if(!checksum.equals(reference))
+                    return EXAMPLES[i] + " (" + STYLES[j] + "): checksum " + checksum
+                            + " instead of " + reference + " (" + STYLES[0] + ")";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * generates, compiles and runs the benchmark-driver of an example
+     *
+     * @param dir directory of the generated files
+     * @param example name of the example
+     * @param flags decision-trees, table-driven, reentrant
+     * @return checksum of the outputs or null, if the driver failed
+     */
+    private static String checksum(File dir, String example, boolean[] flags)
+            throws IOException, InterruptedException
+    {
+        Graph graph = CheckSupport.loadExample(example);
+        Generation generation = new Generation();
+        generation.setDecisionTrees(flags[0]);
+        generation.setTableDriven(flags[1]);
+        generation.setReentrant(flags[2]);
+        generation.setBenchmark(true);
+        File file_c = new File(dir, example + ".c");
+        File file_e = new File(dir, example + "_exec.c");
+        File exec = new File(dir, example);
+        generation.generateCode_C(new File(dir, example + ".h"), file_c, file_e, graph);
+        exec.delete();
+        if(CheckSupport.run(dir, "cc", "-O1", "-o", exec.getPath(), file_c.getPath(), file_e.getPath(),
+                "-DSTDE_BENCH_STEPS=" + STEPS) == null)
+            return null;
+        String output = CheckSupport.run(dir, exec.getPath());
+        if(output == null)
+            return null;
+        String prefix = "checksum of the outputs: ";
+        int index = output.indexOf(prefix);
+        if(index < 0)
+            return null;
+        return output.substring(index + prefix.length()).trim();
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       CheckSupport
+ * Created:     2026-10-19
+ */
+
+package Generation;
+
+import Generation.Backend.MachineModel;
+import Generation.Backend.Simulator;
+import Graph.Graph;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Common methods of the regression-checks (see the classes *Check in this
+ * directory). Each check is a program: it prints "passed: ..." or
+ * "FAILED: ..." and exits with 0 (passed) or 1 (failed).
+ *
+ * usage (in the root of the project, after build.sh):
+ *   javac -cp src/bin -d test/bin test/Generation/*.java
+ *   java -cp src/bin:test/bin Generation.NAME_OF_THE_CHECK
+ *
+ * @author Andreas Schwenk
+ */
+public final class CheckSupport
+{
+    // examples of the project (relative to its root)
+    public static final String EXAMPLES = "examples";
+
+    private CheckSupport()
+    {
+        /* empty */
+    }
+
+    /**
+     * loads a graph-file
+     *
+     * @param fileName file
+     * @return graph
+     * @throws IOException file could not be read
+     */
+    public static Graph loadGraph(String fileName) throws IOException
+    {
+        Graph graph = new Graph();
+        DataInputStream dis = new DataInputStream(new FileInputStream(fileName));
+        try
+        {
+            int fileVersion = dis.readInt();
+            graph.loadGraph(dis, fileVersion);
+        }
+        finally
+        {
+            dis.close();
+        }
+        return graph;
+    }
+
+    /**
+     * loads an example of the project
+     *
+     * @param name name of the example (without ".stde")
+     * @return graph
+     * @throws IOException file could not be read
+     */
+    public static Graph loadExample(String name) throws IOException
+    {
+        return loadGraph(EXAMPLES + File.separator + name + ".stde");
+    }
+
+    /**
+     * verifies a graph and copies it into a model (as for the backends)
+     *
+     * @param graph graph
+     * @return model or null, if the verification failed
+     */
+    public static MachineModel verifiedModel(Graph graph)
+    {
+        Generation generation = new Generation();
+        generation.verifyGraphAndPartialGenerate(graph);
+        if(generation.getLog().count(Diagnostic.SEVERITY.ERROR) > 0)
+            return null;
+        return new MachineModel(graph, null);
+    }
+
+    /**
+     * simulates two models with the same (seeded) random inputs and compares
+     * the recorded traces (see Simulator.getTrace())
+     *
+     * @param expected model of the reference
+     * @param actual model to be compared
+     * @param cycles number of simulated cycles
+     * @return null: equal traces; otherwise the first differing cycle
+     */
+    public static String traceDifference(MachineModel expected, MachineModel actual, int cycles)
+    {
+        List<long[]> expectedTrace = trace(expected, cycles);
+        List<long[]> actualTrace = trace(actual, cycles);
+        if(expectedTrace.size() != actualTrace.size())
+            return actualTrace.size() + " instead of " + expectedTrace.size() + " cycles";
+        for(int i=0; i<expectedTrace.size(); i++)
+        {
+            if(!Arrays.equals(expectedTrace.get(i), actualTrace.get(i)))
+                return "cycle " + i + ": " + Arrays.toString(actualTrace.get(i))
+                        + " instead of " + Arrays.toString(expectedTrace.get(i));
+        }
+        return null;
+    }
+
+    private static List<long[]> trace(MachineModel model, int cycles)
+    {
+        Simulator simulator = new Simulator(model);
+        simulator.recordTrace();
+        simulator.run(cycles);
+        return simulator.getTrace();
+    }
+
+    /**
+     * @return new empty temporary directory (see deleteRecursively)
+     * @throws IOException directory could not be created
+     */
+    public static File createTempDirectory() throws IOException
+    {
+        File dir = File.createTempFile("stde", "");
+        if(!dir.delete() || !dir.mkdirs())
+            throw new IOException("temporary directory " + dir + " could not be created");
+        return dir;
+    }
+
+    /**
+     * deletes a file or a directory with all of its content
+     *
+     * @param file file or directory
+     */
+    public static void deleteRecursively(File file)
+    {
+        File[] children = file.listFiles();
+        if(children != null)
+            for(int i=0; i<children.length; i++)
+                deleteRecursively(children[i]);
+        file.delete();
+    }
+
+    /**
+     * runs a program
+     *
+     * @param dir working directory
+     * @param command program and its arguments
+     * @return output or null, if the program could not be run or failed
+     */
+    public static String run(File dir, String... command) throws InterruptedException
+    {
+        StringBuilder output = new StringBuilder();
+        try
+        {
+            ProcessBuilder builder = new ProcessBuilder(command);
+            builder.directory(dir);
+            builder.redirectErrorStream(true);
+            Process process = builder.start();
+            BufferedReader br = new BufferedReader(new InputStreamReader(process.getInputStream()));
+            try
+            {
+                String line;
+                while((line = br.readLine()) != null)
+                    output.append(line).append('\n');
+            }
+            finally
+            {
+                br.close();
+            }
+            if(process.waitFor() != 0)
+            {
+                System.out.print(output);
+                return null;
+            }
+        }
+        catch(IOException e)
+        {
+            return null;
+        }
+        return output.toString();
+    }
+
+    /**
+     * prints the result and terminates the check
+     *
+     * @param failure null: passed; otherwise description of the failure
+     * @param passed description of the passed check
+     */
+    public static void exit(String failure, String passed)
+    {
+        if(failure != null)
+        {
+            System.out.println("FAILED: " + failure);
+            System.exit(1);
+        }
+        System.out.println("passed: " + passed);
+        System.exit(0);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       GraphConverterCheck
+ * Created:     2026-10-19
+ */
+
+package Generation;
+
+import Generation.Backend.MachineModel;
+import Graph.Graph;
+import java.io.IOException;
+
+/**
+ * Regression-check of the conversion Moore <-> Mealy (see GraphConverter):
+ * the converted graph and the graph converted back must behave like the
+ * original one (equal traces under the Simulator).
+ *
+ * usage (in the root of the project, after build.sh):
+ *   javac -cp src/bin -d test/bin test/Generation/*.java
+ *   java -cp src/bin:test/bin Generation.GraphConverterCheck
+ *
+ * Exit-code: 0 = passed, 1 = failed
+ *
+ * @author Andreas Schwenk
+ */
+public class GraphConverterCheck
+{
+    // examples with constant output-vectors
+    private static final String[] EXAMPLES = {
+        "simple_LED", "simple_LED_mealy", "bikelight_moore", "bikelight_mealy", "elevator"
+    };
+
+    // simulated cycles per model
+    private static final int CYCLES = 10000;
+
+    public static void main(String[] args) throws IOException
+    {
+        CheckSupport.exit(check(), EXAMPLES.length + " examples have the traces of their originals"
+                + " after the conversion and back");
+    }
+
+    /**
+     * @return null: passed; otherwise description of the failure
+     */
+    private static String check() throws IOException
+    {
+        for(int i=0; i<EXAMPLES.length; i++)
+        {
+            Graph graph = CheckSupport.loadExample(EXAMPLES[i]);
+            MachineModel model = CheckSupport.verifiedModel(graph);
+            if(model == null)
+                return EXAMPLES[i] + ": verification failed";
+
+            // conversion and back
+            Graph converted = graph;
+            for(int k=0; k<2; k++)
+            {
+                String name = EXAMPLES[i] + ((k == 0) ? " (converted)" : " (converted back)");
+                GraphConverter converter = new GraphConverter(converted);
+                Graph result = converter.convert();
+                if(result == null)
+                    return name + ": " + converter.getLog().getLogString();
+                if(result.getGraphType() == converted.getGraphType())
+                    return name + ": type " + result.getGraphType() + " not converted";
+                MachineModel convertedModel = CheckSupport.verifiedModel(result);
+                if(convertedModel == null)
+                    return name + ": verification failed";
+                String difference = CheckSupport.traceDifference(model, convertedModel, CYCLES);
+                if(difference != null)
+                    return name + ": " + difference;
+                converted = result;
+            }
+        }
+        return null;
+    }
+}
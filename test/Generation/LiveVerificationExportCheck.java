@@ -0,0 +1,124 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       LiveVerificationExportCheck
+ * Created:     2026-10-19
+ */
+
+package Generation;
+
+import Generation.VariableAssignmentParser.GeneratedVarAssignment;
+import Graph.Graph;
+import Graph.State;
+import Graph.Variable;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * Regression-check: live-verification (detached snapshot) followed by the
+ * export of C-code. The parsed texts of the live-verification refer to the
+ * copied variables of the snapshot; they must not be used for the export
+ * (see ParseCache; the range-analysis would not see the assignments of the
+ * real variables and narrow their C-type).
+ *
+ * usage (in the root of the project, after build.sh):
+ *   javac -cp src/bin -d test/bin test/Generation/*.java
+ *   java -cp src/bin:test/bin Generation.LiveVerificationExportCheck [examples/NimSpiel.stde]
+ *
+ * Exit-code: 0 = passed, 1 = failed
+ *
+ * @author Andreas Schwenk
+ */
+public class LiveVerificationExportCheck
+{
+    // declaration of the variable "anz" in the exported C-code
+    private String declaration = null;
+
+    public static void main(String[] args) throws IOException
+    {
+        String fileName = (args.length > 0) ? args[0] : CheckSupport.EXAMPLES + "/NimSpiel.stde";
+        LiveVerificationExportCheck check = new LiveVerificationExportCheck();
+        String failure;
+        File dir = CheckSupport.createTempDirectory();
+        try
+        {
+            failure = check.run(CheckSupport.loadGraph(fileName), dir);
+        }
+        finally
+        {
+            CheckSupport.deleteRecursively(dir);
+        }
+        CheckSupport.exit(failure, check.declaration);
+    }
+
+    /**
+     * widens "anz", verifies live and exports the C-code into a directory
+     *
+     * @param graph graph of NimSpiel
+     * @param dir directory of the export
+     * @return null: passed; otherwise description of the failure
+     * @throws IOException C-code could not be written or read
+     */
+    private String run(Graph graph, File dir) throws IOException
+    {
+        // widen the variable "anz" to 32 bits
+        Variable anz = null;
+        Iterator<Variable> it = graph.getVariables().iterator();
+        while(it.hasNext())
+        {
+            Variable v = it.next();
+            if(v.getName().equals("anz"))
+                anz = v;
+        }
+        if(anz == null)
+            return "no variable 'anz' in the graph";
+        anz.setbitLength(32);
+
+        // live-verification (see Workflow.LiveVerifier), then export
+        new Generation().verify(new VerificationSnapshot(graph, true));
+        File file_c = new File(dir, "NimSpiel.c");
+        new Generation().generateCode_C(new File(dir, "NimSpiel.h"), file_c,
+                new File(dir, "NimSpiel_exec.c"), graph);
+
+        // the exported assignments refer to the variables of the graph
+        Iterator<State> itStates = graph.getStates().iterator();
+        while(itStates.hasNext())
+        {
+            State s = itStates.next();
+            if(s.getGeneratedVariableAssignments() == null)
+                continue;
+            Iterator<GeneratedVarAssignment> itGVA = s.getGeneratedVariableAssignments().iterator();
+            while(itGVA.hasNext())
+            {
+                GeneratedVarAssignment gva = itGVA.next();
+                if(gva.assignment != null && gva.assignment.target != null
+                        && !graph.getVariables().contains(gva.assignment.target))
+                    return "assignment '" + gva.lhs + "' in state '" + s.getName()
+                            + "' refers to a copied variable";
+            }
+        }
+
+        // declared C-type
+        BufferedReader br = new BufferedReader(new FileReader(file_c));
+        try
+        {
+            String line;
+            while((line = br.readLine()) != null)
+                if(declaration == null && line.matches("\\s*static \\w+ anz;.*"))
+                    declaration = line.trim();
+        }
+        finally
+        {
+            br.close();
+        }
+        if(declaration == null || !declaration.startsWith("static int32_t anz;"))
+            return "declaration of 'anz': " + declaration;
+        return null;
+    }
+}
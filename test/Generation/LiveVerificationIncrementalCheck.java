@@ -0,0 +1,85 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       LiveVerificationIncrementalCheck
+ * Created:     2026-10-19
+ */
+
+package Generation;
+
+import Graph.Graph;
+import Graph.Signal;
+import Graph.Transition;
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * Regression-check: consecutive live-verifications (detached snapshots, see
+ * Workflow.LiveVerifier) reuse the copied symbols of the previous snapshot,
+ * thus only modified components are parsed again: no text without
+ * modification, exactly one text after editing one condition.
+ *
+ * usage: see CheckSupport
+ *
+ * @author Andreas Schwenk
+ */
+public class LiveVerificationIncrementalCheck
+{
+    public static void main(String[] args) throws IOException
+    {
+        CheckSupport.exit(check(), "only the edited condition has been parsed again");
+    }
+
+    private static String check() throws IOException
+    {
+        Graph graph = CheckSupport.loadExample("elevator");
+        Generation generation = new Generation();
+        ParseCache parseCache = ParseCache.getShared();
+
+        VerificationSnapshot first = new VerificationSnapshot(graph, (VerificationSnapshot)null);
+        Generation.VerificationResult result = generation.verify(first);
+        if(result == null || !result.success)
+            return "verification of the first snapshot";
+
+        // (a) no modification: same revision, nothing parsed
+        VerificationSnapshot second = new VerificationSnapshot(graph, first);
+        if(second.getSymbolRevision() != first.getSymbolRevision())
+            return "symbol-revision of an unmodified graph changed";
+        long parsed = parseCache.getParseCount();
+        generation.verify(second);
+        if(parseCache.getParseCount() != parsed)
+            return (parseCache.getParseCount() - parsed) + " texts parsed without modification";
+
+        // (b) one condition edited: only this text is parsed
+        Transition edited = null;
+        Iterator<Transition> it = graph.getTransitions().iterator();
+        while(it.hasNext() && edited == null)
+        {
+            Transition t = it.next();
+            if(t != graph.getStartNode() && t.getCondition() != null && t.getCondition().length() > 0)
+                edited = t;
+        }
+        if(edited == null)
+            return "no transition with a condition";
+        edited.setCondition("((" + edited.getCondition() + "))");
+        edited.markModified();
+        VerificationSnapshot third = new VerificationSnapshot(graph, second);
+        parsed = parseCache.getParseCount();
+        result = generation.verify(third);
+        if(result == null || !result.success)
+            return "verification after editing '" + edited.getCondition() + "'";
+        if(parseCache.getParseCount() - parsed != 1)
+            return (parseCache.getParseCount() - parsed) + " texts parsed after editing one condition";
+
+        // (c) modified signal: new copies with a new revision
+        Signal signal = graph.getSignals().getFirst();
+        signal.setbitLength(signal.getBitLength());
+        VerificationSnapshot fourth = new VerificationSnapshot(graph, third);
+        if(fourth.getSymbolRevision() == third.getSymbolRevision() || fourth.getSignals() == third.getSignals())
+            return "copies of the symbols reused after modifying a signal";
+        return null;
+    }
+}
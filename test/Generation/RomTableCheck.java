@@ -0,0 +1,137 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       RomTableCheck
+ * Created:     2026-10-19
+ */
+
+package Generation;
+
+import Generation.Backend.MachineModel;
+import Generation.Backend.MachineModel.Signal;
+import Generation.Backend.MachineModel.State;
+import Generation.Backend.RomTable;
+import Generation.Backend.Simulator;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Regression-check of the table of the ROM-architecture (see RomTable): a
+ * state-register and an output-register, that are loaded from the words of
+ * the table, must produce the outputs of the Simulator for the same inputs.
+ * Machines with variables have no table.
+ *
+ * usage (in the root of the project, after build.sh):
+ *   javac -cp src/bin -d test/bin test/Generation/*.java
+ *   java -cp src/bin:test/bin Generation.RomTableCheck
+ *
+ * Exit-code: 0 = passed, 1 = failed
+ *
+ * @author Andreas Schwenk
+ */
+public class RomTableCheck
+{
+    // examples without variables
+    private static final String[] EXAMPLES = {
+        "simple_LED", "simple_LED_mealy", "bikelight_moore", "bikelight_mealy", "elevator"
+    };
+
+    // example with variables (no table)
+    private static final String UNSUPPORTED = "NimSpiel";
+
+    // simulated cycles per example
+    private static final int CYCLES = 10000;
+
+    public static void main(String[] args) throws IOException
+    {
+        CheckSupport.exit(check(), "the tables of " + EXAMPLES.length + " examples replay the traces of the simulator");
+    }
+
+    /**
+     * @return null: passed; otherwise description of the failure
+     */
+    private static String check() throws IOException
+    {
+        for(int i=0; i<EXAMPLES.length; i++)
+        {
+            MachineModel model = CheckSupport.verifiedModel(CheckSupport.loadExample(EXAMPLES[i]));
+            if(model == null)
+                return EXAMPLES[i] + ": verification failed";
+            String failure = replay(model);
+            if(failure != null)
+                return EXAMPLES[i] + ": " + failure;
+        }
+        MachineModel model = CheckSupport.verifiedModel(CheckSupport.loadExample(UNSUPPORTED));
+        if(model == null)
+            return UNSUPPORTED + ": verification failed";
+        if(new RomTable(model).getUnsupportedReason() == null)
+            return UNSUPPORTED + ": table of a machine with variables";
+        return null;
+    }
+
+    /**
+     * replays a trace of the simulator through the table
+     *
+     * @param model model
+     * @return null: passed; otherwise description of the failure
+     */
+    private static String replay(MachineModel model)
+    {
+        RomTable table = new RomTable(model);
+        if(table.getUnsupportedReason() != null)
+            return table.getUnsupportedReason();
+        Simulator simulator = new Simulator(model);
+        simulator.recordTrace();
+        simulator.run(CYCLES);
+        List<long[]> trace = simulator.getTrace();
+        List<Signal> inputSignals = simulator.getInputSignals();
+        List<Signal> outputSignals = simulator.getOutputSignals();
+
+        // registers after reset
+        String word = table.getResetWord();
+        long[] outputs = new long[outputSignals.size()];
+        for(int j=0; j<outputs.length; j++)
+            outputs[j] = getField(word, table.getOutputLowerBit(j), table.getOutputUpperBit(j));
+        long code = getField(word, 0, table.getStateBits() - 1);
+
+        for(int k=0; k<trace.size(); k++)
+        {
+            long[] cycle = trace.get(k);
+            // address: bits of the input-signals (first signal most significant)
+            long inputs = 0;
+            for(int j=0; j<inputSignals.size(); j++)
+            {
+                int bits = RomTable.getBitLength(inputSignals.get(j));
+                inputs = (inputs << bits) | (cycle[j] & ((1L << bits) - 1));
+            }
+            State state = table.getState(code);
+            if(state == null)
+                return "cycle " + k + ": unused code " + code;
+            word = table.getWord(state, inputs);
+            boolean hold = table.getHoldBit() >= 0 && getField(word, table.getHoldBit(), table.getHoldBit()) != 0;
+            if(table.getHoldBit() >= 0 && hold != (cycle[cycle.length - 1] == 0))
+                return "cycle " + k + ": hold-flag " + hold + " (state " + state.getName() + ")";
+            for(int j=0; j<outputs.length; j++)
+            {
+                if(!hold)
+                    outputs[j] = getField(word, table.getOutputLowerBit(j), table.getOutputUpperBit(j));
+                int bits = RomTable.getBitLength(outputSignals.get(j));
+                long expected = cycle[inputSignals.size() + j] & ((1L << bits) - 1);
+                if(outputs[j] != expected)
+                    return "cycle " + k + ": output " + outputSignals.get(j).getName() + " = " + outputs[j]
+                            + " instead of " + expected + " (state " + state.getName() + ")";
+            }
+            code = getField(word, 0, table.getStateBits() - 1);
+        }
+        return null;
+    }
+
+    // bits lower..upper of a word (bit-string, most significant bit first)
+    private static long getField(String word, int lower, int upper)
+    {
+        return Long.parseLong(word.substring(word.length() - 1 - upper, word.length() - lower), 2);
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       StateEncodingCheck
+ * Created:     2026-10-19
+ */
+
+package Generation;
+
+import Generation.Backend.MachineModel;
+import Generation.Backend.MachineModel.State;
+import Generation.Backend.Simulator;
+import Generation.Backend.StateEncoding;
+import Graph.Graph.GRAPH_TYPE;
+import Graph.Graph.STATE_ENCODING;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Regression-check of the explicit state-encodings (see StateEncoding): the
+ * codes of each encoding must be distinct and have its form and width, the
+ * start-state has the code 0 (one-hot: bit 0), the output-encoded codes
+ * contain the outputs of their states and the low-power codes toggle the
+ * state-register in a simulation at most as often as the binary codes.
+ *
+ * usage (in the root of the project, after build.sh):
+ *   javac -cp src/bin -d test/bin test/Generation/*.java
+ *   java -cp src/bin:test/bin Generation.StateEncodingCheck
+ *
+ * Exit-code: 0 = passed, 1 = failed
+ *
+ * @author Andreas Schwenk
+ */
+public class StateEncodingCheck
+{
+    // examples, that can be verified
+    private static final String[] EXAMPLES = {
+        "simple_LED", "simple_LED_mealy", "bikelight_moore", "bikelight_mealy", "elevator", "NimSpiel"
+    };
+
+    // simulated cycles (toggles of the state-register)
+    private static final int CYCLES = 10000;
+
+    public static void main(String[] args) throws IOException
+    {
+        CheckSupport.exit(check(), "codes of " + EXAMPLES.length + " examples in "
+                + (STATE_ENCODING.values().length - 1) + " encodings");
+    }
+
+    /**
+     * @return null: passed; otherwise description of the failure
+     */
+    private static String check() throws IOException
+    {
+        for(int i=0; i<EXAMPLES.length; i++)
+        {
+            MachineModel model = CheckSupport.verifiedModel(CheckSupport.loadExample(EXAMPLES[i]));
+            if(model == null)
+                return EXAMPLES[i] + ": verification failed";
+            STATE_ENCODING[] encodings = STATE_ENCODING.values();
+            for(int k=0; k<encodings.length; k++)
+            {
+                if(encodings[k] == STATE_ENCODING.ENUMERATION)
+                    continue;
+                String failure = checkCodes(model, new StateEncoding(model, encodings[k]), encodings[k]);
+                if(failure != null)
+                    return EXAMPLES[i] + " (" + encodings[k] + "): " + failure;
+            }
+            String failure = checkToggles(model);
+            if(failure != null)
+                return EXAMPLES[i] + " (" + STATE_ENCODING.LOW_POWER + "): " + failure;
+        }
+        return null;
+    }
+
+    /**
+     * @param model model
+     * @param encoding codes of the states
+     * @param requested requested encoding
+     * @return null: passed; otherwise description of the failure
+     */
+    private static String checkCodes(MachineModel model, StateEncoding encoding, STATE_ENCODING requested)
+    {
+        List<State> states = model.getStates();
+        int n = states.size();
+        int binaryLength = 1;
+        while((1L << binaryLength) < n)
+            binaryLength++;
+
+        // resolved encoding and its width
+        STATE_ENCODING expected = requested;
+        if(requested == STATE_ENCODING.AUTOMATIC)
+            expected = StateEncoding.resolve(n);
+        else if(requested == STATE_ENCODING.OUTPUT_ENCODED && model.getGraphType() == GRAPH_TYPE.MEALY)
+            expected = STATE_ENCODING.BINARY;
+        if(encoding.getEncoding() != expected)
+            return "encoding " + encoding.getEncoding() + " instead of " + expected;
+        int length;
+        switch(expected)
+        {
+            case ONE_HOT:
+                length = n;
+                break;
+            case JOHNSON:
+                length = Math.max((n + 1) / 2, 1);
+                break;
+            case OUTPUT_ENCODED:
+                length = encoding.getBitLength(); // see checkOutputs()
+                break;
+            default: // BINARY, GRAY, LOW_POWER
+                length = binaryLength;
+        }
+        if(encoding.getBitLength() != length)
+            return encoding.getBitLength() + " bits instead of " + length;
+
+        // distinct codes of this form
+        HashSet<String> codes = new HashSet<String>();
+        for(int i=0; i<n; i++)
+        {
+            String bits = encoding.getBits(states.get(i));
+            if(bits == null || bits.length() != length || !bits.matches("[01]+"))
+                return "code '" + bits + "' of state " + states.get(i).getName();
+            if(!codes.add(bits))
+                return "code " + bits + " of state " + states.get(i).getName() + " is not unique";
+            if(expected == STATE_ENCODING.ONE_HOT && bits.indexOf('1') != bits.lastIndexOf('1'))
+                return "code " + bits + " of state " + states.get(i).getName() + " is not one-hot";
+            if(expected == STATE_ENCODING.JOHNSON && !bits.matches("0*1*|1*0*"))
+                return "code " + bits + " of state " + states.get(i).getName() + " is no Johnson-code";
+        }
+        if(expected == STATE_ENCODING.GRAY)
+        {
+            for(int i=0; i<n; i++)
+            {
+                String bits = toBits(i ^ (i >> 1), length);
+                if(!codes.contains(bits))
+                    return "Gray-code " + bits + " is not used";
+            }
+        }
+
+        // start-state
+        State start = model.getStartNode().getToState();
+        if(start != null && expected != STATE_ENCODING.OUTPUT_ENCODED)
+        {
+            String bits = encoding.getBits(start);
+            String zero = toBits(0, length);
+            if(expected == STATE_ENCODING.ONE_HOT)
+                zero = zero.substring(0, length - 1) + "1";
+            if(!bits.equals(zero))
+                return "code " + bits + " of the start-state instead of " + zero;
+        }
+        if(expected == STATE_ENCODING.OUTPUT_ENCODED)
+            return checkOutputs(model, encoding);
+        return null;
+    }
+
+    // output-encoded: the bits of each output-signal are its value
+    private static String checkOutputs(MachineModel model, StateEncoding encoding)
+    {
+        Simulator simulator = new Simulator(model);
+        int inputs = simulator.getInputSignals().size();
+        long[] outputs = new long[simulator.getOutputSignals().size()];
+        List<State> states = model.getStates();
+        for(int i=0; i<states.size(); i++)
+        {
+            simulator.evaluateOutputs(states.get(i).getGeneratedOutputVector(), new long[inputs], outputs);
+            String bits = encoding.getBits(states.get(i));
+            for(int j=0; j<outputs.length; j++)
+            {
+                int lower = encoding.getOutputLowerBit(j), upper = encoding.getOutputUpperBit(j);
+                String value = bits.substring(bits.length() - 1 - upper, bits.length() - lower);
+                String expected = toBits(outputs[j], upper - lower + 1);
+                if(!value.equals(expected))
+                    return "state " + states.get(i).getName() + ": output " + (j + 1) + " is " + value
+                            + " instead of " + expected + " (code " + bits + ")";
+            }
+        }
+        return null;
+    }
+
+    // low-power: the state-register toggles at most as often as binary
+    private static String checkToggles(MachineModel model)
+    {
+        StateEncoding lowPower = new StateEncoding(model, STATE_ENCODING.LOW_POWER);
+        long lowPowerToggles = countStateToggles(model, lowPower);
+        long binaryToggles = countStateToggles(model, new StateEncoding(model, STATE_ENCODING.BINARY));
+        if(lowPowerToggles > binaryToggles)
+            return lowPowerToggles + " toggles of the state-register instead of at most "
+                    + binaryToggles + " (binary)";
+        if(lowPower.getToggleRate() > lowPower.getBinaryToggleRate())
+            return "toggle-rate " + lowPower.getToggleRate() + " instead of at most "
+                    + lowPower.getBinaryToggleRate() + " (binary)";
+        return null;
+    }
+
+    private static long countStateToggles(MachineModel model, StateEncoding encoding)
+    {
+        Simulator simulator = new Simulator(model);
+        simulator.setStateCodes(encoding);
+        simulator.run(CYCLES);
+        int net = simulator.getNetCount() - 1; // state-register
+        long toggles = 0;
+        for(int bit=0; bit<simulator.getBitLength(net); bit++)
+            toggles += simulator.getToggles(net, bit);
+        return toggles;
+    }
+
+    private static String toBits(long code, int length)
+    {
+        StringBuilder sb = new StringBuilder(length);
+        for(int i=length-1; i>=0; i--)
+            sb.append(((code >> i) & 1) != 0 ? '1' : '0');
+        return sb.toString();
+    }
+}
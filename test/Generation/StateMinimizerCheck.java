@@ -0,0 +1,114 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       StateMinimizerCheck
+ * Created:     2026-10-19
+ */
+
+package Generation;
+
+import Generation.Backend.MachineModel;
+import Generation.Backend.StateMinimizer;
+import Graph.Graph;
+import Graph.State;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Regression-check of the merge of equivalent states (see StateMinimizer):
+ * the minimized model must behave like the original one (equal traces under
+ * the Simulator). A variant of the elevator, whose states S_DOWN and S_UP
+ * have equal outputs and conditions, must be reduced to these two states
+ * merged.
+ *
+ * usage (in the root of the project, after build.sh):
+ *   javac -cp src/bin -d test/bin test/Generation/*.java
+ *   java -cp src/bin:test/bin Generation.StateMinimizerCheck
+ *
+ * Exit-code: 0 = passed, 1 = failed
+ *
+ * @author Andreas Schwenk
+ */
+public class StateMinimizerCheck
+{
+    // examples, that can be verified
+    private static final String[] EXAMPLES = {
+        "simple_LED", "simple_LED_mealy", "bikelight_moore", "bikelight_mealy", "elevator", "NimSpiel"
+    };
+
+    // simulated cycles per model
+    private static final int CYCLES = 10000;
+
+    public static void main(String[] args) throws IOException
+    {
+        CheckSupport.exit(check(), (EXAMPLES.length + 1) + " minimized models have the traces of their originals");
+    }
+
+    /**
+     * @return null: passed; otherwise description of the failure
+     */
+    private static String check() throws IOException
+    {
+        for(int i=0; i<EXAMPLES.length; i++)
+        {
+            String failure = checkTraces(EXAMPLES[i], CheckSupport.loadExample(EXAMPLES[i]), null);
+            if(failure != null)
+                return failure;
+        }
+
+        // S_UP behaves like S_DOWN
+        Graph graph = CheckSupport.loadExample("elevator");
+        State down = getState(graph, "S_DOWN");
+        State up = getState(graph, "S_UP");
+        if(down == null || up == null)
+            return "elevator: no states S_DOWN and S_UP";
+        up.setMooreOutputString(down.getMooreOutputString());
+        up.getTransitions().getFirst().setCondition(down.getTransitions().getFirst().getCondition());
+        return checkTraces("elevator (S_UP = S_DOWN)", graph, "S_DOWN, S_UP -> S_DOWN");
+    }
+
+    /**
+     * minimizes a graph and compares the traces of both models
+     *
+     * @param name name of the graph
+     * @param graph graph
+     * @param merged expected merged states (one group) or null (no merge)
+     * @return null: passed; otherwise description of the failure
+     */
+    private static String checkTraces(String name, Graph graph, String merged)
+    {
+        MachineModel model = CheckSupport.verifiedModel(graph);
+        if(model == null)
+            return name + ": verification failed";
+        StateMinimizer minimizer = new StateMinimizer(model);
+        MachineModel minimized = minimizer.minimize();
+        List<String> groups = minimizer.getMergedStates();
+        if(merged == null && !groups.isEmpty())
+            return name + ": unexpected merge " + groups;
+        if(merged != null && (groups.size() != 1 || !groups.get(0).equals(merged)))
+            return name + ": merge " + groups + " instead of [" + merged + "]";
+        int expectedStates = model.getStates().size() - ((merged == null) ? 0 : 1);
+        if(minimized.getStates().size() != expectedStates)
+            return name + ": " + minimized.getStates().size() + " states instead of " + expectedStates;
+        String difference = CheckSupport.traceDifference(model, minimized, CYCLES);
+        if(difference != null)
+            return name + ": " + difference;
+        return null;
+    }
+
+    private static State getState(Graph graph, String name)
+    {
+        Iterator<State> it = graph.getStates().iterator();
+        while(it.hasNext())
+        {
+            State s = it.next();
+            if(s.getName().equals(name))
+                return s;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * STDE - State Transition Diagram Editor
+ *
+ * 2011, 2012 Jan Montag, Andreas Schwenk
+ *
+ * Component:   Generation
+ * Class:       VhdlTestbenchCheck
+ * Created:     2026-10-19
+ */
+
+package Generation;
+
+import Generation.Backend.MachineModel;
+import Generation.Backend.MachineModel.State;
+import Generation.Backend.RomTable;
+import Generation.Backend.VhdlBackend;
+import Generation.Backend.VhdlTestbenchBackend;
+import Graph.Graph;
+import Graph.Graph.GRAPH_TYPE;
+import Graph.Graph.VHDL_ARCHITECTURE;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Regression-check of the VHDL-testbench (see VhdlTestbenchBackend): the words
+ * of the trace (TB_TRACE) are replayed through a state- and an output-
+ * register, that are loaded from the table of the ROM-architecture (see
+ * RomTable); each checked word must contain the outputs of these registers,
+ * and only combinational Mealy-outputs of the default architecture leave
+ * cycles without transition unchecked. If "ghdl" is installed, the
+ * testbench is also run against the generated VHDL-code of each
+ * architecture.
+ *
+ * usage (in the root of the project, after build.sh):
+ *   javac -cp src/bin -d test/bin test/Generation/*.java
+ *   java -cp src/bin:test/bin Generation.VhdlTestbenchCheck
+ *
+ * Exit-code: 0 = passed, 1 = failed
+ *
+ * @author Andreas Schwenk
+ */
+public class VhdlTestbenchCheck
+{
+    // examples without variables (see RomTable)
+    private static final String[] EXAMPLES = {
+        "simple_LED", "simple_LED_mealy", "bikelight_moore", "bikelight_mealy", "elevator"
+    };
+
+    // simulated cycles of each testbench
+    private static final int CYCLES = 1000;
+    private static final int CLOCK_PERIOD = 10;
+
+    public static void main(String[] args) throws IOException, InterruptedException
+    {
+        String failure;
+        boolean ghdl;
+        File dir = CheckSupport.createTempDirectory();
+        try
+        {
+            ghdl = CheckSupport.run(dir, "ghdl", "--version") != null;
+            failure = check(dir, ghdl);
+        }
+        finally
+        {
+            CheckSupport.deleteRecursively(dir);
+        }
+        CheckSupport.exit(failure, "testbenches of " + EXAMPLES.length + " examples in "
+                + VHDL_ARCHITECTURE.values().length + " architectures"
+                + (ghdl ? " (run by ghdl)" : " (without ghdl)"));
+    }
+
+    /**
+     * @param dir directory of the generated files
+     * @param ghdl true: run the testbenches
+     * @return null: passed; otherwise description of the failure
+     */
+    private static String check(File dir, boolean ghdl) throws IOException, InterruptedException
+    {
+        VHDL_ARCHITECTURE[] architectures = VHDL_ARCHITECTURE.values();
+        for(int i=0; i<EXAMPLES.length; i++)
+        {
+            for(int k=0; k<architectures.length; k++)
+            {
+                String name = EXAMPLES[i] + " (" + architectures[k] + ")";
+                Graph graph = CheckSupport.loadExample(EXAMPLES[i]);
+                graph.setVhdlArchitecture(architectures[k]);
+                File file_vhdl = new File(dir, EXAMPLES[i] + ".vhd");
+                File file_tb = new File(dir, EXAMPLES[i] + "_tb.vhd");
+                Generation generation = new Generation();
+                generation.generate(graph, new VhdlBackend(file_vhdl, true, false, 0),
+                        new VhdlTestbenchBackend(file_tb, CYCLES, CLOCK_PERIOD, 0));
+                if(generation.getLog().count(Diagnostic.SEVERITY.ERROR) > 0)
+                    return name + ": " + generation.getLog().getLogString();
+                String failure = replay(new MachineModel(graph, null), readTrace(file_tb));
+                if(failure == null && ghdl)
+                    failure = runGhdl(dir, graph.getName(), file_vhdl, file_tb);
+                if(failure != null)
+                    return name + ": " + failure;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param file testbench
+     * @return words of TB_TRACE
+     */
+    private static List<String> readTrace(File file) throws IOException
+    {
+        ArrayList<String> words = new ArrayList<String>();
+        Pattern word = Pattern.compile("\"([01]+)\"");
+        BufferedReader br = new BufferedReader(new FileReader(file));
+        try
+        {
+            String line;
+            boolean trace = false;
+            while((line = br.readLine()) != null)
+            {
+                if(line.contains("constant TB_TRACE"))
+                    trace = true;
+                else if(trace && line.trim().equals(");"))
+                    break;
+                else if(trace)
+                {
+                    Matcher m = word.matcher(line);
+                    while(m.find())
+                        words.add(m.group(1));
+                }
+            }
+        }
+        finally
+        {
+            br.close();
+        }
+        return words;
+    }
+
+    /**
+     * replays the words of a trace through the registers of the ROM-table
+     *
+     * @param model model
+     * @param trace words: check-flag, expected outputs, inputs
+     * @return null: passed; otherwise description of the failure
+     */
+    private static String replay(MachineModel model, List<String> trace)
+    {
+        RomTable table = new RomTable(model);
+        if(table.getUnsupportedReason() != null)
+            return table.getUnsupportedReason();
+        if(trace.size() != CYCLES)
+            return trace.size() + " words instead of " + CYCLES;
+        int inputBits = table.getAddressBits() - table.getStateBits();
+        int outputBits = table.getOutputBits();
+        int stateBits = table.getStateBits();
+        VHDL_ARCHITECTURE architecture = model.getVhdlArchitecture();
+        boolean transitionsOnly = model.getGraphType() == GRAPH_TYPE.MEALY
+                && architecture == VHDL_ARCHITECTURE.DEFAULT;
+
+        // registers after reset
+        String word = table.getResetWord();
+        String outputs = word.substring(word.length() - stateBits - outputBits, word.length() - stateBits);
+        long code = Long.parseLong(word.substring(word.length() - stateBits), 2);
+        for(int k=0; k<trace.size(); k++)
+        {
+            String tb = trace.get(k);
+            if(tb.length() != 1 + outputBits + inputBits)
+                return "cycle " + k + ": word " + tb + " instead of " + (1 + outputBits + inputBits) + " bits";
+            long inputs = (inputBits > 0) ? Long.parseLong(tb.substring(1 + outputBits), 2) : 0;
+            State state = table.getState(code);
+            if(state == null)
+                return "cycle " + k + ": unused code " + code;
+            word = table.getWord(state, inputs);
+            boolean hold = table.getHoldBit() >= 0 && word.charAt(0) == '1';
+            if(!hold)
+                outputs = word.substring(word.length() - stateBits - outputBits, word.length() - stateBits);
+            code = Long.parseLong(word.substring(word.length() - stateBits), 2);
+            boolean checked = tb.charAt(0) == '1';
+            if(checked != (!transitionsOnly || !hold))
+                return "cycle " + k + ": check-flag " + tb.charAt(0) + " (state " + state.getName() + ")";
+            if(checked && !tb.substring(1, 1 + outputBits).equals(outputs))
+                return "cycle " + k + ": outputs " + tb.substring(1, 1 + outputBits) + " instead of " + outputs
+                        + " (state " + state.getName() + ")";
+        }
+        return null;
+    }
+
+    /**
+     * analyzes, elaborates and runs a testbench by ghdl
+     *
+     * @return null: no errors; otherwise description of the failure
+     */
+    private static String runGhdl(File dir, String name, File file_vhdl, File file_tb) throws InterruptedException
+    {
+        String entity = "TB_" + name.toUpperCase();
+        if(CheckSupport.run(dir, "ghdl", "-a", file_vhdl.getPath(), file_tb.getPath()) == null
+                || CheckSupport.run(dir, "ghdl", "-e", entity) == null)
+            return "ghdl: testbench could not be compiled";
+        String output = CheckSupport.run(dir, "ghdl", "-r", entity);
+        if(output == null || !output.contains(" 0 errors"))
+            return "ghdl: " + output;
+        return null;
+    }
+}